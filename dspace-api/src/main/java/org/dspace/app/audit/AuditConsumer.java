@@ -7,7 +7,11 @@
  */
 package org.dspace.app.audit;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 import org.dspace.app.audit.factory.AuditServiceFactory;
@@ -19,6 +23,9 @@ import org.dspace.services.factory.DSpaceServicesFactory;
 
 /**
  * Class to store all received events in the audit system, if auditing is enabled.
+ * The audit events are collected until the end of the transaction and stored in batches. When
+ * {@code audit.collapse-metadata-events} is enabled, the same metadata change of an object reported by several
+ * MODIFY_METADATA events of the transaction is audited once.
  *
  * @author Andrea Bollini (andrea.bollini at 4science.it)
  * @author Stefano Maffei (stefano.maffei at 4science.com)
@@ -29,6 +36,15 @@ public class AuditConsumer implements Consumer {
     private ConfigurationService configurationService;
     private List<Integer> meaningfulEvents;
 
+    /**
+     * The audit events of the current transaction, stored in batches at the end of it
+     */
+    private final List<AuditEvent> audits = new ArrayList<>();
+    /**
+     * The metadata changes already audited in the current transaction, when collapsing them
+     */
+    private final Set<List<Object>> collapsedChanges = new HashSet<>();
+
 
     public void initialize() throws Exception {
         auditService = AuditServiceFactory.getInstance().getAuditService();
@@ -47,7 +63,15 @@ public class AuditConsumer implements Consumer {
     public void consume(Context ctx, Event event) throws Exception {
         if (configurationService.getBooleanProperty("audit.enabled", false)
             && isEventMeaningful(event)) {
-            auditService.store(ctx, event); // AuditService also handles detailed event logging
+            boolean collapse = configurationService.getBooleanProperty("audit.collapse-metadata-events", false);
+            for (AuditEvent audit : auditService.getAuditableEvents(ctx, event)) {
+                if (!collapse || !"MODIFY_METADATA".equals(audit.getEventType())
+                    || collapsedChanges.add(Arrays.asList(audit.getSubjectUUID(), audit.getMetadataField(),
+                        audit.getValue(), audit.getAuthority(), audit.getConfidence(), audit.getPlace(),
+                        audit.getAction()))) {
+                    audits.add(audit);
+                }
+            }
         }
     }
 
@@ -71,7 +95,12 @@ public class AuditConsumer implements Consumer {
 
     @Override
     public void end(Context ctx) throws Exception {
-        // no-op
+        try {
+            auditService.store(ctx, audits); // AuditService also handles detailed event logging
+        } finally {
+            audits.clear();
+            collapsedChanges.clear();
+        }
     }
 
     @Override
@@ -39,6 +39,25 @@ public interface AuditService {
      */
     void store(AuditEvent audit);
 
+    /**
+     * Store audit events in batches
+     *
+     * @param context the DSpace context
+     * @param audits the audit events to store, see {@link #getAuditableEvents(Context, Event)}
+     */
+    void store(Context context, List<AuditEvent> audits);
+
+    /**
+     * Convert a DSpace event into the audit events which {@link #store(Context, Event)} would store, an empty list
+     * if the event isn't audited
+     *
+     * @param context the DSpace context
+     * @param event the DSpace event
+     * @return the audit events, including the details about the current user
+     * @throws SQLException if database error occurs
+     */
+    List<AuditEvent> getAuditableEvents(Context context, Event event) throws SQLException;
+
     /**
      * Convert a DSpace Event into audit events. Please note that no user is
      * bound to an Event, if needed retrieve the current user from the context and
@@ -22,6 +22,7 @@ import java.util.List;
 import java.util.UUID;
 
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
@@ -49,6 +50,7 @@ import org.dspace.services.ConfigurationService;
 import org.dspace.statistics.HttpSolrClientFactory;
 import org.dspace.util.SolrUtils;
 import org.dspace.xmlworkflow.storedcomponents.service.PoolTaskService;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -58,7 +60,7 @@ import org.springframework.stereotype.Service;
  * @author Stefano Maffei (stefano.maffei at 4science.com)
  */
 @Service
-public class AuditSolrServiceImpl implements AuditService {
+public class AuditSolrServiceImpl implements AuditService, DisposableBean {
 
     // field names in the solr core
     // uid is not a typo it is the field name in the solr schema
@@ -100,6 +102,11 @@ public class AuditSolrServiceImpl implements AuditService {
 
     protected SolrClient solr = null;
 
+    /**
+     * Background writer of the audit events of the contexts in batch edit mode, created on first use
+     */
+    private AuditSolrWriter writer;
+
     protected SolrClient getSolr() throws MalformedURLException, SolrServerException, IOException {
         if (solr == null) {
             String solrService = configurationService.getProperty("audit.solr.server");
@@ -115,22 +122,51 @@ public class AuditSolrServiceImpl implements AuditService {
 
     @Override
     public void store(Context context, Event event) throws SQLException {
-        if (!isProcessableEvent(event)) {
-            return;
-        }
+        store(context, getAuditableEvents(context, event));
+    }
 
-        if (Event.DELETE != event.getEventType() && !isAuditableItem(context, event)) {
+    @Override
+    public List<AuditEvent> getAuditableEvents(Context context, Event event) throws SQLException {
+        if (!isProcessableEvent(event)
+            || (Event.DELETE != event.getEventType() && !isAuditableItem(context, event))) {
+            return List.of();
+        }
+        return getAuditEventsFromEvent(context, event).stream()
+            .filter(audit -> !"MODIFY_METADATA".equals(event.getEventTypeAsString())
+                || StringUtils.isNotEmpty(audit.getMetadataField()))
+            .toList();
+    }
+
+    /**
+     * Store audit events in the Solr audit core, in requests of at most {@code audit.batch-size} documents.
+     * In batch edit mode, used by the long-running scripts, the documents are handed to a background writer instead,
+     * unless {@code audit.writer.enabled} is false.
+     *
+     * @param context the DSpace context
+     * @param audits  the audit events to store
+     */
+    @Override
+    public void store(Context context, List<AuditEvent> audits) {
+        if (audits.isEmpty()) {
             return;
         }
-        List<AuditEvent> audits = getAuditEventsFromEvent(context, event);
-        for (AuditEvent audit: audits) {
-            if ("MODIFY_METADATA".equals(event.getEventTypeAsString()) &&
-                StringUtils.isEmpty(audit.getMetadataField())) {
-                continue;
+        List<SolrInputDocument> solrInDocs = audits.stream().map(this::toSolrInputDocument).toList();
+        try {
+            if (context.getCurrentMode() == Context.Mode.BATCH_EDIT
+                && configurationService.getBooleanProperty("audit.writer.enabled", true)) {
+                getWriter().add(solrInDocs);
+            } else {
+                for (List<SolrInputDocument> batch : ListUtils.partition(solrInDocs, getBatchSize())) {
+                    getSolr().add(batch);
+                }
             }
-
-            store(audit);
+        } catch (SolrServerException | IOException e) {
+            log.error(e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Interrupted while queuing {} audit events", audits.size(), e);
         }
+        logAuditEvents(audits);
     }
 
     /**
@@ -270,6 +306,24 @@ public class AuditSolrServiceImpl implements AuditService {
      *                current user are extracted from the context
      */
     public void store(AuditEvent audit) {
+        try {
+            getSolr().add(toSolrInputDocument(audit));
+        } catch (SolrServerException | IOException e) {
+            log.error(e.getMessage(), e);
+        }
+        logAuditEvents(List.of(audit));
+    }
+
+    /**
+     * Emit the dedicated audit event log lines, if enabled
+     */
+    private void logAuditEvents(List<AuditEvent> audits) {
+        if (AUDIT_EVENT_LOGGER.isEnabled(Level.ALL)) {
+            audits.forEach(AUDIT_EVENT_LOGGER::info);
+        }
+    }
+
+    private SolrInputDocument toSolrInputDocument(AuditEvent audit) {
         SolrInputDocument solrInDoc = solrDocumentFactory.create();
         // this is usually NOT the case, as the audit event get a random uuid by solr
         // but it is convenient for testing purpose
@@ -303,16 +357,19 @@ public class AuditSolrServiceImpl implements AuditService {
         if (StringUtils.isNotEmpty(audit.getChecksum())) {
             solrInDoc.addField(CHECKSUM, audit.getChecksum());
         }
+        return solrInDoc;
+    }
 
-        try {
-            getSolr().add(solrInDoc);
-        } catch (SolrServerException | IOException e) {
-            log.error(e.getMessage(), e);
-        }
-        // Emit dedicated audit event log line if enabled
-        if (AUDIT_EVENT_LOGGER.isEnabled(Level.ALL)) {
-            AUDIT_EVENT_LOGGER.info(audit);
+    private int getBatchSize() {
+        return Math.max(1, configurationService.getIntProperty("audit.batch-size", 500));
+    }
+
+    private synchronized AuditSolrWriter getWriter() throws SolrServerException, IOException {
+        if (writer == null) {
+            writer = new AuditSolrWriter(getSolr(),
+                Math.max(1, configurationService.getIntProperty("audit.writer.queue-size", 10000)), getBatchSize());
         }
+        return writer;
     }
 
     /**
@@ -496,11 +553,39 @@ public class AuditSolrServiceImpl implements AuditService {
         }
     }
 
+    /**
+     * Commit pending changes, waiting first for the documents queued to the background writer
+     */
     public void commit() {
         try {
+            AuditSolrWriter currentWriter;
+            synchronized (this) {
+                currentWriter = writer;
+            }
+            if (currentWriter != null) {
+                currentWriter.flush();
+            }
             getSolr().commit();
         } catch (SolrServerException | IOException e) {
             throw new RuntimeException(e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Write the documents queued to the background writer and stop it
+     */
+    @Override
+    public void destroy() throws Exception {
+        AuditSolrWriter currentWriter;
+        synchronized (this) {
+            currentWriter = writer;
+            writer = null;
+        }
+        if (currentWriter != null) {
+            currentWriter.shutdown();
         }
     }
 
@@ -0,0 +1,119 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.audit;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.common.SolrInputDocument;
+
+/**
+ * Background writer of audit documents, used by long-running scripts so that the audit core is fed in batches
+ * outside of their transactions. Documents are queued in a bounded queue: when the writer can't keep up, the
+ * callers wait for room in the queue rather than audit records being dropped.
+ */
+class AuditSolrWriter {
+
+    private static final Logger log = LogManager.getLogger(AuditSolrWriter.class);
+
+    private final SolrClient solr;
+    private final int batchSize;
+    private final BlockingQueue<SolrInputDocument> queue;
+    private final Thread thread;
+
+    /**
+     * Number of documents queued or being written, guarded by this
+     */
+    private int pending;
+
+    /**
+     * Create and start a writer
+     * @param solr      the audit core
+     * @param capacity  the maximum number of documents waiting to be written
+     * @param batchSize the maximum number of documents written in one request
+     */
+    AuditSolrWriter(SolrClient solr, int capacity, int batchSize) {
+        this.solr = solr;
+        this.batchSize = batchSize;
+        this.queue = new LinkedBlockingQueue<>(capacity);
+        this.thread = new Thread(this::run, "audit-solr-writer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Queue documents to be written, waiting for room in the queue if needed
+     * @param documents the documents
+     * @throws InterruptedException if interrupted while waiting, the remaining documents aren't queued
+     */
+    void add(Collection<SolrInputDocument> documents) throws InterruptedException {
+        for (SolrInputDocument document : documents) {
+            synchronized (this) {
+                pending++;
+            }
+            try {
+                queue.put(document);
+            } catch (InterruptedException e) {
+                written(1);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Wait until all the queued documents are written
+     * @throws InterruptedException if interrupted while waiting
+     */
+    synchronized void flush() throws InterruptedException {
+        while (pending > 0) {
+            wait();
+        }
+    }
+
+    /**
+     * Write the queued documents and stop the writer
+     * @throws InterruptedException if interrupted while waiting for the queued documents
+     */
+    void shutdown() throws InterruptedException {
+        flush();
+        thread.interrupt();
+    }
+
+    private synchronized void written(int count) {
+        pending -= count;
+        notifyAll();
+    }
+
+    private void run() {
+        List<SolrInputDocument> batch = new ArrayList<>(batchSize);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            queue.drainTo(batch, batchSize - 1);
+            try {
+                solr.add(batch);
+            } catch (SolrServerException | IOException | RuntimeException e) {
+                log.error("Unable to write {} audit events", batch.size(), e);
+            } finally {
+                written(batch.size());
+                batch.clear();
+            }
+        }
+    }
+}
@@ -7,6 +7,7 @@
  */
 package org.dspace.app.audit;
 
+import java.io.Serializable;
 import java.util.Objects;
 
 import org.dspace.content.MetadataValue;
@@ -19,7 +20,8 @@ import org.dspace.content.MetadataValue;
  *
  * @author Stefano Maffei (stefano.maffei at 4science.com)
  */
-public class MetadataEvent {
+public class MetadataEvent implements Serializable {
+    private static final long serialVersionUID = 1L;
 
     /**
      * Action constant representing the addition of a metadata value.
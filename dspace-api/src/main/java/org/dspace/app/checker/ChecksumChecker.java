@@ -37,6 +37,7 @@ import org.dspace.content.factory.ContentServiceFactory;
 import org.dspace.content.service.BitstreamService;
 import org.dspace.core.Context;
 import org.dspace.core.Utils;
+import org.dspace.services.factory.DSpaceServicesFactory;
 
 /**
  * Command line access to the checksum checker. Options are listed in the
@@ -78,6 +79,8 @@ public final class ChecksumChecker {
      * <dd>Report only errors in the logs</dd>
      * <dt>-p</dt>
      * <dd>Don't prune results before running checker</dd>
+     * <dt>-t [threads]</dt>
+     * <dd>Number of bitstreams checked in parallel</dd>
      * </dl>
      *
      * @param args the command line arguments given
@@ -99,6 +102,7 @@ public final class ChecksumChecker {
         options.addOption("c", "count", true, "Check count");
         options.addOption("i", "handle", true, "Specify a handle to check");
         options.addOption("v", "verbose", false, "Report all processing");
+        options.addOption("t", "threads", true, "Number of bitstreams checked in parallel");
 
         Option option;
 
@@ -216,6 +220,12 @@ public final class ChecksumChecker {
             if (line.hasOption('v')) {
                 checker.setReportVerbose(true);
             }
+            if (line.hasOption('t')) {
+                checker.setThreads(Integer.parseInt(line.getOptionValue('t')));
+            } else {
+                checker.setThreads(DSpaceServicesFactory.getInstance().getConfigurationService()
+                                                        .getIntProperty("checker.threads", 1));
+            }
 
             checker.setProcessStartDate(processStart);
             checker.setDispatcher(dispatcher);
@@ -255,6 +265,7 @@ public final class ChecksumChecker {
         System.out.println("\nThe following options can be used in combination with others above:");
         System.out.println(" - Report all processing to checker.log (by default logs only errors): checker -v");
         System.out.println(" - Prune old results from the database: checker -p");
+        System.out.println(" - Check 8 bitstreams in parallel: checker -l -t 8");
         System.out.println("\nDefault (no arguments) is equivalent to 'checker -c 1'\n");
         System.exit(0);
     }
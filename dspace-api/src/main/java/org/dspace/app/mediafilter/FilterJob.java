@@ -0,0 +1,152 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.mediafilter;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.dspace.content.Bitstream;
+import org.dspace.content.Item;
+import org.dspace.core.Context;
+import org.dspace.storage.bitstore.service.BitstreamStorageService;
+
+/**
+ * A bitstream to run through a format filter in a worker thread of a {@link FilterJobPool}. The job reads the
+ * source bitstream from the asset store and spools the filtered content to a temporary file, it doesn't use the
+ * database: the derivative bitstream is created from the file by the thread walking the items.
+ */
+class FilterJob implements Runnable {
+
+    private final Context context;
+    private final BitstreamStorageService bitstreamStorageService;
+    private final Item item;
+    private final UUID itemId;
+    private final String itemHandle;
+    private final Bitstream source;
+    private final UUID sourceId;
+    private final FormatFilter formatFilter;
+    private final String newName;
+    private final boolean verbose;
+
+    private final AtomicBoolean finished = new AtomicBoolean();
+    private volatile boolean timedOut = false;
+    private File result;
+    private Throwable error;
+
+    /**
+     * @param context                 the context of the walk, only passed to the asset store
+     * @param bitstreamStorageService the service reading the source bitstream
+     * @param item                    the item of the source bitstream, its handle loaded
+     * @param source                  the source bitstream, loaded from the database
+     * @param formatFilter            the filter to run
+     * @param newName                 the name of the derivative bitstream
+     * @param verbose                 whether the filter is verbose
+     */
+    FilterJob(Context context, BitstreamStorageService bitstreamStorageService, Item item, Bitstream source,
+              FormatFilter formatFilter, String newName, boolean verbose) {
+        this.context = context;
+        this.bitstreamStorageService = bitstreamStorageService;
+        this.item = item;
+        this.itemId = item.getID();
+        this.itemHandle = item.getHandle();
+        this.source = source;
+        this.sourceId = source.getID();
+        this.formatFilter = formatFilter;
+        this.newName = newName;
+        this.verbose = verbose;
+    }
+
+    @Override
+    public void run() {
+        try (
+                InputStream srcStream = bitstreamStorageService.retrieve(context, source);
+                InputStream destStream = formatFilter.getDestinationStream(item, srcStream, verbose)
+        ) {
+            if (destStream != null) {
+                // set first, so that the file is removed when the copy fails
+                result = File.createTempFile("filter-media", ".tmp");
+                Files.copy(destStream, result.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (Exception | OutOfMemoryError e) {
+            error = e;
+        }
+    }
+
+    /**
+     * Claim the outcome of the job, either for its completion or for its timeout
+     * @return true if the outcome wasn't claimed before
+     */
+    boolean finish() {
+        return finished.compareAndSet(false, true);
+    }
+
+    /**
+     * Record that the job took too long, after claiming its outcome
+     */
+    void setTimedOut() {
+        timedOut = true;
+    }
+
+    /**
+     * Remove the temporary file holding the filtered content, if any
+     */
+    void discard() {
+        if (result != null) {
+            result.delete();
+        }
+    }
+
+    UUID getItemId() {
+        return itemId;
+    }
+
+    String getItemHandle() {
+        return itemHandle;
+    }
+
+    UUID getSourceId() {
+        return sourceId;
+    }
+
+    FormatFilter getFormatFilter() {
+        return formatFilter;
+    }
+
+    /**
+     * @return the name under which the concurrency of the filter is limited
+     */
+    String getFilterName() {
+        return formatFilter.getClass().getSimpleName();
+    }
+
+    String getNewName() {
+        return newName;
+    }
+
+    boolean isTimedOut() {
+        return timedOut;
+    }
+
+    /**
+     * @return the file holding the filtered content, null if the filter produced nothing
+     */
+    File getResult() {
+        return result;
+    }
+
+    /**
+     * @return the failure of the filter, null if it succeeded
+     */
+    Throwable getError() {
+        return error;
+    }
+}
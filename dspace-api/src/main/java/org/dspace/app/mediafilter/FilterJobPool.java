@@ -0,0 +1,228 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.mediafilter;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Bounded pool of worker threads running {@link FilterJob}s. Jobs are submitted and taken back once completed by
+ * the single thread walking the items, which also keeps the number of jobs in flight and per filter. A job running
+ * longer than the timeout is taken back as timed out and its worker is interrupted; if the worker completes it
+ * anyway, its result is discarded.
+ * <p>
+ * Most filters (PDFBox, Tika) ignore interrupts, so the worker of a timed out job may stay busy for a long time, or
+ * forever. Until it returns, an extra worker thread is started in its place, so the queued jobs keep running. Once
+ * more workers than allowed are stuck, no thread is added anymore and the pool is aborted: taking a job back throws
+ * an exception, so that the filtering stops.
+ */
+class FilterJobPool {
+
+    private static final Logger log = LogManager.getLogger(FilterJobPool.class);
+
+    private final ThreadPoolExecutor executor;
+    private final ScheduledThreadPoolExecutor watchdog;
+    private final BlockingQueue<FilterJob> completed = new LinkedBlockingQueue<>();
+    private final int threads;
+    private final int capacity;
+    private final long timeout;
+    private final int maxStuck;
+
+    // workers still running a timed out job, replaced by extra threads
+    private int stuck = 0;
+    private volatile boolean aborted = false;
+    private boolean shutdown = false;
+
+    // only used by the walking thread
+    private final Map<String, Integer> running = new HashMap<>();
+    private int inFlight = 0;
+
+    /**
+     * Create and start a pool, replacing at most as many stuck workers as there are worker threads
+     * @param threads the number of worker threads
+     * @param timeout the maximum duration of a job in seconds, zero for no limit
+     */
+    FilterJobPool(int threads, long timeout) {
+        this(threads, timeout, threads);
+    }
+
+    /**
+     * Create and start a pool
+     * @param threads  the number of worker threads
+     * @param timeout  the maximum duration of a job in seconds, zero for no limit
+     * @param maxStuck the maximum number of workers stuck in a timed out job which are replaced by extra threads
+     */
+    FilterJobPool(int threads, long timeout, int maxStuck) {
+        this.threads = threads;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                                               new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "filter-media-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.watchdog = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "filter-media-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        watchdog.setRemoveOnCancelPolicy(true);
+        // keep the workers busy while the derivatives of the completed jobs are stored
+        this.capacity = 2 * threads;
+        this.timeout = timeout;
+        this.maxStuck = maxStuck;
+    }
+
+    /**
+     * @param filterName  the name of a filter, see {@link FilterJob#getFilterName()}
+     * @param concurrency the maximum number of jobs of the filter running at once, zero for no limit
+     * @return true if a job of the filter can't be submitted before another job is taken back
+     */
+    boolean isFull(String filterName, int concurrency) {
+        return inFlight >= capacity || (concurrency > 0 && running.getOrDefault(filterName, 0) >= concurrency);
+    }
+
+    /**
+     * @return true if all the submitted jobs were taken back
+     */
+    boolean isEmpty() {
+        return inFlight == 0;
+    }
+
+    /**
+     * Run a job in a worker thread
+     * @param job the job
+     */
+    void submit(FilterJob job) {
+        inFlight++;
+        running.merge(job.getFilterName(), 1, Integer::sum);
+        executor.execute(() -> {
+            Thread worker = Thread.currentThread();
+            // the timeout starts when the job runs, not while it waits for a worker
+            ScheduledFuture<?> timer = timeout <= 0 ? null : watchdog.schedule(() -> {
+                synchronized (job) {
+                    if (job.finish()) {
+                        job.setTimedOut();
+                        worker.interrupt();
+                        // before handing the job over, so an abort is seen when it is taken back
+                        replaceStuckWorker(1);
+                        complete(job);
+                    }
+                }
+            }, timeout, TimeUnit.SECONDS);
+            try {
+                job.run();
+            } finally {
+                if (timer != null) {
+                    timer.cancel(false);
+                }
+                synchronized (job) {
+                    if (job.finish()) {
+                        complete(job);
+                    } else {
+                        // timed out meanwhile, don't let the interrupt reach the next job
+                        job.discard();
+                        Thread.interrupted();
+                        replaceStuckWorker(-1);
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Wait for a job to complete or time out
+     * @return the job
+     * @throws InterruptedException if interrupted while waiting
+     * @throws IllegalStateException if too many workers got stuck in timed out jobs
+     */
+    FilterJob take() throws InterruptedException {
+        return taken(completed.take());
+    }
+
+    /**
+     * @return a job which completed or timed out, null if there are none
+     * @throws IllegalStateException if too many workers got stuck in timed out jobs
+     */
+    FilterJob poll() {
+        return taken(completed.poll());
+    }
+
+    /**
+     * Stop the workers, interrupting the running jobs, and remove the results of the jobs which weren't taken back
+     */
+    synchronized void shutdown() {
+        shutdown = true;
+        executor.shutdownNow();
+        watchdog.shutdownNow();
+        FilterJob job;
+        while ((job = completed.poll()) != null) {
+            job.discard();
+        }
+    }
+
+    /**
+     * Grow the pool when a worker gets stuck in a timed out job, and shrink it back once the job returns
+     * @param change one for a worker which got stuck, minus one for a stuck worker which returned
+     */
+    private synchronized void replaceStuckWorker(int change) {
+        stuck += change;
+        if (shutdown || aborted) {
+            return;
+        }
+        if (stuck > maxStuck) {
+            aborted = true;
+            log.error("Aborting the media filtering, {} worker(s) are still running a timed out job", stuck);
+        } else if (change > 0) {
+            executor.setMaximumPoolSize(threads + stuck);
+            executor.setCorePoolSize(threads + stuck);
+            log.warn("{} media filter worker(s) still running a timed out job, replaced by extra threads", stuck);
+        } else {
+            // the extra thread terminates once idle
+            executor.setCorePoolSize(threads + stuck);
+            executor.setMaximumPoolSize(threads + stuck);
+        }
+    }
+
+    /**
+     * Hand a job over to the walking thread, or remove its result once the pool is shut down
+     * @param job the job which completed or timed out
+     */
+    private synchronized void complete(FilterJob job) {
+        if (shutdown) {
+            job.discard();
+        } else {
+            completed.add(job);
+        }
+    }
+
+    private FilterJob taken(FilterJob job) {
+        if (job != null) {
+            inFlight--;
+            running.merge(job.getFilterName(), -1, Integer::sum);
+            if (aborted) {
+                job.discard();
+            }
+        }
+        if (aborted) {
+            throw new IllegalStateException("Too many media filter workers are stuck in timed out jobs, more than "
+                                                + maxStuck);
+        }
+        return job;
+    }
+}
@@ -14,6 +14,7 @@ import java.io.InputStream;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
+import org.apache.commons.lang3.StringUtils;
 import org.apache.pdfbox.Loader;
 import org.apache.pdfbox.pdmodel.PDPage;
 import org.apache.pdfbox.pdmodel.common.PDRectangle;
@@ -83,6 +84,27 @@ public abstract class ImageMagickThumbnailFilter extends MediaFilter {
         return configurationService.getProperty(PRE + ".bitstreamDescription", "IM Thumbnail");
     }
 
+    /**
+     * Cap the resources the ImageMagick process may use, as configured with the limit.memory, limit.map,
+     * limit.disk and limit.time properties. The time limit defaults to filter-media.job-timeout. The limits must
+     * be added before the input image.
+     *
+     * @param op the ImageMagick operation
+     */
+    protected void addResourceLimits(IMOperation op) {
+        for (String resource : new String[] {"memory", "map", "disk"}) {
+            String limit = configurationService.getProperty(PRE + ".limit." + resource);
+            if (StringUtils.isNotBlank(limit)) {
+                op.addRawArgs("-limit", resource, limit.trim());
+            }
+        }
+        long time = configurationService.getLongProperty(PRE + ".limit.time",
+            configurationService.getLongProperty("filter-media.job-timeout", 0));
+        if (time > 0) {
+            op.addRawArgs("-limit", "time", String.valueOf(time));
+        }
+    }
+
     public File inputStreamToTempFile(InputStream source, String prefix, String suffix) throws IOException {
         File f = File.createTempFile(prefix, suffix);
         f.deleteOnExit();
@@ -104,6 +126,7 @@ public abstract class ImageMagickThumbnailFilter extends MediaFilter {
         f2.deleteOnExit();
         ConvertCmd cmd = new ConvertCmd();
         IMOperation op = new IMOperation();
+        addResourceLimits(op);
         op.autoOrient();
         op.addImage(f.getAbsolutePath());
         op.thumbnail(configurationService.getIntProperty("thumbnail.maxwidth", DEFAULT_WIDTH),
@@ -130,6 +153,7 @@ public abstract class ImageMagickThumbnailFilter extends MediaFilter {
         f2.deleteOnExit();
         ConvertCmd cmd = new ConvertCmd();
         IMOperation op = new IMOperation();
+        addResourceLimits(op);
 
         // Optionally override ImageMagick's default density of 72 DPI to use a
         // "supersample" when creating the PDF thumbnail. Note that I prefer to
@@ -62,6 +62,7 @@ public class ImageMagickVideoThumbnailFilter extends ImageMagickThumbnailFilter
         f2.deleteOnExit();
         ConvertCmd cmd = new ConvertCmd();
         IMOperation op = new IMOperation();
+        addResourceLimits(op);
         op.autoOrient();
         op.addImage("VIDEO:" + f.getAbsolutePath() + "[" + FRAME_NUMBER + "]");
         op.thumbnail(configurationService.getIntProperty("thumbnail.maxwidth", DEFAULT_WIDTH),
@@ -40,7 +40,9 @@ import org.dspace.utils.DSpace;
  * recreate index after processing bitstreams; -i [identifier] limits processing
  * scope to a community, collection or item; -m [max] limits processing to a
  * maximum number of items; -fd [fromdate] takes only items starting from this date,
- * filtering by last_modified in the item table.
+ * filtering by last_modified in the item table; -t [threads] runs the filters
+ * in a pool of worker threads; -r resumes filtering all items after the last one
+ * completed by a previous run.
  */
 public class MediaFilterScript extends DSpaceRunnable<MediaFilterScriptConfiguration> {
 
@@ -63,6 +65,8 @@ public class MediaFilterScript extends DSpaceRunnable<MediaFilterScriptConfigura
     private String[] skipIds = null;
     private Map<String, List<String>> filterFormats = new HashMap<>();
     private LocalDate fromDate = null;
+    private int threads = 1;
+    private boolean isResume = false;
 
     public MediaFilterScriptConfiguration getScriptConfiguration() {
         return new DSpace().getServiceManager()
@@ -119,6 +123,23 @@ public class MediaFilterScript extends DSpaceRunnable<MediaFilterScriptConfigura
             fromDate = LocalDate.parse(commandLine.getOptionValue('d'));
         }
 
+        threads = DSpaceServicesFactory.getInstance().getConfigurationService()
+                                       .getIntProperty("filter-media.threads", 1);
+        if (commandLine.hasOption('t')) {
+            threads = Integer.parseInt(commandLine.getOptionValue('t'));
+            if (threads < 1) {
+                handler.logWarning("Invalid number of threads '" +
+                                           commandLine.getOptionValue('t') + "' - ignoring");
+                threads = 1;
+            }
+        }
+
+        isResume = commandLine.hasOption('r');
+        if (isResume && (identifier != null || skipIds != null || fromDate != null)) {
+            handler.logWarning("Only filtering all items can be resumed - ignoring the resume option");
+            isResume = false;
+        }
+
 
     }
 
@@ -134,6 +155,8 @@ public class MediaFilterScript extends DSpaceRunnable<MediaFilterScriptConfigura
         mediaFilterService.setQuiet(isQuiet);
         mediaFilterService.setVerbose(isVerbose);
         mediaFilterService.setMax2Process(max2Process);
+        mediaFilterService.setThreads(threads);
+        mediaFilterService.setResume(isResume);
 
         //initialize an array of our enabled filters
         List<FormatFilter> filterList = new ArrayList<>();
@@ -260,11 +283,15 @@ public class MediaFilterScript extends DSpaceRunnable<MediaFilterScriptConfigura
                 }
             }
 
+            // store the derivatives of the filters still running
+            mediaFilterService.completeFilterJobs(c);
             c.complete();
             c = null;
         } catch (Exception e) {
             handler.handleException(e);
         } finally {
+            // stop the workers of a run which failed, the service is a singleton
+            mediaFilterService.discardFilterJobs();
             if (c != null) {
                 c.abort();
             }
@@ -53,6 +53,9 @@ public class MediaFilterScriptConfiguration<T extends MediaFilterScript> extends
         options.addOption(pluginOption);
 
         options.addOption("d", "fromdate", true, "Process only item from specified last modified date");
+        options.addOption("t", "threads", true, "run the filters in the given number of worker threads");
+        options.addOption("r", "resume", false,
+            "resume processing all items after the last one completed by a previous run");
 
         Option skipOption = Option.builder("s")
                                   .longOpt("skip")
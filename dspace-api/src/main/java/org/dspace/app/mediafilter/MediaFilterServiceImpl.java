@@ -7,7 +7,13 @@
  */
 package org.dspace.app.mediafilter;
 
+import java.io.FileInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.ZoneId;
@@ -15,8 +21,10 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.Strings;
@@ -43,6 +51,7 @@ import org.dspace.eperson.Group;
 import org.dspace.eperson.service.GroupService;
 import org.dspace.scripts.handler.DSpaceRunnableHandler;
 import org.dspace.services.ConfigurationService;
+import org.dspace.storage.bitstore.service.BitstreamStorageService;
 import org.dspace.util.ThrowableUtils;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -55,6 +64,13 @@ import org.springframework.beans.factory.annotation.Autowired;
  * recreate index after processing bitstreams; -i [identifier] limits processing
  * scope to a community, collection or item; and -m [max] limits processing to a
  * maximum number of items.
+ * <p>
+ * With more than one thread, the filters run concurrently in a {@link FilterJobPool}: the items are walked and
+ * the derivative bitstreams are stored by the calling thread, in transactions of
+ * {@code filter-media.commit-batch-size} derivatives, while the workers run the filters. The number of jobs of a
+ * filter running at once may be limited with {@code filter-media.concurrency.<filter class simple name>}, and their
+ * duration with {@code filter-media.job-timeout}. When walking all items, the last item whose bitstreams are all
+ * filtered is recorded in {@code filter-media.progress-file}, from which the walk may be resumed.
  */
 public class MediaFilterServiceImpl implements MediaFilterService, InitializingBean {
     @Autowired(required = true)
@@ -75,6 +91,8 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
     protected ItemService itemService;
     @Autowired(required = true)
     protected ConfigurationService configurationService;
+    @Autowired(required = true)
+    protected BitstreamStorageService bitstreamStorageService;
 
     protected DSpaceRunnableHandler handler;
 
@@ -96,6 +114,17 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
     protected boolean isQuiet = false;
     protected boolean isForce = false; // default to not forced
     protected LocalDate fromDate = null;
+    protected int threads = 1;
+    protected boolean isResume = false;
+
+    private FilterJobPool jobPool = null; // started by the first job of the concurrent mode
+
+    // items walked through, in order, with their number of jobs pending; the item itself is pending while walked
+    private final Map<UUID, Integer> pendingItems = new LinkedHashMap<>();
+    private UUID lastCompletedItem = null;
+    private boolean trackProgress = false; // only when walking all items, in the order of their UUIDs
+    private boolean walkCompleted = false;
+    private int uncommitted = 0; // derivatives, or items when filtering sequentially, since the progress was recorded
 
     protected MediaFilterServiceImpl() {
 
@@ -134,10 +163,17 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
             }
         } else {
             //otherwise, just find every item and process
-            Iterator<Item> itemIterator = itemService.findAll(context);
+            trackProgress = true;
+            UUID resumeAfter = isResume ? readProgress() : null;
+            if (resumeAfter != null) {
+                logInfo("RESUME: filtering the items after item " + resumeAfter);
+            }
+            Iterator<Item> itemIterator = resumeAfter == null ? itemService.findAll(context)
+                : itemService.findAllAfter(context, resumeAfter);
             while (itemIterator.hasNext() && processed < max2Process) {
                 applyFiltersItem(context, itemIterator.next());
             }
+            walkCompleted = !itemIterator.hasNext();
         }
     }
 
@@ -185,6 +221,8 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
             //cache this item in MediaFilterManager
             //so it can be accessed by MediaFilters as necessary
             currentItem = item;
+            UUID itemId = item.getID();
+            pendingItems.put(itemId, 1);
 
             if (filterItem(c, item)) {
                 // increment processed count
@@ -192,12 +230,47 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
             }
             // clear item objects from context cache and internal cache
             c.uncacheEntity(currentItem);
-            // commit after each item to release DB resources
-            c.commit();
+            releaseItem(itemId);
+            if (threads > 1) {
+                // the derivatives of the jobs completed meanwhile are committed in batches
+                FilterJob job;
+                while (jobPool != null && (job = jobPool.poll()) != null) {
+                    storeFilterJob(c, job);
+                }
+                if (uncommitted >= getCommitBatchSize()) {
+                    c.commit();
+                    recordProgress();
+                }
+            } else {
+                // commit after each item to release DB resources
+                c.commit();
+                if (++uncommitted >= getCommitBatchSize()) {
+                    recordProgress();
+                }
+            }
             currentItem = null;
         }
     }
 
+    @Override
+    public void completeFilterJobs(Context context) throws Exception {
+        try {
+            if (jobPool != null) {
+                while (!jobPool.isEmpty()) {
+                    storeFilterJob(context, jobPool.take());
+                }
+            }
+            context.commit();
+            if (trackProgress && walkCompleted) {
+                Files.deleteIfExists(getProgressFile());
+            } else {
+                recordProgress();
+            }
+        } finally {
+            discardFilterJobs();
+        }
+    }
+
     @Override
     public boolean filterItem(Context context, Item myItem) throws Exception {
         // get 'original' bundles
@@ -329,23 +402,7 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
         String newName = formatFilter.getFilteredName(source.getName());
 
         // check if destination bitstream exists
-        Bundle existingBundle = null;
-        List<Bitstream> existingBitstreams = new ArrayList<>();
-        List<Bundle> bundles = itemService.getBundles(item, formatFilter.getBundleName());
-
-        if (!bundles.isEmpty()) {
-            // only finds the last matching bundle and all matching bitstreams in the proper bundle(s)
-            for (Bundle bundle : bundles) {
-                List<Bitstream> bitstreams = bundle.getBitstreams();
-
-                for (Bitstream bitstream : bitstreams) {
-                    if (bitstream.getName().trim().equals(newName.trim())) {
-                        existingBundle = bundle;
-                        existingBitstreams.add(bitstream);
-                    }
-                }
-            }
-        }
+        List<Bitstream> existingBitstreams = findDerivativeBitstreams(item, source, formatFilter);
 
         // if exists and overwrite = false, exit
         if (!overWrite && (!existingBitstreams.isEmpty())) {
@@ -364,6 +421,12 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
 
         logInfo("File: " + newName);
 
+        if (threads > 1) {
+            // filtered in a worker thread, the derivative is stored once the job completes
+            submitFilterJob(context, item, source, formatFilter, newName);
+            return true;
+        }
+
         // start filtering of the bitstream, using try with resource to close all InputStreams properly
         try (
                 // get the source stream
@@ -380,33 +443,7 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
                 return false;
             }
 
-            Bundle targetBundle; // bundle we're modifying
-            if (bundles.isEmpty()) {
-                // create new bundle if needed
-                targetBundle = bundleService.create(context, item, formatFilter.getBundleName());
-            } else {
-                // take the first match as we already looked out for the correct bundle name
-                targetBundle = bundles.get(0);
-            }
-
-            // create bitstream to store the filter result
-            Bitstream b = bitstreamService.create(context, targetBundle, destStream);
-            // set the name, source and description of the bitstream
-            b.setName(context, newName);
-            b.setSource(context, "Written by FormatFilter " + formatFilter.getClass().getName() +
-                    " on " + DCDate.getCurrent() + " (GMT).");
-            b.setDescription(context, formatFilter.getDescription());
-            // Set the format of the bitstream
-            BitstreamFormat bf = bitstreamFormatService.findByShortDescription(context,
-                    formatFilter.getFormatString());
-            bitstreamService.setFormat(context, b, bf);
-            bitstreamService.update(context, b);
-
-            //Set permissions on the derivative bitstream
-            updatePoliciesOfDerivativeBitstream(context, b, formatFilter, source);
-
-            //do post-processing of the generated bitstream
-            formatFilter.postProcessBitstream(context, item, b);
+            createDerivativeBitstream(context, item, source, formatFilter, newName, destStream);
 
         } catch (OutOfMemoryError oome) {
             logError("!!! OutOfMemoryError !!!");
@@ -414,9 +451,7 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
         }
 
         // we are overwriting, so remove old bitstream
-        for (Bitstream existingBitstream : existingBitstreams) {
-            bundleService.removeBitstream(context, existingBundle, existingBitstream);
-        }
+        removeDerivativeBitstreams(context, item, formatFilter, existingBitstreams);
 
         if (!isQuiet) {
             logInfo("FILTERED: bitstream " + source.getID()
@@ -426,6 +461,239 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
         return true;
     }
 
+    /**
+     * Store the filtered content of a source bitstream as a derivative bitstream, in the bundle of the filter
+     *
+     * @param context      the context
+     * @param item         the item of the source bitstream
+     * @param source       the source bitstream
+     * @param formatFilter the filter
+     * @param newName      the name of the derivative bitstream
+     * @param destStream   the filtered content
+     * @throws Exception if the bitstream can't be stored
+     */
+    private void createDerivativeBitstream(Context context, Item item, Bitstream source, FormatFilter formatFilter,
+                                           String newName, InputStream destStream) throws Exception {
+        List<Bundle> bundles = itemService.getBundles(item, formatFilter.getBundleName());
+        Bundle targetBundle; // bundle we're modifying
+        if (bundles.isEmpty()) {
+            // create new bundle if needed
+            targetBundle = bundleService.create(context, item, formatFilter.getBundleName());
+        } else {
+            // take the first match as we already looked out for the correct bundle name
+            targetBundle = bundles.get(0);
+        }
+
+        // create bitstream to store the filter result
+        Bitstream b = bitstreamService.create(context, targetBundle, destStream);
+        // set the name, source and description of the bitstream
+        b.setName(context, newName);
+        b.setSource(context, "Written by FormatFilter " + formatFilter.getClass().getName() +
+                " on " + DCDate.getCurrent() + " (GMT).");
+        b.setDescription(context, formatFilter.getDescription());
+        // Set the format of the bitstream
+        BitstreamFormat bf = bitstreamFormatService.findByShortDescription(context,
+                formatFilter.getFormatString());
+        bitstreamService.setFormat(context, b, bf);
+        bitstreamService.update(context, b);
+
+        //Set permissions on the derivative bitstream
+        updatePoliciesOfDerivativeBitstream(context, b, formatFilter, source);
+
+        //do post-processing of the generated bitstream
+        formatFilter.postProcessBitstream(context, item, b);
+    }
+
+    /**
+     * Remove derivative bitstreams being replaced from the bundles of the filter
+     *
+     * @param context      the context
+     * @param item         the item of the bitstreams
+     * @param formatFilter the filter
+     * @param bitstreams   the derivative bitstreams to remove
+     * @throws Exception if a bitstream can't be removed
+     */
+    private void removeDerivativeBitstreams(Context context, Item item, FormatFilter formatFilter,
+                                            List<Bitstream> bitstreams) throws Exception {
+        for (Bundle bundle : itemService.getBundles(item, formatFilter.getBundleName())) {
+            for (Bitstream bitstream : bitstreams) {
+                if (bundle.getBitstreams().contains(bitstream)) {
+                    bundleService.removeBitstream(context, bundle, bitstream);
+                }
+            }
+        }
+    }
+
+    /**
+     * Run a filter on a bitstream in a worker thread, waiting until the concurrency limits of the pool and of the
+     * filter allow it. The derivatives of the jobs completed meanwhile are stored.
+     *
+     * @param context      the context
+     * @param item         the item of the source bitstream
+     * @param source       the source bitstream
+     * @param formatFilter the filter
+     * @param newName      the name of the derivative bitstream
+     * @throws Exception if the derivative of a completed job can't be stored
+     */
+    private void submitFilterJob(Context context, Item item, Bitstream source, FormatFilter formatFilter,
+                                 String newName) throws Exception {
+        if (jobPool == null) {
+            jobPool = new FilterJobPool(threads, getJobTimeout(),
+                configurationService.getIntProperty("filter-media.max-stuck-workers", threads));
+        }
+        // the workers don't use the database, load the attributes they need
+        source.getInternalId();
+        FilterJob job = new FilterJob(context, bitstreamStorageService, item, source, formatFilter, newName,
+                                      isVerbose);
+        int concurrency = configurationService.getIntProperty("filter-media.concurrency." + job.getFilterName(), 0);
+        while (jobPool.isFull(job.getFilterName(), concurrency)) {
+            storeFilterJob(context, jobPool.take());
+        }
+        pendingItems.merge(item.getID(), 1, Integer::sum);
+        jobPool.submit(job);
+    }
+
+    /**
+     * Store the derivative bitstream of a job taken back from the pool, unless it failed or was written meanwhile
+     *
+     * @param context the context
+     * @param job     the job
+     * @throws SQLException if the item or source bitstream can't be found
+     */
+    private void storeFilterJob(Context context, FilterJob job) throws SQLException {
+        try {
+            Bitstream source = bitstreamService.find(context, job.getSourceId());
+            Item item = itemService.find(context, job.getItemId());
+            if (source == null || item == null) {
+                // removed meanwhile
+                return;
+            }
+            if (job.isTimedOut()) {
+                logError("TIMEOUT: filtering bitstream " + job.getSourceId() + " took more than "
+                             + getJobTimeout() + " seconds");
+                logError(formatBitstreamDetails(job.getItemHandle(), source));
+            } else if (job.getError() != null) {
+                if (job.getError() instanceof OutOfMemoryError) {
+                    logError("!!! OutOfMemoryError !!!");
+                }
+                logError(formatBitstreamDetails(job.getItemHandle(), source));
+                logError(ThrowableUtils.formatCauseChain(job.getError()));
+            } else if (job.getResult() == null) {
+                if (!isQuiet) {
+                    logInfo("SKIPPED: bitstream " + source.getID()
+                            + " (item: " + job.getItemHandle() + ") because filtering was unsuccessful");
+                }
+            } else {
+                storeDerivativeBitstream(context, item, source, job);
+            }
+        } finally {
+            job.discard();
+            releaseItem(job.getItemId());
+        }
+    }
+
+    private void storeDerivativeBitstream(Context context, Item item, Bitstream source, FilterJob job) {
+        FormatFilter formatFilter = job.getFormatFilter();
+        try {
+            List<Bitstream> existingBitstreams = findDerivativeBitstreams(item, source, formatFilter);
+            if (!isForce && !existingBitstreams.isEmpty()) {
+                if (!isQuiet) {
+                    logInfo("SKIPPED: bitstream " + source.getID() + " (item: " + job.getItemHandle()
+                                + ") because '" + job.getNewName() + "' already exists");
+                }
+                return;
+            }
+            try (InputStream destStream = new FileInputStream(job.getResult())) {
+                createDerivativeBitstream(context, item, source, formatFilter, job.getNewName(), destStream);
+            }
+            removeDerivativeBitstreams(context, item, formatFilter, existingBitstreams);
+            itemService.update(context, item); // Make sure new bitstream has a sequence number
+            uncommitted++;
+            if (!isQuiet) {
+                logInfo("FILTERED: bitstream " + source.getID()
+                            + " (item: " + job.getItemHandle() + ") and created '" + job.getNewName() + "'");
+            }
+        } catch (Exception e) {
+            logError(formatBitstreamDetails(job.getItemHandle(), source));
+            logError(ThrowableUtils.formatCauseChain(e));
+        }
+    }
+
+    /**
+     * Record that a job of an item, or the walk through its bitstreams, is completed, and move the progress past
+     * the items walked through before it whose jobs are all completed
+     *
+     * @param itemId the UUID of the item
+     */
+    private void releaseItem(UUID itemId) {
+        pendingItems.merge(itemId, -1, Integer::sum);
+        Iterator<Map.Entry<UUID, Integer>> entries = pendingItems.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<UUID, Integer> entry = entries.next();
+            if (entry.getValue() > 0) {
+                break;
+            }
+            lastCompletedItem = entry.getKey();
+            entries.remove();
+        }
+    }
+
+    /**
+     * Write the last completed item to the progress file, once its derivatives are committed
+     *
+     * @throws IOException if the file can't be written
+     */
+    private void recordProgress() throws IOException {
+        uncommitted = 0;
+        if (!trackProgress || lastCompletedItem == null) {
+            return;
+        }
+        Path progressFile = getProgressFile();
+        Path tempFile = progressFile.resolveSibling(progressFile.getFileName() + ".tmp");
+        Files.createDirectories(progressFile.toAbsolutePath().getParent());
+        Files.writeString(tempFile, lastCompletedItem.toString());
+        Files.move(tempFile, progressFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * @return the last completed item recorded in the progress file, null if there is none
+     * @throws IOException if the file can't be read
+     */
+    private UUID readProgress() throws IOException {
+        Path progressFile = getProgressFile();
+        if (!Files.exists(progressFile)) {
+            logInfo("RESUME: no progress recorded in " + progressFile + ", filtering all items");
+            return null;
+        }
+        return UUID.fromString(Files.readString(progressFile).trim());
+    }
+
+    @Override
+    public void discardFilterJobs() {
+        if (jobPool != null) {
+            jobPool.shutdown();
+            jobPool = null;
+        }
+        pendingItems.clear();
+        lastCompletedItem = null;
+        trackProgress = false;
+        walkCompleted = false;
+        uncommitted = 0;
+    }
+
+    private Path getProgressFile() {
+        return Paths.get(configurationService.getProperty("filter-media.progress-file",
+            configurationService.getProperty("dspace.dir") + "/var/filter-media.progress"));
+    }
+
+    private int getCommitBatchSize() {
+        return Math.max(1, configurationService.getIntProperty("filter-media.commit-batch-size", 20));
+    }
+
+    private long getJobTimeout() {
+        return configurationService.getLongProperty("filter-media.job-timeout", 0);
+    }
+
     @Override
     public void updatePoliciesOfDerivativeBitstreams(Context context, Item item, Bitstream source)
         throws SQLException, AuthorizeException {
@@ -579,6 +847,8 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
     @Override
     public void setMax2Process(int max2Process) {
         this.max2Process = max2Process;
+        // not counting the items of a previous run
+        this.processed = 0;
     }
 
     @Override
@@ -605,4 +875,16 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
     public void setFromDate(LocalDate fromDate) {
         this.fromDate = fromDate;
     }
+
+    @Override
+    public void setThreads(int threads) {
+        // jobs left by a run which failed
+        discardFilterJobs();
+        this.threads = Math.max(1, threads);
+    }
+
+    @Override
+    public void setResume(boolean isResume) {
+        this.isResume = isResume;
+    }
 }
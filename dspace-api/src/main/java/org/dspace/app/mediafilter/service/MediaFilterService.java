@@ -47,6 +47,20 @@ public interface MediaFilterService {
 
     public void applyFiltersItem(Context c, Item item) throws Exception;
 
+    /**
+     * Wait for the filters still running in worker threads and store their derivative bitstreams, then commit.
+     * Must be called once the filters were applied, see {@link #setThreads(int)}.
+     *
+     * @param context context
+     * @throws Exception if error
+     */
+    public void completeFilterJobs(Context context) throws Exception;
+
+    /**
+     * Stop the filters still running in worker threads, removing their results, and forget the progress of the
+     * current run. Called by {@link #completeFilterJobs(Context)}, and should be called when the filtering fails.
+     */
+    public void discardFilterJobs();
 
     /**
      * Iterate through the item's bitstreams in the ORIGINAL bundle, applying
@@ -152,4 +166,18 @@ public interface MediaFilterService {
     public void setLogHandler(DSpaceRunnableHandler handler);
 
     public void setFromDate(LocalDate fromDate);
+
+    /**
+     * Set the number of worker threads running the filters. With more than one, the derivative bitstreams are
+     * stored in batches by {@link #applyFiltersItem(Context, Item)} and {@link #completeFilterJobs(Context)}.
+     * @param threads the number of threads, 1 to run the filters in the calling thread
+     */
+    public void setThreads(int threads);
+
+    /**
+     * Resume filtering all items after the last item recorded as completed by a previous run, see
+     * {@link #applyFiltersAllItems(Context)}
+     * @param isResume whether to resume
+     */
+    public void setResume(boolean isResume);
 }
@@ -13,10 +13,17 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.apache.commons.configuration2.Configuration;
+import org.apache.commons.configuration2.event.ConfigurationEvent;
+import org.apache.commons.configuration2.event.EventSource;
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.logging.log4j.Logger;
 import org.dspace.core.Context;
 import org.dspace.core.LogHelper;
@@ -26,6 +33,7 @@ import org.dspace.eperson.Group;
 import org.dspace.eperson.factory.EPersonServiceFactory;
 import org.dspace.eperson.service.GroupService;
 import org.dspace.service.ClientInfoService;
+import org.dspace.services.ConfigurationService;
 import org.dspace.services.factory.DSpaceServicesFactory;
 
 /**
@@ -42,6 +50,10 @@ import org.dspace.services.factory.DSpaceServicesFactory;
  * 111.222,-111.222.333.
  * <p>
  * For supported IP ranges see {@link org.dspace.authenticate.IPMatcher}.
+ * <p>
+ * The configured ranges are compiled once into an index looking up the groups of an address (see
+ * {@link IPRangeIndex}), and the groups are resolved once. They are built again after the configuration was
+ * reloaded, or after an {@code authentication-ip} property was changed.
  *
  * @author Robert Tansley
  * @version $Revision$
@@ -52,58 +64,157 @@ public class IPAuthentication implements AuthenticationMethod {
      */
     private static Logger log = org.apache.logging.log4j.LogManager.getLogger(IPAuthentication.class);
 
+    /**
+     * The configured IP ranges and groups, shared by all the instances as an instance is created for each use of the
+     * authentication methods, and replaced as a whole when the configuration changes
+     */
+    private static final AtomicReference<IPGroups> sharedIPGroups = new AtomicReference<>();
+
+    /**
+     * Incremented when the configuration changes, the IP groups built for an older version are built again
+     */
+    private static final AtomicLong configurationVersion = new AtomicLong();
+
+    /**
+     * The configuration object whose changes are listened to, replaced by the configuration service on reload
+     */
+    private static Configuration watchedConfiguration;
+
     /**
      * All the IP matchers
+     * @deprecated no longer used, the configured ranges are shared by all instances in an {@link IPRangeIndex}
      */
+    @Deprecated
     protected List<IPMatcher> ipMatchers;
 
     /**
      * All the negative IP matchers
+     * @deprecated no longer used, the configured ranges are shared by all instances in an {@link IPRangeIndex}
      */
+    @Deprecated
     protected List<IPMatcher> ipNegativeMatchers;
 
     protected GroupService groupService;
     protected ClientInfoService clientInfoService;
 
-
     /**
-     * Maps IPMatchers to group names when we don't know group DB ID yet. When
-     * the DB ID is known, the IPMatcher is moved to ipMatcherGroupIDs and then
-     * points to the DB ID.
+     * Maps IPMatchers to group names when we don't know group DB ID yet.
+     * @deprecated no longer used, the configured ranges are shared by all instances in an {@link IPRangeIndex}
      */
+    @Deprecated
     protected Map<IPMatcher, String> ipMatcherGroupNames;
 
     /**
      * Maps IPMatchers to group IDs (Integers) where we know the group DB ID
+     * @deprecated no longer used, the configured ranges are shared by all instances in an {@link IPRangeIndex}
      */
+    @Deprecated
     protected Map<IPMatcher, UUID> ipMatcherGroupIDs;
 
     /**
-     * Initialize an IP authenticator, reading in the configuration. Note this
-     * will never fail if the configuration is bad -- a warning will be logged.
+     * Initialize an IP authenticator. The configuration is read when special groups are requested. Note this will
+     * never fail if the configuration is bad -- a warning will be logged.
      */
     public IPAuthentication() {
-        ipMatchers = new ArrayList<IPMatcher>();
-        ipNegativeMatchers = new ArrayList<IPMatcher>();
+        ipMatchers = new ArrayList<>();
+        ipNegativeMatchers = new ArrayList<>();
         ipMatcherGroupIDs = new HashMap<>();
         ipMatcherGroupNames = new HashMap<>();
         groupService = EPersonServiceFactory.getInstance().getGroupService();
         clientInfoService = CoreServiceFactory.getInstance().getClientInfoService();
+    }
 
-        List<String> propNames = DSpaceServicesFactory.getInstance().getConfigurationService()
-                                                      .getPropertyKeys("authentication-ip");
+    /**
+     * @return the IP ranges configured for each property name
+     */
+    protected Map<String, List<String>> readConfiguration() {
+        ConfigurationService configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
+        Map<String, List<String>> configuration = new HashMap<>();
+        for (String propName : configurationService.getPropertyKeys("authentication-ip")) {
+            configuration.put(propName, List.of(configurationService.getArrayProperty(propName)));
+        }
+        return configuration;
+    }
 
-        for (String propName : propNames) {
-            String[] nameParts = propName.split("\\.");
+    /**
+     * Get the configured IP ranges and groups, (re)building them if the configuration changed since they were built.
+     *
+     * @param context       The relevant DSpace Context.
+     * @return the configured IP ranges and groups
+     * @throws SQLException An exception that provides information on a database access error or other errors.
+     */
+    private IPGroups getIPGroups(Context context) throws SQLException {
+        watchConfiguration(DSpaceServicesFactory.getInstance().getConfigurationService().getConfiguration());
+        IPGroups ipGroups = sharedIPGroups.get();
+        long version = configurationVersion.get();
+        if (ipGroups == null || ipGroups.version != version) {
+            // a change while building is seen by the next call, as the version read before the configuration is kept
+            ipGroups = buildIPGroups(context, version, readConfiguration());
+            sharedIPGroups.set(ipGroups);
+        }
+        return ipGroups;
+    }
 
+    /**
+     * Listen to the changes of the current configuration object. A reload of the configuration files replaces it,
+     * a forced reload or a change of a property fires an event.
+     *
+     * @param configuration the current configuration object
+     */
+    private static synchronized void watchConfiguration(Configuration configuration) {
+        if (configuration == watchedConfiguration) {
+            return;
+        }
+        if (configuration instanceof EventSource) {
+            ((EventSource) configuration).addEventListener(ConfigurationEvent.ANY, event -> {
+                // property changes come with their name, invalidations of the whole configuration without
+                if (!event.isBeforeUpdate() && (event.getPropertyName() == null
+                    || event.getPropertyName().startsWith("authentication-ip"))) {
+                    configurationVersion.incrementAndGet();
+                }
+            });
+        }
+        watchedConfiguration = configuration;
+        configurationVersion.incrementAndGet();
+    }
+
+    private IPGroups buildIPGroups(Context context, long version, Map<String, List<String>> configuration)
+        throws SQLException {
+        List<Pair<IPMatcher, String>> ipMatchers = new ArrayList<>();
+        List<Pair<IPMatcher, String>> ipNegativeMatchers = new ArrayList<>();
+        for (Map.Entry<String, List<String>> property : configuration.entrySet()) {
+            String[] nameParts = property.getKey().split("\\.");
             if (nameParts.length == 2) {
-                addMatchers(nameParts[1],
-                            DSpaceServicesFactory.getInstance().getConfigurationService().getArrayProperty(propName));
+                addMatchers(nameParts[1], property.getValue(), ipMatchers, ipNegativeMatchers);
             } else {
                 log.warn("Malformed configuration property name: "
-                             + propName);
+                             + property.getKey());
             }
         }
+
+        Map<String, UUID> groupIDs = new HashMap<>();
+        for (Pair<IPMatcher, String> ipMatcher : ipMatchers) {
+            if (!groupIDs.containsKey(ipMatcher.getRight())) {
+                Group group = groupService.findByName(context, ipMatcher.getRight());
+                groupIDs.put(ipMatcher.getRight(), group == null ? null : group.getID());
+            }
+        }
+        return new IPGroups(version, new IPRangeIndex<>(ipMatchers, ipNegativeMatchers), groupIDs);
+    }
+
+    /**
+     * Index of the configured IP ranges, mapping them to group names, and the IDs of these groups.
+     */
+    private static final class IPGroups {
+        private final long version;
+        private final IPRangeIndex<String> index;
+        private final Map<String, UUID> groupIDs;
+
+        private IPGroups(long version, IPRangeIndex<String> index, Map<String, UUID> groupIDs) {
+            this.version = version;
+            this.index = index;
+            this.groupIDs = groupIDs;
+        }
     }
 
     /**
@@ -111,7 +222,10 @@ public class IPAuthentication implements AuthenticationMethod {
      *
      * @param groupName name of group
      * @param ipRanges  IP ranges
+     * @deprecated the matchers are no longer used, the configured ranges are shared by all instances in an
+     * {@link IPRangeIndex}, see {@link #addMatchers(String, List, List, List)}
      */
+    @Deprecated
     protected void addMatchers(String groupName, String[] ipRanges) {
         for (String entry : ipRanges) {
             try {
@@ -124,6 +238,30 @@ public class IPAuthentication implements AuthenticationMethod {
                     ipMatchers.add(ipm);
                 }
                 ipMatcherGroupNames.put(ipm, groupName);
+            } catch (IPMatcherException ipme) {
+                log.warn("Malformed IP range specified for group " + groupName,
+                         ipme);
+            }
+        }
+    }
+
+    /**
+     * Add matchers for the given IP ranges and group.
+     *
+     * @param groupName          name of group
+     * @param ipRanges           IP ranges
+     * @param ipMatchers         list to add the matchers of the IP ranges to
+     * @param ipNegativeMatchers list to add the matchers of the negative IP ranges to
+     */
+    protected void addMatchers(String groupName, List<String> ipRanges, List<Pair<IPMatcher, String>> ipMatchers,
+                               List<Pair<IPMatcher, String>> ipNegativeMatchers) {
+        for (String entry : ipRanges) {
+            try {
+                if (entry.startsWith("-")) {
+                    ipNegativeMatchers.add(Pair.of(new IPMatcher(entry.substring(1)), groupName));
+                } else {
+                    ipMatchers.add(Pair.of(new IPMatcher(entry), groupName));
+                }
 
                 if (log.isDebugEnabled()) {
                     log.debug("Configured " + entry + " for special group "
@@ -169,74 +307,36 @@ public class IPAuthentication implements AuthenticationMethod {
         // Get the user's IP address
         String addr = clientInfoService.getClientIp(request);
 
-        for (IPMatcher ipm : ipMatchers) {
-            try {
-                if (ipm.match(addr)) {
-                    // Do we know group ID?
-                    UUID g = ipMatcherGroupIDs.get(ipm);
-                    if (g != null) {
-                        groups.add(groupService.find(context, g));
-                    } else {
-                        // See if we have a group name
-                        String groupName = ipMatcherGroupNames.get(ipm);
-
-                        if (groupName != null) {
-                            Group group = groupService.findByName(context, groupName);
-                            if (group != null) {
-                                // Add ID so we won't have to do lookup again
-                                ipMatcherGroupIDs.put(ipm, (group.getID()));
-                                ipMatcherGroupNames.remove(ipm);
-
-                                groups.add(group);
-                            } else {
-                                log.warn(LogHelper.getHeader(context,
-                                                              "configuration_error", "unknown_group="
-                                                                  + groupName));
-                            }
-                        }
-                    }
-                }
-            } catch (IPMatcherException ipme) {
-                log.warn(LogHelper.getHeader(context, "configuration_error",
-                                              "bad_ip=" + addr), ipme);
-            }
+        IPGroups ipGroups = getIPGroups(context);
+        Set<String> groupNames;
+        try {
+            groupNames = ipGroups.index.find(addr);
+        } catch (IPMatcherException ipme) {
+            log.warn(LogHelper.getHeader(context, "configuration_error",
+                                          "bad_ip=" + addr), ipme);
+            groupNames = Set.of();
         }
 
-        // Now remove any negative matches
-        for (IPMatcher ipm : ipNegativeMatchers) {
-            try {
-                if (ipm.match(addr)) {
-                    // Do we know group ID?
-                    UUID g = ipMatcherGroupIDs.get(ipm);
-                    if (g != null) {
-                        groups.remove(groupService.find(context, g));
-                    } else {
-                        // See if we have a group name
-                        String groupName = ipMatcherGroupNames.get(ipm);
-
-                        if (groupName != null) {
-                            Group group = groupService.findByName(context, groupName);
-                            if (group != null) {
-                                // Add ID so we won't have to do lookup again
-                                ipMatcherGroupIDs.put(ipm, group.getID());
-                                ipMatcherGroupNames.remove(ipm);
-
-                                groups.remove(group);
-                            } else {
-                                log.warn(LogHelper.getHeader(context,
-                                                              "configuration_error", "unknown_group="
-                                                                  + groupName));
-                            }
-                        }
-                    }
+        for (String groupName : groupNames) {
+            // Do we know group ID?
+            UUID g = ipGroups.groupIDs.get(groupName);
+            Group group = g == null ? null : groupService.find(context, g);
+            if (group == null) {
+                // The group was created (again) since the groups were resolved
+                group = groupService.findByName(context, groupName);
+                if (group != null) {
+                    // Resolve the groups again so we won't have to do lookup again
+                    sharedIPGroups.compareAndSet(ipGroups, null);
+                } else {
+                    log.warn(LogHelper.getHeader(context,
+                                                  "configuration_error", "unknown_group="
+                                                      + groupName));
+                    continue;
                 }
-            } catch (IPMatcherException ipme) {
-                log.warn(LogHelper.getHeader(context, "configuration_error",
-                                              "bad_ip=" + addr), ipme);
             }
+            groups.add(group);
         }
 
-
         if (log.isDebugEnabled()) {
             StringBuilder gsb = new StringBuilder();
             for (Group group : groups) {
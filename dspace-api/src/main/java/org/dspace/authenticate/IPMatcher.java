@@ -244,19 +244,7 @@ public class IPMatcher {
      */
     public boolean match(String ipIn) throws IPMatcherException {
         log.debug("ipIn: " + ipIn);
-        byte[] candidate;
-
-        if (ipIn.indexOf(':') < 0) {
-            candidate = new byte[4];
-            ipToBytes(ipIn, candidate, true);
-            candidate = ip4ToIp6(candidate);
-        } else {
-            try {
-                candidate = Inet6Address.getByName(ipIn).getAddress();
-            } catch (UnknownHostException e) {
-                throw new IPMatcherException("Malformed IPv6 address ", e);
-            }
-        }
+        byte[] candidate = toBytes(ipIn);
 
         for (int i = 0; i < netmask.length; i++) {
             if ((candidate[i] & netmask[i]) != (network[i] & netmask[i])) {
@@ -274,6 +262,70 @@ public class IPMatcher {
         return true;
     }
 
+    /**
+     * Parse a full IP address into the 16 bytes of an IPv6 address, IPv4 addresses being mapped as they are in the
+     * ranges of this class.
+     *
+     * @param ipIn IPv4 or IPv6 address as String
+     * @return the 16 bytes of the address
+     * @throws IPMatcherException if the IP passed in cannot be parsed correctly (i.e. is malformed)
+     */
+    static byte[] toBytes(String ipIn) throws IPMatcherException {
+        if (ipIn.indexOf(':') < 0) {
+            byte[] candidate = new byte[4];
+            ipToBytes(ipIn, candidate, true);
+            return ip4ToIp6(candidate);
+        }
+        try {
+            byte[] candidate = Inet6Address.getByName(ipIn).getAddress();
+            // IPv4-mapped IPv6 addresses are parsed as IPv4 addresses
+            return candidate.length == 4 ? ip4ToIp6(candidate) : candidate;
+        } catch (UnknownHostException e) {
+            throw new IPMatcherException("Malformed IPv6 address ", e);
+        }
+    }
+
+    /**
+     * @return {@code true} if the netmask is a prefix mask (CIDR or partial IPv4 ranges, and most network/netmask
+     * ranges), so the range is made of the consecutive addresses from {@link #getLowestAddress()} to
+     * {@link #getHighestAddress()}
+     */
+    boolean isContiguous() {
+        boolean inPrefix = true;
+        for (byte maskByte : netmask) {
+            for (int bit = 7; bit >= 0; bit--) {
+                boolean set = (maskByte & 1 << bit) != 0;
+                if (set && !inPrefix) {
+                    return false;
+                }
+                inPrefix = set;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the 16 bytes of the lowest address matched by this {@code IPMatcher}
+     */
+    byte[] getLowestAddress() {
+        byte[] lowest = new byte[network.length];
+        for (int i = 0; i < network.length; i++) {
+            lowest[i] = (byte) (network[i] & netmask[i]);
+        }
+        return lowest;
+    }
+
+    /**
+     * @return the 16 bytes of the highest address matched by this {@code IPMatcher}
+     */
+    byte[] getHighestAddress() {
+        byte[] highest = new byte[network.length];
+        for (int i = 0; i < network.length; i++) {
+            highest[i] = (byte) (network[i] | ~netmask[i]);
+        }
+        return highest;
+    }
+
     /**
      * Convert an IPv4 address to an IPv6 IPv4-compatible address.
      *
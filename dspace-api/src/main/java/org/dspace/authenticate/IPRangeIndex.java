@@ -0,0 +1,184 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.authenticate;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.apache.commons.lang3.tuple.Pair;
+
+/**
+ * Immutable index of IP ranges, mapping an address to the values of the ranges which include it, except the values
+ * of the negative ranges which include it.
+ * <p>
+ * The IPv6 address space (where IPv4 addresses are mapped as in {@link IPMatcher}) is split at the bounds of the
+ * ranges into consecutive segments, each with the values of the ranges covering it, so looking up an address is a
+ * binary search among the segments. Ranges whose netmask isn't a prefix mask are not consecutive addresses, and are
+ * matched one by one.
+ *
+ * @param <V> type of the values of the ranges
+ */
+final class IPRangeIndex<V> {
+    private static final BigInteger ADDRESS_SPACE_SIZE = BigInteger.ONE.shiftLeft(128);
+
+    /**
+     * Lowest address of each segment, as the high and low 64 bits of the address
+     */
+    private final long[] segmentStartsHigh;
+    private final long[] segmentStartsLow;
+    private final List<Set<V>> segmentValues;
+    private final List<Set<V>> segmentNegativeValues;
+
+    private final List<Pair<IPMatcher, V>> otherRanges = new ArrayList<>();
+    private final List<Pair<IPMatcher, V>> otherNegativeRanges = new ArrayList<>();
+
+    /**
+     * @param ranges         the ranges and their values
+     * @param negativeRanges the negative ranges and their values
+     */
+    IPRangeIndex(List<Pair<IPMatcher, V>> ranges, List<Pair<IPMatcher, V>> negativeRanges) {
+        TreeSet<BigInteger> bounds = new TreeSet<>();
+        bounds.add(BigInteger.ZERO);
+        for (List<Pair<IPMatcher, V>> list : List.of(ranges, negativeRanges)) {
+            for (Pair<IPMatcher, V> range : list) {
+                if (range.getLeft().isContiguous()) {
+                    bounds.add(lowest(range.getLeft()));
+                    bounds.add(highest(range.getLeft()).add(BigInteger.ONE));
+                }
+            }
+        }
+        bounds.remove(ADDRESS_SPACE_SIZE);
+        BigInteger[] starts = bounds.toArray(new BigInteger[0]);
+
+        List<Set<V>> values = newSegments(starts.length);
+        List<Set<V>> negativeValues = newSegments(starts.length);
+        addRanges(starts, ranges, values, otherRanges);
+        addRanges(starts, negativeRanges, negativeValues, otherNegativeRanges);
+
+        // merge the consecutive segments with the same values
+        List<BigInteger> mergedStarts = new ArrayList<>();
+        segmentValues = new ArrayList<>();
+        segmentNegativeValues = new ArrayList<>();
+        for (int i = 0; i < starts.length; i++) {
+            Set<V> segmentValue = values.get(i);
+            Set<V> segmentNegativeValue = negativeValues.get(i);
+            if (otherRanges.isEmpty() && otherNegativeRanges.isEmpty()) {
+                // the negative values can be removed upfront
+                segmentValue.removeAll(segmentNegativeValue);
+                segmentNegativeValue = Set.of();
+            }
+            int last = segmentValues.size() - 1;
+            if (last < 0 || !segmentValues.get(last).equals(segmentValue)
+                || !segmentNegativeValues.get(last).equals(segmentNegativeValue)) {
+                mergedStarts.add(starts[i]);
+                segmentValues.add(Collections.unmodifiableSet(segmentValue));
+                segmentNegativeValues.add(Collections.unmodifiableSet(segmentNegativeValue));
+            }
+        }
+        segmentStartsHigh = new long[mergedStarts.size()];
+        segmentStartsLow = new long[mergedStarts.size()];
+        for (int i = 0; i < mergedStarts.size(); i++) {
+            segmentStartsHigh[i] = mergedStarts.get(i).shiftRight(64).longValue();
+            segmentStartsLow[i] = mergedStarts.get(i).longValue();
+        }
+    }
+
+    /**
+     * @param address IPv4 or IPv6 address
+     * @return the values of the ranges including the address, except the values of the negative ranges including it
+     * @throws IPMatcherException if the address is malformed
+     */
+    Set<V> find(String address) throws IPMatcherException {
+        byte[] bytes = IPMatcher.toBytes(address);
+        long high = toLong(bytes, 0);
+        long low = toLong(bytes, 8);
+
+        // last segment starting at or before the address, the first one starts at 0
+        int lowerIndex = 0;
+        int upperIndex = segmentStartsHigh.length - 1;
+        while (lowerIndex < upperIndex) {
+            int middle = (lowerIndex + upperIndex + 1) >>> 1;
+            int comparison = Long.compareUnsigned(segmentStartsHigh[middle], high);
+            if (comparison == 0) {
+                comparison = Long.compareUnsigned(segmentStartsLow[middle], low);
+            }
+            if (comparison <= 0) {
+                lowerIndex = middle;
+            } else {
+                upperIndex = middle - 1;
+            }
+        }
+
+        Set<V> values = segmentValues.get(lowerIndex);
+        if (otherRanges.isEmpty() && otherNegativeRanges.isEmpty()) {
+            return values;
+        }
+        values = new HashSet<>(values);
+        for (Pair<IPMatcher, V> range : otherRanges) {
+            if (range.getLeft().match(address)) {
+                values.add(range.getRight());
+            }
+        }
+        values.removeAll(segmentNegativeValues.get(lowerIndex));
+        for (Pair<IPMatcher, V> range : otherNegativeRanges) {
+            if (range.getLeft().match(address)) {
+                values.remove(range.getRight());
+            }
+        }
+        return values;
+    }
+
+    private static <V> List<Set<V>> newSegments(int count) {
+        List<Set<V>> segments = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            segments.add(new HashSet<>());
+        }
+        return segments;
+    }
+
+    /**
+     * Add the value of each range to the segments it covers, or to the ranges matched one by one.
+     */
+    private static <V> void addRanges(BigInteger[] starts, List<Pair<IPMatcher, V>> ranges, List<Set<V>> segments,
+                                      List<Pair<IPMatcher, V>> otherRanges) {
+        for (Pair<IPMatcher, V> range : ranges) {
+            if (!range.getLeft().isContiguous()) {
+                otherRanges.add(range);
+                continue;
+            }
+            int first = Arrays.binarySearch(starts, lowest(range.getLeft()));
+            BigInteger end = highest(range.getLeft()).add(BigInteger.ONE);
+            int last = end.equals(ADDRESS_SPACE_SIZE) ? starts.length : Arrays.binarySearch(starts, end);
+            for (int i = first; i < last; i++) {
+                segments.get(i).add(range.getRight());
+            }
+        }
+    }
+
+    private static BigInteger lowest(IPMatcher matcher) {
+        return new BigInteger(1, matcher.getLowestAddress());
+    }
+
+    private static BigInteger highest(IPMatcher matcher) {
+        return new BigInteger(1, matcher.getHighestAddress());
+    }
+
+    private static long toLong(byte[] bytes, int offset) {
+        long value = 0;
+        for (int i = offset; i < offset + 8; i++) {
+            value = value << 8 | bytes[i] & 0xFF;
+        }
+        return value;
+    }
+}
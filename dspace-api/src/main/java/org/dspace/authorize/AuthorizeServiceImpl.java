@@ -53,6 +53,8 @@ import org.dspace.eperson.service.GroupService;
 import org.dspace.services.ConfigurationService;
 import org.dspace.workflow.WorkflowItemService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 
 /**
  * AuthorizeManager handles all authorization checks for DSpace. For better
@@ -73,6 +75,15 @@ public class AuthorizeServiceImpl implements AuthorizeService {
 
     private static final Logger log = LogManager.getLogger();
 
+    /**
+     * Name of the cache of the resource policies of items, and of their bundles and bitstreams, shared by all
+     * contexts. Each entry is tagged with the item and the last modification date of the item it was read for, which
+     * changes with every change to the policies of the item, of its bundles and of their bitstreams (see
+     * {@link ResourcePolicyServiceImpl}). It is only used while the item still has that date: changes committed by
+     * other contexts, and by other processes such as command line scripts, are noticed on the next lookup.
+     */
+    public static final String POLICIES_CACHE = "authorization.policies";
+
     @Autowired(required = true)
     protected BitstreamService bitstreamService;
     @Autowired(required = true)
@@ -89,6 +100,8 @@ public class AuthorizeServiceImpl implements AuthorizeService {
     private SearchService searchService;
     @Autowired(required = true)
     private ConfigurationService configurationService;
+    @Autowired(required = false)
+    protected CacheManager cacheManager;
 
 
     protected AuthorizeServiceImpl() {
@@ -296,39 +309,28 @@ public class AuthorizeServiceImpl implements AuthorizeService {
             }
         }
 
-        for (ResourcePolicy rp : getPoliciesActionFilter(c, o, action)) {
+        for (CachedResourcePolicy rp : getAuthorizationPolicies(c, o, action)) {
 
             if (ignoreCustomPolicies
                 && ResourcePolicy.TYPE_CUSTOM.equals(rp.getRpType())) {
-                if (c.isReadOnly()) {
-                    //When we are in read-only mode, we will cache authorized actions in a different way
-                    //So we remove this resource policy from the cache.
-                    c.uncacheEntity(rp);
-                }
                 continue;
             }
 
             // check policies for date validity
-            if (resourcePolicyService.isDateValid(rp)) {
-                if (rp.getEPerson() != null && rp.getEPerson().equals(userToCheck)) {
-                    c.cacheAuthorizedAction(o, action, e, true, rp);
+            if (rp.isDateValid()) {
+                if (rp.getEPersonId() != null && userToCheck != null
+                    && rp.getEPersonId().equals(userToCheck.getID())) {
+                    c.cacheAuthorizedAction(o, action, e, true, null);
                     return true; // match
                 }
 
-                if ((rp.getGroup() != null)
-                    && groupService.isMember(c, e, rp.getGroup())) {
+                if (isMember(c, e, rp.getGroupId())) {
                     // group was set, and eperson is a member
                     // of that group
-                    c.cacheAuthorizedAction(o, action, e, true, rp);
+                    c.cacheAuthorizedAction(o, action, e, true, null);
                     return true;
                 }
             }
-
-            if (c.isReadOnly()) {
-                //When we are in read-only mode, we will cache authorized actions in a different way
-                //So we remove this resource policy from the cache.
-                c.uncacheEntity(rp);
-            }
         }
 
         if (e != null) {
@@ -352,6 +354,10 @@ public class AuthorizeServiceImpl implements AuthorizeService {
         throws SQLException {
         for (Bundle bundle : bundles) {
             for (Item item : bundle.getItems()) {
+                // an archived item can't be a workspace or workflow item
+                if (item.isArchived()) {
+                    return true;
+                }
                 if (workspaceItemService.findByItem(ctx, item) == null
                     && workflowItemService.findByItem(ctx, item) == null) {
                     return true;
@@ -362,6 +368,97 @@ public class AuthorizeServiceImpl implements AuthorizeService {
     }
 
 
+    /**
+     * Get the policies of a DSpace object for an action, as used to decide authorizations. The policies of items, and
+     * of bundles and bitstreams belonging to a single item, are read from the cache shared by all contexts
+     * ({@link #POLICIES_CACHE}) when it is configured, as long as the item wasn't modified since they were cached.
+     * All policies of the object are cached on the first lookup, unless the context holds changes which aren't
+     * committed yet.
+     *
+     * @param c      current context
+     * @param o      object
+     * @param action the action
+     * @return the policies of the object for the action
+     * @throws SQLException if database error
+     */
+    protected List<CachedResourcePolicy> getAuthorizationPolicies(Context c, DSpaceObject o, int action)
+        throws SQLException {
+        Cache cache = null;
+        Item item = null;
+        if (cacheManager != null) {
+            item = getPoliciesItem(o);
+            cache = item == null || item.getLastModified() == null ? null : cacheManager.getCache(POLICIES_CACHE);
+        }
+        if (cache == null) {
+            return toCachedResourcePolicies(c, getPoliciesActionFilter(c, o, action));
+        }
+
+        CachedResourcePolicies cached = cache.get(o.getID(), CachedResourcePolicies.class);
+        CachedResourcePolicy[] policies;
+        if (cached != null && cached.isOf(item.getID(), item.getLastModified())) {
+            policies = cached.getPolicies();
+        } else {
+            policies = toCachedResourcePolicies(c, getPolicies(c, o)).toArray(new CachedResourcePolicy[0]);
+            // the policies read by a context with pending changes may never be committed
+            if (c.isReadOnly() || !c.hasEvents()) {
+                cache.put(o.getID(), new CachedResourcePolicies(item.getID(), item.getLastModified(), policies));
+            }
+        }
+        List<CachedResourcePolicy> actionPolicies = new ArrayList<>();
+        for (CachedResourcePolicy rp : policies) {
+            if (rp.getAction() == action) {
+                actionPolicies.add(rp);
+            }
+        }
+        return actionPolicies;
+    }
+
+    /**
+     * @param o a DSpace object
+     * @return the item whose last modification date tells whether the cached policies of the object are still
+     *         valid: the object itself, or the only item of a bundle or of the only bundle of a bitstream. Null if
+     *         there is none, the policies of the object aren't cached then.
+     * @throws SQLException if database error
+     */
+    private Item getPoliciesItem(DSpaceObject o) throws SQLException {
+        if (o instanceof Item) {
+            return (Item) o;
+        }
+        if (o instanceof Bitstream) {
+            List<Bundle> bundles = ((Bitstream) o).getBundles();
+            o = bundles.size() == 1 ? bundles.get(0) : null;
+        }
+        if (o instanceof Bundle) {
+            List<Item> items = ((Bundle) o).getItems();
+            return items.size() == 1 ? items.get(0) : null;
+        }
+        return null;
+    }
+
+    private List<CachedResourcePolicy> toCachedResourcePolicies(Context c, List<ResourcePolicy> policies)
+        throws SQLException {
+        List<CachedResourcePolicy> cachedPolicies = new ArrayList<>(policies.size());
+        for (ResourcePolicy rp : policies) {
+            cachedPolicies.add(new CachedResourcePolicy(rp));
+            if (c.isReadOnly()) {
+                //When we are in read-only mode, we will cache authorized actions in a different way
+                //So we remove this resource policy from the cache.
+                c.uncacheEntity(rp);
+            }
+        }
+        return cachedPolicies;
+    }
+
+    // check whether the eperson is a member of the group of a policy, if the
+    // policy has a group which still exists
+    private boolean isMember(Context c, EPerson e, UUID groupId) throws SQLException {
+        if (groupId == null) {
+            return false;
+        }
+        Group group = groupService.find(c, groupId);
+        return group != null && groupService.isMember(c, e, group);
+    }
+
     ///////////////////////////////////////////////
     // admin check methods
     ///////////////////////////////////////////////
@@ -390,30 +487,23 @@ public class AuthorizeServiceImpl implements AuthorizeService {
         //
         // First, check all Resource Policies directly on this object
         //
-        List<ResourcePolicy> policies = getPoliciesActionFilter(c, o, Constants.ADMIN);
+        List<CachedResourcePolicy> policies = getAuthorizationPolicies(c, o, Constants.ADMIN);
 
-        for (ResourcePolicy rp : policies) {
+        for (CachedResourcePolicy rp : policies) {
             // check policies for date validity
-            if (resourcePolicyService.isDateValid(rp)) {
-                if (rp.getEPerson() != null && rp.getEPerson().equals(e)) {
-                    c.cacheAuthorizedAction(o, Constants.ADMIN, e, true, rp);
+            if (rp.isDateValid()) {
+                if (rp.getEPersonId() != null && e != null && rp.getEPersonId().equals(e.getID())) {
+                    c.cacheAuthorizedAction(o, Constants.ADMIN, e, true, null);
                     return true; // match
                 }
 
-                if ((rp.getGroup() != null)
-                    && groupService.isMember(c, e, rp.getGroup())) {
+                if (isMember(c, e, rp.getGroupId())) {
                     // group was set, and eperson is a member
                     // of that group
-                    c.cacheAuthorizedAction(o, Constants.ADMIN, e, true, rp);
+                    c.cacheAuthorizedAction(o, Constants.ADMIN, e, true, null);
                     return true;
                 }
             }
-
-            if (c.isReadOnly()) {
-                //When we are in read-only mode, we will cache authorized actions in a different way
-                //So we remove this resource policy from the cache.
-                c.uncacheEntity(rp);
-            }
         }
 
         // If user doesn't have specific Admin permissions on this object,
@@ -0,0 +1,49 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.authorize;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * All policies of an item, bundle or bitstream, as stored in the cache of policies shared by all contexts (see
+ * {@link AuthorizeServiceImpl#POLICIES_CACHE}), with the item they belong to and its last modification date when
+ * they were read.
+ */
+final class CachedResourcePolicies implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final UUID itemId;
+    private final Instant lastModified;
+    private final CachedResourcePolicy[] policies;
+
+    /**
+     * @param itemId       the item the object belongs to (or the object itself)
+     * @param lastModified the last modification date of the item when the policies were read
+     * @param policies     the policies of the object
+     */
+    CachedResourcePolicies(UUID itemId, Instant lastModified, CachedResourcePolicy[] policies) {
+        this.itemId = itemId;
+        this.lastModified = lastModified;
+        this.policies = policies;
+    }
+
+    /**
+     * @param currentItemId           the item the object currently belongs to
+     * @param currentItemLastModified the current last modification date of the item
+     * @return true if the object still belongs to the item, and the item wasn't modified since the policies were read
+     */
+    boolean isOf(UUID currentItemId, Instant currentItemLastModified) {
+        return itemId.equals(currentItemId) && lastModified.equals(currentItemLastModified);
+    }
+
+    CachedResourcePolicy[] getPolicies() {
+        return policies;
+    }
+}
@@ -0,0 +1,67 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.authorize;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * The part of a {@link ResourcePolicy} which is needed to decide authorizations, without references to entities,
+ * as stored in the cache of the policies of items, bundles and bitstreams shared by all contexts (see
+ * {@link AuthorizeServiceImpl#POLICIES_CACHE}).
+ * <p>
+ * The start and end dates are kept so the validity of embargoed or expiring policies is checked when the policy is
+ * used rather than when it was cached.
+ */
+final class CachedResourcePolicy implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final int action;
+    private final UUID epersonId;
+    private final UUID groupId;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final String rpType;
+
+    /**
+     * @param resourcePolicy the policy to keep
+     */
+    CachedResourcePolicy(ResourcePolicy resourcePolicy) {
+        action = resourcePolicy.getAction();
+        epersonId = resourcePolicy.getEPerson() == null ? null : resourcePolicy.getEPerson().getID();
+        groupId = resourcePolicy.getGroup() == null ? null : resourcePolicy.getGroup().getID();
+        startDate = resourcePolicy.getStartDate();
+        endDate = resourcePolicy.getEndDate();
+        rpType = resourcePolicy.getRpType();
+    }
+
+    int getAction() {
+        return action;
+    }
+
+    UUID getEPersonId() {
+        return epersonId;
+    }
+
+    UUID getGroupId() {
+        return groupId;
+    }
+
+    String getRpType() {
+        return rpType;
+    }
+
+    /**
+     * @return true if the policy has begun and hasn't expired yet (or no dates are set)
+     * @see ResourcePolicyServiceImpl#isDateValid(ResourcePolicy)
+     */
+    boolean isDateValid() {
+        return ResourcePolicyServiceImpl.isDateValid(startDate, endDate);
+    }
+}
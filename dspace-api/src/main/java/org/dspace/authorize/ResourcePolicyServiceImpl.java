@@ -21,7 +21,10 @@ import org.apache.logging.log4j.Logger;
 import org.dspace.authorize.dao.ResourcePolicyDAO;
 import org.dspace.authorize.service.AuthorizeService;
 import org.dspace.authorize.service.ResourcePolicyService;
+import org.dspace.content.Bitstream;
+import org.dspace.content.Bundle;
 import org.dspace.content.DSpaceObject;
+import org.dspace.content.Item;
 import org.dspace.content.factory.ContentServiceFactory;
 import org.dspace.core.Constants;
 import org.dspace.core.Context;
@@ -29,6 +32,8 @@ import org.dspace.eperson.EPerson;
 import org.dspace.eperson.Group;
 import org.dspace.eperson.service.GroupService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 
 /**
  * Service implementation for the ResourcePolicy object.
@@ -55,6 +60,9 @@ public class ResourcePolicyServiceImpl implements ResourcePolicyService {
     @Autowired
     private AuthorizeService authorizeService;
 
+    @Autowired(required = false)
+    protected CacheManager cacheManager;
+
     protected ResourcePolicyServiceImpl() {
     }
 
@@ -153,13 +161,9 @@ public class ResourcePolicyServiceImpl implements ResourcePolicyService {
         // Remove ourself
         resourcePolicyDAO.delete(context, resourcePolicy);
 
-        context.turnOffAuthorisationSystem();
         if (resourcePolicy.getdSpaceObject() != null) {
-            //A policy for a DSpace Object has been modified, fire a modify event on the DSpace object
-            contentServiceFactory.getDSpaceObjectService(resourcePolicy.getdSpaceObject())
-                                 .updateLastModified(context, resourcePolicy.getdSpaceObject());
+            policiesChanged(context, resourcePolicy.getdSpaceObject());
         }
-        context.restoreAuthSystemState();
     }
 
 
@@ -187,9 +191,17 @@ public class ResourcePolicyServiceImpl implements ResourcePolicyService {
      */
     @Override
     public boolean isDateValid(ResourcePolicy resourcePolicy) {
-        LocalDate sd = resourcePolicy.getStartDate();
-        LocalDate ed = resourcePolicy.getEndDate();
+        return isDateValid(resourcePolicy.getStartDate(), resourcePolicy.getEndDate());
+    }
 
+    /**
+     * figures out if the current date is between the dates of a policy
+     *
+     * @param sd start date of the policy, or null
+     * @param ed end date of the policy, or null
+     * @return true if the policy has begun and hasn't expired yet (or no dates are set)
+     */
+    static boolean isDateValid(LocalDate sd, LocalDate ed) {
         // if no dates set, return true (most common case)
         if ((sd == null) && (ed == null)) {
             return true;
@@ -229,55 +241,47 @@ public class ResourcePolicyServiceImpl implements ResourcePolicyService {
     @Override
     public void removeAllPolicies(Context c, DSpaceObject o) throws SQLException, AuthorizeException {
         resourcePolicyDAO.deleteByDso(c, o);
-        c.turnOffAuthorisationSystem();
-        contentServiceFactory.getDSpaceObjectService(o).updateLastModified(c, o);
-        c.restoreAuthSystemState();
+        policiesChanged(c, o);
     }
 
     @Override
     public void removePolicies(Context c, DSpaceObject o, String type) throws SQLException, AuthorizeException {
         resourcePolicyDAO.deleteByDsoAndType(c, o, type);
-        c.turnOffAuthorisationSystem();
-        contentServiceFactory.getDSpaceObjectService(o).updateLastModified(c, o);
-        c.restoreAuthSystemState();
+        policiesChanged(c, o);
     }
 
     @Override
     public void removePolicies(Context c, DSpaceObject o, String type, int action)
         throws SQLException, AuthorizeException {
         resourcePolicyDAO.deleteByDsoAndTypeAndAction(c, o, type, action);
-        c.turnOffAuthorisationSystem();
-        contentServiceFactory.getDSpaceObjectService(o).updateLastModified(c, o);
-        c.restoreAuthSystemState();
+        policiesChanged(c, o);
     }
 
     @Override
     public void removeDsoGroupPolicies(Context context, DSpaceObject dso, Group group)
         throws SQLException, AuthorizeException {
         resourcePolicyDAO.deleteByDsoGroupPolicies(context, dso, group);
-        context.turnOffAuthorisationSystem();
-        contentServiceFactory.getDSpaceObjectService(dso).updateLastModified(context, dso);
-        context.restoreAuthSystemState();
+        policiesChanged(context, dso);
     }
 
     @Override
     public void removeDsoEPersonPolicies(Context context, DSpaceObject dso, EPerson ePerson)
         throws SQLException, AuthorizeException {
         resourcePolicyDAO.deleteByDsoEPersonPolicies(context, dso, ePerson);
-        context.turnOffAuthorisationSystem();
-        contentServiceFactory.getDSpaceObjectService(dso).updateLastModified(context, dso);
-        context.restoreAuthSystemState();
+        policiesChanged(context, dso);
 
     }
 
     @Override
     public void removeAllEPersonPolicies(Context context, EPerson ePerson) throws SQLException, AuthorizeException {
         resourcePolicyDAO.deleteByEPerson(context, ePerson);
+        evictAllCachedPolicies();
     }
 
     @Override
     public void removeGroupPolicies(Context c, Group group) throws SQLException {
         resourcePolicyDAO.deleteByGroup(c, group);
+        evictAllCachedPolicies();
     }
 
     @Override
@@ -286,9 +290,7 @@ public class ResourcePolicyServiceImpl implements ResourcePolicyService {
             removeAllPolicies(c, o);
         } else {
             resourcePolicyDAO.deleteByDsoAndAction(c, o, actionId);
-            c.turnOffAuthorisationSystem();
-            contentServiceFactory.getDSpaceObjectService(o).updateLastModified(c, o);
-            c.restoreAuthSystemState();
+            policiesChanged(c, o);
         }
     }
 
@@ -296,9 +298,7 @@ public class ResourcePolicyServiceImpl implements ResourcePolicyService {
     public void removeDsoAndTypeNotEqualsToPolicies(Context c, DSpaceObject o, String type)
         throws SQLException, AuthorizeException {
         resourcePolicyDAO.deleteByDsoAndTypeNotEqualsTo(c, o, type);
-        c.turnOffAuthorisationSystem();
-        contentServiceFactory.getDSpaceObjectService(o).updateLastModified(c, o);
-        c.restoreAuthSystemState();
+        policiesChanged(c, o);
     }
 
 
@@ -333,12 +333,9 @@ public class ResourcePolicyServiceImpl implements ResourcePolicyService {
             }
 
             //Update the last modified timestamp of all related DSpace Objects
-            context.turnOffAuthorisationSystem();
             for (DSpaceObject dSpaceObject : relatedDSpaceObjects) {
-                //A policy for a DSpace Object has been modified, fire a modify event on the DSpace object
-                contentServiceFactory.getDSpaceObjectService(dSpaceObject).updateLastModified(context, dSpaceObject);
+                policiesChanged(context, dSpaceObject);
             }
-            context.restoreAuthSystemState();
         }
     }
 
@@ -428,4 +425,51 @@ public class ResourcePolicyServiceImpl implements ResourcePolicyService {
         }
         return isMy || authorizeService.isAdmin(context, eperson, resourcePolicy.getdSpaceObject());
     }
+
+    /**
+     * Update the last modification date of a DSpace object whose policies changed, firing a modify event on it. The
+     * policies of bundles and bitstreams are cached with the last modification date of their item (see
+     * {@link AuthorizeServiceImpl#POLICIES_CACHE}), so the date of their items is updated as well. The policies of
+     * the object are removed from the cache shared by all contexts, which only frees the entry early.
+     *
+     * @param context context
+     * @param dso     the DSpace object
+     * @throws SQLException       if database error
+     * @throws AuthorizeException if authorization error
+     */
+    private void policiesChanged(Context context, DSpaceObject dso) throws SQLException, AuthorizeException {
+        Cache cache = cacheManager == null ? null : cacheManager.getCache(AuthorizeServiceImpl.POLICIES_CACHE);
+        if (cache != null) {
+            cache.evict(dso.getID());
+        }
+        Set<Item> items = new HashSet<>();
+        if (dso instanceof Bitstream) {
+            for (Bundle bundle : ((Bitstream) dso).getBundles()) {
+                items.addAll(bundle.getItems());
+            }
+        } else if (dso instanceof Bundle) {
+            items.addAll(((Bundle) dso).getItems());
+        }
+        context.turnOffAuthorisationSystem();
+        try {
+            //A policy for a DSpace Object has been modified, fire a modify event on the DSpace object
+            contentServiceFactory.getDSpaceObjectService(dso).updateLastModified(context, dso);
+            for (Item item : items) {
+                contentServiceFactory.getItemService().updateLastModified(context, item);
+            }
+        } finally {
+            context.restoreAuthSystemState();
+        }
+    }
+
+    /**
+     * Remove all policies from the cache shared by all contexts, when the policies of an eperson or group are removed
+     * from every object at once, without modifying the objects.
+     */
+    private void evictAllCachedPolicies() {
+        Cache cache = cacheManager == null ? null : cacheManager.getCache(AuthorizeServiceImpl.POLICIES_CACHE);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
 }
@@ -11,7 +11,17 @@ import java.io.IOException;
 import java.sql.SQLException;
 import java.time.Instant;
 import java.util.Map;
-
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.common.util.concurrent.RateLimiter;
 import org.apache.commons.collections4.MapUtils;
 import org.apache.logging.log4j.Logger;
 import org.dspace.checker.factory.CheckerServiceFactory;
@@ -20,6 +30,8 @@ import org.dspace.checker.service.ChecksumResultService;
 import org.dspace.checker.service.MostRecentChecksumService;
 import org.dspace.content.Bitstream;
 import org.dspace.core.Context;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
 import org.dspace.storage.bitstore.factory.StorageServiceFactory;
 import org.dspace.storage.bitstore.service.BitstreamStorageService;
 
@@ -78,6 +90,18 @@ public final class CheckerCommand {
      */
     private boolean reportVerbose = false;
 
+    /**
+     * Number of bitstreams checked in parallel
+     */
+    private int threads = 1;
+
+    /**
+     * Limiter of the reading of each store, if its bandwidth is limited
+     */
+    private final Map<Integer, Optional<RateLimiter>> bandwidthLimiters = new ConcurrentHashMap<>();
+
+    private final ConfigurationService configurationService;
+
     /**
      * Default constructor uses DSpace plugin manager to construct dependencies.
      *
@@ -88,6 +112,7 @@ public final class CheckerCommand {
         checksumHistoryService = CheckerServiceFactory.getInstance().getChecksumHistoryService();
         bitstreamStorageService = StorageServiceFactory.getInstance().getBitstreamStorageService();
         checksumResultService = CheckerServiceFactory.getInstance().getChecksumResultService();
+        configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
         this.context = context;
     }
 
@@ -120,22 +145,121 @@ public final class CheckerCommand {
         // bitstream table - this always done.
         checksumService.updateMissingBitstreams(context);
 
+        if (threads > 1) {
+            processInParallel();
+            return;
+        }
+
         Bitstream bitstream = dispatcher.next();
 
         while (bitstream != null) {
             LOG.debug("Processing bitstream id = " + bitstream.getID());
             MostRecentChecksum info = checkBitstream(bitstream);
-
-            if (reportVerbose
-                || !ChecksumResultCode.CHECKSUM_MATCH.equals(info.getChecksumResult().getResultCode())) {
-                collector.collect(context, info);
-            }
+            collect(info);
 
             context.commit();
             bitstream = dispatcher.next();
         }
     }
 
+    /**
+     * Check the bitstreams of the dispatcher using a pool of worker threads. Only reading the bitstreams and
+     * computing their checksums is done by the workers: the dispatcher and the database are only used from this
+     * thread, which records the results and commits them in batches of {@code checker.commit-batch-size}.
+     *
+     * @throws SQLException if database error
+     */
+    protected void processInParallel() throws SQLException {
+        int batchSize = Math.max(1, configurationService.getIntProperty("checker.commit-batch-size", 100));
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "checker-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        CompletionService<ChecksumComputation> completionService = new ExecutorCompletionService<>(executor);
+        int running = 0;
+        int uncommitted = 0;
+        try {
+            Bitstream bitstream = dispatcher.next();
+            while (bitstream != null || running > 0) {
+                // keep a bitstream waiting for each worker
+                while (bitstream != null && running < 2 * threads) {
+                    LOG.debug("Processing bitstream id = " + bitstream.getID());
+                    MostRecentChecksum info = checksumService.findByBitstream(context, bitstream);
+                    if (info != null && info.isToBeProcessed() && !info.getBitstream().isDeleted()) {
+                        completionService.submit(claimBitstream(info));
+                        running++;
+                    } else {
+                        collect(checkBitstream(bitstream));
+                        uncommitted++;
+                    }
+                    bitstream = dispatcher.next();
+                }
+                if (running > 0) {
+                    ChecksumComputation computation = completionService.take().get();
+                    running--;
+                    collect(recordChecksum(computation));
+                    uncommitted++;
+                }
+                if (uncommitted >= batchSize) {
+                    context.commit();
+                    uncommitted = 0;
+                }
+            }
+            context.commit();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while checking bitstreams", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Unable to check bitstream", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Mark a bitstream as being checked, so that the dispatcher doesn't return it again meanwhile, and prepare the
+     * computation of its checksum.
+     *
+     * @param info the bitstream to check
+     * @return the computation of the checksum of the bitstream
+     * @throws SQLException if database error
+     */
+    private ChecksumComputation claimBitstream(MostRecentChecksum info) throws SQLException {
+        Instant start = Instant.now();
+        info.setProcessStartDate(start);
+        info.setProcessEndDate(start);
+        checksumService.update(context, info);
+        // load the bitstream in this thread, the workers can't use the database session
+        Bitstream bitstream = info.getBitstream();
+        bitstream.getInternalId();
+        return new ChecksumComputation(bitstream, start);
+    }
+
+    /**
+     * Record the result of a checksum computed by a worker
+     *
+     * @param computation the computation
+     * @return the information about the bitstream and its checksum data
+     * @throws SQLException if database error
+     */
+    private MostRecentChecksum recordChecksum(ChecksumComputation computation) throws SQLException {
+        // the bitstream may have been detached by a commit meanwhile
+        MostRecentChecksum info = checksumService.findByBitstream(context,
+                                                                  context.reloadEntity(computation.bitstream));
+        info.setProcessStartDate(computation.start);
+        recordChecksum(info, computation.checksumMap, computation.error);
+        return info;
+    }
+
+    private void collect(MostRecentChecksum info) throws SQLException {
+        if (reportVerbose
+            || !ChecksumResultCode.CHECKSUM_MATCH.equals(info.getChecksumResult().getResultCode())) {
+            collector.collect(context, info);
+        }
+    }
+
     /**
      * Check a specified bitstream.
      *
@@ -244,8 +368,30 @@ public final class CheckerCommand {
     protected void processBitstream(MostRecentChecksum info) throws SQLException {
         info.setProcessStartDate(Instant.now());
 
+        Map<String, Object> checksumMap = null;
+        IOException error = null;
+        try {
+            checksumMap = computeChecksum(info.getBitstream());
+        } catch (IOException e) {
+            error = e;
+        }
+        recordChecksum(info, checksumMap, error);
+    }
+
+    /**
+     * Record the checksum computed for a bitstream, and compare it to the expected one.
+     *
+     * @param info        BitstreamInfo to handle
+     * @param checksumMap the computed checksum and its algorithm, empty or null if the bitstream wasn't found
+     * @param error       the error which prevented computing the checksum, if any
+     * @throws SQLException if database error
+     */
+    protected void recordChecksum(MostRecentChecksum info, Map<String, Object> checksumMap, IOException error)
+        throws SQLException {
         try {
-            Map<String, Object> checksumMap = bitstreamStorageService.computeChecksum(context, info.getBitstream());
+            if (error != null) {
+                throw error;
+            }
             if (MapUtils.isNotEmpty(checksumMap)) {
                 info.setBitstreamFound(true);
                 if (checksumMap.containsKey("checksum")) {
@@ -287,6 +433,38 @@ public final class CheckerCommand {
         }
     }
 
+    /**
+     * Compute the checksum of a bitstream, without using the database. The reading of the bitstreams of each store is
+     * limited to {@code checker.bandwidth-limit.<store number>} megabytes per second, when configured. Checksums
+     * read from the S3 ETag aren't charged, as the content isn't read.
+     *
+     * @param bitstream the bitstream
+     * @return the computed checksum and its algorithm, empty or null if the bitstream wasn't found
+     * @throws IOException if the bitstream couldn't be read
+     */
+    protected Map<String, Object> computeChecksum(Bitstream bitstream) throws IOException {
+        Optional<RateLimiter> bandwidthLimiter = bandwidthLimiters.computeIfAbsent(bitstream.getStoreNumber(),
+            storeNumber -> {
+                double megabytesPerSecond = configurationService
+                    .getPropertyAsType("checker.bandwidth-limit." + storeNumber, 0.0);
+                return megabytesPerSecond > 0 ? Optional.of(RateLimiter.create(megabytesPerSecond * 1024))
+                                              : Optional.empty();
+            });
+        Map<String, Object> checksumMap = bitstreamStorageService.computeChecksum(context, bitstream);
+        // charged after the read, the next reads wait for it; nothing is read when the checksum is the S3 ETag
+        if (bandwidthLimiter.isPresent() && checksumMap != null && checksumMap.containsKey("checksum")
+                && !Boolean.TRUE.equals(checksumMap.get("checksum_from_etag"))) {
+            // one permit per kilobyte read
+            long kilobytes = Math.max(1, (bitstream.getSizeBytes() + 1023) / 1024);
+            while (kilobytes > 0) {
+                int permits = (int) Math.min(kilobytes, Integer.MAX_VALUE);
+                bandwidthLimiter.get().acquire(permits);
+                kilobytes -= permits;
+            }
+        }
+        return checksumMap;
+    }
+
     protected ChecksumResult getChecksumResultByCode(ChecksumResultCode checksumResultCode) throws SQLException {
         return checksumResultService.findByCode(context, checksumResultCode);
     }
@@ -362,4 +540,47 @@ public final class CheckerCommand {
     public void setReportVerbose(boolean reportVerbose) {
         this.reportVerbose = reportVerbose;
     }
+
+    /**
+     * Get the number of bitstreams checked in parallel
+     *
+     * @return the number of worker threads, 1 when the bitstreams are checked one at a time
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Set the number of bitstreams checked in parallel
+     *
+     * @param threads the number of worker threads, 1 to check the bitstreams one at a time
+     */
+    public void setThreads(int threads) {
+        this.threads = Math.max(1, threads);
+    }
+
+    /**
+     * The checksum of a bitstream, computed by a worker thread
+     */
+    private class ChecksumComputation implements Callable<ChecksumComputation> {
+        private final Bitstream bitstream;
+        private final Instant start;
+        private Map<String, Object> checksumMap;
+        private IOException error;
+
+        private ChecksumComputation(Bitstream bitstream, Instant start) {
+            this.bitstream = bitstream;
+            this.start = start;
+        }
+
+        @Override
+        public ChecksumComputation call() {
+            try {
+                checksumMap = computeChecksum(bitstream);
+            } catch (IOException e) {
+                error = e;
+            }
+            return this;
+        }
+    }
 }
@@ -7,6 +7,7 @@
  */
 package org.dspace.content;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.sql.SQLException;
@@ -342,6 +343,22 @@ public class BitstreamServiceImpl extends DSpaceObjectServiceImpl<Bitstream> imp
         return bitstreamStorageService.retrieve(context, bitstream);
     }
 
+    @Override
+    public InputStream retrieve(Context context, Bitstream bitstream, long offset, long length)
+        throws IOException, SQLException, AuthorizeException {
+        authorizeService.authorizeAction(context, bitstream, Constants.READ);
+
+        return bitstreamStorageService.retrieve(context, bitstream, offset, length);
+    }
+
+    @Override
+    public File retrieveLocalFile(Context context, Bitstream bitstream)
+        throws IOException, SQLException, AuthorizeException {
+        authorizeService.authorizeAction(context, bitstream, Constants.READ);
+
+        return bitstreamStorageService.retrieveLocalFile(context, bitstream);
+    }
+
     @Override
     public boolean isRegisteredBitstream(Bitstream bitstream) {
         return bitstreamStorageService.isRegisteredBitstream(bitstream.getInternalId());
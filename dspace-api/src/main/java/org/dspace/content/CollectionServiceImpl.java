@@ -47,6 +47,7 @@ import org.dspace.core.Constants;
 import org.dspace.core.Context;
 import org.dspace.core.I18nUtil;
 import org.dspace.core.LogHelper;
+import org.dspace.core.UUIDIterator;
 import org.dspace.core.service.LicenseService;
 import org.dspace.discovery.DiscoverQuery;
 import org.dspace.discovery.DiscoverQuery.SORT_ORDER;
@@ -324,6 +325,11 @@ public class CollectionServiceImpl extends DSpaceObjectServiceImpl<Collection> i
         return collectionDAO.findByID(context, Collection.class, id);
     }
 
+    @Override
+    public List<Collection> findByIds(Context context, List<UUID> uuids, boolean fetchMetadata) throws SQLException {
+        return UUIDIterator.inOrder(uuids, collectionDAO.findByIds(context, Collection.class, uuids, fetchMetadata));
+    }
+
     @Override
     public void setMetadataSingleValue(Context context, Collection collection,
             MetadataFieldName field, String language, String value)
@@ -35,6 +35,7 @@ import org.dspace.core.Constants;
 import org.dspace.core.Context;
 import org.dspace.core.I18nUtil;
 import org.dspace.core.LogHelper;
+import org.dspace.core.UUIDIterator;
 import org.dspace.eperson.Group;
 import org.dspace.eperson.service.GroupService;
 import org.dspace.eperson.service.SubscribeService;
@@ -159,6 +160,11 @@ public class CommunityServiceImpl extends DSpaceObjectServiceImpl<Community> imp
         return communityDAO.findByID(context, Community.class, id);
     }
 
+    @Override
+    public List<Community> findByIds(Context context, List<UUID> uuids, boolean fetchMetadata) throws SQLException {
+        return UUIDIterator.inOrder(uuids, communityDAO.findByIds(context, Community.class, uuids, fetchMetadata));
+    }
+
     @Override
     public List<Community> findAll(Context context) throws SQLException {
         MetadataField sortField = metadataFieldService.findByElement(context, MetadataSchemaEnum.DC.getName(),
@@ -85,6 +85,12 @@ public abstract class DSpaceObject implements Serializable, ReloadableEntity<jav
     @Transient
     private boolean modifiedMetadata = false;
 
+    /**
+     * Index of {@link #metadata} by metadata field, built when first needed
+     */
+    @Transient
+    private transient MetadataIndex metadataIndex;
+
     /**
      * Flag set when data is modified, for events
      */
@@ -220,6 +226,17 @@ public abstract class DSpaceObject implements Serializable, ReloadableEntity<jav
 
     public void setMetadata(List<MetadataValue> metadata) {
         this.metadata = metadata;
+        metadataIndex = null;
+    }
+
+    /**
+     * @return the index of the metadata values of this object by metadata field, rebuilt if the values changed
+     */
+    MetadataIndex getMetadataIndex() {
+        if (metadataIndex == null || !metadataIndex.isIndexOf(getMetadata())) {
+            metadataIndex = new MetadataIndex(getMetadata());
+        }
+        return metadataIndex;
     }
 
     protected void removeMetadata(MetadataValue metadataValue) {
@@ -249,6 +266,7 @@ public abstract class DSpaceObject implements Serializable, ReloadableEntity<jav
 
     protected void setMetadataModified() {
         this.modifiedMetadata = true;
+        metadataIndex = null;
     }
 
     public boolean isModified() {
@@ -120,13 +120,8 @@ public abstract class DSpaceObjectServiceImpl<T extends DSpaceObject> implements
 
     @Override
     public List<MetadataValue> getMetadata(T dso, String schema, String element, String qualifier, String lang) {
-        // Build up list of matching values
-        List<MetadataValue> values = new ArrayList<>();
-        for (MetadataValue dcv : dso.getMetadata()) {
-            if (match(schema, element, qualifier, lang, dcv)) {
-                values.add(dcv);
-            }
-        }
+        // Look up the matching values in the index of the metadata by field
+        List<MetadataValue> values = dso.getMetadataIndex().find(schema, element, qualifier, lang);
 
         // Sort the metadataValues if they have been modified,
         // is used to preserve the default order.
@@ -113,6 +113,12 @@ public class Item extends DSpaceObject implements DSpaceObjectLegacySupport {
     @Transient
     private List<MetadataValue> cachedMetadata = new ArrayList<>();
 
+    /**
+     * Index of {@link #cachedMetadata} by metadata field, built when first needed
+     */
+    @Transient
+    private transient MetadataIndex cachedMetadataIndex;
+
     /**
      * Protected constructor, create object using:
      * {@link org.dspace.content.service.ItemService#create(Context, WorkspaceItem)}
@@ -386,6 +392,7 @@ public class Item extends DSpaceObject implements DSpaceObjectLegacySupport {
     protected void setMetadataModified() {
         super.setMetadataModified();
         modifiedMetadataCache = true;
+        cachedMetadataIndex = null;
     }
 
     public boolean isModifiedMetadataCache() {
@@ -399,5 +406,16 @@ public class Item extends DSpaceObject implements DSpaceObjectLegacySupport {
     protected void setCachedMetadata(List<MetadataValue> cachedMetadata) {
         this.cachedMetadata = cachedMetadata;
         modifiedMetadataCache = false;
+        cachedMetadataIndex = null;
+    }
+
+    /**
+     * @return the index of the cached metadata values of this item by metadata field, rebuilt if the values changed
+     */
+    MetadataIndex getCachedMetadataIndex() {
+        if (cachedMetadataIndex == null || !cachedMetadataIndex.isIndexOf(cachedMetadata)) {
+            cachedMetadataIndex = new MetadataIndex(cachedMetadata);
+        }
+        return cachedMetadataIndex;
     }
 }
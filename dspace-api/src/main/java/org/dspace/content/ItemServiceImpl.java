@@ -19,6 +19,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -27,6 +28,7 @@ import java.util.stream.Stream;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Strings;
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.logging.log4j.Logger;
 import org.dspace.app.requestitem.RequestItem;
 import org.dspace.app.requestitem.service.RequestItemService;
@@ -55,6 +57,7 @@ import org.dspace.contentreport.QueryPredicate;
 import org.dspace.core.Constants;
 import org.dspace.core.Context;
 import org.dspace.core.LogHelper;
+import org.dspace.core.UUIDIterator;
 import org.dspace.discovery.DiscoverQuery;
 import org.dspace.discovery.DiscoverResult;
 import org.dspace.discovery.SearchService;
@@ -239,6 +242,11 @@ public class ItemServiceImpl extends DSpaceObjectServiceImpl<Item> implements It
         return item;
     }
 
+    @Override
+    public List<Item> findByIds(Context context, List<UUID> uuids, boolean fetchMetadata) throws SQLException {
+        return UUIDIterator.inOrder(uuids, itemDAO.findByIds(context, Item.class, uuids, fetchMetadata));
+    }
+
     @Override
     public Item create(Context context, WorkspaceItem workspaceItem) throws SQLException, AuthorizeException {
         return create(context, workspaceItem, null);
@@ -343,6 +351,11 @@ public class ItemServiceImpl extends DSpaceObjectServiceImpl<Item> implements It
         return itemDAO.findAll(context, true);
     }
 
+    @Override
+    public Iterator<Item> findAllAfter(Context context, UUID after) throws SQLException {
+        return itemDAO.findAll(context, true, after);
+    }
+
     @Override
     public Iterator<Item> findAll(Context context, Integer limit, Integer offset) throws SQLException {
         return itemDAO.findAll(context, true, limit, offset);
@@ -355,7 +368,27 @@ public class ItemServiceImpl extends DSpaceObjectServiceImpl<Item> implements It
 
     @Override
     public Iterator<Item> findAllRegularItems(Context context) throws SQLException {
-        return itemDAO.findAllRegularItems(context);
+        return findAllRegularItems(context, false);
+    }
+
+    @Override
+    public Iterator<Item> findAllRegularItems(Context context, boolean fetchMetadata) throws SQLException {
+        return itemDAO.findAllRegularItems(context, fetchMetadata);
+    }
+
+    @Override
+    public Iterator<Pair<UUID, Instant>> findAllRegularItemsLastModified(Context context) throws SQLException {
+        return itemDAO.findAllRegularItemsLastModified(context);
+    }
+
+    @Override
+    public Map<UUID, Instant> findLastModified(Context context, Set<UUID> ids) throws SQLException {
+        return itemDAO.findLastModified(context, ids);
+    }
+
+    @Override
+    public Set<UUID> findMetadataModifiedInSession(Context context, Set<UUID> ids) throws SQLException {
+        return itemDAO.findMetadataModifiedInSession(context, ids);
     }
 
     @Override
@@ -419,13 +452,27 @@ public class ItemServiceImpl extends DSpaceObjectServiceImpl<Item> implements It
     @Override
     public Iterator<Item> findInArchiveOrWithdrawnDiscoverableModifiedSince(Context context, Instant since)
         throws SQLException {
-        return itemDAO.findAll(context, true, true, true, since);
+        return findInArchiveOrWithdrawnDiscoverableModifiedSince(context, since, false);
+    }
+
+    @Override
+    public Iterator<Item> findInArchiveOrWithdrawnDiscoverableModifiedSince(Context context, Instant since,
+                                                                            boolean fetchMetadata)
+        throws SQLException {
+        return itemDAO.findAll(context, true, true, true, since, fetchMetadata);
     }
 
     @Override
     public Iterator<Item> findInArchiveOrWithdrawnNonDiscoverableModifiedSince(Context context, Instant since)
         throws SQLException {
-        return itemDAO.findAll(context, true, true, false, since);
+        return findInArchiveOrWithdrawnNonDiscoverableModifiedSince(context, since, false);
+    }
+
+    @Override
+    public Iterator<Item> findInArchiveOrWithdrawnNonDiscoverableModifiedSince(Context context, Instant since,
+                                                                               boolean fetchMetadata)
+        throws SQLException {
+        return itemDAO.findAll(context, true, true, false, since, fetchMetadata);
     }
 
     @Override
@@ -1706,16 +1753,8 @@ prevent the generation of resource policy entry values with null dspace_object a
         }
 
         log.debug("Called getMetadata for " + item.getID() + " based on cache");
-        // Build up list of matching values based on the cache
-        List<MetadataValue> values = new ArrayList<>();
-        for (MetadataValue dcv : item.getCachedMetadata()) {
-            if (match(schema, element, qualifier, lang, dcv)) {
-                values.add(dcv);
-            }
-        }
-
-        // Create an array of matching values
-        return values;
+        // Look up the matching values in the index of the cache by field
+        return item.getCachedMetadataIndex().find(schema, element, qualifier, lang);
     }
 
     /**
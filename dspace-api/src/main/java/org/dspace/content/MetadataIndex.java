@@ -0,0 +1,154 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.content;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.Strings;
+
+/**
+ * Index of a list of metadata values by metadata field, so the values matching a schema, element, qualifier and
+ * language can be found without comparing the field of every value of the list.
+ * <p>
+ * The positions of the values in the list are kept by metadata field ID, and the fields by schema name and element,
+ * so a lookup only compares the qualifiers of the fields of the element (or of the schema when the element is the
+ * {@link Item#ANY} wildcard) and the languages of the matching values. The values are returned in the order of the
+ * list, as when scanning it.
+ * <p>
+ * The index reflects the list when it was built: it must be discarded when values are added to or removed from the
+ * list. {@link #isIndexOf(List)} additionally detects a replaced list or a changed size.
+ */
+final class MetadataIndex {
+    private final List<MetadataValue> source;
+    private final MetadataValue[] values;
+
+    /**
+     * Positions in the list of the values of each metadata field, by metadata field ID
+     */
+    private final Map<Integer, int[]> positionsByField;
+
+    /**
+     * Metadata fields having values in the list, by schema name and element
+     */
+    private final Map<String, Map<String, List<MetadataField>>> fieldsBySchemaElement;
+
+    /**
+     * Index the given list of metadata values.
+     *
+     * @param metadataValues the metadata values
+     */
+    MetadataIndex(List<MetadataValue> metadataValues) {
+        source = metadataValues;
+        values = metadataValues.toArray(new MetadataValue[0]);
+
+        Map<Integer, List<Integer>> positions = new HashMap<>();
+        Map<Integer, MetadataField> fields = new LinkedHashMap<>();
+        for (int i = 0; i < values.length; i++) {
+            MetadataField field = values[i].getMetadataField();
+            positions.computeIfAbsent(field.getID(), id -> new ArrayList<>()).add(i);
+            fields.putIfAbsent(field.getID(), field);
+        }
+
+        positionsByField = new HashMap<>(positions.size() * 2);
+        for (Map.Entry<Integer, List<Integer>> fieldPositions : positions.entrySet()) {
+            positionsByField.put(fieldPositions.getKey(),
+                                 fieldPositions.getValue().stream().mapToInt(Integer::intValue).toArray());
+        }
+
+        fieldsBySchemaElement = new HashMap<>();
+        for (MetadataField field : fields.values()) {
+            fieldsBySchemaElement.computeIfAbsent(field.getMetadataSchema().getName(), schema -> new HashMap<>())
+                                 .computeIfAbsent(field.getElement(), element -> new ArrayList<>())
+                                 .add(field);
+        }
+    }
+
+    /**
+     * @param metadataValues a list of metadata values
+     * @return whether this index was built from this list, and the list still has the same size
+     */
+    boolean isIndexOf(List<MetadataValue> metadataValues) {
+        return metadataValues == source && metadataValues.size() == values.length;
+    }
+
+    /**
+     * Find the values matching the given schema, element, qualifier and language, with the semantics of
+     * {@link DSpaceObjectServiceImpl#match(String, String, String, String, MetadataValue)}.
+     *
+     * @param schema    the schema name, or {@link Item#ANY}
+     * @param element   the element, or {@link Item#ANY}
+     * @param qualifier the qualifier, {@link Item#ANY}, or null or blank for unqualified values
+     * @param language  the language, {@link Item#ANY}, or null for values without language
+     * @return the matching values, in the order of the indexed list
+     */
+    List<MetadataValue> find(String schema, String element, String qualifier, String language) {
+        List<int[]> matchingPositions = new ArrayList<>();
+        if (Item.ANY.equals(schema)) {
+            for (Map<String, List<MetadataField>> elementFields : fieldsBySchemaElement.values()) {
+                addPositions(elementFields, element, qualifier, matchingPositions);
+            }
+        } else {
+            addPositions(fieldsBySchemaElement.get(schema), element, qualifier, matchingPositions);
+        }
+        if (matchingPositions.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        int[] positions;
+        if (matchingPositions.size() == 1) {
+            positions = matchingPositions.get(0);
+        } else {
+            // restore the order of the list across fields
+            positions = matchingPositions.stream().flatMapToInt(Arrays::stream).sorted().toArray();
+        }
+
+        List<MetadataValue> result = new ArrayList<>(positions.length);
+        for (int position : positions) {
+            MetadataValue value = values[position];
+            if (Item.ANY.equals(language) || Strings.CS.equals(language, value.getLanguage())) {
+                result.add(value);
+            }
+        }
+        return result;
+    }
+
+    private void addPositions(Map<String, List<MetadataField>> elementFields, String element, String qualifier,
+                              List<int[]> matchingPositions) {
+        if (elementFields == null) {
+            return;
+        }
+        if (Item.ANY.equals(element)) {
+            for (List<MetadataField> fields : elementFields.values()) {
+                addPositions(fields, qualifier, matchingPositions);
+            }
+        } else {
+            addPositions(elementFields.getOrDefault(element, Collections.emptyList()), qualifier, matchingPositions);
+        }
+    }
+
+    private void addPositions(List<MetadataField> fields, String qualifier, List<int[]> matchingPositions) {
+        for (MetadataField field : fields) {
+            boolean matches;
+            if (StringUtils.isBlank(qualifier)) {
+                matches = field.getQualifier() == null;
+            } else {
+                matches = Item.ANY.equals(qualifier) || Strings.CS.equals(qualifier, field.getQualifier());
+            }
+            if (matches) {
+                matchingPositions.add(positionsByField.get(field.getID()));
+            }
+        }
+    }
+}
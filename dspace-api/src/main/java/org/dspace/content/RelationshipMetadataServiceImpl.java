@@ -10,14 +10,21 @@ package org.dspace.content;
 import static org.dspace.content.RelationshipType.Tilted.LEFT;
 import static org.dspace.content.RelationshipType.Tilted.RIGHT;
 
+import java.io.Serializable;
 import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
+import com.google.common.collect.Lists;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Strings;
 import org.apache.logging.log4j.Logger;
@@ -26,14 +33,33 @@ import org.dspace.content.service.ItemService;
 import org.dspace.content.service.MetadataFieldService;
 import org.dspace.content.service.RelationshipService;
 import org.dspace.content.service.RelationshipTypeService;
+import org.dspace.content.virtual.Related;
 import org.dspace.content.virtual.VirtualMetadataConfiguration;
 import org.dspace.content.virtual.VirtualMetadataPopulator;
 import org.dspace.core.Constants;
 import org.dspace.core.Context;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 
 public class RelationshipMetadataServiceImpl implements RelationshipMetadataService {
 
+    /**
+     * Name of the cache of the virtual metadata of items, shared by all contexts. Each entry holds the last
+     * modification dates of the item and of the related items whose metadata it may include, and is only used while
+     * none of them changed: changes to the metadata or the relationships of an item update its last modification
+     * date, whether they are committed by another context or by another process.
+     */
+    public static final String RELATIONSHIP_METADATA_CACHE = "relationship.metadata";
+
+    private static final int RELATED_ITEMS_BATCH_SIZE = 1000;
+
+    /**
+     * The virtual metadata of items with more related items (as far as {@link #getVirtualMetadataDepth()}) isn't
+     * cached, checking their last modification dates costs more than it saves
+     */
+    private static final int MAX_CACHED_RELATED_ITEMS = 1000;
+
     /**
      * log4j category
      */
@@ -54,11 +80,34 @@ public class RelationshipMetadataServiceImpl implements RelationshipMetadataServ
     @Autowired(required = true)
     protected MetadataFieldService metadataFieldService;
 
+    @Autowired(required = false)
+    protected CacheManager cacheManager;
+
+    private volatile Integer virtualMetadataDepth;
+
     @Override
     public List<RelationshipMetadataValue> getRelationshipMetadata(Item item, boolean enableVirtualMetadata) {
         Context context = new Context();
+        Cache cache = getCache();
+        String key = getCacheKey(item.getID(), enableVirtualMetadata);
+        // the metadata modified in the current transaction must not be shared before it is committed
+        boolean cacheable = cache != null && !item.isMetadataModified();
+        if (cacheable) {
+            List<RelationshipMetadataValue> cachedMetadataValueList = getCachedRelationshipMetadata(context, cache,
+                                                                                                    key, item);
+            if (cachedMetadataValueList != null) {
+                return cachedMetadataValueList;
+            }
+        }
+
+        Map<UUID, Instant> lastModified = null;
         List<RelationshipMetadataValue> fullMetadataValueList = new LinkedList<>();
         try {
+            if (cacheable) {
+                // read before the virtual metadata, so that it can't be older than the dates it is cached with
+                lastModified = getRelatedItemsLastModified(context, item);
+                cacheable = lastModified != null;
+            }
             EntityType entityType = itemService.getEntityType(context, item);
             if (entityType != null) {
                 // NOTE: The following code will add metadata fields of type relation.*.latestForDiscovery
@@ -84,10 +133,124 @@ public class RelationshipMetadataServiceImpl implements RelationshipMetadataServ
             }
         } catch (SQLException e) {
             log.error("Lookup for Relationships for item with uuid: " + item.getID() + " caused DSpace to crash", e);
+            cacheable = false;
+        }
+        if (cacheable) {
+            cache.put(key, new CachedRelationshipMetadata(fullMetadataValueList, lastModified));
         }
         return fullMetadataValueList;
     }
 
+    /**
+     * Get the last modification dates of an item and of the related items whose metadata may be included in its
+     * virtual metadata, as known to the current transaction.
+     * @param context the DSpace context.
+     * @param item    the item.
+     * @return the last modification dates by item UUID, or null if the virtual metadata of the item must not be
+     *         cached: one of the related items has metadata changes which aren't stored yet, or there are too many.
+     * @throws SQLException if something goes wrong.
+     */
+    protected Map<UUID, Instant> getRelatedItemsLastModified(Context context, Item item) throws SQLException {
+        Map<UUID, Instant> lastModified = new HashMap<>();
+        lastModified.put(item.getID(), item.getLastModified());
+        // the virtual metadata of an item may include metadata of the items as many relationships away as the
+        // longest chain of Related configurations
+        Set<UUID> relatedItemIds = Set.of(item.getID());
+        for (int depth = 0; depth < getVirtualMetadataDepth() && !relatedItemIds.isEmpty(); depth++) {
+            Set<UUID> nextItemIds = new HashSet<>();
+            for (List<UUID> batch : Lists.partition(new ArrayList<>(relatedItemIds), RELATED_ITEMS_BATCH_SIZE)) {
+                for (UUID relatedItemId : relationshipService.findRelatedItemIds(context, batch)) {
+                    if (!lastModified.containsKey(relatedItemId) && nextItemIds.add(relatedItemId)
+                        && lastModified.size() + nextItemIds.size() > MAX_CACHED_RELATED_ITEMS) {
+                        return null;
+                    }
+                }
+            }
+            if (nextItemIds.isEmpty()) {
+                break;
+            }
+            // the dates of the whole level at once, without loading the items
+            Map<UUID, Instant> nextLastModified = itemService.findLastModified(context, nextItemIds);
+            if (nextLastModified.size() < nextItemIds.size()
+                || !itemService.findMetadataModifiedInSession(context, nextItemIds).isEmpty()) {
+                return null;
+            }
+            lastModified.putAll(nextLastModified);
+            relatedItemIds = nextItemIds;
+        }
+        return lastModified;
+    }
+
+    /**
+     * Rebuild the virtual metadata of an item from the shared cache.
+     * @param context the DSpace context.
+     * @param cache   the shared cache.
+     * @param key     the key of the virtual metadata of the item.
+     * @param item    the item.
+     * @return the virtual metadata of the item, or null if it isn't cached, if the item or one of the related items
+     *         it was computed from was modified since, or if it refers to a metadata field which no longer exists.
+     */
+    protected List<RelationshipMetadataValue> getCachedRelationshipMetadata(Context context, Cache cache, String key,
+                                                                            Item item) {
+        CachedRelationshipMetadata cachedRelationshipMetadata = cache.get(key, CachedRelationshipMetadata.class);
+        if (cachedRelationshipMetadata == null
+            || !Objects.equals(cachedRelationshipMetadata.lastModified.get(item.getID()), item.getLastModified())) {
+            return null;
+        }
+        List<RelationshipMetadataValue> metadataValueList = new LinkedList<>();
+        try {
+            // the stored dates of the items, including the changes of the current transaction
+            if (!cachedRelationshipMetadata.lastModified.equals(
+                itemService.findLastModified(context, cachedRelationshipMetadata.lastModified.keySet()))) {
+                return null;
+            }
+            for (CachedRelationshipMetadataValue cachedValue : cachedRelationshipMetadata.values) {
+                MetadataField metadataField = metadataFieldService.find(context, cachedValue.metadataFieldId);
+                if (metadataField == null) {
+                    cache.evict(key);
+                    return null;
+                }
+                metadataValueList.add(cachedValue.toMetadataValue(metadataField, item));
+            }
+        } catch (SQLException e) {
+            log.error("Could not check the cached virtual metadata of item with uuid: " + item.getID(), e);
+            return null;
+        }
+        return metadataValueList;
+    }
+
+    /**
+     * @return the number of relationships away from an item of the items whose metadata may be included in its
+     *         virtual metadata, i.e. the length of the longest chain of {@link Related} configurations.
+     */
+    protected int getVirtualMetadataDepth() {
+        if (virtualMetadataDepth == null) {
+            int depth = 1;
+            for (HashMap<String, VirtualMetadataConfiguration> hashMaps : virtualMetadataPopulator.getMap().values()) {
+                for (VirtualMetadataConfiguration virtualBean : hashMaps.values()) {
+                    depth = Math.max(depth, getVirtualMetadataDepth(virtualBean));
+                }
+            }
+            virtualMetadataDepth = depth;
+        }
+        return virtualMetadataDepth;
+    }
+
+    private int getVirtualMetadataDepth(VirtualMetadataConfiguration virtualBean) {
+        if (virtualBean instanceof Related && ((Related) virtualBean).getVirtualMetadataConfiguration() != null) {
+            return 1 + getVirtualMetadataDepth(((Related) virtualBean).getVirtualMetadataConfiguration());
+        }
+        return 1;
+    }
+
+    private Cache getCache() {
+        return cacheManager == null ? null : cacheManager.getCache(RELATIONSHIP_METADATA_CACHE);
+    }
+
+    private String getCacheKey(UUID itemId, boolean enableVirtualMetadata) {
+        return itemId + "/" + enableVirtualMetadata;
+    }
+
     /**
      * Create the list of relation.*.latestForDiscovery virtual metadata values for the given item.
      * @param context the DSpace context.
@@ -375,4 +538,58 @@ public class RelationshipMetadataServiceImpl implements RelationshipMetadataServ
         }
         return null;
     }
+
+    /**
+     * Virtual metadata of an item as stored in the shared cache, without references to entities
+     */
+    private static class CachedRelationshipMetadata implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final ArrayList<CachedRelationshipMetadataValue> values = new ArrayList<>();
+        private final HashMap<UUID, Instant> lastModified;
+
+        private CachedRelationshipMetadata(List<RelationshipMetadataValue> metadataValues,
+                                           Map<UUID, Instant> lastModified) {
+            for (RelationshipMetadataValue metadataValue : metadataValues) {
+                values.add(new CachedRelationshipMetadataValue(metadataValue));
+            }
+            this.lastModified = new HashMap<>(lastModified);
+        }
+    }
+
+    private static class CachedRelationshipMetadataValue implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final int metadataFieldId;
+        private final String value;
+        private final String authority;
+        private final int confidence;
+        private final int place;
+        private final boolean useForPlace;
+        private final boolean withItem;
+
+        private CachedRelationshipMetadataValue(RelationshipMetadataValue metadataValue) {
+            metadataFieldId = metadataValue.getMetadataField().getID();
+            value = metadataValue.getValue();
+            authority = metadataValue.getAuthority();
+            confidence = metadataValue.getConfidence();
+            place = metadataValue.getPlace();
+            useForPlace = metadataValue.isUseForPlace();
+            withItem = metadataValue.getDSpaceObject() != null;
+        }
+
+        private RelationshipMetadataValue toMetadataValue(MetadataField metadataField, Item item) {
+            RelationshipMetadataValue metadataValue = new RelationshipMetadataValue();
+            metadataValue.setMetadataField(metadataField);
+            metadataValue.setValue(value);
+            metadataValue.setAuthority(authority);
+            metadataValue.setConfidence(confidence);
+            metadataValue.setPlace(place);
+            metadataValue.setUseForPlace(useForPlace);
+            if (withItem) {
+                metadataValue.setDSpaceObject(item);
+            }
+            return metadataValue;
+        }
+    }
 }
@@ -1034,6 +1034,11 @@ public class RelationshipServiceImpl implements RelationshipService {
             .findByLatestItemAndRelationshipType(context, latestItem, relationshipType, isLeft);
     }
 
+    @Override
+    public List<UUID> findRelatedItemIds(Context context, java.util.Collection<UUID> itemIds) throws SQLException {
+        return relationshipDAO.findRelatedItemIds(context, itemIds);
+    }
+
     @Override
     public List<Relationship> findByRelationshipType(Context context, RelationshipType relationshipType)
         throws SQLException {
@@ -10,6 +10,7 @@ package org.dspace.content.dao;
 import java.sql.SQLException;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 import org.dspace.content.Collection;
 import org.dspace.content.Item;
@@ -65,4 +66,18 @@ public interface CollectionDAO extends DSpaceObjectLegacySupportDAO<Collection>
     int countRows(Context context) throws SQLException;
 
     List<Map.Entry<Collection, Long>> getCollectionsWithBitstreamSizesTotal(Context context) throws SQLException;
+
+    /**
+     * Find the collections with the given UUIDs with a single query. UUIDs for which no collection exists
+     * are ignored.
+     *
+     * @param context       current DSpace context.
+     * @param clazz         the Collection class.
+     * @param ids           the UUIDs.
+     * @param fetchMetadata whether to load the metadata values of the collections with the same query.
+     * @return the collections, in no particular order.
+     * @throws SQLException if database error
+     */
+    List<Collection> findByIds(Context context, Class<Collection> clazz,
+                               java.util.Collection<UUID> ids, boolean fetchMetadata) throws SQLException;
 }
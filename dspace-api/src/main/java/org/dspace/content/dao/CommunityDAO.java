@@ -8,7 +8,9 @@
 package org.dspace.content.dao;
 
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
+import java.util.UUID;
 
 import org.dspace.content.Community;
 import org.dspace.content.MetadataField;
@@ -41,4 +43,18 @@ public interface CommunityDAO extends DSpaceObjectLegacySupportDAO<Community> {
         throws SQLException;
 
     int countRows(Context context) throws SQLException;
+
+    /**
+     * Find the communities with the given UUIDs with a single query. UUIDs for which no community exists
+     * are ignored.
+     *
+     * @param context       current DSpace context.
+     * @param clazz         the Community class.
+     * @param ids           the UUIDs.
+     * @param fetchMetadata whether to load the metadata values of the communities with the same query.
+     * @return the communities, in no particular order.
+     * @throws SQLException if database error
+     */
+    List<Community> findByIds(Context context, Class<Community> clazz, Collection<UUID> ids,
+                              boolean fetchMetadata) throws SQLException;
 }
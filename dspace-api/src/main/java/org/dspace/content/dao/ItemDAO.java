@@ -11,8 +11,11 @@ import java.sql.SQLException;
 import java.time.Instant;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
+import org.apache.commons.lang3.tuple.Pair;
 import org.dspace.content.Collection;
 import org.dspace.content.Community;
 import org.dspace.content.Item;
@@ -33,6 +36,8 @@ public interface ItemDAO extends DSpaceObjectLegacySupportDAO<Item> {
 
     Iterator<Item> findAll(Context context, boolean archived, int limit, int offset) throws SQLException;
 
+    Iterator<Item> findAll(Context context, boolean archived, UUID after) throws SQLException;
+
     @Deprecated Iterator<Item> findAll(Context context, boolean archived, boolean withdrawn) throws SQLException;
 
     /**
@@ -42,11 +47,40 @@ public interface ItemDAO extends DSpaceObjectLegacySupportDAO<Item> {
      * - NOT a template item for e.g. a collection
      *
      * This implies that the result also contains older versions of items and withdrawn items.
-     * @param context the DSpace context.
+     * @param context       the DSpace context.
+     * @param fetchMetadata whether to load the metadata values of the items with them.
      * @return iterator over all regular items.
      * @throws SQLException if database error.
      */
-    Iterator<Item> findAllRegularItems(Context context) throws SQLException;
+    Iterator<Item> findAllRegularItems(Context context, boolean fetchMetadata) throws SQLException;
+
+    /**
+     * Stream the UUIDs and last modification dates of all regular items, see {@link #findAllRegularItems(Context, boolean)},
+     * ordered by UUID. The rows are read in chunks, none of the items are loaded into the session.
+     * @param context the DSpace context.
+     * @return iterator over the UUIDs and last modification dates of all regular items.
+     * @throws SQLException if database error.
+     */
+    Iterator<Pair<UUID, Instant>> findAllRegularItemsLastModified(Context context) throws SQLException;
+
+    /**
+     * Find the last modification dates of the given items, without loading them into the session.
+     * @param context the DSpace context.
+     * @param ids     the UUIDs of the items.
+     * @return the last modification dates of the items which exist, by UUID.
+     * @throws SQLException if database error.
+     */
+    Map<UUID, Instant> findLastModified(Context context, Set<UUID> ids) throws SQLException;
+
+    /**
+     * Find which of the given items have metadata changes not stored yet, among the items already loaded into the
+     * session. The other items aren't loaded.
+     * @param context the DSpace context.
+     * @param ids     the UUIDs of the items.
+     * @return the UUIDs of the loaded items whose metadata was modified.
+     * @throws SQLException if database error.
+     */
+    Set<UUID> findMetadataModifiedInSession(Context context, Set<UUID> ids) throws SQLException;
 
     /**
      * Find all Items modified since a Date.
@@ -173,11 +207,13 @@ public interface ItemDAO extends DSpaceObjectLegacySupportDAO<Item> {
      * @param withdrawn    whether to find withdrawn
      * @param discoverable whether to find discoverable
      * @param lastModified earliest interesting last-modified date.
+     * @param fetchMetadata whether to load the metadata values of the items with them.
      * @return iterator over items
      * @throws SQLException if database error
      */
     Iterator<Item> findAll(Context context, boolean archived,
-                                  boolean withdrawn, boolean discoverable, Instant lastModified)
+                                  boolean withdrawn, boolean discoverable, Instant lastModified,
+                                  boolean fetchMetadata)
         throws SQLException;
 
     /**
@@ -215,4 +251,16 @@ public interface ItemDAO extends DSpaceObjectLegacySupportDAO<Item> {
                    boolean discoverable)
         throws SQLException;
 
+    /**
+     * Find the items with the given UUIDs with a single query. UUIDs for which no item exists are ignored.
+     *
+     * @param context       current DSpace context.
+     * @param clazz         the Item class.
+     * @param ids           the UUIDs.
+     * @param fetchMetadata whether to load the metadata values of the items with the same query.
+     * @return the items, in no particular order.
+     * @throws SQLException if database error
+     */
+    List<Item> findByIds(Context context, Class<Item> clazz,
+                         java.util.Collection<UUID> ids, boolean fetchMetadata) throws SQLException;
 }
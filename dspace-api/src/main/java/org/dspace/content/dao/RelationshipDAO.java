@@ -8,6 +8,7 @@
 package org.dspace.content.dao;
 
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -278,4 +279,17 @@ public interface RelationshipDAO extends GenericDAO<Relationship> {
      */
     int countByItemAndRelationshipTypeAndList(Context context, UUID focusUUID, RelationshipType relationshipType,
                                                List<UUID> items, boolean isLeft) throws SQLException;
+
+    /**
+     * Retrieve the UUIDs of the items on the other side of the relationships of the given items, whatever their
+     * relationship type or "latest status".
+     *
+     * NOTE: This method does not return {@link Relationship}s for performance, because doing so would eagerly fetch
+     *       the items on both sides, which is unnecessary.
+     * @param context the DSpace context.
+     * @param itemIds the UUIDs of the items.
+     * @return the UUIDs of the related items which are not among the given items, without duplicates.
+     * @throws SQLException if something goes wrong.
+     */
+    List<UUID> findRelatedItemIds(Context context, Collection<UUID> itemIds) throws SQLException;
 }
@@ -11,10 +11,16 @@ import java.sql.SQLException;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
+import com.google.common.collect.AbstractIterator;
+import com.google.common.collect.Lists;
 import jakarta.persistence.Query;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaBuilder.In;
@@ -22,6 +28,7 @@ import jakarta.persistence.criteria.CriteriaQuery;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
 import jakarta.persistence.criteria.Subquery;
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.logging.log4j.Logger;
 import org.dspace.content.Collection;
 import org.dspace.content.DSpaceObject_;
@@ -35,9 +42,13 @@ import org.dspace.contentreport.QueryOperator;
 import org.dspace.contentreport.QueryPredicate;
 import org.dspace.core.AbstractHibernateDSODAO;
 import org.dspace.core.Context;
+import org.dspace.core.KeysetIterator;
 import org.dspace.core.UUIDIterator;
 import org.dspace.eperson.EPerson;
 import org.dspace.util.JpaCriteriaBuilderKit;
+import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
 
 /**
  * Hibernate implementation of the Database Access Object interface class for the Item object.
@@ -49,16 +60,25 @@ import org.dspace.util.JpaCriteriaBuilderKit;
 public class ItemDAOImpl extends AbstractHibernateDSODAO<Item> implements ItemDAO {
     private static final Logger log = org.apache.logging.log4j.LogManager.getLogger(ItemDAOImpl.class);
 
+    /**
+     * Number of rows read at once when streaming item identifiers.
+     */
+    private static final int ID_CHUNK_SIZE = 1000;
+
     protected ItemDAOImpl() {
     }
 
     @Override
     public Iterator<Item> findAll(Context context, boolean archived) throws SQLException {
-        Query query = createQuery(context, "SELECT i.id FROM Item i WHERE inArchive=:in_archive ORDER BY id");
-        query.setParameter("in_archive", archived);
-        @SuppressWarnings("unchecked")
-        List<UUID> uuids = query.getResultList();
-        return new UUIDIterator<Item>(context, uuids, Item.class, this);
+        return new KeysetIterator<>(context, Item.class, this, "Item i", "i", "i.inArchive = :in_archive",
+                                    Map.of("in_archive", archived), false);
+    }
+
+    @Override
+    public Iterator<Item> findAll(Context context, boolean archived, UUID after) throws SQLException {
+        return new KeysetIterator<>(context, Item.class, this, "Item i", "i",
+                                    "i.inArchive = :in_archive AND i.id > :after",
+                                    Map.of("in_archive", archived, "after", after), false);
     }
 
     @Override
@@ -75,55 +95,113 @@ public class ItemDAOImpl extends AbstractHibernateDSODAO<Item> implements ItemDA
 
     @Override
     public Iterator<Item> findAll(Context context, boolean archived, boolean withdrawn) throws SQLException {
-        Query query = createQuery(context,
-                "SELECT i.id FROM Item i WHERE inArchive=:in_archive or withdrawn=:withdrawn ORDER BY id");
-        query.setParameter("in_archive", archived);
-        query.setParameter("withdrawn", withdrawn);
-        @SuppressWarnings("unchecked")
-        List<UUID> uuids = query.getResultList();
-        return new UUIDIterator<Item>(context, uuids, Item.class, this);
+        return new KeysetIterator<>(context, Item.class, this, "Item i", "i",
+                                    "i.inArchive = :in_archive OR i.withdrawn = :withdrawn",
+                                    Map.of("in_archive", archived, "withdrawn", withdrawn), false);
     }
 
     @Override
-    public Iterator<Item> findAllRegularItems(Context context) throws SQLException {
+    public Iterator<Item> findAllRegularItems(Context context, boolean fetchMetadata) throws SQLException {
         // NOTE: This query includes archived items, withdrawn items and older versions of items.
         //       It does not include workspace, workflow or template items.
-        Query query = createQuery(
-            context,
-            "SELECT i.id FROM Item as i " +
-            "LEFT JOIN Version as v ON i = v.item " +
-            "WHERE i.inArchive=true or i.withdrawn=true or (i.inArchive=false and v.id IS NOT NULL) " +
-            "ORDER BY i.id"
-        );
-        @SuppressWarnings("unchecked")
-        List<UUID> uuids = query.getResultList();
-        return new UUIDIterator<Item>(context, uuids, Item.class, this);
+        return new KeysetIterator<>(context, Item.class, this, "Item i LEFT JOIN Version v ON i = v.item", "i",
+                                    "i.inArchive = true OR i.withdrawn = true OR (i.inArchive = false AND "
+                                        + "v.id IS NOT NULL)",
+                                    Map.of(), fetchMetadata);
     }
 
     @Override
-    public Iterator<Item> findAll(Context context, boolean archived,
-                                  boolean withdrawn, boolean discoverable, Instant lastModified)
-        throws SQLException {
-        StringBuilder queryStr = new StringBuilder();
-        queryStr.append("SELECT i.id FROM Item i");
-        queryStr.append(" WHERE (inArchive = :in_archive OR withdrawn = :withdrawn)");
-        queryStr.append(" AND discoverable = :discoverable");
+    public Iterator<Pair<UUID, Instant>> findAllRegularItemsLastModified(Context context) throws SQLException {
+        return new AbstractIterator<>() {
+            private UUID lastId = null;
+            private boolean exhausted = false;
+            private Iterator<Object[]> rows = Collections.emptyIterator();
+
+            @Override
+            protected Pair<UUID, Instant> computeNext() {
+                while (!rows.hasNext()) {
+                    if (exhausted) {
+                        return endOfData();
+                    }
+                    try {
+                        // NOTE: Same selection as findAllRegularItems, read by keyset
+                        Query query = createQuery(context,
+                            "SELECT i.id, i.lastModified FROM Item as i " +
+                            "LEFT JOIN Version as v ON i = v.item " +
+                            "WHERE (i.inArchive=true or i.withdrawn=true or (i.inArchive=false and v.id IS NOT NULL))" +
+                            (lastId == null ? "" : " AND i.id > :last_id") +
+                            " ORDER BY i.id");
+                        if (lastId != null) {
+                            query.setParameter("last_id", lastId);
+                        }
+                        query.setMaxResults(ID_CHUNK_SIZE);
+                        @SuppressWarnings("unchecked")
+                        List<Object[]> chunk = query.getResultList();
+                        exhausted = chunk.size() < ID_CHUNK_SIZE;
+                        if (!chunk.isEmpty()) {
+                            lastId = (UUID) chunk.get(chunk.size() - 1)[0];
+                        }
+                        rows = chunk.iterator();
+                    } catch (SQLException e) {
+                        throw new RuntimeException(e);
+                    }
+                }
+                Object[] row = rows.next();
+                return Pair.of((UUID) row[0], (Instant) row[1]);
+            }
+        };
+    }
 
-        if (lastModified != null) {
-            queryStr.append(" AND lastModified > :last_modified");
+    @Override
+    public Map<UUID, Instant> findLastModified(Context context, Set<UUID> ids) throws SQLException {
+        Map<UUID, Instant> lastModified = new HashMap<>();
+        for (List<UUID> chunk : Lists.partition(new ArrayList<>(ids), ID_CHUNK_SIZE)) {
+            Query query = createQuery(context, "SELECT i.id, i.lastModified FROM Item i WHERE i.id IN (:ids)");
+            query.setParameter("ids", chunk);
+            @SuppressWarnings("unchecked")
+            List<Object[]> rows = query.getResultList();
+            for (Object[] row : rows) {
+                lastModified.put((UUID) row[0], (Instant) row[1]);
+            }
+        }
+        return lastModified;
+    }
+
+    @Override
+    public Set<UUID> findMetadataModifiedInSession(Context context, Set<UUID> ids) throws SQLException {
+        // look the items up in the persistence context only, Session.find() would load them
+        SessionImplementor session = (SessionImplementor) getHibernateSession(context);
+        EntityPersister persister = session.getFactory().getMappingMetamodel().getEntityDescriptor(Item.class);
+        PersistenceContext persistenceContext = session.getPersistenceContextInternal();
+        Set<UUID> modified = new HashSet<>();
+        for (UUID id : ids) {
+            Object item = persistenceContext.getEntity(session.generateEntityKey(id, persister));
+            if (item instanceof Item && ((Item) item).isMetadataModified()) {
+                modified.add(id);
+            }
         }
-        queryStr.append(" ORDER BY i.id");
+        return modified;
+    }
 
-        Query query = createQuery(context, queryStr.toString());
-        query.setParameter("in_archive", archived);
-        query.setParameter("withdrawn", withdrawn);
-        query.setParameter("discoverable", discoverable);
+    @Override
+    public Iterator<Item> findAll(Context context, boolean archived,
+                                  boolean withdrawn, boolean discoverable, Instant lastModified,
+                                  boolean fetchMetadata)
+        throws SQLException {
+        StringBuilder where = new StringBuilder();
+        where.append("(i.inArchive = :in_archive OR i.withdrawn = :withdrawn)");
+        where.append(" AND i.discoverable = :discoverable");
+
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("in_archive", archived);
+        parameters.put("withdrawn", withdrawn);
+        parameters.put("discoverable", discoverable);
         if (lastModified != null) {
-            query.setParameter("last_modified", lastModified);
+            where.append(" AND i.lastModified > :last_modified");
+            parameters.put("last_modified", lastModified);
         }
-        @SuppressWarnings("unchecked")
-        List<UUID> uuids = query.getResultList();
-        return new UUIDIterator<Item>(context, uuids, Item.class, this);
+        return new KeysetIterator<>(context, Item.class, this, "Item i", "i", where.toString(), parameters,
+                                    fetchMetadata);
     }
 
     @Override
@@ -307,6 +385,11 @@ public class ItemDAOImpl extends AbstractHibernateDSODAO<Item> implements ItemDA
     @Override
     public Iterator<Item> findArchivedByCollection(Context context, Collection collection, Integer limit,
                                                    Integer offset) throws SQLException {
+        if (limit == null && offset == null) {
+            return new KeysetIterator<>(context, Item.class, this, "Item i", "i",
+                                        "i.inArchive = true AND :collection MEMBER OF i.collections",
+                                        Map.of("collection", collection), false);
+        }
         // Select UUID of all items which have this "collection" in their list of collections and are in_archive
         CriteriaBuilder criteriaBuilder = getCriteriaBuilder(context);
         CriteriaQuery<UUID> criteriaQuery = criteriaBuilder.createQuery(UUID.class);
@@ -360,19 +443,9 @@ public class ItemDAOImpl extends AbstractHibernateDSODAO<Item> implements ItemDA
 
     @Override
     public Iterator<Item> findAllByCollection(Context context, Collection collection) throws SQLException {
-        // Select UUID of all items which have this "collection" in their list of collections
-        CriteriaBuilder criteriaBuilder = getCriteriaBuilder(context);
-        CriteriaQuery<UUID> criteriaQuery = criteriaBuilder.createQuery(UUID.class);
-        Root<Item> itemRoot = criteriaQuery.from(Item.class);
-        criteriaQuery.select(itemRoot.get(Item_.id));
-        criteriaQuery.where(criteriaBuilder.isMember(collection, itemRoot.get(Item_.collections)));
-        criteriaQuery.orderBy(criteriaBuilder.asc(itemRoot.get((Item_.id))));
-
-        // Transform into a query object to execute
-        Query query = createQuery(context, criteriaQuery);
-        @SuppressWarnings("unchecked")
-        List<UUID> uuids = query.getResultList();
-        return new UUIDIterator<Item>(context, uuids, Item.class, this);
+        // Select all items which have this "collection" in their list of collections
+        return new KeysetIterator<>(context, Item.class, this, "Item i", "i", ":collection MEMBER OF i.collections",
+                                    Map.of("collection", collection), false);
     }
 
     @Override
@@ -9,7 +9,10 @@ package org.dspace.content.dao.impl;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -447,4 +450,21 @@ public class RelationshipDAOImpl extends AbstractHibernateDAO<Relationship> impl
         return count(query);
     }
 
+    @Override
+    public List<UUID> findRelatedItemIds(Context context, Collection<UUID> itemIds) throws SQLException {
+        Query query = createQuery(context, "SELECT leftItem.id, rightItem.id " +
+                                           "FROM " + Relationship.class.getSimpleName() +
+                                           " WHERE leftItem.id in (:itemIds) OR rightItem.id in (:itemIds)");
+        query.setParameter("itemIds", itemIds);
+        Set<UUID> relatedItemIds = new LinkedHashSet<>();
+        for (Object result : query.getResultList()) {
+            for (Object relatedItemId : (Object[]) result) {
+                if (!itemIds.contains(relatedItemId)) {
+                    relatedItemIds.add((UUID) relatedItemId);
+                }
+            }
+        }
+        return new ArrayList<>(relatedItemIds);
+    }
+
 }
@@ -7,6 +7,7 @@
  */
 package org.dspace.content.service;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.sql.SQLException;
@@ -166,6 +167,35 @@ public interface BitstreamService extends DSpaceObjectService<Bitstream>, DSpace
     public InputStream retrieve(Context context, Bitstream bitstream)
         throws IOException, SQLException, AuthorizeException;
 
+    /**
+     * Retrieve a range of the contents of the bitstream, e.g. to answer an HTTP Range request.
+     *
+     * @param context   DSpace context object
+     * @param bitstream DSpace bitstream
+     * @param offset    the position of the first byte to return
+     * @param length    the maximum amount of bytes to return
+     * @return a stream from which the requested range of the bitstream can be read.
+     * @throws IOException        if IO error
+     * @throws SQLException       if database error
+     * @throws AuthorizeException if authorization error
+     */
+    public InputStream retrieve(Context context, Bitstream bitstream, long offset, long length)
+        throws IOException, SQLException, AuthorizeException;
+
+    /**
+     * Get the local file holding the contents of the bitstream, if it is stored in an assetstore on a local
+     * file system, so it can be delivered without copying it through the heap.
+     *
+     * @param context   DSpace context object
+     * @param bitstream DSpace bitstream
+     * @return the file holding the contents, or null if the contents are not available as a local file
+     * @throws IOException        if IO error
+     * @throws SQLException       if database error
+     * @throws AuthorizeException if authorization error
+     */
+    public File retrieveLocalFile(Context context, Bitstream bitstream)
+        throws IOException, SQLException, AuthorizeException;
+
     /**
      * Determine if this bitstream is registered (available elsewhere on
      * filesystem than in assetstore). More about registered items:
@@ -63,6 +63,26 @@ public interface DSpaceObjectService<T extends DSpaceObject> {
      */
     public T find(Context context, UUID uuid) throws SQLException;
 
+    /**
+     * Find the objects with the given UUIDs, with a single query where the type of object supports it.
+     *
+     * @param context       the context
+     * @param uuids         the UUIDs of the objects
+     * @param fetchMetadata whether to load the metadata values of the objects with the same query
+     * @return the objects found, in the order of their UUIDs. UUIDs for which no object exists are left out.
+     * @throws SQLException only upon failure accessing the database.
+     */
+    public default List<T> findByIds(Context context, List<UUID> uuids, boolean fetchMetadata) throws SQLException {
+        List<T> result = new ArrayList<>(uuids.size());
+        for (UUID uuid : uuids) {
+            T dso = find(context, uuid);
+            if (dso != null) {
+                result.add(dso);
+            }
+        }
+        return result;
+    }
+
     /**
      * Get a proper name for the object. This may return <code>null</code>.
      * Name should be suitable for display in a user interface.
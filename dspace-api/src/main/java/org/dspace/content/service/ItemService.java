@@ -13,8 +13,11 @@ import java.sql.SQLException;
 import java.time.Instant;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
+import org.apache.commons.lang3.tuple.Pair;
 import org.dspace.authorize.AuthorizeException;
 import org.dspace.authorize.ResourcePolicy;
 import org.dspace.content.Bitstream;
@@ -117,6 +120,17 @@ public interface ItemService
      */
     Iterator<Item> findAll(Context context, Integer limit, Integer offset) throws SQLException;
 
+    /**
+     * Get the items in the archive whose UUID comes after the given one, in the order of their UUIDs (as
+     * sorted by the database), so that a walk through {@link #findAll(Context)} can be resumed.
+     *
+     * @param context DSpace context object
+     * @param after   the UUID of the last item already walked through
+     * @return an iterator over the items in the archive after the given one.
+     * @throws SQLException if database error
+     */
+    Iterator<Item> findAllAfter(Context context, UUID after) throws SQLException;
+
     /**
      * Get all "final" items in the archive, both archived ("in archive" flag) or
      * withdrawn items are included. The order of the list is indeterminate.
@@ -140,6 +154,44 @@ public interface ItemService
      */
     Iterator<Item> findAllRegularItems(Context context) throws SQLException;
 
+    /**
+     * Find all regular items, see {@link #findAllRegularItems(Context)}, optionally loading their metadata values
+     * with them, for callers reading the metadata of every item.
+     * @param context       the DSpace context.
+     * @param fetchMetadata whether to load the metadata values of the items with them.
+     * @return iterator over all regular items.
+     * @throws SQLException if database error.
+     */
+    Iterator<Item> findAllRegularItems(Context context, boolean fetchMetadata) throws SQLException;
+
+    /**
+     * Stream the UUIDs and last modification dates of all regular items, see {@link #findAllRegularItems(Context)},
+     * ordered by UUID. None of the items are loaded into the current session.
+     * @param context the DSpace context.
+     * @return iterator over the UUIDs and last modification dates of all regular items.
+     * @throws SQLException if database error.
+     */
+    Iterator<Pair<UUID, Instant>> findAllRegularItemsLastModified(Context context) throws SQLException;
+
+    /**
+     * Find the last modification dates of the given items, without loading them into the current session.
+     * @param context the DSpace context.
+     * @param ids     the UUIDs of the items.
+     * @return the last modification dates of the items which exist, by UUID.
+     * @throws SQLException if database error.
+     */
+    Map<UUID, Instant> findLastModified(Context context, Set<UUID> ids) throws SQLException;
+
+    /**
+     * Find which of the given items have metadata changes not stored yet, among the items already loaded into the
+     * current session. The other items aren't loaded.
+     * @param context the DSpace context.
+     * @param ids     the UUIDs of the items.
+     * @return the UUIDs of the loaded items whose metadata was modified.
+     * @throws SQLException if database error.
+     */
+    Set<UUID> findMetadataModifiedInSession(Context context, Set<UUID> ids) throws SQLException;
+
     /**
      * Find all the items in the archive by a given submitter. The order is
      * indeterminate. Only items with the "in archive" flag set are included.
@@ -249,6 +301,20 @@ public interface ItemService
     Iterator<Item> findInArchiveOrWithdrawnDiscoverableModifiedSince(Context context, Instant since)
         throws SQLException;
 
+    /**
+     * Get all Items installed or withdrawn, discoverable, and modified since a Date, optionally loading their
+     * metadata values with them, for callers reading the metadata of every item.
+     *
+     * @param context       DSpace context object
+     * @param since         earliest interesting last-modified date, or null for no date test.
+     * @param fetchMetadata whether to load the metadata values of the items with them.
+     * @return an iterator over the items in the collection.
+     * @throws SQLException if database error
+     */
+    Iterator<Item> findInArchiveOrWithdrawnDiscoverableModifiedSince(Context context, Instant since,
+                                                                     boolean fetchMetadata)
+        throws SQLException;
+
     /**
      * Get all Items installed or withdrawn, NON-discoverable, and modified since a Date.
      * @param context context
@@ -259,6 +325,19 @@ public interface ItemService
     Iterator<Item> findInArchiveOrWithdrawnNonDiscoverableModifiedSince(Context context, Instant since)
         throws SQLException;
 
+    /**
+     * Get all Items installed or withdrawn, NON-discoverable, and modified since a Date, optionally loading their
+     * metadata values with them, for callers reading the metadata of every item.
+     * @param context       context
+     * @param since         earliest interesting last-modified date, or null for no date test.
+     * @param fetchMetadata whether to load the metadata values of the items with them.
+     * @return an iterator over the items in the collection.
+     * @throws SQLException if database error
+     */
+    Iterator<Item> findInArchiveOrWithdrawnNonDiscoverableModifiedSince(Context context, Instant since,
+                                                                        boolean fetchMetadata)
+        throws SQLException;
+
     /**
      * Get all the items (including private and withdrawn) in this collection. The order is indeterminate.
      *
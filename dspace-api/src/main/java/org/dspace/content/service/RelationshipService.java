@@ -8,6 +8,7 @@
 package org.dspace.content.service;
 
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -260,6 +261,20 @@ public interface RelationshipService extends DSpaceCRUDService<Relationship> {
         Context context, Item latestItem, RelationshipType relationshipType, boolean isLeft
     ) throws SQLException;
 
+    /**
+     * This method returns the UUIDs of the items on the other side of the relationships of the given items, whatever
+     * their relationship type or "latest status". It is used to find the items whose virtual metadata may include
+     * metadata of the given items.
+     *
+     * NOTE: This method does not return {@link Relationship}s for performance, because doing so would eagerly fetch
+     *       the items on both sides, which is unnecessary.
+     * @param context the DSpace context.
+     * @param itemIds the UUIDs of the items.
+     * @return the UUIDs of the related items which are not among the given items, without duplicates.
+     * @throws SQLException if something goes wrong.
+     */
+    public List<UUID> findRelatedItemIds(Context context, Collection<UUID> itemIds) throws SQLException;
+
     /**
      * This method will update the given item's metadata order.
      * If the relationships for the item have been modified and will calculate the place based on a
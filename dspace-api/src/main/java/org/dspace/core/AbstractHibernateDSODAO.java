@@ -9,8 +9,11 @@ package org.dspace.core;
 
 import java.sql.SQLException;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.UUID;
 
+import jakarta.persistence.Query;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
 import jakarta.persistence.criteria.Root;
@@ -51,6 +54,29 @@ public abstract class AbstractHibernateDSODAO<T extends DSpaceObject> extends Ab
         return uniqueResult(context, criteriaQuery, false, clazz);
     }
 
+    /**
+     * Find the DSOs with the given UUIDs with a single query. UUIDs for which no DSO exists are ignored.
+     *
+     * @param context       current DSpace context.
+     * @param clazz         DSO subtype of the records.
+     * @param ids           the UUIDs.
+     * @param fetchMetadata whether to load the metadata values of the DSOs with the same query.
+     * @return the DSOs, in no particular order.
+     * @throws SQLException if database error
+     */
+    public List<T> findByIds(Context context, Class<T> clazz, Collection<UUID> ids, boolean fetchMetadata)
+        throws SQLException {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Query query = createQuery(context, "SELECT o FROM " + clazz.getSimpleName() + " o"
+            + (fetchMetadata ? " LEFT JOIN FETCH o.metadata" : "") + " WHERE o.id IN (:ids)");
+        query.setParameter("ids", ids);
+        @SuppressWarnings("unchecked")
+        List<T> result = query.getResultList();
+        return result;
+    }
+
     /**
      * Add left outer join on all metadata fields which are passed to this function.
      * The identifier of the join will be the toString() representation of the metadata field.
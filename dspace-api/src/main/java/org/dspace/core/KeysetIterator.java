@@ -0,0 +1,116 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.core;
+
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import com.google.common.collect.AbstractIterator;
+import jakarta.persistence.Query;
+import org.dspace.content.DSpaceObject;
+
+/**
+ * Iterator implementation which streams the DSOs matching a query in chunks, ordered by UUID.
+ * <p>
+ * Each chunk is selected by keyset: the UUIDs greater than the last UUID of the previous chunk, so
+ * unlike an iterator over a database ResultSet, it survives commits while iterating, and unlike
+ * {@link UUIDIterator} it doesn't need to load all UUIDs up front. A chunk takes two queries: one for
+ * the UUIDs and one for the objects, optionally with their metadata values.
+ * <p>
+ * In a {@link Context.Mode#READ_ONLY} context, the objects of a chunk are uncached when the next chunk is
+ * loaded, so the session doesn't grow while iterating. They should not be used any more after that.
+ *
+ * @param <T> class type
+ */
+public class KeysetIterator<T extends DSpaceObject> extends AbstractIterator<T> {
+
+    private final Context ctx;
+    private final Class<T> clazz;
+    private final AbstractHibernateDSODAO<T> dao;
+    private final String from;
+    private final String alias;
+    private final String where;
+    private final Map<String, Object> parameters;
+    private final boolean fetchMetadata;
+    private final int batchSize;
+
+    private UUID lastId = null;
+    private boolean exhausted = false;
+    private List<T> chunk = Collections.emptyList();
+    private Iterator<T> iterator = chunk.iterator();
+
+    /**
+     * @param ctx           current DSpace context.
+     * @param clazz         DSO subtype of the records.
+     * @param dao           DAO of the DSO subtype.
+     * @param from          the FROM clause selecting the records, e.g. {@code Item i}.
+     * @param alias         the alias of the records in {@code from}, e.g. {@code i}.
+     * @param where         the condition on the records, e.g. {@code i.inArchive = :in_archive}.
+     * @param parameters    the values of the named parameters in {@code where}.
+     * @param fetchMetadata whether to load the metadata values of each chunk with the objects.
+     */
+    public KeysetIterator(Context ctx, Class<T> clazz, AbstractHibernateDSODAO<T> dao, String from, String alias,
+                          String where, Map<String, Object> parameters, boolean fetchMetadata) {
+        this.ctx = ctx;
+        this.clazz = clazz;
+        this.dao = dao;
+        this.from = from;
+        this.alias = alias;
+        this.where = where;
+        this.parameters = parameters;
+        this.fetchMetadata = fetchMetadata;
+        this.batchSize = UUIDIterator.getBatchSize();
+    }
+
+    @Override
+    protected T computeNext() {
+        try {
+            while (!iterator.hasNext()) {
+                if (exhausted) {
+                    return endOfData();
+                }
+                nextChunk();
+            }
+            return iterator.next();
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void nextChunk() throws SQLException {
+        if (ctx.getCurrentMode() == Context.Mode.READ_ONLY) {
+            for (T object : chunk) {
+                ctx.uncacheEntity(object);
+            }
+        }
+
+        String keyset = lastId == null ? "" : " AND " + alias + ".id > :last_id";
+        Query query = dao.createQuery(ctx, "SELECT " + alias + ".id FROM " + from + " WHERE (" + where + ")"
+            + keyset + " ORDER BY " + alias + ".id");
+        for (Map.Entry<String, Object> parameter : parameters.entrySet()) {
+            query.setParameter(parameter.getKey(), parameter.getValue());
+        }
+        if (lastId != null) {
+            query.setParameter("last_id", lastId);
+        }
+        query.setMaxResults(batchSize);
+        @SuppressWarnings("unchecked")
+        List<UUID> ids = query.getResultList();
+
+        exhausted = ids.size() < batchSize;
+        if (!ids.isEmpty()) {
+            lastId = ids.get(ids.size() - 1);
+        }
+        chunk = UUIDIterator.inOrder(ids, dao.findByIds(ctx, clazz, ids, fetchMetadata));
+        iterator = chunk.iterator();
+    }
+}
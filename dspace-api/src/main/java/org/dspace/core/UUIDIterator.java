@@ -8,23 +8,35 @@
 package org.dspace.core;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import com.google.common.collect.AbstractIterator;
 import org.dspace.content.DSpaceObject;
+import org.dspace.services.factory.DSpaceServicesFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 
 /**
  * Iterator implementation which allows to iterate over items and commit while
  * iterating. Using an iterator over previous retrieved UUIDs the iterator doesn't
  * get invalidated after a commit that would instead close the database ResultSet
+ * <p>
+ * The objects are loaded in batches of {@code db.iterator.batch-size} UUIDs, with
+ * one query per batch.
  *
  * @author Andrea Bollini (andrea.bollini at 4science.com)
  * @param  <T> class type
  */
 public class UUIDIterator<T extends DSpaceObject> extends AbstractIterator<T> {
+    /**
+     * Default number of objects loaded with a single query.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 100;
+
     private Class<T> clazz;
 
     private Iterator<UUID> iterator;
@@ -34,30 +46,67 @@ public class UUIDIterator<T extends DSpaceObject> extends AbstractIterator<T> {
 
     private Context ctx;
 
+    private final int batchSize;
+
+    private Iterator<T> batch;
+
     public UUIDIterator(Context ctx, List<UUID> uuids, Class<T> clazz, AbstractHibernateDSODAO<T> dao)
             throws SQLException {
         this.ctx = ctx;
         this.clazz = clazz;
         this.dao = dao;
         this.iterator = uuids.iterator();
+        this.batchSize = getBatchSize();
+    }
+
+    /**
+     * @return the number of objects to load with a single query, from {@code db.iterator.batch-size}
+     */
+    static int getBatchSize() {
+        return Math.max(1, DSpaceServicesFactory.getInstance().getConfigurationService()
+                                                .getIntProperty("db.iterator.batch-size", DEFAULT_BATCH_SIZE));
     }
 
     @Override
     protected T computeNext() {
         try {
-            if (iterator.hasNext()) {
-                T item = dao.findByID(ctx, clazz, iterator.next());
-                if (item != null) {
-                    return item;
-                } else {
-                    return computeNext();
+            while (batch == null || !batch.hasNext()) {
+                if (!iterator.hasNext()) {
+                    return endOfData();
+                }
+                List<UUID> ids = new ArrayList<>(batchSize);
+                while (iterator.hasNext() && ids.size() < batchSize) {
+                    ids.add(iterator.next());
                 }
-            } else {
-                return endOfData();
+                batch = inOrder(ids, dao.findByIds(ctx, clazz, ids, false)).iterator();
             }
+            return batch.next();
         } catch (SQLException e) {
             throw new RuntimeException(e);
         }
     }
 
+    /**
+     * Order objects by the given UUIDs, leaving out the UUIDs which weren't found.
+     *
+     * @param ids     the UUIDs in the expected order
+     * @param objects the objects found for these UUIDs
+     * @param <T>     class type
+     * @return the objects in the order of their UUIDs
+     */
+    public static <T extends DSpaceObject> List<T> inOrder(List<UUID> ids, List<T> objects) {
+        Map<UUID, T> byId = new HashMap<>();
+        for (T object : objects) {
+            byId.put(object.getID(), object);
+        }
+        List<T> ordered = new ArrayList<>(objects.size());
+        for (UUID id : ids) {
+            T object = byId.get(id);
+            if (object != null) {
+                ordered.add(object);
+            }
+        }
+        return ordered;
+    }
+
 }
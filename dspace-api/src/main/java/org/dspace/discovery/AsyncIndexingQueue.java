@@ -0,0 +1,289 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.common.SolrInputDocument;
+import org.dspace.core.Context;
+import org.dspace.discovery.IndexQueueEntry.Action;
+import org.dspace.discovery.dao.IndexQueueEntryDAO;
+import org.dspace.discovery.indexobject.factory.IndexFactory;
+import org.dspace.discovery.indexobject.factory.IndexObjectFactoryFactory;
+import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Asynchronous writer for discovery index changes.
+ * <p>
+ * When {@code discovery.index.async.enabled} is set, the {@link IndexEventConsumer} doesn't index the changed
+ * objects itself but stores an {@link IndexQueueEntry} per object, in the same database transaction as the change.
+ * The entries are picked up by {@link #processQueue()} once they have been queued for
+ * {@code discovery.index.async.window} milliseconds, which the webapp schedules with
+ * {@code discovery.index.async.cron}: command line scripts only queue their changes. Repeated changes of the same
+ * object within a batch are merged, so the object is indexed once no matter how often it changed. The documents and
+ * deletions are sent to solr in batches using commitWithin instead of explicit commits, and only then the entries
+ * are removed. The entries of a batch are locked while it is processed, so several webapps can share the queue.
+ * <p>
+ * Entries left behind by a crash or a solr outage are processed by the next run. When the document of an object
+ * can't be built, its entries are kept with a failed attempt, and given up once
+ * {@code discovery.index.async.max-attempts} attempts failed. The entries given up on are removed by
+ * {@link #purgeFailed(Context, Instant)} after {@code discovery.index.async.failed-retention} days.
+ */
+public class AsyncIndexingQueue {
+
+    private static final Logger log = LogManager.getLogger(AsyncIndexingQueue.class);
+
+    @Autowired
+    protected IndexQueueEntryDAO indexQueueEntryDAO;
+    @Autowired
+    protected IndexObjectFactoryFactory indexObjectFactoryFactory;
+    @Autowired
+    protected SolrSearchCore solrSearchCore;
+    @Autowired
+    protected ConfigurationService configurationService;
+
+    /**
+     * @return true if index changes should be queued instead of written to the index right away
+     */
+    public boolean isEnabled() {
+        return configurationService.getBooleanProperty("discovery.index.async.enabled", false);
+    }
+
+    /**
+     * Queue the given changes in the transaction of the given context. The changes will be written to the index
+     * once the transaction is committed and the window has passed, by the next run of {@link #processQueue()}.
+     * @param context   the context in which the objects were changed
+     * @param updated   the objects to reindex
+     * @param created   the freshly created objects to index using a pre-db status
+     * @param deleted   the unique index ids of the objects to remove from the index
+     * @throws SQLException if the entries could not be stored
+     */
+    public void queue(Context context, Collection<IndexableObject> updated, Collection<IndexableObject> created,
+                      Collection<String> deleted) throws SQLException {
+        for (String uniqueId : deleted) {
+            queue(context, uniqueId, Action.DELETE);
+        }
+        for (IndexableObject indexableObject : updated) {
+            queue(context, indexableObject.getUniqueIndexID(), Action.UPDATE);
+        }
+        for (IndexableObject indexableObject : created) {
+            queue(context, indexableObject.getUniqueIndexID(), Action.CREATE);
+        }
+    }
+
+    private void queue(Context context, String uniqueId, Action action) throws SQLException {
+        if (uniqueId != null) {
+            indexQueueEntryDAO.create(context, new IndexQueueEntry(uniqueId, action));
+        }
+    }
+
+    /**
+     * @param context DSpace context object
+     * @return the amount of index changes waiting to be processed
+     * @throws SQLException If database error
+     */
+    public long getQueueSize(Context context) throws SQLException {
+        return indexQueueEntryDAO.countAll(context);
+    }
+
+    /**
+     * Write a single batch of queued changes older than the given time to the index, and remove them from the
+     * queue. The changes of objects whose document couldn't be built are kept, with a failed attempt.
+     * @param context DSpace context object, committed by the caller
+     * @param before  only changes queued before this time are processed
+     * @return the amount of changes written to the index and removed from the queue
+     * @throws SQLException           If database error
+     * @throws SearchServiceException if the changes could not be sent to solr, they are kept in the queue
+     */
+    public int process(Context context, Instant before) throws SQLException, SearchServiceException {
+        List<IndexQueueEntry> entries =
+            indexQueueEntryDAO.findQueuedBefore(context, before, getMaxAttempts(), getBatchSize());
+        if (entries.isEmpty()) {
+            return 0;
+        }
+        // only the most recent change of each object matters
+        Map<String, Action> changes = new LinkedHashMap<>();
+        for (IndexQueueEntry entry : entries) {
+            changes.remove(entry.getUniqueId());
+            changes.put(entry.getUniqueId(), entry.getAction());
+        }
+
+        List<SolrInputDocument> documents = new ArrayList<>();
+        List<String> deletions = new ArrayList<>();
+        Set<String> failures = new HashSet<>();
+        for (Map.Entry<String, Action> change : changes.entrySet()) {
+            if (change.getValue() == Action.DELETE) {
+                deletions.add(change.getKey());
+                continue;
+            }
+            try {
+                SolrInputDocument document = buildDocument(context, change.getKey(), change.getValue());
+                if (document == null) {
+                    // the object no longer exists
+                    deletions.add(change.getKey());
+                } else {
+                    documents.add(document);
+                }
+            } catch (SQLException | IOException | RuntimeException e) {
+                log.error("Failed while indexing object: {}", change.getKey(), e);
+                failures.add(change.getKey());
+            }
+        }
+
+        SolrClient solr = solrSearchCore.getSolr();
+        if (solr == null) {
+            throw new SearchServiceException("The discovery search core is not available");
+        }
+        int commitWithin = configurationService.getIntProperty("discovery.index.async.commit-within", 5000);
+        try {
+            if (!documents.isEmpty()) {
+                solr.add(documents, commitWithin);
+            }
+            if (!deletions.isEmpty()) {
+                solr.deleteById(deletions, commitWithin);
+            }
+        } catch (IOException | SolrServerException e) {
+            throw new SearchServiceException("Unable to write the queued index changes: " + e.getMessage(), e);
+        }
+
+        int removed = 0;
+        for (IndexQueueEntry entry : entries) {
+            if (failures.contains(entry.getUniqueId())) {
+                // retried by a later batch, together with the later changes of the object
+                entry.addFailedAttempt();
+                if (entry.getAttempts() >= getMaxAttempts()) {
+                    log.error("Giving up indexing object {} after {} attempts, its change is purged later",
+                        entry.getUniqueId(), entry.getAttempts());
+                }
+            } else {
+                indexQueueEntryDAO.delete(context, entry);
+                removed++;
+            }
+        }
+        log.debug("Processed {} queued index changes ({} updates, {} deletions, {} failures)", entries.size(),
+            documents.size(), deletions.size(), failures.size());
+        return removed;
+    }
+
+    /**
+     * Remove the changes which were given up on, once they were queued before the given time. They are reported
+     * when they are given up on, and the objects are indexed again by "index-discovery" or by their next change.
+     * @param context DSpace context object, committed by the caller
+     * @param before  only changes queued before this time are removed
+     * @return the amount of changes removed from the queue
+     * @throws SQLException If database error
+     */
+    public int purgeFailed(Context context, Instant before) throws SQLException {
+        int purged = indexQueueEntryDAO.deleteFailedBefore(context, before, getMaxAttempts());
+        if (purged > 0) {
+            log.warn("Removed {} queued index changes given up on after {} attempts, queued before {}", purged,
+                getMaxAttempts(), before);
+        }
+        return purged;
+    }
+
+    private SolrInputDocument buildDocument(Context context, String uniqueId, Action action)
+            throws SQLException, IOException {
+        IndexFactory indexFactory = indexObjectFactoryFactory.getIndexableObjectFactory(uniqueId);
+        if (indexFactory == null) {
+            log.warn("No index factory found for queued object: {}", uniqueId);
+            return null;
+        }
+        Optional<IndexableObject> indexableObject =
+            indexFactory.findIndexableObject(context, StringUtils.substringAfter(uniqueId, "-"));
+        if (indexableObject.isEmpty()) {
+            return null;
+        }
+        SolrInputDocument document = action == Action.CREATE
+            ? indexFactory.buildNewDocument(context, indexableObject.get())
+            : indexFactory.buildDocument(context, indexableObject.get());
+        indexFactory.completeDocument(context, indexableObject.get(), document);
+        context.uncacheEntity(indexableObject.get().getIndexedObject());
+        return document;
+    }
+
+    /**
+     * Write the queued changes older than the window to the index, batch by batch, until there are none left. Does
+     * nothing unless asynchronous indexing is enabled. This is scheduled by the webapp, see
+     * {@code discovery.index.async.cron}.
+     */
+    public void processQueue() {
+        if (!isEnabled()) {
+            return;
+        }
+        try {
+            // a batch with failures isn't retried right away
+            int removed;
+            do {
+                removed = processBatch();
+            } while (removed >= getBatchSize());
+            purgeFailed();
+        } catch (SQLException | SearchServiceException e) {
+            log.error("Unable to process the discovery index queue, retrying later", e);
+        }
+    }
+
+    private int processBatch() throws SQLException, SearchServiceException {
+        Context context = new Context();
+        try {
+            context.turnOffAuthorisationSystem();
+            int processed = process(context, Instant.now().minusMillis(getWindow()));
+            context.complete();
+            return processed;
+        } finally {
+            if (context.isValid()) {
+                context.abort();
+            }
+        }
+    }
+
+    private void purgeFailed() throws SQLException {
+        Context context = new Context();
+        try {
+            purgeFailed(context, Instant.now().minus(getFailedRetention(), ChronoUnit.DAYS));
+            context.complete();
+        } finally {
+            if (context.isValid()) {
+                context.abort();
+            }
+        }
+    }
+
+    private int getBatchSize() {
+        return Math.max(1, configurationService.getIntProperty("discovery.index.async.batch-size", 100));
+    }
+
+    private int getMaxAttempts() {
+        return Math.max(1, configurationService.getIntProperty("discovery.index.async.max-attempts", 5));
+    }
+
+    private long getFailedRetention() {
+        return Math.max(0, configurationService.getLongProperty("discovery.index.async.failed-retention", 30));
+    }
+
+    private long getWindow() {
+        return Math.max(0, configurationService.getLongProperty("discovery.index.async.window", 1000));
+    }
+}
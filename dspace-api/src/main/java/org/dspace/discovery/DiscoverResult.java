@@ -59,6 +59,21 @@ public class DiscoverResult {
         return indexableObjects;
     }
 
+    /**
+     * Return the hits of the search, in the order of the search results, each with the indexable object it found,
+     * its search documents and its highlighting snippets
+     *
+     * @return the hits
+     */
+    public List<Hit> getHits() {
+        List<Hit> hits = new ArrayList<>(indexableObjects.size());
+        for (IndexableObject indexableObject : indexableObjects) {
+            hits.add(new Hit(indexableObject, getSearchDocument(indexableObject),
+                             getHighlightedResults(indexableObject)));
+        }
+        return hits;
+    }
+
     public long getTotalSearchResults() {
         return totalSearchResults;
     }
@@ -238,6 +253,49 @@ public class DiscoverResult {
         }
     }
 
+    /**
+     * A single hit of a Discovery Search
+     */
+    public static final class Hit {
+        private final IndexableObject indexableObject;
+        private final List<SearchDocument> searchDocuments;
+        private final IndexableObjectHighlightResult highlightResult;
+
+        public Hit(IndexableObject indexableObject, List<SearchDocument> searchDocuments,
+                   IndexableObjectHighlightResult highlightResult) {
+            this.indexableObject = indexableObject;
+            this.searchDocuments = searchDocuments;
+            this.highlightResult = highlightResult;
+        }
+
+        /**
+         * Return the indexable object found by the search
+         *
+         * @return the indexable object
+         */
+        public IndexableObject getIndexableObject() {
+            return indexableObject;
+        }
+
+        /**
+         * Return the values of the search fields for the indexable object
+         *
+         * @return the search documents, empty if no search fields were requested
+         */
+        public List<SearchDocument> getSearchDocuments() {
+            return searchDocuments;
+        }
+
+        /**
+         * Return the highlighting snippets for the indexable object
+         *
+         * @return the highlighting snippets, or null if there are none
+         */
+        public IndexableObjectHighlightResult getHighlightResult() {
+            return highlightResult;
+        }
+    }
+
     public void addSearchDocument(IndexableObject dso, SearchDocument searchDocument) {
         String dsoString = SearchDocument.getIndexableObjectStringRepresentation(dso);
         List<SearchDocument> docs = searchDocuments.get(dsoString);
@@ -7,6 +7,8 @@
  */
 package org.dspace.discovery;
 
+import static org.dspace.discovery.IndexClientOptions.DRY_RUN_OPTION;
+import static org.dspace.discovery.IndexClientOptions.PARALLEL_OPTION;
 import static org.dspace.discovery.IndexClientOptions.TYPE_OPTION;
 
 import java.io.IOException;
@@ -69,6 +71,19 @@ public class IndexClient extends DSpaceRunnable<IndexDiscoveryScriptConfiguratio
             }
         }
 
+        if (commandLine.hasOption(PARALLEL_OPTION)) {
+            if (indexClientOptions != IndexClientOptions.BUILD
+                    && indexClientOptions != IndexClientOptions.BUILDANDSPELLCHECK) {
+                throw new IllegalArgumentException(String.format(
+                        "Parallel option, %s, only applies to the entire index rebuild option, b", PARALLEL_OPTION));
+            }
+            if (StringUtils.isNotBlank(type)) {
+                throw new IllegalArgumentException(String.format(
+                        "Type option, %s, can't be combined with the parallel option, %s, which rebuilds the " +
+                                "entire index", TYPE_OPTION, PARALLEL_OPTION));
+            }
+        }
+
         Optional<IndexableObject> indexableObject = Optional.empty();
 
         if (indexClientOptions == IndexClientOptions.REMOVE || indexClientOptions == IndexClientOptions.INDEX) {
@@ -86,8 +101,11 @@ public class IndexClient extends DSpaceRunnable<IndexDiscoveryScriptConfiguratio
                 indexer.unIndexContent(context, indexableObject.get().getUniqueIndexID());
                 break;
             case CLEAN:
-                handler.logInfo("Cleaning Index");
-                indexer.cleanIndex();
+                boolean dryRun = commandLine.hasOption(DRY_RUN_OPTION);
+                handler.logInfo(dryRun ? "Checking Index (dry run)" : "Cleaning Index");
+                final long removed = indexer.cleanIndex(dryRun);
+                handler.logInfo(removed + " document" + (removed != 1 ? "s" : "")
+                                    + (dryRun ? " would be" : "") + " removed from the Index");
                 break;
             case DELETE:
                 handler.logInfo("Deleting Index");
@@ -103,7 +121,11 @@ public class IndexClient extends DSpaceRunnable<IndexDiscoveryScriptConfiguratio
                             TYPE_OPTION));
                 }
                 indexer.deleteIndex();
-                indexer.createIndex(context);
+                if (commandLine.hasOption(PARALLEL_OPTION)) {
+                    buildInParallel();
+                } else {
+                    indexer.createIndex(context);
+                }
                 if (indexClientOptions == IndexClientOptions.BUILDANDSPELLCHECK) {
                     checkRebuildSpellCheck(commandLine, indexer);
                 }
@@ -164,6 +186,34 @@ public class IndexClient extends DSpaceRunnable<IndexDiscoveryScriptConfiguratio
         indexClientOptions = IndexClientOptions.getIndexClientOption(commandLine);
     }
 
+    /**
+     * Rebuild the entire index using a {@link ParallelIndexBuilder}, with the amount of threads passed to the
+     * parallel option (or the configured default when no amount was given).
+     *
+     * @throws SQLException           If database error occurs.
+     * @throws SearchServiceException If the documents could not be written to the search core.
+     */
+    private void buildInParallel() throws SQLException, SearchServiceException {
+        int threads = 0;
+        String threadsValue = commandLine.getOptionValue(PARALLEL_OPTION);
+        if (StringUtils.isNotBlank(threadsValue)) {
+            try {
+                threads = Integer.parseInt(threadsValue.trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid amount of threads for the parallel option: " +
+                        threadsValue);
+            }
+        }
+        SolrSearchCore solrSearchCore = DSpaceServicesFactory.getInstance().getServiceManager()
+                .getServicesByType(SolrSearchCore.class).get(0);
+        ParallelIndexBuilder builder = new ParallelIndexBuilder(IndexObjectFactoryFactory.getInstance(),
+                solrSearchCore, handler, threads);
+        final long startTimeMillis = Instant.now().toEpochMilli();
+        final long count = builder.build(context, null);
+        final long seconds = (Instant.now().toEpochMilli() - startTimeMillis) / 1000;
+        handler.logInfo("Indexed " + count + " objects in " + seconds + " seconds");
+    }
+
     /**
      * Resolves the given parameter to an IndexableObject (Item, Collection, or Community).
      *
@@ -13,6 +13,7 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.Option;
 import org.apache.commons.cli.Options;
 import org.dspace.discovery.indexobject.factory.IndexObjectFactoryFactory;
 
@@ -35,6 +36,8 @@ public enum IndexClientOptions {
     HELP;
 
     public static final String TYPE_OPTION = "t";
+    public static final String PARALLEL_OPTION = "p";
+    public static final String DRY_RUN_OPTION = "n";
 
     /**
      * This method resolves the CommandLine parameters to figure out which action the index-discovery script should
@@ -89,9 +92,19 @@ public enum IndexClientOptions {
                 "(re)indexable objects; options: " + Arrays.toString(indexableObjectTypes.toArray()));
         options.addOption("c", "clean", false,
                           "clean existing index removing any documents that no longer exist in the db");
+        options.addOption(DRY_RUN_OPTION, "dry-run", false,
+                          "with -c, only report the documents that would be removed from the index");
         options.addOption("d", "delete", false,
                 "delete all records from existing index");
         options.addOption("b", "build", false, "(re)build index, wiping out current one if it exists");
+        options.addOption(Option.builder(PARALLEL_OPTION)
+                .longOpt("parallel")
+                .hasArg()
+                .optionalArg(true)
+                .argName("threads")
+                .desc("rebuild the index using multiple worker threads, only with -b and without -t. The amount " +
+                        "of threads defaults to discovery.index.parallel.threads")
+                .build());
         options.addOption("s", "spellchecker", false, "Rebuild the spellchecker, can be combined with -b and -f.");
         options.addOption("f", "force", false,
                           "if updating existing index, force each handle to be reindexed even if up-to-date");
@@ -52,6 +52,10 @@ public class IndexEventConsumer implements Consumer {
 
     IndexObjectFactoryFactory indexObjectServiceFactory = IndexObjectFactoryFactory.getInstance();
 
+    AsyncIndexingQueue asyncIndexingQueue = DSpaceServicesFactory.getInstance().getServiceManager()
+                                                                 .getServiceByName(AsyncIndexingQueue.class.getName(),
+                                                                                   AsyncIndexingQueue.class);
+
     @Override
     public void initialize() throws Exception {
 
@@ -216,6 +220,18 @@ public class IndexEventConsumer implements Consumer {
     @Override
     public void end(Context ctx) throws Exception {
 
+        if (asyncIndexingQueue != null && asyncIndexingQueue.isEnabled()) {
+            // Queue the changes in the current transaction, they are written to the index in the background
+            try {
+                asyncIndexingQueue.queue(ctx, objectsToUpdate, createdItemsToUpdate, uniqueIdsToDelete);
+            } finally {
+                objectsToUpdate.clear();
+                uniqueIdsToDelete.clear();
+                createdItemsToUpdate.clear();
+            }
+            return;
+        }
+
         // Change the mode to readonly to improve performance
         Context.Mode originalMode = ctx.getCurrentMode();
         ctx.setMode(Context.Mode.READ_ONLY);
@@ -0,0 +1,142 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import org.dspace.core.HibernateProxyHelper;
+import org.dspace.core.ReloadableEntity;
+
+/**
+ * A pending change of the discovery index, written by the {@link IndexEventConsumer} when asynchronous indexing
+ * is enabled and processed by the {@link AsyncIndexingQueue}. Changes are only ever inserted (so concurrent
+ * transactions changing the same object never conflict), repeated changes of the same object are merged when the
+ * queue is processed. Changes which could not be applied are kept with the number of failed attempts.
+ */
+@Entity
+@Table(name = "discovery_index_queue")
+public class IndexQueueEntry implements ReloadableEntity<Integer> {
+
+    /**
+     * The change to apply to the index
+     */
+    public enum Action {
+        /**
+         * (Re)index the object
+         */
+        UPDATE,
+        /**
+         * Index a freshly created object, using a pre-db status
+         */
+        CREATE,
+        /**
+         * Remove the object from the index
+         */
+        DELETE
+    }
+
+    @Id
+    @Column(name = "id")
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "discovery_index_queue_seq")
+    @SequenceGenerator(name = "discovery_index_queue_seq", sequenceName = "discovery_index_queue_seq",
+        allocationSize = 1)
+    private Integer id;
+
+    @Column(name = "unique_id", length = 255, nullable = false)
+    private String uniqueId;
+
+    @Column(name = "action", length = 16, nullable = false)
+    @Enumerated(EnumType.STRING)
+    private Action action;
+
+    @Column(name = "queued", nullable = false)
+    private Instant queued;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    protected IndexQueueEntry() {
+    }
+
+    /**
+     * Create a new entry
+     * @param uniqueId the unique index id of the changed object
+     * @param action   the change to apply
+     */
+    public IndexQueueEntry(String uniqueId, Action action) {
+        this.uniqueId = uniqueId;
+        this.action = action;
+        this.queued = Instant.now();
+    }
+
+    @Override
+    public Integer getID() {
+        return id;
+    }
+
+    /**
+     * @return the unique index id of the changed object
+     */
+    public String getUniqueId() {
+        return uniqueId;
+    }
+
+    /**
+     * @return the change to apply to the index
+     */
+    public Action getAction() {
+        return action;
+    }
+
+    /**
+     * @return the time the change was queued
+     */
+    public Instant getQueued() {
+        return queued;
+    }
+
+    /**
+     * @return the number of failed attempts to apply the change
+     */
+    public int getAttempts() {
+        return attempts;
+    }
+
+    /**
+     * Record a failed attempt to apply the change
+     */
+    public void addFailedAttempt() {
+        this.attempts++;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        Class<?> objClass = HibernateProxyHelper.getClassWithoutInitializingProxy(o);
+        if (getClass() != objClass) {
+            return false;
+        }
+        return getID() != null && getID().equals(((IndexQueueEntry) o).getID());
+    }
+
+    @Override
+    public int hashCode() {
+        return getID() == null ? 0 : getID().hashCode();
+    }
+}
@@ -68,6 +68,14 @@ public interface IndexingService {
 
     void cleanIndex() throws IOException, SQLException, SearchServiceException;
 
+    /**
+     * Remove the documents of objects which no longer exist from the index.
+     *
+     * @param dryRun only report the documents which would be removed, without removing them
+     * @return the number of documents which were (or would be) removed
+     */
+    long cleanIndex(boolean dryRun) throws IOException, SQLException, SearchServiceException;
+
     void deleteIndex();
 
     void commit() throws SearchServiceException;
@@ -0,0 +1,361 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.common.SolrInputDocument;
+import org.dspace.core.Context;
+import org.dspace.discovery.indexobject.factory.IndexFactory;
+import org.dspace.discovery.indexobject.factory.IndexObjectFactoryFactory;
+import org.dspace.scripts.handler.DSpaceRunnableHandler;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+
+/**
+ * Rebuilds the discovery index using a pool of worker threads.
+ * <p>
+ * For every {@link IndexFactory} the identifiers of all objects are streamed by the calling thread and handed out
+ * in ranges through a bounded queue, so they are never all held in memory. The workers, each with their own read
+ * only {@link Context}, take ranges from the queue and build the solr documents for the objects in them. The
+ * documents are handed to a single writer through a bounded queue (so the workers are slowed down when solr can't
+ * keep up) and are sent to solr in batches. The index is committed once all types have been processed.
+ * <p>
+ * The amount of workers, the size of the ranges, batches and the document queue can be configured through the
+ * {@code discovery.index.parallel.*} properties.
+ */
+public class ParallelIndexBuilder {
+
+    private static final Logger log = LogManager.getLogger(ParallelIndexBuilder.class);
+
+    /**
+     * Placed on the document queue once all workers are done, tells the writer to flush and stop
+     */
+    private static final SolrInputDocument END_OF_DOCUMENTS = new SolrInputDocument();
+
+    /**
+     * Placed on the range queue once all identifiers were read, tells a worker to stop
+     */
+    private static final List<String> END_OF_RANGES = List.of();
+
+    /**
+     * Minimal amount of milliseconds between two progress reports for the same type
+     */
+    private static final long PROGRESS_INTERVAL = 30000;
+
+    private final IndexObjectFactoryFactory indexObjectFactoryFactory;
+    private final SolrSearchCore solrSearchCore;
+    private final DSpaceRunnableHandler handler;
+
+    private final int threads;
+    private final int rangeSize;
+    private final int batchSize;
+    private final int queueSize;
+
+    /**
+     * Create a new builder using the configured amount of worker threads
+     * @param indexObjectFactoryFactory the factory providing the index factories for all types
+     * @param solrSearchCore            the search core to write to
+     * @param handler                   the handler used to report progress
+     */
+    public ParallelIndexBuilder(IndexObjectFactoryFactory indexObjectFactoryFactory, SolrSearchCore solrSearchCore,
+                                DSpaceRunnableHandler handler) {
+        this(indexObjectFactoryFactory, solrSearchCore, handler, 0);
+    }
+
+    /**
+     * Create a new builder
+     * @param indexObjectFactoryFactory the factory providing the index factories for all types
+     * @param solrSearchCore            the search core to write to
+     * @param handler                   the handler used to report progress
+     * @param threads                   the amount of worker threads, the configured value is used if not positive
+     */
+    public ParallelIndexBuilder(IndexObjectFactoryFactory indexObjectFactoryFactory, SolrSearchCore solrSearchCore,
+                                DSpaceRunnableHandler handler, int threads) {
+        ConfigurationService configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
+        this.indexObjectFactoryFactory = indexObjectFactoryFactory;
+        this.solrSearchCore = solrSearchCore;
+        this.handler = handler;
+        this.threads = threads > 0 ? threads
+            : Math.max(1, configurationService.getIntProperty("discovery.index.parallel.threads", 4));
+        this.rangeSize = Math.max(1, configurationService.getIntProperty("discovery.index.parallel.range-size", 500));
+        this.batchSize = Math.max(1, configurationService.getIntProperty("discovery.index.parallel.batch-size", 250));
+        this.queueSize = Math.max(batchSize,
+            configurationService.getIntProperty("discovery.index.parallel.queue-size", 1000));
+    }
+
+    /**
+     * Index all objects of all types (or of the given type only) and commit the search core afterwards.
+     * @param context the DSpace context used to read the identifiers of the objects to index
+     * @param type    the type of indexable objects to index, or null to index all types
+     * @return the amount of objects which were indexed
+     * @throws SQLException           if the identifiers could not be read from the database
+     * @throws SearchServiceException if the documents could not be written or committed to the search core
+     */
+    public long build(Context context, String type) throws SQLException, SearchServiceException {
+        long total = 0;
+        for (IndexFactory indexFactory : indexObjectFactoryFactory.getIndexFactories()) {
+            if (type == null || type.equals(indexFactory.getType())) {
+                total += buildType(context, indexFactory);
+            }
+        }
+        try {
+            SolrClient solr = solrSearchCore.getSolr();
+            if (solr != null) {
+                solr.commit();
+            }
+        } catch (IOException | SolrServerException e) {
+            throw new SearchServiceException("Unable to commit the discovery index: " + e.getMessage(), e);
+        }
+        return total;
+    }
+
+    /**
+     * Index all objects of the type handled by the given factory
+     * @param context      the DSpace context used to read the identifiers of the objects to index
+     * @param indexFactory the factory of the type to index
+     * @return the amount of objects which were indexed
+     */
+    protected long buildType(Context context, IndexFactory indexFactory) throws SQLException, SearchServiceException {
+        final String type = indexFactory.getType();
+        final long start = System.currentTimeMillis();
+        Iterator<String> ids = indexFactory.findAllIds(context);
+        if (!ids.hasNext()) {
+            handler.logInfo("No objects of type " + type + " to index");
+            return 0;
+        }
+        handler.logInfo(String.format("Indexing objects of type %s in ranges of %d using %d workers",
+            type, rangeSize, threads));
+
+        BuildState state = new BuildState(type, start);
+        ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+        try {
+            Future<?> writer = executor.submit(() -> write(state));
+            List<Future<?>> builders = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                builders.add(executor.submit(() -> {
+                    buildDocuments(indexFactory, state);
+                    return null;
+                }));
+            }
+            List<String> range = new ArrayList<>(rangeSize);
+            while (ids.hasNext()) {
+                range.add(ids.next());
+                state.total++;
+                if (range.size() >= rangeSize || !ids.hasNext()) {
+                    state.enqueueRange(range);
+                    range = new ArrayList<>(rangeSize);
+                }
+            }
+            for (int i = 0; i < threads; i++) {
+                state.enqueueRange(END_OF_RANGES);
+            }
+            for (Future<?> builder : builders) {
+                waitFor(builder);
+            }
+            state.enqueue(END_OF_DOCUMENTS);
+            waitFor(writer);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SearchServiceException("Interrupted while building the discovery index", e);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long seconds = Math.max(1, (System.currentTimeMillis() - start) / 1000);
+        handler.logInfo(String.format("Indexed %d of %d objects of type %s in %d seconds (%d objects/second), "
+            + "%d errors", state.written.get(), state.total, type, seconds, state.written.get() / seconds,
+            state.errors.get()));
+        return state.written.get();
+    }
+
+    /**
+     * Worker loop: take ranges of identifiers until the end marker is received, and put a solr document for every
+     * object on the document queue
+     */
+    private void buildDocuments(IndexFactory indexFactory, BuildState state)
+            throws SQLException, InterruptedException, SearchServiceException {
+        try {
+            Context workerContext = new Context(Context.Mode.READ_ONLY);
+            workerContext.turnOffAuthorisationSystem();
+            try {
+                List<String> range;
+                while ((range = state.ranges.take()) != END_OF_RANGES) {
+                    for (String id : range) {
+                        SolrInputDocument document = buildDocument(workerContext, indexFactory, id, state);
+                        if (document != null) {
+                            state.enqueue(document);
+                        }
+                    }
+                    workerContext.uncacheEntities();
+                }
+            } finally {
+                workerContext.abort();
+            }
+        } catch (SQLException | InterruptedException | SearchServiceException | RuntimeException e) {
+            // the identifiers would otherwise wait forever for a worker
+            state.builderFailed = true;
+            throw e;
+        }
+    }
+
+    private SolrInputDocument buildDocument(Context workerContext, IndexFactory indexFactory, String id,
+                                            BuildState state) {
+        try {
+            Optional<IndexableObject> indexableObject = indexFactory.findIndexableObject(workerContext, id);
+            if (indexableObject.isEmpty()) {
+                // removed since the identifiers were read
+                return null;
+            }
+            SolrInputDocument document = indexFactory.buildDocument(workerContext, indexableObject.get());
+            indexFactory.completeDocument(workerContext, indexableObject.get(), document);
+            workerContext.uncacheEntity(indexableObject.get().getIndexedObject());
+            return document;
+        } catch (Exception e) {
+            state.errors.incrementAndGet();
+            log.error("Unable to build the discovery document for {} {}", indexFactory.getType(), id, e);
+            return null;
+        }
+    }
+
+    /**
+     * Writer loop: send the documents on the queue to solr in batches until the end marker is received
+     */
+    private Void write(BuildState state) throws InterruptedException, SearchServiceException {
+        try {
+            List<SolrInputDocument> batch = new ArrayList<>(batchSize);
+            while (true) {
+                SolrInputDocument document = state.queue.take();
+                if (document != END_OF_DOCUMENTS) {
+                    batch.add(document);
+                    state.queue.drainTo(batch, batchSize - batch.size());
+                }
+                boolean done = batch.removeIf(queued -> queued == END_OF_DOCUMENTS) || document == END_OF_DOCUMENTS;
+                if (batch.size() >= batchSize || (done && !batch.isEmpty())) {
+                    writeBatch(batch, state);
+                    batch.clear();
+                }
+                if (done) {
+                    return null;
+                }
+            }
+        } catch (InterruptedException | SearchServiceException | RuntimeException e) {
+            state.writerFailed = true;
+            throw e;
+        }
+    }
+
+    private void writeBatch(List<SolrInputDocument> batch, BuildState state) throws SearchServiceException {
+        SolrClient solr = solrSearchCore.getSolr();
+        if (solr == null) {
+            throw new SearchServiceException("The discovery search core is not available");
+        }
+        int failed = 0;
+        try {
+            solr.add(batch);
+        } catch (SolrServerException | IOException | RuntimeException e) {
+            // retry the documents one by one, so a single broken document doesn't cost the whole batch
+            log.warn("Unable to write a batch of {} documents, retrying them one by one", batch.size(), e);
+            for (SolrInputDocument document : batch) {
+                try {
+                    solr.add(document);
+                } catch (SolrServerException | IOException | RuntimeException ex) {
+                    failed++;
+                    log.error("Unable to write the discovery document {}",
+                        document.getFieldValue(SearchUtils.RESOURCE_UNIQUE_ID), ex);
+                }
+            }
+            state.errors.addAndGet(failed);
+        }
+        long written = state.written.addAndGet(batch.size() - failed);
+        long now = System.currentTimeMillis();
+        if (now - state.lastReport >= PROGRESS_INTERVAL) {
+            state.lastReport = now;
+            long seconds = Math.max(1, (now - state.start) / 1000);
+            handler.logInfo(String.format("%s: indexed %d objects (%d objects/second, %d queued)",
+                state.type, written, written / seconds, state.queue.size()));
+        }
+    }
+
+    private static void waitFor(Future<?> future) throws SQLException, SearchServiceException {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SearchServiceException("Interrupted while building the discovery index", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SQLException) {
+                throw (SQLException) e.getCause();
+            }
+            throw new SearchServiceException("Unable to build the discovery index: " + e.getCause().getMessage(),
+                e.getCause());
+        }
+    }
+
+    /**
+     * State shared by the workers and the writer while indexing a single type
+     */
+    private class BuildState {
+        private final String type;
+        private final long start;
+        private final BlockingQueue<List<String>> ranges = new ArrayBlockingQueue<>(2 * threads);
+        private final BlockingQueue<SolrInputDocument> queue = new ArrayBlockingQueue<>(queueSize);
+        private final AtomicLong written = new AtomicLong();
+        private final AtomicLong errors = new AtomicLong();
+        private volatile boolean writerFailed = false;
+        private volatile boolean builderFailed = false;
+        private long total; // only used by the thread reading the identifiers
+        private long lastReport;
+
+        BuildState(String type, long start) {
+            this.type = type;
+            this.start = start;
+            this.lastReport = start;
+        }
+
+        /**
+         * Put a range of identifiers on the queue, waiting for space to become available as long as the workers
+         * are running
+         */
+        void enqueueRange(List<String> range) throws InterruptedException, SearchServiceException {
+            while (!ranges.offer(range, 1, TimeUnit.SECONDS)) {
+                if (builderFailed || writerFailed) {
+                    throw new SearchServiceException("The discovery index workers stopped unexpectedly");
+                }
+            }
+        }
+
+        /**
+         * Put a document on the queue, waiting for space to become available as long as the writer is running
+         */
+        void enqueue(SolrInputDocument document) throws InterruptedException, SearchServiceException {
+            while (!queue.offer(document, 1, TimeUnit.SECONDS)) {
+                if (writerFailed) {
+                    throw new SearchServiceException("The discovery index writer stopped unexpectedly");
+                }
+            }
+        }
+    }
+}
@@ -28,12 +28,14 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
+import com.google.common.collect.AbstractIterator;
 import jakarta.mail.MessagingException;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.MapUtils;
 import org.apache.commons.collections4.Transformer;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Strings;
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.logging.log4j.Logger;
 import org.apache.solr.client.solrj.SolrQuery;
 import org.apache.solr.client.solrj.SolrServerException;
@@ -46,6 +48,7 @@ import org.apache.solr.client.solrj.util.ClientUtils;
 import org.apache.solr.common.SolrDocument;
 import org.apache.solr.common.SolrDocumentList;
 import org.apache.solr.common.SolrInputDocument;
+import org.apache.solr.common.params.CursorMarkParams;
 import org.apache.solr.common.params.FacetParams;
 import org.apache.solr.common.params.HighlightParams;
 import org.apache.solr.common.params.MoreLikeThisParams;
@@ -344,8 +347,18 @@ public class SolrServiceImpl implements SearchService, IndexingService {
             final List<IndexFactory> indexableObjectServices = indexObjectServiceFactory.
                 getIndexFactories();
             int indexObject = 0;
+            // the walk over all objects remains available, should the comparison misbehave
+            boolean byDiff = !force && configurationService.getBooleanProperty("discovery.index.update.by-diff", true);
             for (IndexFactory indexableObjectService : indexableObjectServices) {
                 if (type == null || Strings.CS.equals(indexableObjectService.getType(), type)) {
+                    try {
+                        if (byDiff && updateIndexByDiff(context, indexableObjectService)) {
+                            continue;
+                        }
+                    } catch (RuntimeException e) {
+                        log.error("Unable to compare the index of {} with the database, checking each object on "
+                                      + "its own: {}", indexableObjectService.getType(), e.getMessage(), e);
+                    }
                     final Iterator<IndexableObject> indexableObjects = indexableObjectService.findAll(context);
                     while (indexableObjects.hasNext()) {
                         final IndexableObject indexableObject = indexableObjects.next();
@@ -367,6 +380,121 @@ public class SolrServiceImpl implements SearchService, IndexingService {
         }
     }
 
+    /**
+     * Bring the index up to date for one type of objects, without checking each object against the index on its
+     * own. The identifiers and last modification dates of the objects are streamed from the database (see
+     * {@link IndexFactory#findAllLastModified(Context)}), the identifiers and last indexed dates of the documents
+     * from Solr, both in ascending order of identifiers. Merging both streams finds the objects which are missing
+     * from the index or whose document is stale, and the documents of objects which no longer exist, in one pass.
+     * Used unless {@code discovery.index.update.by-diff} is false.
+     *
+     * @param context                the dspace context
+     * @param indexableObjectService the factory of the type of objects to update
+     * @return false if the factory can't stream the identifiers and last modification dates of its objects, or if
+     *         the streams were found to be out of order. The objects should be checked on their own then.
+     */
+    protected boolean updateIndexByDiff(Context context, IndexFactory indexableObjectService)
+        throws SQLException, IOException, SolrServerException {
+        if (solrSearchCore.getSolr() == null) {
+            return false;
+        }
+        Iterator<Pair<String, Instant>> objects = indexableObjectService.findAllLastModified(context);
+        if (objects == null) {
+            return false;
+        }
+
+        SolrQuery query = new SolrQuery("*:*");
+        query.addFilterQuery(SearchUtils.RESOURCE_TYPE_FIELD + ":" + indexableObjectService.getType());
+        query.setFields(SearchUtils.RESOURCE_UNIQUE_ID, SearchUtils.RESOURCE_ID_FIELD, SearchUtils.LAST_INDEXED_FIELD);
+        // all unique ids of a type share the same prefix, so they sort like the resource ids
+        query.addSort(SearchUtils.RESOURCE_UNIQUE_ID, SolrQuery.ORDER.asc);
+        Iterator<SolrDocument> documents = streamDocuments(query);
+
+        int reindexed = 0;
+        int deleted = 0;
+        Pair<String, Instant> object = objects.hasNext() ? objects.next() : null;
+        SolrDocument document = documents.hasNext() ? documents.next() : null;
+        String previousId = null;
+        while (object != null || document != null) {
+            if (object != null) {
+                if (previousId != null && previousId.compareTo(object.getLeft()) >= 0) {
+                    log.warn("Identifiers of {} are not in ascending order, checking each object on its own",
+                             indexableObjectService.getType());
+                    return false;
+                }
+            }
+            int comparison = object == null ? 1 : document == null ? -1
+                : object.getLeft().compareTo((String) document.getFirstValue(SearchUtils.RESOURCE_ID_FIELD));
+
+            if (comparison > 0) {
+                // a document without object, unless the object isn't one the factory iterates over
+                String id = (String) document.getFirstValue(SearchUtils.RESOURCE_ID_FIELD);
+                if (indexableObjectService.findIndexableObject(context, id).isEmpty()) {
+                    String uniqueID = (String) document.getFirstValue(SearchUtils.RESOURCE_UNIQUE_ID);
+                    log.info("Deleting: " + uniqueID);
+                    unIndexContent(context, uniqueID);
+                    deleted++;
+                }
+                document = documents.hasNext() ? documents.next() : null;
+                continue;
+            }
+
+            if (comparison < 0 || object.getRight() == null
+                || isStale(document.getFirstValue(SearchUtils.LAST_INDEXED_FIELD), object.getRight())) {
+                Optional<IndexableObject> indexableObject =
+                    indexableObjectService.findIndexableObject(context, object.getLeft());
+                if (indexableObject.isPresent()) {
+                    indexContent(context, indexableObject.get(), true);
+                    context.uncacheEntity(indexableObject.get().getIndexedObject());
+                    reindexed++;
+                }
+            }
+            if (comparison == 0) {
+                document = documents.hasNext() ? documents.next() : null;
+            }
+            previousId = object.getLeft();
+            object = objects.hasNext() ? objects.next() : null;
+        }
+        log.info("Updated the index of {}: {} objects reindexed, {} documents deleted",
+                 indexableObjectService.getType(), reindexed, deleted);
+        return true;
+    }
+
+    /**
+     * Stream all documents matching a query using a cursor, so deep pages don't get slower.
+     *
+     * @param query the query, which must be sorted on (at least) the unique key
+     * @return the documents
+     */
+    protected Iterator<SolrDocument> streamDocuments(SolrQuery query) {
+        query.setRows(configurationService.getIntProperty("discovery.index.cursor.rows", 1000));
+        return new AbstractIterator<>() {
+            private String cursorMark = CursorMarkParams.CURSOR_MARK_START;
+            private Iterator<SolrDocument> page = Collections.emptyIterator();
+            private boolean done = false;
+
+            @Override
+            protected SolrDocument computeNext() {
+                while (!page.hasNext()) {
+                    if (done) {
+                        return endOfData();
+                    }
+                    query.set(CursorMarkParams.CURSOR_MARK_PARAM, cursorMark);
+                    QueryResponse rsp;
+                    try {
+                        rsp = solrSearchCore.getSolr().query(query, solrSearchCore.REQUEST_METHOD);
+                    } catch (SolrServerException | IOException e) {
+                        throw new RuntimeException(e.getMessage(), e);
+                    }
+                    done = cursorMark.equals(rsp.getNextCursorMark());
+                    cursorMark = rsp.getNextCursorMark();
+                    page = rsp.getResults().iterator();
+                }
+                return page.next();
+            }
+        };
+    }
+
     /**
      * Removes all documents from the Lucene index
      */
@@ -392,61 +520,153 @@ public class SolrServiceImpl implements SearchService, IndexingService {
      */
     @Override
     public void cleanIndex() throws IOException, SQLException, SearchServiceException {
-        Context context = new Context();
+        cleanIndex(false);
+    }
+
+    /**
+     * Iterates over all documents in the Lucene index and verifies they are in
+     * database, if not, they are removed (or only reported, in a dry run).
+     * <p>
+     * The documents of each type are read with a cursor, in order of their unique id. For the types which can
+     * stream their identifiers in the same order (see {@link IndexFactory#findAllLastModified(Context)}), both
+     * streams are merged and only the documents missing from the database stream are looked up. The documents of
+     * other types are looked up one by one. Orphaned documents are deleted in batches. Finally, the documents of
+     * types without an {@link IndexFactory} (e.g. of a removed plugin) are removed.
+     *
+     * @param dryRun only log the documents which would be removed
+     * @return the number of documents which were (or would be) removed
+     * @throws IOException            IO exception
+     * @throws SQLException           sql exception
+     * @throws SearchServiceException occurs when something went wrong with querying the solr server
+     */
+    @Override
+    public long cleanIndex(boolean dryRun) throws IOException, SQLException, SearchServiceException {
+        Context context = new Context(Context.Mode.READ_ONLY);
         context.turnOffAuthorisationSystem();
 
+        long removed = 0;
         try {
             if (solrSearchCore.getSolr() == null) {
-                return;
+                return 0;
             }
-            // First, we'll just get a count of the total results
-            SolrQuery countQuery = new SolrQuery("*:*");
-            countQuery.setRows(0);  // don't actually request any data
-            // Get the total amount of results
-            QueryResponse totalResponse = solrSearchCore.getSolr().query(countQuery,
-                                                                         solrSearchCore.REQUEST_METHOD);
-            long total = totalResponse.getResults().getNumFound();
-
-            int start = 0;
-            int batch = 100;
-
-            // Now get actual Solr Documents in batches
-            SolrQuery query = new SolrQuery();
-            query.setFields(SearchUtils.RESOURCE_UNIQUE_ID, SearchUtils.RESOURCE_ID_FIELD,
-                            SearchUtils.RESOURCE_TYPE_FIELD);
-            query.addSort(SearchUtils.RESOURCE_UNIQUE_ID, SolrQuery.ORDER.asc);
-            query.setQuery("*:*");
-            query.setRows(batch);
-            // Keep looping until we hit the total number of Solr docs
-            while (start < total) {
-                query.setStart(start);
-                QueryResponse rsp = solrSearchCore.getSolr().query(query, solrSearchCore.REQUEST_METHOD);
-                SolrDocumentList docs = rsp.getResults();
-
-                for (SolrDocument doc : docs) {
-                    String uniqueID = (String) doc.getFieldValue(SearchUtils.RESOURCE_UNIQUE_ID);
-
-                    IndexableObject o = findIndexableObject(context, doc);
-
-                    if (o == null) {
-                        log.info("Deleting: " + uniqueID);
-                        /*
-                         * Use IndexWriter to delete, its easier to manage
-                         * write.lock
-                         */
-                        unIndexContent(context, uniqueID);
-                    } else {
-                        log.debug("Keeping: " + o.getUniqueIndexID());
-                    }
-                }
-
-                start += batch;
+            List<String> types = new ArrayList<>();
+            for (IndexFactory indexableObjectService : indexObjectServiceFactory.getIndexFactories()) {
+                removed += cleanIndex(context, indexableObjectService, dryRun);
+                types.add(indexableObjectService.getType());
+            }
+            removed += cleanUnknownTypes(types, dryRun);
+            if (!dryRun && removed > 0) {
+                solrSearchCore.getSolr().commit();
             }
         } catch (IOException | SQLException | SolrServerException e) {
             log.error("Error cleaning discovery index: " + e.getMessage(), e);
         } finally {
             context.abort();
         }
+        return removed;
+    }
+
+    /**
+     * Remove the documents of one type of objects for which the object no longer exists.
+     *
+     * @param context                the dspace context
+     * @param indexableObjectService the factory of the type of objects to check
+     * @param dryRun                 only log the documents which would be removed
+     * @return the number of documents which were (or would be) removed
+     */
+    protected long cleanIndex(Context context, IndexFactory indexableObjectService, boolean dryRun)
+        throws SQLException, IOException, SolrServerException {
+        SolrQuery query = new SolrQuery("*:*");
+        query.addFilterQuery(SearchUtils.RESOURCE_TYPE_FIELD + ":" + indexableObjectService.getType());
+        query.setFields(SearchUtils.RESOURCE_UNIQUE_ID, SearchUtils.RESOURCE_ID_FIELD);
+        // all unique ids of a type share the same prefix, so they sort like the resource ids
+        query.addSort(SearchUtils.RESOURCE_UNIQUE_ID, SolrQuery.ORDER.asc);
+        Iterator<SolrDocument> documents = streamDocuments(query);
+
+        Iterator<Pair<String, Instant>> objects = indexableObjectService.findAllLastModified(context);
+        String objectId = objects != null && objects.hasNext() ? objects.next().getLeft() : null;
+
+        int batchSize = configurationService.getIntProperty("discovery.index.cursor.rows", 1000);
+        List<String> orphans = new ArrayList<>(batchSize);
+        long removed = 0;
+        while (documents.hasNext()) {
+            SolrDocument document = documents.next();
+            String id = (String) document.getFirstValue(SearchUtils.RESOURCE_ID_FIELD);
+
+            while (objectId != null && objectId.compareTo(id) < 0) {
+                String previousId = objectId;
+                objectId = objects.hasNext() ? objects.next().getLeft() : null;
+                if (objectId != null && previousId.compareTo(objectId) >= 0) {
+                    log.warn("Identifiers of {} are not in ascending order, checking each document on its own",
+                             indexableObjectService.getType());
+                    objects = null;
+                    objectId = null;
+                }
+            }
+            if (id.equals(objectId)) {
+                continue;
+            }
+
+            // not in the stream (if any) of the database, which may leave out some objects of the type
+            Optional<IndexableObject> indexableObject = indexableObjectService.findIndexableObject(context, id);
+            if (indexableObject.isPresent()) {
+                context.uncacheEntity(indexableObject.get().getIndexedObject());
+                continue;
+            }
+            String uniqueID = (String) document.getFirstValue(SearchUtils.RESOURCE_UNIQUE_ID);
+            log.info((dryRun ? "Would delete: " : "Deleting: ") + uniqueID);
+            orphans.add(uniqueID);
+            removed++;
+            if (orphans.size() >= batchSize) {
+                deleteOrphans(orphans, dryRun);
+            }
+        }
+        deleteOrphans(orphans, dryRun);
+        log.info("Cleaned the index of {}: {} documents {}", indexableObjectService.getType(), removed,
+                 dryRun ? "would be removed" : "removed");
+        return removed;
+    }
+
+    /**
+     * Remove the documents whose type isn't one of the given types, which no object can be found for.
+     *
+     * @param types  the types of the registered index factories
+     * @param dryRun only log the documents which would be removed
+     * @return the number of documents which were (or would be) removed
+     */
+    protected long cleanUnknownTypes(List<String> types, boolean dryRun) throws IOException, SolrServerException {
+        SolrQuery query = new SolrQuery("*:*");
+        if (!types.isEmpty()) {
+            query.addFilterQuery("-" + SearchUtils.RESOURCE_TYPE_FIELD + ":(" + types.stream()
+                .map(ClientUtils::escapeQueryChars).collect(joining(" OR ")) + ")");
+        }
+        query.setFields(SearchUtils.RESOURCE_UNIQUE_ID);
+        query.addSort(SearchUtils.RESOURCE_UNIQUE_ID, SolrQuery.ORDER.asc);
+        Iterator<SolrDocument> documents = streamDocuments(query);
+
+        int batchSize = configurationService.getIntProperty("discovery.index.cursor.rows", 1000);
+        List<String> orphans = new ArrayList<>(batchSize);
+        long removed = 0;
+        while (documents.hasNext()) {
+            String uniqueID = (String) documents.next().getFirstValue(SearchUtils.RESOURCE_UNIQUE_ID);
+            log.info((dryRun ? "Would delete: " : "Deleting: ") + uniqueID);
+            orphans.add(uniqueID);
+            removed++;
+            if (orphans.size() >= batchSize) {
+                deleteOrphans(orphans, dryRun);
+            }
+        }
+        deleteOrphans(orphans, dryRun);
+        log.info("Cleaned the index of unknown types: {} documents {}", removed,
+                 dryRun ? "would be removed" : "removed");
+        return removed;
+    }
+
+    private void deleteOrphans(List<String> uniqueIDs, boolean dryRun) throws IOException, SolrServerException {
+        if (!dryRun && !uniqueIDs.isEmpty()) {
+            solrSearchCore.getSolr().deleteById(uniqueIDs);
+        }
+        uniqueIDs.clear();
     }
 
     /**
@@ -579,23 +799,27 @@ public class SolrServiceImpl implements SearchService, IndexingService {
 
             inIndex = true;
 
-            Object value = doc.getFieldValue(SearchUtils.LAST_INDEXED_FIELD);
-
-            // If it's a java.util.Date, convert to an Instant
-            if (value instanceof java.util.Date) {
-                value = ((java.util.Date) value).toInstant();
-            }
-
-            if (value instanceof Instant lastIndexed) {
-                if (lastIndexed.isBefore(lastModified)) {
-                    reindexItem = true;
-                }
+            if (isStale(doc.getFieldValue(SearchUtils.LAST_INDEXED_FIELD), lastModified)) {
+                reindexItem = true;
             }
         }
 
         return reindexItem || !inIndex;
     }
 
+    /**
+     * @param lastIndexedValue the value of the {@link SearchUtils#LAST_INDEXED_FIELD} of a document
+     * @param lastModified     the last modified date of the DSpace object
+     * @return true if the document was indexed before the object was last modified
+     */
+    private boolean isStale(Object lastIndexedValue, Instant lastModified) {
+        // If it's a java.util.Date, convert to an Instant
+        if (lastIndexedValue instanceof java.util.Date) {
+            lastIndexedValue = ((java.util.Date) lastIndexedValue).toInstant();
+        }
+        return lastIndexedValue instanceof Instant lastIndexed && lastIndexed.isBefore(lastModified);
+    }
+
     @Override
     public String createLocationQueryForAdministrableItems(Context context)
         throws SQLException {
@@ -959,8 +1183,11 @@ public class SolrServiceImpl implements SearchService, IndexingService {
                 result.setTotalSearchResults(solrQueryResponse.getResults().getNumFound());
 
                 List<String> searchFields = query.getSearchFields();
-                for (SolrDocument doc : solrQueryResponse.getResults()) {
-                    IndexableObject indexableObject = findIndexableObject(context, doc);
+                SolrDocumentList docs = solrQueryResponse.getResults();
+                List<IndexableObject> indexableObjects = findIndexableObjects(context, docs);
+                for (int i = 0; i < docs.size(); i++) {
+                    SolrDocument doc = docs.get(i);
+                    IndexableObject indexableObject = indexableObjects.get(i);
 
                     if (indexableObject != null) {
                         result.addIndexableObject(indexableObject);
@@ -1183,6 +1410,40 @@ public class SolrServiceImpl implements SearchService, IndexingService {
         return indexableObject.orElse(null);
     }
 
+    /**
+     * Find the indexable objects of solr documents, with a single query per type of indexable object
+     *
+     * @param context
+     *            The relevant DSpace Context.
+     * @param docs
+     *            the solr documents, the following fields MUST be present RESOURCE_TYPE_FIELD and RESOURCE_ID_FIELD
+     * @return the indexable objects, in the order of the documents, with null for the documents whose object
+     *         could not be found
+     * @throws SQLException
+     *             An exception that provides information on a database access error or other errors.
+     */
+    protected List<IndexableObject> findIndexableObjects(Context context, List<SolrDocument> docs)
+        throws SQLException {
+        List<String> uniqueIds = new ArrayList<>(docs.size());
+        for (SolrDocument doc : docs) {
+            uniqueIds.add(doc.getFirstValue(SearchUtils.RESOURCE_TYPE_FIELD) + "-"
+                              + doc.getFirstValue(SearchUtils.RESOURCE_ID_FIELD));
+        }
+        Map<String, IndexableObject> found = indexObjectServiceFactory.findIndexableObjects(context, uniqueIds);
+
+        List<IndexableObject> indexableObjects = new ArrayList<>(docs.size());
+        for (int i = 0; i < docs.size(); i++) {
+            IndexableObject indexableObject = found.get(uniqueIds.get(i));
+            if (indexableObject == null) {
+                log.warn("Not able to retrieve object RESOURCE_ID:"
+                             + docs.get(i).getFirstValue(SearchUtils.RESOURCE_ID_FIELD)
+                             + " - RESOURCE_TYPE_ID:" + docs.get(i).getFirstValue(SearchUtils.RESOURCE_TYPE_FIELD));
+            }
+            indexableObjects.add(indexableObject);
+        }
+        return indexableObjects;
+    }
+
     public List<IndexableObject> search(Context context, String query, int offset, int max,
             String... filterquery) {
         return search(context, query, null, true, offset, max, filterquery);
@@ -1212,11 +1473,8 @@ public class SolrServiceImpl implements SearchService, IndexingService {
             QueryResponse rsp = solrSearchCore.getSolr().query(solrQuery, solrSearchCore.REQUEST_METHOD);
             SolrDocumentList docs = rsp.getResults();
 
-            Iterator iter = docs.iterator();
             List<IndexableObject> result = new ArrayList<>();
-            while (iter.hasNext()) {
-                SolrDocument doc = (SolrDocument) iter.next();
-                IndexableObject o = findIndexableObject(context, doc);
+            for (IndexableObject o : findIndexableObjects(context, docs)) {
                 if (o != null) {
                     result.add(o);
                 }
@@ -1324,9 +1582,7 @@ public class SolrServiceImpl implements SearchService, IndexingService {
             NamedList mltResults = (NamedList) rsp.getResponse().get("moreLikeThis");
             if (mltResults != null && mltResults.get(item.getType() + "-" + item.getID()) != null) {
                 SolrDocumentList relatedDocs = (SolrDocumentList) mltResults.get(item.getType() + "-" + item.getID());
-                for (Object relatedDoc : relatedDocs) {
-                    SolrDocument relatedDocument = (SolrDocument) relatedDoc;
-                    IndexableObject relatedItem = findIndexableObject(context, relatedDocument);
+                for (IndexableObject relatedItem : findIndexableObjects(context, relatedDocs)) {
                     if (relatedItem instanceof IndexableItem) {
                         results.add(((IndexableItem) relatedItem).getIndexedObject());
                     }
@@ -0,0 +1,55 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery.dao;
+
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.List;
+
+import org.dspace.core.Context;
+import org.dspace.core.GenericDAO;
+import org.dspace.discovery.IndexQueueEntry;
+
+/**
+ * Database Access Object interface class for the IndexQueueEntry object.
+ * The implementation of this class is responsible for all database calls for the IndexQueueEntry object and is
+ * autowired by spring.
+ * This class should only be accessed from a single service and should never be exposed outside of the API
+ */
+public interface IndexQueueEntryDAO extends GenericDAO<IndexQueueEntry> {
+
+    /**
+     * Find and lock the oldest entries which were queued before the given time. Entries locked by another
+     * transaction are skipped, so that concurrent processes never process the same entries.
+     * @param context     DSpace context object
+     * @param before      only entries queued before this time are returned
+     * @param maxAttempts only entries with less failed attempts are returned
+     * @param limit       the maximum amount of entries to return
+     * @return the entries, in the order in which they were queued
+     * @throws SQLException If database error
+     */
+    List<IndexQueueEntry> findQueuedBefore(Context context, Instant before, int maxAttempts, int limit)
+        throws SQLException;
+
+    /**
+     * Delete the entries queued before the given time which reached the given amount of failed attempts.
+     * @param context     DSpace context object
+     * @param before      only entries queued before this time are deleted
+     * @param maxAttempts only entries with at least this amount of failed attempts are deleted
+     * @return the amount of deleted entries
+     * @throws SQLException If database error
+     */
+    int deleteFailedBefore(Context context, Instant before, int maxAttempts) throws SQLException;
+
+    /**
+     * @param context DSpace context object
+     * @return the amount of queued entries
+     * @throws SQLException If database error
+     */
+    long countAll(Context context) throws SQLException;
+}
@@ -0,0 +1,62 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery.dao.impl;
+
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.List;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.Query;
+import org.dspace.core.AbstractHibernateDAO;
+import org.dspace.core.Context;
+import org.dspace.discovery.IndexQueueEntry;
+import org.dspace.discovery.dao.IndexQueueEntryDAO;
+import org.hibernate.LockOptions;
+import org.hibernate.cfg.AvailableSettings;
+
+/**
+ * Hibernate implementation of the Database Access Object interface class for the IndexQueueEntry object.
+ * This class is responsible for all database calls for the IndexQueueEntry object and is autowired by spring
+ * This class should never be accessed directly.
+ */
+public class IndexQueueEntryDAOImpl extends AbstractHibernateDAO<IndexQueueEntry> implements IndexQueueEntryDAO {
+
+    protected IndexQueueEntryDAOImpl() {
+        super();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<IndexQueueEntry> findQueuedBefore(Context context, Instant before, int maxAttempts, int limit)
+        throws SQLException {
+        Query query = createQuery(context,
+            "FROM IndexQueueEntry WHERE queued < :before AND attempts < :maxAttempts ORDER BY id");
+        query.setParameter("before", before);
+        query.setParameter("maxAttempts", maxAttempts);
+        query.setMaxResults(limit);
+        // SELECT ... FOR UPDATE SKIP LOCKED, where the database supports it
+        query.setLockMode(LockModeType.PESSIMISTIC_WRITE);
+        query.setHint(AvailableSettings.JAKARTA_LOCK_TIMEOUT, LockOptions.SKIP_LOCKED);
+        return query.getResultList();
+    }
+
+    @Override
+    public int deleteFailedBefore(Context context, Instant before, int maxAttempts) throws SQLException {
+        Query query = createQuery(context,
+            "DELETE FROM IndexQueueEntry WHERE queued < :before AND attempts >= :maxAttempts");
+        query.setParameter("before", before);
+        query.setParameter("maxAttempts", maxAttempts);
+        return query.executeUpdate();
+    }
+
+    @Override
+    public long countAll(Context context) throws SQLException {
+        return (long) createQuery(context, "SELECT COUNT(e) FROM IndexQueueEntry e").getSingleResult();
+    }
+}
@@ -13,6 +13,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -121,6 +122,11 @@ public class CommunityIndexFactoryImpl extends DSpaceObjectIndexFactoryImpl<Inde
         return community == null ? Optional.empty() : Optional.of(new IndexableCommunity(community));
     }
 
+    @Override
+    public Map<String, IndexableCommunity> findIndexableObjects(Context context, List<String> ids) throws SQLException {
+        return findIndexableObjects(context, ids, communityService, IndexableCommunity::new);
+    }
+
     @Override
     public List<String> getLocations(Context context, IndexableCommunity indexableDSpaceObject) throws SQLException {
         final Community target = indexableDSpaceObject.getIndexedObject();
@@ -9,13 +9,21 @@ package org.dspace.discovery.indexobject;
 
 import java.io.IOException;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
 
+import com.google.common.collect.Lists;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.solr.common.SolrInputDocument;
 import org.dspace.content.DSpaceObject;
+import org.dspace.content.service.DSpaceObjectService;
 import org.dspace.core.Context;
 import org.dspace.discovery.indexobject.factory.DSpaceObjectIndexFactory;
+import org.dspace.services.factory.DSpaceServicesFactory;
 
 /**
  * Factory implementation for indexing/retrieving DSpaceObjects in the search core
@@ -24,6 +32,12 @@ import org.dspace.discovery.indexobject.factory.DSpaceObjectIndexFactory;
 public abstract class DSpaceObjectIndexFactoryImpl<T extends IndexableDSpaceObject, S extends DSpaceObject>
         extends IndexFactoryImpl<T, S> implements DSpaceObjectIndexFactory<T, S> {
 
+    /**
+     * Maximum number of objects retrieved with a single query by
+     * {@link #findIndexableObjects(Context, List, DSpaceObjectService, Function)}.
+     */
+    protected static final int FIND_BATCH_SIZE = 1000;
+
     @Override
     public SolrInputDocument buildDocument(Context context, T indexableObject) throws SQLException, IOException {
         // Add the ID's, types and call the SolrServiceIndexPlugins
@@ -77,4 +91,32 @@ public abstract class DSpaceObjectIndexFactoryImpl<T extends IndexableDSpaceObje
             }
         }
     }
+
+    /**
+     * Retrieve the indexable objects of the DSpaceObjects with the provided identifiers, with one query per
+     * {@link #FIND_BATCH_SIZE} identifiers. The metadata values of the DSpaceObjects are loaded with the same query
+     * unless {@code discovery.search.fetch-metadata} is false.
+     * @param context       DSpace context object
+     * @param ids           The UUIDs of the DSpaceObjects
+     * @param service       The service retrieving the DSpaceObjects
+     * @param toIndexable   Creates the indexable object of a DSpaceObject
+     * @return              The indexable objects by identifier, in the order of the identifiers
+     * @throws SQLException If database error
+     */
+    protected Map<String, T> findIndexableObjects(Context context, List<String> ids, DSpaceObjectService<S> service,
+                                                 Function<S, T> toIndexable) throws SQLException {
+        boolean fetchMetadata = DSpaceServicesFactory.getInstance().getConfigurationService()
+                                                     .getBooleanProperty("discovery.search.fetch-metadata", true);
+        List<UUID> uuids = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            uuids.add(UUID.fromString(id));
+        }
+        Map<String, T> indexableObjects = new LinkedHashMap<>();
+        for (List<UUID> batch : Lists.partition(uuids, FIND_BATCH_SIZE)) {
+            for (S dso : service.findByIds(context, batch, fetchMetadata)) {
+                indexableObjects.put(dso.getID().toString(), toIndexable.apply(dso));
+            }
+        }
+        return indexableObjects;
+    }
 }
@@ -11,6 +11,7 @@ import static org.dspace.discovery.SolrServiceImpl.SOLR_FIELD_SUFFIX_FACET_PREFI
 
 import java.io.IOException;
 import java.sql.SQLException;
+import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
@@ -29,6 +30,7 @@ import java.util.regex.Pattern;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Strings;
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.logging.log4j.Logger;
 import org.apache.solr.client.solrj.SolrServerException;
 import org.apache.solr.common.SolrInputDocument;
@@ -111,7 +113,8 @@ public class ItemIndexFactoryImpl extends DSpaceObjectIndexFactoryImpl<Indexable
 
     @Override
     public Iterator<IndexableItem> findAll(Context context) throws SQLException {
-        Iterator<Item> items = itemService.findAllRegularItems(context);
+        // every item is indexed with its metadata
+        Iterator<Item> items = itemService.findAllRegularItems(context, true);
         return new Iterator<IndexableItem>() {
             @Override
             public boolean hasNext() {
@@ -125,6 +128,40 @@ public class ItemIndexFactoryImpl extends DSpaceObjectIndexFactoryImpl<Indexable
         };
     }
 
+    @Override
+    public Iterator<String> findAllIds(Context context) throws SQLException {
+        // read by keyset, the identifiers are never all held in memory
+        Iterator<Pair<UUID, Instant>> items = itemService.findAllRegularItemsLastModified(context);
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return items.hasNext();
+            }
+
+            @Override
+            public String next() {
+                return items.next().getLeft().toString();
+            }
+        };
+    }
+
+    @Override
+    public Iterator<Pair<String, Instant>> findAllLastModified(Context context) throws SQLException {
+        Iterator<Pair<UUID, Instant>> items = itemService.findAllRegularItemsLastModified(context);
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return items.hasNext();
+            }
+
+            @Override
+            public Pair<String, Instant> next() {
+                Pair<UUID, Instant> item = items.next();
+                return Pair.of(item.getLeft().toString(), item.getRight());
+            }
+        };
+    }
+
     @Override
     public String getType() {
         return IndexableItem.TYPE;
@@ -599,6 +636,12 @@ public class ItemIndexFactoryImpl extends DSpaceObjectIndexFactoryImpl<Indexable
         writeDocument(solrInputDocument, new FullTextContentStreams(context, indexableObject.getIndexedObject()));
     }
 
+    @Override
+    public void completeDocument(Context context, IndexableItem indexableObject, SolrInputDocument solrInputDocument)
+            throws SQLException, IOException {
+        addFullText(solrInputDocument, new FullTextContentStreams(context, indexableObject.getIndexedObject()));
+    }
+
     @Override
     public List<String> getLocations(Context context, IndexableItem indexableDSpaceObject)
             throws SQLException {
@@ -683,6 +726,11 @@ public class ItemIndexFactoryImpl extends DSpaceObjectIndexFactoryImpl<Indexable
         return item == null ? Optional.empty() : Optional.of(new IndexableItem(item));
     }
 
+    @Override
+    public Map<String, IndexableItem> findIndexableObjects(Context context, List<String> ids) throws SQLException {
+        return findIndexableObjects(context, ids, itemService, IndexableItem::new);
+    }
+
     /**
      * Handles indexing when discoverySearchFilter is of type facet.
      *
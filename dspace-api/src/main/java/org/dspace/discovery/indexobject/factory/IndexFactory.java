@@ -9,10 +9,14 @@ package org.dspace.discovery.indexobject.factory;
 
 import java.io.IOException;
 import java.sql.SQLException;
+import java.time.Instant;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.solr.client.solrj.SolrServerException;
 import org.apache.solr.common.SolrInputDocument;
 import org.dspace.core.Context;
@@ -33,6 +37,49 @@ public interface IndexFactory<T extends IndexableObject, S> {
      */
     Iterator<T> findAll(Context context) throws SQLException;
 
+    /**
+     * Stream the identifiers of all instances of a certain indexable object type, as accepted by
+     * {@link #findIndexableObject(Context, String)}. The default implementation walks {@link #findAll(Context)},
+     * factories for types with many instances should override it with a query that only reads the identifiers.
+     * @param context       DSpace context object
+     * @return              An iterator over the identifiers of all the objects to be indexed
+     * @throws SQLException If database error
+     */
+    default Iterator<String> findAllIds(Context context) throws SQLException {
+        Iterator<T> indexableObjects = findAll(context);
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return indexableObjects.hasNext();
+            }
+
+            @Override
+            public String next() {
+                T indexableObject = indexableObjects.next();
+                try {
+                    context.uncacheEntity(indexableObject.getIndexedObject());
+                } catch (SQLException e) {
+                    throw new RuntimeException(e);
+                }
+                return indexableObject.getID().toString();
+            }
+        };
+    }
+
+    /**
+     * Retrieve the identifiers, as accepted by {@link #findIndexableObject(Context, String)}, and the last
+     * modification dates of all instances of a certain indexable object type, without loading the objects. Used to
+     * find the objects whose search document is stale in bulk, so the identifiers must be in ascending order of
+     * their string form.
+     * @param context       DSpace context object
+     * @return              An iterator over the identifiers and last modification dates, or null if this type
+     *                      doesn't support it, in which case each object is checked on its own
+     * @throws SQLException If database error
+     */
+    default Iterator<Pair<String, Instant>> findAllLastModified(Context context) throws SQLException {
+        return null;
+    }
+
     /**
      * Return the type of the indexable object
      * @return a string containing the type
@@ -66,6 +113,20 @@ public interface IndexFactory<T extends IndexableObject, S> {
     void writeDocument(Context context, T indexableObject, SolrInputDocument solrInputDocument)
             throws SQLException, IOException, SolrServerException;
 
+    /**
+     * Add everything {@link #writeDocument(Context, IndexableObject, SolrInputDocument)} would add to the provided
+     * document (e.g. the extracted full text) without writing it to the solr core. Used when the caller writes
+     * the documents to the search core itself, for instance in batches.
+     * @param context               DSpace context object
+     * @param indexableObject       The indexable object that we want to store in the search core
+     * @param solrInputDocument     Solr input document which will be completed
+     * @throws SQLException         If database error
+     * @throws IOException          If IO error
+     */
+    default void completeDocument(Context context, T indexableObject, SolrInputDocument solrInputDocument)
+            throws SQLException, IOException {
+    }
+
     /**
      * Remove the provided indexable object from the solr core
      * @param indexableObject       The indexable object that we want to remove from the search core
@@ -98,6 +159,24 @@ public interface IndexFactory<T extends IndexableObject, S> {
      */
     Optional<T> findIndexableObject(Context context, String id) throws SQLException;
 
+    /**
+     * Retrieve the indexable objects using the provided identifiers. The default implementation retrieves each
+     * object on its own, factories for types which are often part of search results should override it with a
+     * single query.
+     * @param context       DSpace context object
+     * @param ids           The identifiers for which we want to retrieve our indexable objects
+     * @return              The indexable objects by identifier, in the order of the identifiers. Identifiers for
+     *                      which no object exists are left out.
+     * @throws SQLException If database error
+     */
+    default Map<String, T> findIndexableObjects(Context context, List<String> ids) throws SQLException {
+        Map<String, T> indexableObjects = new LinkedHashMap<>();
+        for (String id : ids) {
+            findIndexableObject(context, id).ifPresent(indexableObject -> indexableObjects.put(id, indexableObject));
+        }
+        return indexableObjects;
+    }
+
     /**
      * Determine whether the class can handle the factory implementation
      * @param object        The object which we want to check
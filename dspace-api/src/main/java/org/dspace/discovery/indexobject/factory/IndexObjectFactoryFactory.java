@@ -8,7 +8,11 @@
 package org.dspace.discovery.indexobject.factory;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Strings;
@@ -92,6 +96,45 @@ public abstract class IndexObjectFactoryFactory {
                 + " cannot be indexed");
     }
 
+    /**
+     * Retrieve the indexable objects for the provided unique identifiers, with a single call to
+     * {@link IndexFactory#findIndexableObjects(Context, List)} per type of indexable object
+     * @param context   DSpace context object
+     * @param uniqueIds The unique identifiers ({type}-{identifier}) of the indexable objects
+     * @return          The indexable objects by unique identifier, in the order of the unique identifiers. Unique
+     *                  identifiers for which no object exists, or of unknown types, are left out.
+     */
+    public Map<String, IndexableObject> findIndexableObjects(Context context, List<String> uniqueIds)
+        throws SQLException {
+        Map<String, List<String>> idsByType = new LinkedHashMap<>();
+        for (String uniqueId : uniqueIds) {
+            idsByType.computeIfAbsent(StringUtils.substringBefore(uniqueId, "-"), type -> new ArrayList<>())
+                     .add(StringUtils.substringAfter(uniqueId, "-"));
+        }
+
+        Map<String, IndexableObject> found = new HashMap<>();
+        for (Map.Entry<String, List<String>> ids : idsByType.entrySet()) {
+            IndexFactory indexableObjectFactory = getIndexFactoryByType(ids.getKey());
+            if (indexableObjectFactory == null) {
+                continue;
+            }
+            Map<String, IndexableObject> indexableObjects =
+                indexableObjectFactory.findIndexableObjects(context, ids.getValue());
+            for (Map.Entry<String, IndexableObject> indexableObject : indexableObjects.entrySet()) {
+                found.put(ids.getKey() + "-" + indexableObject.getKey(), indexableObject.getValue());
+            }
+        }
+
+        Map<String, IndexableObject> result = new LinkedHashMap<>();
+        for (String uniqueId : uniqueIds) {
+            IndexableObject indexableObject = found.get(uniqueId);
+            if (indexableObject != null) {
+                result.put(uniqueId, indexableObject);
+            }
+        }
+        return result;
+    }
+
     /**
      * Retrieve an implementation instance for this factory
      * @return an IndexObjectServiceFactory bean
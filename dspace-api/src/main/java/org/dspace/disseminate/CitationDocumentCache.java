@@ -0,0 +1,221 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.disseminate;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Disk cache of generated citation documents (PDFs with a cover page), so the cover page doesn't have to be
+ * rendered and the source PDF doesn't have to be parsed again for every download.
+ * <p>
+ * Entries are files in {@code citation-page.cache.dir}, named after the item and bitstream they were generated
+ * for, followed by a hash of everything the document depends on (see
+ * {@link CitationDocumentServiceImpl#retrieveCitedDocument}). The modification time of a file is updated
+ * whenever it is served, and the least recently served entries are removed once the total size exceeds
+ * {@code citation-page.cache.max-size} bytes. Entries are also removed when their item or bitstream changes, by
+ * the {@link CitationDocumentCacheConsumer}.
+ * <p>
+ * The directory is only listed to check its size once the documents added since the last check may have made it
+ * exceed the maximum size; the check then removes documents until a tenth of the maximum size is free again.
+ */
+public class CitationDocumentCache {
+
+    private static final Logger log = LogManager.getLogger(CitationDocumentCache.class);
+
+    private static final String SUFFIX = ".pdf";
+
+    /**
+     * Part of the maximum size which is freed when the cache is full, so it isn't checked again for every document
+     */
+    private static final double FREED_WHEN_FULL = 0.1;
+
+    @Autowired
+    protected ConfigurationService configurationService;
+
+    /**
+     * Total size of the cached documents when the directory was last listed, plus the size of the documents added
+     * since. Negative until the directory is listed for the first time.
+     */
+    private long estimatedSize = -1;
+
+    /**
+     * @return true if generated citation documents should be cached
+     */
+    public boolean isEnabled() {
+        return configurationService.getBooleanProperty("citation-page.cache.enabled", true);
+    }
+
+    /**
+     * @return the directory holding the cached documents
+     */
+    public File getDirectory() {
+        String dir = configurationService.getProperty("citation-page.cache.dir",
+            configurationService.getProperty("dspace.dir") + File.separator + "citation-page-cache");
+        return new File(dir);
+    }
+
+    /**
+     * @return the maximum total size of the cached documents in bytes
+     */
+    public long getMaxSize() {
+        return configurationService.getLongProperty("citation-page.cache.max-size", 1073741824L);
+    }
+
+    /**
+     * Build the key of a cached document
+     * @param itemId      the item of the bitstream
+     * @param bitstreamId the bitstream the document was generated from
+     * @param hash        a hash of everything else the document depends on
+     * @return the key
+     */
+    public static String getKey(UUID itemId, UUID bitstreamId, String hash) {
+        return itemId + "_" + bitstreamId + "_" + hash;
+    }
+
+    /**
+     * Create an empty temporary file in the cache directory, to generate a document in before adding it to the
+     * cache using {@link #put(String, File)}
+     * @return the temporary file
+     * @throws IOException if the file could not be created
+     */
+    public File createTempFile() throws IOException {
+        Path directory = getDirectory().toPath();
+        Files.createDirectories(directory);
+        return Files.createTempFile(directory, "citation", ".tmp").toFile();
+    }
+
+    /**
+     * Open a cached document
+     * @param key the key of the document
+     * @return the stream and length of the document, or null if it isn't cached
+     * @throws IOException if the document could not be read
+     */
+    public Pair<InputStream, Long> get(String key) throws IOException {
+        Path path = getPath(key);
+        try {
+            // The modification time tracks the last use, the least recently used entries are evicted first
+            Files.setLastModifiedTime(path, FileTime.from(Instant.now()));
+            long length = Files.size(path);
+            // opened last, so the stream isn't left open when the file can't be used
+            return Pair.of(Files.newInputStream(path), length);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Add a generated document to the cache, and open it
+     * @param key  the key of the document
+     * @param file the generated document, created using {@link #createTempFile()}. It is moved into the cache.
+     * @return the stream and length of the document
+     * @throws IOException if the document could not be stored or read
+     */
+    public Pair<InputStream, Long> put(String key, File file) throws IOException {
+        Path path = getPath(key);
+        Files.move(file.toPath(), path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        long length = Files.size(path);
+        added(length);
+        return Pair.of(Files.newInputStream(path), length);
+    }
+
+    /**
+     * Remove all cached documents of the given items and bitstreams
+     * @param ids the UUIDs of items and bitstreams
+     */
+    public void evict(Set<UUID> ids) {
+        Set<String> names = ids.stream().map(UUID::toString).collect(Collectors.toSet());
+        for (File file : listEntries()) {
+            // the name starts with the UUIDs of the item and bitstream, see getKey
+            String[] parts = file.getName().split("_", 3);
+            if (parts.length == 3 && (names.contains(parts[0]) || names.contains(parts[1]))) {
+                delete(file);
+            }
+        }
+    }
+
+    /**
+     * Remove all cached documents
+     */
+    public void clear() {
+        for (File file : listEntries()) {
+            delete(file);
+        }
+    }
+
+    /**
+     * Account for a document added to the cache, and remove the least recently used documents if the cache may have
+     * exceeded its maximum size
+     * @param length the size of the added document
+     */
+    protected synchronized void added(long length) {
+        if (estimatedSize >= 0) {
+            estimatedSize += length;
+            if (estimatedSize <= getMaxSize()) {
+                return;
+            }
+        }
+        evictToMaxSize();
+    }
+
+    /**
+     * Remove the least recently used documents if the cache exceeds its maximum size, until a tenth of the maximum
+     * size is free
+     */
+    protected synchronized void evictToMaxSize() {
+        File[] entries = listEntries();
+        long size = Arrays.stream(entries).mapToLong(File::length).sum();
+        long maxSize = getMaxSize();
+        if (size > maxSize) {
+            long target = (long) (maxSize * (1 - FREED_WHEN_FULL));
+            Arrays.sort(entries, Comparator.comparingLong(File::lastModified));
+            for (File file : entries) {
+                if (size <= target) {
+                    break;
+                }
+                size -= file.length();
+                delete(file);
+            }
+        }
+        estimatedSize = size;
+    }
+
+    private Path getPath(String key) {
+        return new File(getDirectory(), key + SUFFIX).toPath();
+    }
+
+    private File[] listEntries() {
+        File[] entries = getDirectory().listFiles((dir, name) -> name.endsWith(SUFFIX));
+        return entries == null ? new File[0] : entries;
+    }
+
+    private void delete(File file) {
+        // Documents that are being served remain readable until they are closed
+        if (!file.delete() && file.exists()) {
+            log.warn("Unable to remove cached citation document {}", file);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.disseminate;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.dspace.core.Constants;
+import org.dspace.core.Context;
+import org.dspace.event.Consumer;
+import org.dspace.event.Event;
+import org.dspace.services.factory.DSpaceServicesFactory;
+
+/**
+ * This consumer is used to evict the cached citation documents of modified or deleted items and bitstreams
+ * from the {@link CitationDocumentCache}.
+ */
+public class CitationDocumentCacheConsumer implements Consumer {
+
+    // Collects the modified items and bitstreams
+    private final Set<UUID> toEvict = new HashSet<>();
+
+    @Override
+    public void initialize() throws Exception {
+    }
+
+    @Override
+    public void consume(Context ctx, Event event) throws Exception {
+        int st = event.getSubjectType();
+        if ((st == Constants.ITEM || st == Constants.BITSTREAM) && event.getSubjectID() != null) {
+            toEvict.add(event.getSubjectID());
+        }
+    }
+
+    @Override
+    public void end(Context ctx) throws Exception {
+        if (!toEvict.isEmpty()) {
+            List<CitationDocumentCache> caches = DSpaceServicesFactory.getInstance().getServiceManager()
+                .getServicesByType(CitationDocumentCache.class);
+            for (CitationDocumentCache cache : caches) {
+                // a single listing of the cache directory for all the modified objects
+                cache.evict(toEvict);
+            }
+        }
+        toEvict.clear();
+    }
+
+    @Override
+    public void finish(Context ctx) throws Exception {
+
+    }
+}
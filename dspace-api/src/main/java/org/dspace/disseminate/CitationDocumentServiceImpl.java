@@ -7,9 +7,12 @@
  */
 package org.dspace.disseminate;
 
-import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -17,11 +20,12 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.pdfbox.Loader;
-import org.apache.pdfbox.io.RandomAccessReadBuffer;
+import org.apache.pdfbox.io.IOUtils;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
 import org.dspace.authorize.AuthorizeException;
@@ -99,6 +103,9 @@ public class CitationDocumentServiceImpl implements CitationDocumentService, Ini
     @Autowired
     CoverPageService coverPageService;
 
+    @Autowired
+    CitationDocumentCache citationDocumentCache;
+
     @Override
     public void afterPropertiesSet() throws Exception {
         // Add valid format MIME types to set. This could be put in the Schema
@@ -249,39 +256,90 @@ public class CitationDocumentServiceImpl implements CitationDocumentService, Ini
     @Override
     public Pair<byte[], Long> makeCitedDocument(Context context, Bitstream bitstream)
             throws IOException, SQLException {
+        var item = (Item) bitstreamService.getParentObject(context, bitstream);
+        File citedDocument = createTempFile();
+        try {
+            writeCitedDocument(context, bitstream, item, citedDocument);
+            byte[] data = Files.readAllBytes(citedDocument.toPath());
+            return Pair.of(data, (long) data.length);
+        } finally {
+            Files.deleteIfExists(citedDocument.toPath());
+        }
+    }
+
+    @Override
+    public Pair<InputStream, Long> retrieveCitedDocument(Context context, Bitstream bitstream)
+            throws IOException, SQLException {
+        var item = (Item) bitstreamService.getParentObject(context, bitstream);
+
+        if (!citationDocumentCache.isEnabled()) {
+            File citedDocument = createTempFile();
+            try {
+                writeCitedDocument(context, bitstream, item, citedDocument);
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(citedDocument.toPath());
+                throw e;
+            }
+            return Pair.of(Files.newInputStream(citedDocument.toPath(), StandardOpenOption.DELETE_ON_CLOSE),
+                citedDocument.length());
+        }
 
+        // Everything the cited document depends on, apart from the item and bitstream ids in the key
+        String hash = DigestUtils.sha256Hex(String.join("|",
+            bitstream.getChecksum(),
+            String.valueOf(item.getLastModified()),
+            configurationService.getProperty("citation-page.cover-template", "dspace_coverpage"),
+            configurationService.getProperty("citation-page.page_format", "LETTER"),
+            String.valueOf(isCitationFirstPage())));
+        String key = CitationDocumentCache.getKey(item.getID(), bitstream.getID(), hash);
+
+        Pair<InputStream, Long> cached = citationDocumentCache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        File citedDocument = citationDocumentCache.createTempFile();
+        try {
+            writeCitedDocument(context, bitstream, item, citedDocument);
+            return citationDocumentCache.put(key, citedDocument);
+        } finally {
+            Files.deleteIfExists(citedDocument.toPath());
+        }
+    }
+
+    /**
+     * Write the cited document to a file. The source document is spooled to a temporary file and all buffers are
+     * backed by temporary files, so the document is never held in memory as a whole.
+     */
+    protected void writeCitedDocument(Context context, Bitstream bitstream, Item item, File target)
+            throws IOException {
+        File source = spoolDocumentFromDB(context, bitstream);
         try (
-                var result = new PDDocument();
-                var source = loadDocumentFromDB(context, bitstream)
+                var result = new PDDocument(IOUtils.createTempFileOnlyStreamCache());
+                var sourceDocument = Loader.loadPDF(source, IOUtils.createTempFileOnlyStreamCache());
+                var cover = coverPageService.renderCoverDocument(item)
         ) {
-            var item = (Item) bitstreamService.getParentObject(context, bitstream);
+            addCoverPageToDocument(result, sourceDocument, cover);
 
-            try (var cover = coverPageService.renderCoverDocument(item)) {
-                addCoverPageToDocument(result, source, cover);
-
-                return documentAsBytes(result);
-            }
+            result.setAllSecurityToBeRemoved(true);
+            result.save(target);
+        } finally {
+            Files.deleteIfExists(source.toPath());
         }
     }
 
-    private PDDocument loadDocumentFromDB(Context context, Bitstream bitstream) {
+    private File spoolDocumentFromDB(Context context, Bitstream bitstream) throws IOException {
+        File source = createTempFile();
         try (var inputStream = bitstreamService.retrieve(context, bitstream)) {
-            return Loader.loadPDF(new RandomAccessReadBuffer(inputStream));
+            Files.copy(inputStream, source.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            return source;
         } catch (IOException | SQLException | AuthorizeException e) {
+            Files.deleteIfExists(source.toPath());
             throw new RuntimeException(e);
         }
     }
 
-    private static Pair<byte[], Long> documentAsBytes(PDDocument document) throws IOException {
-
-        document.setAllSecurityToBeRemoved(true);
-
-        //We already have the full PDF in memory, so keep it there
-        try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
-            document.save(out);
-            byte[] data = out.toByteArray();
-            return Pair.of(data, (long) data.length);
-        }
+    private File createTempFile() throws IOException {
+        return File.createTempFile("citation", ".pdf", tempDir);
     }
 
     private void addCoverPageToDocument(PDDocument document, PDDocument sourceDocument, PDDocument coverPage) {
@@ -8,6 +8,7 @@
 package org.dspace.disseminate.service;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.sql.SQLException;
 
 import org.apache.commons.lang3.tuple.Pair;
@@ -82,4 +83,20 @@ public interface CitationDocumentService {
     Pair<byte[], Long> makeCitedDocument(Context context, Bitstream bitstream)
             throws IOException, SQLException, AuthorizeException;
 
+    /**
+     * Get the cited document of the given bitstream as a stream, e.g. to send it to a client. Unlike
+     * {@link #makeCitedDocument(Context, Bitstream)} the document is never held in memory: it is generated
+     * into a file and, unless {@code citation-page.cache.enabled} is false, kept in a disk cache so later
+     * requests for the same version of the bitstream, item and cover page configuration don't generate it again.
+     *
+     * @param context   DSpace context
+     * @param bitstream The source bitstream being cited. This must be a PDF.
+     * @return The stream and length of the cited document. The caller must close the stream.
+     * @throws IOException        if IO error
+     * @throws SQLException       if database error
+     * @throws AuthorizeException if authorization error
+     */
+    Pair<InputStream, Long> retrieveCitedDocument(Context context, Bitstream bitstream)
+            throws IOException, SQLException, AuthorizeException;
+
 }
\ No newline at end of file
@@ -0,0 +1,158 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.eperson;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.apache.commons.lang3.tuple.Pair;
+
+/**
+ * In-memory graph of the direct group memberships (group2group table), used to compute the transitive memberships
+ * stored in the group2groupcache table.
+ * <p>
+ * Groups are mapped to consecutive indexes, so the members and parents of each group are kept as arrays of indexes,
+ * and the groups reached when walking the graph as bitsets. A graph is meant to be used by a single thread.
+ */
+final class GroupGraph {
+    private static final int[] NONE = new int[0];
+
+    private final Map<UUID, Integer> indexes = new HashMap<>();
+    private final UUID[] ids;
+    private final int[][] children;
+    private final int[][] parents;
+    private final int[] stack;
+
+    /**
+     * @param edges the direct memberships, as pairs of parent and child group UUIDs
+     */
+    GroupGraph(List<Pair<UUID, UUID>> edges) {
+        for (Pair<UUID, UUID> edge : edges) {
+            indexes.putIfAbsent(edge.getLeft(), indexes.size());
+            indexes.putIfAbsent(edge.getRight(), indexes.size());
+        }
+        ids = new UUID[indexes.size()];
+        for (Map.Entry<UUID, Integer> index : indexes.entrySet()) {
+            ids[index.getValue()] = index.getKey();
+        }
+
+        int[] childCounts = new int[ids.length];
+        int[] parentCounts = new int[ids.length];
+        int[][] indexEdges = new int[edges.size()][];
+        for (int i = 0; i < indexEdges.length; i++) {
+            int parent = indexes.get(edges.get(i).getLeft());
+            int child = indexes.get(edges.get(i).getRight());
+            indexEdges[i] = new int[] {parent, child};
+            childCounts[parent]++;
+            parentCounts[child]++;
+        }
+        children = new int[ids.length][];
+        parents = new int[ids.length][];
+        for (int i = 0; i < ids.length; i++) {
+            children[i] = childCounts[i] == 0 ? NONE : new int[childCounts[i]];
+            parents[i] = parentCounts[i] == 0 ? NONE : new int[parentCounts[i]];
+        }
+        stack = new int[ids.length];
+        Arrays.fill(childCounts, 0);
+        Arrays.fill(parentCounts, 0);
+        for (int[] edge : indexEdges) {
+            children[edge[0]][childCounts[edge[0]]++] = edge[1];
+            parents[edge[1]][parentCounts[edge[1]]++] = edge[0];
+        }
+    }
+
+    /**
+     * @param groups group UUIDs
+     * @return the UUIDs of the groups which directly or indirectly contain any of the given groups
+     */
+    Set<UUID> getAncestors(Iterable<UUID> groups) {
+        BitSet reached = new BitSet(ids.length);
+        for (UUID group : groups) {
+            Integer index = indexes.get(group);
+            if (index != null) {
+                walk(index, parents, reached);
+            }
+        }
+        Set<UUID> ancestors = new HashSet<>();
+        for (int i = reached.nextSetBit(0); i >= 0; i = reached.nextSetBit(i + 1)) {
+            ancestors.add(ids[i]);
+        }
+        return ancestors;
+    }
+
+    /**
+     * @param groups group UUIDs
+     * @return the transitive memberships of the given groups, as pairs of the given group and of each group it
+     *         directly or indirectly contains
+     */
+    Set<Pair<UUID, UUID>> getClosure(Iterable<UUID> groups) {
+        Set<Pair<UUID, UUID>> closure = new HashSet<>();
+        BitSet reached = new BitSet(ids.length);
+        for (UUID group : groups) {
+            Integer index = indexes.get(group);
+            if (index != null) {
+                addClosure(index, reached, closure);
+            }
+        }
+        return closure;
+    }
+
+    /**
+     * @return all transitive memberships, as pairs of parent and child group UUIDs
+     */
+    Set<Pair<UUID, UUID>> getClosure() {
+        Set<Pair<UUID, UUID>> closure = new HashSet<>();
+        BitSet reached = new BitSet(ids.length);
+        for (int i = 0; i < ids.length; i++) {
+            if (children[i].length > 0) {
+                addClosure(i, reached, closure);
+            }
+        }
+        return closure;
+    }
+
+    private void addClosure(int group, BitSet reached, Set<Pair<UUID, UUID>> closure) {
+        reached.clear();
+        walk(group, children, reached);
+        for (int i = reached.nextSetBit(0); i >= 0; i = reached.nextSetBit(i + 1)) {
+            if (i != group) {
+                closure.add(Pair.of(ids[group], ids[i]));
+            }
+        }
+    }
+
+    /**
+     * Mark the groups reachable from a group through the given adjacency arrays, without the group itself unless it
+     * is reachable through a cycle.
+     */
+    private void walk(int group, int[][] adjacency, BitSet reached) {
+        // each group is pushed at most once, as it is marked when pushed
+        int size = 0;
+        for (int next : adjacency[group]) {
+            if (!reached.get(next)) {
+                reached.set(next);
+                stack[size++] = next;
+            }
+        }
+        while (size > 0) {
+            int current = stack[--size];
+            for (int next : adjacency[current]) {
+                if (!reached.get(next)) {
+                    reached.set(next);
+                    stack[size++] = next;
+                }
+            }
+        }
+    }
+}
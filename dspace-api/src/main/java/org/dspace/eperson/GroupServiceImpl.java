@@ -9,7 +9,6 @@ package org.dspace.eperson;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -575,11 +574,19 @@ public class GroupServiceImpl extends DSpaceObjectServiceImpl<Group> implements
             ePerson.getGroups().remove(group);
         }
 
-        // empty out group2groupcache table (if we do it after we delete our object we get an issue with references)
-        group2GroupCacheDAO.deleteAll(context);
+        // remove the group2groupcache rows of this group (if we do it after we delete our object we get an issue with
+        // references), the groups which contained it are then the only ones whose rows may have changed
+        Set<UUID> ancestors = new HashSet<>();
+        for (Pair<UUID, UUID> pair : group2GroupCacheDAO.getCacheByChildren(context, Set.of(group.getID()))) {
+            ancestors.add(pair.getLeft());
+            group2GroupCacheDAO.deleteFromCache(context, pair.getLeft(), pair.getRight());
+        }
+        for (Pair<UUID, UUID> pair : group2GroupCacheDAO.getCacheByParents(context, Set.of(group.getID()))) {
+            group2GroupCacheDAO.deleteFromCache(context, pair.getLeft(), pair.getRight());
+        }
         // Remove ourself
         groupDAO.delete(context, group);
-        rethinkGroupCache(context, false);
+        rethinkGroupCache(context, ancestors, false);
 
         log.info(LogHelper.getHeader(context, "delete_group", "group_id="
             + group.getID()));
@@ -671,7 +678,7 @@ public class GroupServiceImpl extends DSpaceObjectServiceImpl<Group> implements
         }
 
         if (group.isGroupsChanged()) {
-            rethinkGroupCache(context, true);
+            rethinkGroupCache(context, Set.of(group.getID()), true);
             group.clearGroupsChanged();
         }
 
@@ -695,36 +702,8 @@ public class GroupServiceImpl extends DSpaceObjectServiceImpl<Group> implements
      * @throws SQLException An exception that provides information on a database access error or other errors.
      */
     private Set<Pair<UUID, UUID>> computeNewCache(Context context, boolean flushQueries) throws SQLException {
-        Map<UUID, Set<UUID>> parents = new HashMap<>();
-
         List<Pair<UUID, UUID>> group2groupResults = groupDAO.getGroup2GroupResults(context, flushQueries);
-        for (Pair<UUID, UUID> group2groupResult : group2groupResults) {
-            UUID parent = group2groupResult.getLeft();
-            UUID child = group2groupResult.getRight();
-
-            parents.putIfAbsent(parent, new HashSet<>());
-            parents.get(parent).add(child);
-        }
-
-        // now parents is a hash of all of the IDs of groups that are parents
-        // and each hash entry is a hash of all of the IDs of children of those
-        // parent groups
-        // so now to establish all parent,child relationships we can iterate
-        // through the parents hash
-        for (Map.Entry<UUID, Set<UUID>> parent : parents.entrySet()) {
-            Set<UUID> myChildren = getChildren(parents, parent.getKey());
-            parent.getValue().addAll(myChildren);
-        }
-
-        // write out new cache IN MEMORY ONLY and returns it
-        Set<Pair<UUID, UUID>> newCache = new HashSet<>();
-        for (Map.Entry<UUID, Set<UUID>> parent : parents.entrySet()) {
-            UUID key = parent.getKey();
-            for (UUID child : parent.getValue()) {
-                newCache.add(Pair.of(key, child));
-            }
-        }
-        return newCache;
+        return new GroupGraph(group2groupResults).getClosure();
     }
 
 
@@ -755,6 +734,39 @@ public class GroupServiceImpl extends DSpaceObjectServiceImpl<Group> implements
         }
     }
 
+    /**
+     * Update the rows of the group cache AKA the group2groupcache table in the database which may have changed when
+     * the given groups were added to or removed from other groups, or when groups were removed from them. Only the
+     * rows of the given groups and of the groups which contain them, before or after the change, are recomputed.
+     *
+     * @param context       The relevant DSpace Context.
+     * @param changedGroups UUIDs of the groups whose parent or member groups changed
+     * @param flushQueries  flushQueries Flush all pending queries
+     * @throws SQLException An exception that provides information on a database access error or other errors.
+     */
+    protected void rethinkGroupCache(Context context, java.util.Collection<UUID> changedGroups, boolean flushQueries)
+        throws SQLException {
+        GroupGraph graph = new GroupGraph(groupDAO.getGroup2GroupResults(context, flushQueries));
+
+        // groups which contain the changed groups now, or contained them before the change
+        Set<UUID> affectedGroups = new HashSet<>(changedGroups);
+        affectedGroups.addAll(graph.getAncestors(changedGroups));
+        for (Pair<UUID, UUID> pair : group2GroupCacheDAO.getCacheByChildren(context, changedGroups)) {
+            affectedGroups.add(pair.getLeft());
+        }
+
+        Set<Pair<UUID, UUID>> oldCache = group2GroupCacheDAO.getCacheByParents(context, affectedGroups);
+        Set<Pair<UUID, UUID>> newCache = graph.getClosure(affectedGroups);
+
+        for (Pair<UUID, UUID> pair : SetUtils.difference(oldCache, newCache)) {
+            group2GroupCacheDAO.deleteFromCache(context, pair.getLeft(), pair.getRight());
+        }
+
+        for (Pair<UUID, UUID> pair : SetUtils.difference(newCache, oldCache)) {
+            group2GroupCacheDAO.addToCache(context, pair.getLeft(), pair.getRight());
+        }
+    }
+
     @Override
     public DSpaceObject getParentObject(Context context, Group group) throws SQLException {
         if (group == null) {
@@ -8,6 +8,7 @@
 package org.dspace.eperson.dao;
 
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
@@ -36,6 +37,24 @@ public interface Group2GroupCacheDAO extends GenericDAO<Group2GroupCache> {
      */
     Set<Pair<UUID, UUID>> getCache(Context context) throws SQLException;
 
+    /**
+     * Returns the rows of the cache table of the given parent groups as a set of UUID pairs.
+     * @param context The relevant DSpace Context.
+     * @param parents UUIDs of the parent groups.
+     * @return Set of UUID pairs, where the first element is the parent UUID and the second one is the child UUID.
+     * @throws SQLException An exception that provides information on a database access error or other errors.
+     */
+    Set<Pair<UUID, UUID>> getCacheByParents(Context context, Collection<UUID> parents) throws SQLException;
+
+    /**
+     * Returns the rows of the cache table of the given child groups as a set of UUID pairs.
+     * @param context The relevant DSpace Context.
+     * @param children UUIDs of the child groups.
+     * @return Set of UUID pairs, where the first element is the parent UUID and the second one is the child UUID.
+     * @throws SQLException An exception that provides information on a database access error or other errors.
+     */
+    Set<Pair<UUID, UUID>> getCacheByChildren(Context context, Collection<UUID> children) throws SQLException;
+
     /**
      * Returns all cache entities that are children of a given parent Group entity.
      * @param context The relevant DSpace Context.
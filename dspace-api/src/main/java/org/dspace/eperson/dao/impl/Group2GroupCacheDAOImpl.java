@@ -8,12 +8,15 @@
 package org.dspace.eperson.dao.impl;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 
+import com.google.common.collect.Lists;
 import jakarta.persistence.Query;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
@@ -35,6 +38,8 @@ import org.dspace.eperson.dao.Group2GroupCacheDAO;
  * @author kevinvandevelde at atmire.com
  */
 public class Group2GroupCacheDAOImpl extends AbstractHibernateDAO<Group2GroupCache> implements Group2GroupCacheDAO {
+    private static final int BATCH_SIZE = 1000;
+
     protected Group2GroupCacheDAOImpl() {
         super();
     }
@@ -49,6 +54,33 @@ public class Group2GroupCacheDAOImpl extends AbstractHibernateDAO<Group2GroupCac
         return new HashSet<Pair<UUID, UUID>>(results);
     }
 
+    @Override
+    public Set<Pair<UUID, UUID>> getCacheByParents(Context context, Collection<UUID> parents) throws SQLException {
+        return getCache(context, "g.parent.id", parents);
+    }
+
+    @Override
+    public Set<Pair<UUID, UUID>> getCacheByChildren(Context context, Collection<UUID> children) throws SQLException {
+        return getCache(context, "g.child.id", children);
+    }
+
+    private Set<Pair<UUID, UUID>> getCache(Context context, String side, Collection<UUID> groups)
+        throws SQLException {
+        Set<Pair<UUID, UUID>> results = new HashSet<>();
+        for (List<UUID> batch : Lists.partition(new ArrayList<>(groups), BATCH_SIZE)) {
+            Query query = createQuery(
+                context,
+                "SELECT new org.apache.commons.lang3.tuple.ImmutablePair(g.parent.id, g.child.id) " +
+                    "FROM Group2GroupCache g WHERE " + side + " in (:groups)"
+            );
+            query.setParameter("groups", batch);
+            @SuppressWarnings("unchecked")
+            List<Pair<UUID, UUID>> batchResults = query.getResultList();
+            results.addAll(batchResults);
+        }
+        return results;
+    }
+
     @Override
     public List<Group2GroupCache> findByParent(Context context, Group group) throws SQLException {
         CriteriaBuilder criteriaBuilder = getCriteriaBuilder(context);
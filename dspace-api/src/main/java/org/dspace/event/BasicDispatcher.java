@@ -101,7 +101,7 @@ public class BasicDispatcher extends Dispatcher {
                         }
 
                         try {
-                            cp.getConsumer().consume(ctx, event);
+                            consume(ctx, cp, event);
 
                             // Record that the event has been consumed by this
                             // consumer
@@ -135,4 +135,15 @@ public class BasicDispatcher extends Dispatcher {
         }
     }
 
+    /**
+     * Deliver an event which passed the filters of a consumer to the consumer.
+     *
+     * @param ctx   the execution context
+     * @param cp    the profile of the consumer
+     * @param event the event
+     * @throws Exception if the consumer failed
+     */
+    protected void consume(Context ctx, ConsumerProfile cp, Event event) throws Exception {
+        cp.getConsumer().consume(ctx, event);
+    }
 }
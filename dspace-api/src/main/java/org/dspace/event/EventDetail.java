@@ -7,6 +7,7 @@
  */
 package org.dspace.event;
 
+import java.io.Serializable;
 import java.util.List;
 import java.util.Objects;
 
@@ -36,7 +37,8 @@ import org.dspace.app.audit.MetadataEvent;
  *
  * @author Stefano Maffei (stefano.maffei at 4science.com)
  */
-public class EventDetail {
+public class EventDetail implements Serializable {
+    private static final long serialVersionUID = 1L;
 
     private DetailType detailType;
 
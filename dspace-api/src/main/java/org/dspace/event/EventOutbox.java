@@ -0,0 +1,410 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.event;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.core.Context;
+import org.dspace.event.dao.OutboxEventDAO;
+import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Durable outbox of the events of asynchronous consumers.
+ * <p>
+ * The {@link OutboxDispatcher} stores the events of the consumers flagged with
+ * {@code event.consumer.<name>.async = true} as {@link OutboxEvent}s, in the same database transaction as the
+ * changes which produced them, instead of delivering them on the request thread. A pool of
+ * {@code event.outbox.threads} background threads delivers them in batches to a dedicated instance of each consumer,
+ * calling {@link Consumer#end(Context)} after each batch, and removes them once the batch is committed. Each consumer
+ * is served by one thread at a time and gets its events in the order they were queued.
+ * <p>
+ * That order is only guaranteed for the events of a single transaction, and of transactions committed one after
+ * the other. The events are ordered by an identifier assigned when they are queued, not when their transaction is
+ * committed: when two transactions queue events concurrently, the events of the transaction which commits last may
+ * be delivered after the later queued events of the other one. Asynchronous consumers should therefore act on the
+ * current state of the subject of an event, as the discovery consumer does, rather than on the details of the event.
+ * <p>
+ * A batch which fails is rolled back and its events are delivered again one at a time, so that only the event which
+ * fails on its own records a failed attempt. It is retried after {@code event.outbox.retry-delay} milliseconds,
+ * doubled after each failed attempt, until {@code event.outbox.max-attempts} attempts failed. Such events are logged
+ * and no longer delivered, and are removed by {@link #purgeFailed(Context, String, Instant)} after
+ * {@code event.outbox.failed-retention} days. The events of the consumer queued later wait for the retries, so the
+ * order is kept. The lag of each consumer (the age of its oldest event waiting to be delivered) is logged, and a
+ * warning when it exceeds {@code event.outbox.lag-warning} milliseconds.
+ */
+public class EventOutbox implements InitializingBean, DisposableBean {
+
+    private static final Logger log = LogManager.getLogger(EventOutbox.class);
+
+    /**
+     * Classes which may be read from the serialized events
+     */
+    private static final ObjectInputFilter EVENT_FILTER =
+        ObjectInputFilter.Config.createFilter("java.**;org.dspace.**;!*");
+
+    @Autowired
+    protected OutboxEventDAO outboxEventDAO;
+    @Autowired
+    protected ConfigurationService configurationService;
+
+    private ScheduledExecutorService executor;
+    private final Map<String, ScheduledFuture<?>> workers = new HashMap<>();
+
+    /**
+     * @param consumerName the name of a consumer
+     * @return true if the events of the consumer should be delivered asynchronously
+     */
+    public boolean isAsync(String consumerName) {
+        return configurationService.getBooleanProperty("event.consumer." + consumerName + ".async", false);
+    }
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        for (String property : configurationService.getPropertyKeys("event.consumer")) {
+            if (property.endsWith(".async")) {
+                String consumerName = property.substring("event.consumer.".length(), property.length() - 6);
+                if (isAsync(consumerName)) {
+                    start(consumerName);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        stop();
+    }
+
+    /**
+     * Queue an event of a consumer in the transaction of the given context. The event will be delivered to the
+     * consumer once the transaction is committed.
+     * @param context      the context in which the event was produced
+     * @param consumerName the name of the consumer
+     * @param event        the event
+     * @return true if the event was queued, false if it could not be serialized and should be delivered right away
+     * @throws SQLException if the event could not be stored
+     */
+    public boolean queue(Context context, String consumerName, Event event) throws SQLException {
+        String serializedEvent = serialize(event);
+        if (serializedEvent == null) {
+            return false;
+        }
+        outboxEventDAO.create(context, new OutboxEvent(consumerName, serializedEvent));
+        start(consumerName);
+        return true;
+    }
+
+    /**
+     * @param context      DSpace context object
+     * @param consumerName the name of a consumer
+     * @return the amount of events waiting to be delivered to the consumer
+     * @throws SQLException If database error
+     */
+    public long getPendingCount(Context context, String consumerName) throws SQLException {
+        return outboxEventDAO.countPending(context, consumerName, getMaxAttempts());
+    }
+
+    /**
+     * @param context      DSpace context object
+     * @param consumerName the name of a consumer
+     * @return the age of the oldest event waiting to be delivered to the consumer, zero if there are none
+     * @throws SQLException If database error
+     */
+    public Duration getLag(Context context, String consumerName) throws SQLException {
+        Instant oldest = outboxEventDAO.findOldestPending(context, consumerName, getMaxAttempts());
+        return oldest == null ? Duration.ZERO : Duration.between(oldest, Instant.now());
+    }
+
+    /**
+     * Find the next batch of events to deliver to a consumer, locking them until the end of the transaction. Nothing
+     * is returned while the oldest event waits for its next attempt.
+     * @param context      DSpace context object
+     * @param consumerName the name of the consumer
+     * @return the events, in the order in which they were queued
+     * @throws SQLException If database error
+     */
+    public List<OutboxEvent> findDeliverable(Context context, String consumerName) throws SQLException {
+        return findDeliverable(context, consumerName, getBatchSize());
+    }
+
+    /**
+     * Find the next events to deliver to a consumer, locking them until the end of the transaction. Nothing is
+     * returned while the oldest event waits for its next attempt.
+     * @param context      DSpace context object
+     * @param consumerName the name of the consumer
+     * @param limit        the maximum amount of events to return
+     * @return the events, in the order in which they were queued
+     * @throws SQLException If database error
+     */
+    public List<OutboxEvent> findDeliverable(Context context, String consumerName, int limit) throws SQLException {
+        List<OutboxEvent> entries = outboxEventDAO.findPending(context, consumerName, getMaxAttempts(), limit);
+        if (entries.isEmpty() || entries.get(0).getNextAttempt().isAfter(Instant.now())) {
+            return List.of();
+        }
+        return entries;
+    }
+
+    /**
+     * Deliver a batch of events to a consumer, and remove them from the outbox.
+     * @param context  DSpace context object, committed by the caller
+     * @param consumer the consumer
+     * @param entries  the events, see {@link #findDeliverable(Context, String)}
+     * @throws Exception if the consumer failed, the caller should roll back the context and record the failure
+     *                   using {@link #recordFailure(List, Exception)}
+     */
+    public void deliver(Context context, Consumer consumer, List<OutboxEvent> entries) throws Exception {
+        for (OutboxEvent entry : entries) {
+            consumer.consume(context, deserialize(entry.getEvent()));
+        }
+        consumer.end(context);
+        for (OutboxEvent entry : entries) {
+            outboxEventDAO.delete(context, entry);
+        }
+    }
+
+    /**
+     * Record a failed attempt to deliver the given events, postponing their next attempt.
+     * @param entries the events which could not be delivered
+     * @param e       the cause of the failure
+     * @throws SQLException If database error
+     */
+    public void recordFailure(List<OutboxEvent> entries, Exception e) throws SQLException {
+        Context context = new Context();
+        try {
+            for (OutboxEvent detachedEntry : entries) {
+                OutboxEvent entry = outboxEventDAO.findByID(context, OutboxEvent.class, detachedEntry.getID());
+                if (entry == null) {
+                    continue;
+                }
+                long delay = getRetryDelay() << Math.min(entry.getAttempts(), 16);
+                entry.addFailedAttempt(Instant.now().plusMillis(delay));
+                outboxEventDAO.save(context, entry);
+                if (entry.getAttempts() >= getMaxAttempts()) {
+                    log.error("Giving up delivering event {} to consumer {} after {} attempts", entry.getID(),
+                              entry.getConsumer(), entry.getAttempts(), e);
+                }
+            }
+            context.complete();
+        } finally {
+            if (context.isValid()) {
+                context.abort();
+            }
+        }
+    }
+
+    /**
+     * Remove the events of a consumer which were given up on, once they were queued before the given time. They are
+     * logged when they are given up on.
+     * @param context      DSpace context object, committed by the caller
+     * @param consumerName the name of the consumer
+     * @param before       only events queued before this time are removed
+     * @return the amount of events removed from the outbox
+     * @throws SQLException If database error
+     */
+    public int purgeFailed(Context context, String consumerName, Instant before) throws SQLException {
+        int purged = outboxEventDAO.deleteFailedBefore(context, consumerName, before, getMaxAttempts());
+        if (purged > 0) {
+            log.warn("Removed {} events of consumer {} given up on after {} attempts, queued before {}", purged,
+                     consumerName, getMaxAttempts(), before);
+        }
+        return purged;
+    }
+
+    /**
+     * Start the background delivery of the events of a consumer, if it isn't running yet
+     * @param consumerName the name of the consumer
+     */
+    public synchronized void start(String consumerName) {
+        if (workers.containsKey(consumerName)) {
+            return;
+        }
+        if (executor == null) {
+            AtomicInteger threadCount = new AtomicInteger();
+            executor = new ScheduledThreadPoolExecutor(Math.max(1, configurationService
+                .getIntProperty("event.outbox.threads", 2)), runnable -> {
+                    Thread thread = new Thread(runnable, "event-outbox-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        }
+        // a task with a fixed delay never runs concurrently with itself, so each consumer gets its events in the
+        // order of the outbox
+        long pollInterval = Math.max(100, configurationService.getLongProperty("event.outbox.poll-interval", 1000));
+        workers.put(consumerName, executor.scheduleWithFixedDelay(new Worker(consumerName), pollInterval,
+                                                                  pollInterval, TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * Stop the background delivery of events. Undelivered events are kept in the outbox.
+     */
+    public synchronized void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+        workers.clear();
+    }
+
+    private String serialize(Event event) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(event);
+        } catch (NotSerializableException e) {
+            log.debug("Event {} with details which can't be serialized is delivered synchronously", event, e);
+            return null;
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to serialize event " + event, e);
+        }
+        return Base64.getEncoder().encodeToString(bytes.toByteArray());
+    }
+
+    private Event deserialize(String serializedEvent) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(
+                new ByteArrayInputStream(Base64.getDecoder().decode(serializedEvent)))) {
+            in.setObjectInputFilter(EVENT_FILTER);
+            return (Event) in.readObject();
+        }
+    }
+
+    private int getBatchSize() {
+        return Math.max(1, configurationService.getIntProperty("event.outbox.batch-size", 100));
+    }
+
+    private int getMaxAttempts() {
+        return Math.max(1, configurationService.getIntProperty("event.outbox.max-attempts", 10));
+    }
+
+    private long getRetryDelay() {
+        return Math.max(0, configurationService.getLongProperty("event.outbox.retry-delay", 5000));
+    }
+
+    private int getFailedRetention() {
+        return Math.max(0, configurationService.getIntProperty("event.outbox.failed-retention", 30));
+    }
+
+    /**
+     * Delivers the events of a single consumer, until there are none left to deliver
+     */
+    class Worker implements Runnable {
+        private final String consumerName;
+        private Consumer consumer;
+        private Instant nextPurge = Instant.MIN;
+
+        Worker(String consumerName) {
+            this.consumerName = consumerName;
+        }
+
+        @Override
+        public void run() {
+            try {
+                int delivered;
+                do {
+                    delivered = processBatch(getBatchSize());
+                    // keep going while full batches are delivered
+                } while (delivered >= getBatchSize() && !Thread.currentThread().isInterrupted());
+                purgeFailed();
+            } catch (Exception e) {
+                // an exception would cancel the scheduled task
+                log.error("Unable to deliver the events of consumer {}, retrying later", consumerName, e);
+            }
+        }
+
+        private int processBatch(int limit) throws Exception {
+            if (consumer == null) {
+                ConsumerProfile consumerProfile = ConsumerProfile.makeConsumerProfile(consumerName);
+                consumerProfile.getConsumer().initialize();
+                consumer = consumerProfile.getConsumer();
+            }
+            List<OutboxEvent> entries = List.of();
+            Context context = new Context();
+            try {
+                context.turnOffAuthorisationSystem();
+                entries = findDeliverable(context, consumerName, limit);
+                if (entries.isEmpty()) {
+                    return 0;
+                }
+                deliver(context, consumer, entries);
+                context.complete();
+                logLag(entries.get(0));
+                return entries.size();
+            } catch (Exception e) {
+                context.abort();
+                // the consumer may have kept state of the failed batch
+                consumer = null;
+                if (entries.size() <= 1) {
+                    log.warn("Delivering {} events to consumer {} failed", entries.size(), consumerName, e);
+                    recordFailure(entries, e);
+                    return 0;
+                }
+                log.warn("Delivering {} events to consumer {} failed, delivering them one at a time", entries.size(),
+                         consumerName, e);
+            } finally {
+                if (context.isValid()) {
+                    context.abort();
+                }
+            }
+            // only the event failing on its own records a failed attempt, the ones queued after it wait for its retries
+            int delivered = 0;
+            while (delivered < entries.size() && processBatch(1) > 0) {
+                delivered++;
+            }
+            return delivered;
+        }
+
+        private void purgeFailed() throws SQLException {
+            // the events given up on are only looked for once an hour
+            if (Instant.now().isBefore(nextPurge)) {
+                return;
+            }
+            Context context = new Context();
+            try {
+                EventOutbox.this.purgeFailed(context, consumerName,
+                                             Instant.now().minus(getFailedRetention(), ChronoUnit.DAYS));
+                context.complete();
+                nextPurge = Instant.now().plus(1, ChronoUnit.HOURS);
+            } finally {
+                if (context.isValid()) {
+                    context.abort();
+                }
+            }
+        }
+
+        private void logLag(OutboxEvent oldest) {
+            Duration lag = Duration.between(oldest.getQueued(), Instant.now());
+            if (lag.toMillis() > configurationService.getLongProperty("event.outbox.lag-warning", 60000)) {
+                log.warn("Consumer {} is lagging {} ms behind the events", consumerName, lag.toMillis());
+            } else {
+                log.debug("Consumer {} is lagging {} ms behind the events", consumerName, lag.toMillis());
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.event;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.dspace.core.Context;
+import org.dspace.services.factory.DSpaceServicesFactory;
+
+/**
+ * OutboxDispatcher delivers the events of most consumers synchronously, like the {@link BasicDispatcher}, but stores
+ * the events of the consumers flagged with {@code event.consumer.<name>.async = true} in the {@link EventOutbox}, in
+ * the transaction which produced them, so they are delivered by background threads once the transaction is committed
+ * rather than on the thread committing it.
+ * <p>
+ * Asynchronous consumers get their events in a later transaction and in a context without the current user of the
+ * context which produced them. Events with details which can't be serialized are delivered synchronously.
+ */
+public class OutboxDispatcher extends BasicDispatcher {
+
+    private final EventOutbox eventOutbox = DSpaceServicesFactory.getInstance().getServiceManager()
+                                                                 .getServiceByName(EventOutbox.class.getName(),
+                                                                                   EventOutbox.class);
+
+    /**
+     * Names of the consumers whose events are stored in the outbox
+     */
+    private final Set<String> asyncConsumers = new HashSet<>();
+
+    public OutboxDispatcher(String name) {
+        super(name);
+    }
+
+    @Override
+    public void addConsumerProfile(ConsumerProfile cp) throws IllegalArgumentException {
+        super.addConsumerProfile(cp);
+        if (eventOutbox != null && eventOutbox.isAsync(cp.getName())) {
+            asyncConsumers.add(cp.getName());
+        }
+    }
+
+    @Override
+    protected void consume(Context ctx, ConsumerProfile cp, Event event) throws Exception {
+        if (!asyncConsumers.contains(cp.getName()) || !eventOutbox.queue(ctx, cp.getName(), event)) {
+            super.consume(ctx, cp, event);
+        }
+    }
+}
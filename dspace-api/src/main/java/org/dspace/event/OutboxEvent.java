@@ -0,0 +1,136 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.event;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import org.dspace.core.HibernateProxyHelper;
+import org.dspace.core.ReloadableEntity;
+import org.hibernate.Length;
+
+/**
+ * An event waiting to be delivered to an asynchronous consumer, written by the {@link OutboxDispatcher} in the
+ * transaction which produced the event and removed by the {@link EventOutbox} once the consumer processed it.
+ * Events which could not be processed are kept with the number of failed attempts and the time of the next one.
+ */
+@Entity
+@Table(name = "event_outbox")
+public class OutboxEvent implements ReloadableEntity<Integer> {
+
+    @Id
+    @Column(name = "id")
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "event_outbox_seq")
+    @SequenceGenerator(name = "event_outbox_seq", sequenceName = "event_outbox_seq", allocationSize = 1)
+    private Integer id;
+
+    @Column(name = "consumer", length = 64, nullable = false)
+    private String consumer;
+
+    /**
+     * The serialized {@link Event}
+     */
+    @Column(name = "event_data", length = Length.LONG32, nullable = false)
+    private String event;
+
+    @Column(name = "queued", nullable = false)
+    private Instant queued;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt", nullable = false)
+    private Instant nextAttempt;
+
+    protected OutboxEvent() {
+    }
+
+    /**
+     * Create a new outbox event
+     * @param consumer the name of the consumer the event is delivered to
+     * @param event    the serialized event
+     */
+    public OutboxEvent(String consumer, String event) {
+        this.consumer = consumer;
+        this.event = event;
+        this.queued = Instant.now();
+        this.nextAttempt = queued;
+    }
+
+    @Override
+    public Integer getID() {
+        return id;
+    }
+
+    /**
+     * @return the name of the consumer the event is delivered to
+     */
+    public String getConsumer() {
+        return consumer;
+    }
+
+    /**
+     * @return the serialized event
+     */
+    public String getEvent() {
+        return event;
+    }
+
+    /**
+     * @return the time the event was queued
+     */
+    public Instant getQueued() {
+        return queued;
+    }
+
+    /**
+     * @return the number of failed attempts to deliver the event
+     */
+    public int getAttempts() {
+        return attempts;
+    }
+
+    /**
+     * @return the time from which the event may be delivered
+     */
+    public Instant getNextAttempt() {
+        return nextAttempt;
+    }
+
+    /**
+     * Record a failed attempt to deliver the event
+     * @param nextAttempt the time from which the event may be delivered again
+     */
+    public void addFailedAttempt(Instant nextAttempt) {
+        this.attempts++;
+        this.nextAttempt = nextAttempt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        Class<?> objClass = HibernateProxyHelper.getClassWithoutInitializingProxy(o);
+        if (getClass() != objClass) {
+            return false;
+        }
+        return getID() != null && getID().equals(((OutboxEvent) o).getID());
+    }
+
+    @Override
+    public int hashCode() {
+        return getID() == null ? 0 : getID().hashCode();
+    }
+}
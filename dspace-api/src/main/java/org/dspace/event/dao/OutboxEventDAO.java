@@ -0,0 +1,67 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.event.dao;
+
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.List;
+
+import org.dspace.core.Context;
+import org.dspace.core.GenericDAO;
+import org.dspace.event.OutboxEvent;
+
+/**
+ * Database Access Object interface class for the OutboxEvent object.
+ * The implementation of this class is responsible for all database calls for the OutboxEvent object and is
+ * autowired by spring.
+ * This class should only be accessed from a single service and should never be exposed outside of the API
+ */
+public interface OutboxEventDAO extends GenericDAO<OutboxEvent> {
+
+    /**
+     * Find the oldest events of a consumer which failed less than the given number of attempts, locking them until
+     * the end of the transaction so they aren't delivered concurrently by another node. The events are ordered by
+     * their identifier, which is assigned when they are queued rather than when their transaction is committed.
+     * @param context     DSpace context object
+     * @param consumer    the name of the consumer
+     * @param maxAttempts only events which failed less attempts are returned
+     * @param limit       the maximum amount of events to return
+     * @return the events, in the order in which they were queued
+     * @throws SQLException If database error
+     */
+    List<OutboxEvent> findPending(Context context, String consumer, int maxAttempts, int limit) throws SQLException;
+
+    /**
+     * @param context     DSpace context object
+     * @param consumer    the name of the consumer
+     * @param maxAttempts only events which failed less attempts are counted
+     * @return the amount of events of the consumer waiting to be delivered
+     * @throws SQLException If database error
+     */
+    long countPending(Context context, String consumer, int maxAttempts) throws SQLException;
+
+    /**
+     * @param context     DSpace context object
+     * @param consumer    the name of the consumer
+     * @param maxAttempts only events which failed less attempts are considered
+     * @return the time the oldest event of the consumer waiting to be delivered was queued, or null if there are none
+     * @throws SQLException If database error
+     */
+    Instant findOldestPending(Context context, String consumer, int maxAttempts) throws SQLException;
+
+    /**
+     * Delete the events of a consumer queued before the given time which reached the given amount of failed attempts.
+     * @param context     DSpace context object
+     * @param consumer    the name of the consumer
+     * @param before      only events queued before this time are deleted
+     * @param maxAttempts only events with at least this amount of failed attempts are deleted
+     * @return the amount of deleted events
+     * @throws SQLException If database error
+     */
+    int deleteFailedBefore(Context context, String consumer, Instant before, int maxAttempts) throws SQLException;
+}
@@ -0,0 +1,73 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.event.dao.impl;
+
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.List;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.Query;
+import org.dspace.core.AbstractHibernateDAO;
+import org.dspace.core.Context;
+import org.dspace.event.OutboxEvent;
+import org.dspace.event.dao.OutboxEventDAO;
+
+/**
+ * Hibernate implementation of the Database Access Object interface class for the OutboxEvent object.
+ * This class is responsible for all database calls for the OutboxEvent object and is autowired by spring
+ * This class should never be accessed directly.
+ */
+public class OutboxEventDAOImpl extends AbstractHibernateDAO<OutboxEvent> implements OutboxEventDAO {
+
+    protected OutboxEventDAOImpl() {
+        super();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<OutboxEvent> findPending(Context context, String consumer, int maxAttempts, int limit)
+        throws SQLException {
+        Query query = createQuery(context,
+            "FROM OutboxEvent WHERE consumer = :consumer AND attempts < :maxAttempts ORDER BY id");
+        query.setParameter("consumer", consumer);
+        query.setParameter("maxAttempts", maxAttempts);
+        query.setMaxResults(limit);
+        query.setLockMode(LockModeType.PESSIMISTIC_WRITE);
+        return query.getResultList();
+    }
+
+    @Override
+    public long countPending(Context context, String consumer, int maxAttempts) throws SQLException {
+        Query query = createQuery(context,
+            "SELECT COUNT(e) FROM OutboxEvent e WHERE e.consumer = :consumer AND e.attempts < :maxAttempts");
+        query.setParameter("consumer", consumer);
+        query.setParameter("maxAttempts", maxAttempts);
+        return (long) query.getSingleResult();
+    }
+
+    @Override
+    public Instant findOldestPending(Context context, String consumer, int maxAttempts) throws SQLException {
+        Query query = createQuery(context,
+            "SELECT MIN(e.queued) FROM OutboxEvent e WHERE e.consumer = :consumer AND e.attempts < :maxAttempts");
+        query.setParameter("consumer", consumer);
+        query.setParameter("maxAttempts", maxAttempts);
+        return (Instant) query.getSingleResult();
+    }
+
+    @Override
+    public int deleteFailedBefore(Context context, String consumer, Instant before, int maxAttempts)
+        throws SQLException {
+        Query query = createQuery(context,
+            "DELETE FROM OutboxEvent WHERE consumer = :consumer AND queued < :before AND attempts >= :maxAttempts");
+        query.setParameter("consumer", consumer);
+        query.setParameter("before", before);
+        query.setParameter("maxAttempts", maxAttempts);
+        return query.executeUpdate();
+    }
+}
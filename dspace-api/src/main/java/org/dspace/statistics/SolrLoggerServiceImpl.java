@@ -42,6 +42,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
 
 import com.maxmind.geoip2.DatabaseReader;
 import com.maxmind.geoip2.exception.GeoIp2Exception;
@@ -85,7 +86,6 @@ import org.apache.solr.common.params.ModifiableSolrParams;
 import org.apache.solr.common.params.ShardParams;
 import org.apache.solr.common.util.NamedList;
 import org.dspace.app.client.DSpaceHttpClientFactory;
-import org.dspace.authorize.service.AuthorizeService;
 import org.dspace.content.Bitstream;
 import org.dspace.content.Bundle;
 import org.dspace.content.Collection;
@@ -100,14 +100,18 @@ import org.dspace.core.Constants;
 import org.dspace.core.Context;
 import org.dspace.eperson.EPerson;
 import org.dspace.eperson.Group;
+import org.dspace.eperson.service.GroupService;
 import org.dspace.service.ClientInfoService;
 import org.dspace.services.ConfigurationService;
 import org.dspace.statistics.service.SolrLoggerService;
 import org.dspace.statistics.util.LocationUtils;
 import org.dspace.statistics.util.SpiderDetector;
 import org.dspace.usage.UsageWorkflowEvent;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 
 /**
  * Static holder for a HttpSolrClient connection pool to issue
@@ -118,7 +122,7 @@ import org.springframework.beans.factory.annotation.Autowired;
  * @author kevinvandevelde at atmire.com
  * @author mdiggory at atmire.com
  */
-public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBean {
+public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBean, DisposableBean {
     private static final Logger log = LogManager.getLogger();
 
     private static final String MULTIPLE_VALUES_SPLITTER = "|";
@@ -134,6 +138,21 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
     private static final List<String> statisticYearCores = new ArrayList<>();
     private static boolean statisticYearCoresInit = false;
 
+    /**
+     * Name of the cache holding the direct owning communities, collections and items (and bundle names) of logged
+     * objects, keyed by object. The owning objects of the owning objects are found in their own entries, so when an
+     * object is moved the {@link StatisticsCacheConsumer} only has to remove its own entry.
+     */
+    public static final String PARENTS_CACHE = "statistics.parents";
+
+    /**
+     * Name of the cache holding whether an EPerson is an administrator, whose views aren't logged. Entries are
+     * removed by the {@link StatisticsCacheConsumer} when group memberships change.
+     */
+    public static final String ADMINS_CACHE = "statistics.admins";
+
+    private static final String BUNDLE_NAME_FIELD = "bundleName";
+
     private static final String IP_V4_REGEX = "^((?:\\d{1,3}\\.){3})\\d{1,3}$";
     private static final String IP_V6_REGEX = "^(.*):.*:.*$";
 
@@ -150,10 +169,15 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
     @Autowired
     protected GeoIpService geoIpService;
     @Autowired
-    private AuthorizeService authorizeService;
+    private GroupService groupService;
+    @Autowired(required = false)
+    protected CacheManager cacheManager;
 
     protected SolrClient solr;
 
+    /** Writes the usage events in the background, if solr-statistics.async.enabled is set. */
+    private volatile SolrStatisticsWriter statisticsWriter;
+
     /** Name of the current-year statistics core.  Prior-year shards will have a year suffixed. */
     private String statisticsCoreBase;
 
@@ -208,24 +232,79 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
     }
 
     @Override
+    public void destroy() throws Exception {
+        if (statisticsWriter != null) {
+            statisticsWriter.stop();
+        }
+    }
+
+    @Override
+    public SolrStatisticsWriter getStatisticsWriter() {
+        if (statisticsWriter == null && solr != null
+            && configurationService.getBooleanProperty("solr-statistics.async.enabled", false)) {
+            synchronized (this) {
+                if (statisticsWriter == null) {
+                    SolrStatisticsWriter writer = new SolrStatisticsWriter(solr, configurationService);
+                    writer.start();
+                    statisticsWriter = writer;
+                }
+            }
+        }
+        return statisticsWriter;
+    }
+
+    /**
+     * Store a usage event document in the statistics core. If solr-statistics.async.enabled is set, the document is
+     * handed to the {@link SolrStatisticsWriter} instead, which sends it to Solr in the background.
+     *
+     * @param document the usage event document
+     * @param commit   whether the document should be committed right away if solr-statistics.autoCommit is false
+     * @throws IOException         if the document could not be sent to Solr
+     * @throws SolrServerException if Solr refused the document
+     */
+    protected void addDocument(SolrInputDocument document, boolean commit) throws IOException, SolrServerException {
+        SolrStatisticsWriter writer = getStatisticsWriter();
+        if (writer != null) {
+            writer.add(document);
+            return;
+        }
+        solr.add(document);
+        // commits are executed automatically using the solr autocommit
+        boolean useAutoCommit = configurationService.getBooleanProperty("solr-statistics.autoCommit", true);
+        if (commit && !useAutoCommit) {
+            solr.commit(false, false);
+        }
+    }
+
+    @Override
+    @Deprecated
     public void post(DSpaceObject dspaceObject, HttpServletRequest request,
                      EPerson currentUser) {
         postView(dspaceObject, request, currentUser);
     }
 
     @Override
+    @Deprecated
     public void postView(DSpaceObject dspaceObject, HttpServletRequest request,
                          EPerson currentUser) {
         postView(dspaceObject, request, currentUser, null);
     }
 
     @Override
+    @Deprecated
     public void postView(DSpaceObject dspaceObject, HttpServletRequest request,
                          EPerson currentUser, String referrer) {
-        Context context = new Context();
+        // as before, the new context shares the database session of the thread, so it's neither completed nor
+        // aborted, which would end the transaction of the caller
+        postView(new Context(), dspaceObject, request, currentUser, referrer);
+    }
+
+    @Override
+    public void postView(Context context, DSpaceObject dspaceObject, HttpServletRequest request,
+                         EPerson currentUser, String referrer) {
         // Do not record statistics for Admin users
         try {
-            if (authorizeService.isAdmin(context, currentUser)) {
+            if (isAdmin(context, currentUser)) {
                 return;
             }
         } catch (SQLException e) {
@@ -248,22 +327,14 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
                 return;
             }
             if (dspaceObject instanceof Bitstream) {
-                Bitstream bit = (Bitstream) dspaceObject;
-                List<Bundle> bundles = bit.getBundles();
-                for (Bundle bundle : bundles) {
-                    doc1.addField("bundleName", bundle.getName());
+                for (String bundleName : getParentFields(dspaceObject).getOrDefault(BUNDLE_NAME_FIELD, List.of())) {
+                    doc1.addField(BUNDLE_NAME_FIELD, bundleName);
                 }
             }
 
             doc1.addField("statistics_type", StatisticsType.VIEW.text());
 
-
-            solr.add(doc1);
-            // commits are executed automatically using the solr autocommit
-            boolean useAutoCommit = configurationService.getBooleanProperty("solr-statistics.autoCommit", true);
-            if (!useAutoCommit) {
-                solr.commit(false, false);
-            }
+            addDocument(doc1, true);
 
         } catch (RuntimeException re) {
             throw re;
@@ -299,21 +370,14 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
                 return;
             }
             if (dspaceObject instanceof Bitstream) {
-                Bitstream bit = (Bitstream) dspaceObject;
-                List<Bundle> bundles = bit.getBundles();
-                for (Bundle bundle : bundles) {
-                    doc1.addField("bundleName", bundle.getName());
+                for (String bundleName : getParentFields(dspaceObject).getOrDefault(BUNDLE_NAME_FIELD, List.of())) {
+                    doc1.addField(BUNDLE_NAME_FIELD, bundleName);
                 }
             }
 
             doc1.addField("statistics_type", StatisticsType.VIEW.text());
 
-            solr.add(doc1);
-            // commits are executed automatically using the solr autocommit
-            boolean useAutoCommit = configurationService.getBooleanProperty("solr-statistics.autoCommit", true);
-            if (!useAutoCommit) {
-                solr.commit(false, false);
-            }
+            addDocument(doc1, true);
 
         } catch (RuntimeException re) {
             throw re;
@@ -432,7 +496,7 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
         if (dspaceObject != null) {
             doc1.addField("id", dspaceObject.getID().toString());
             doc1.addField("type", dspaceObject.getType());
-            storeParents(doc1, dspaceObject);
+            addParentFields(doc1, dspaceObject);
         }
         // Save the current time
         doc1.addField("time", Instant.now().toString());
@@ -524,7 +588,7 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
         if (dspaceObject != null) {
             doc1.addField("id", dspaceObject.getID().toString());
             doc1.addField("type", dspaceObject.getType());
-            storeParents(doc1, dspaceObject);
+            addParentFields(doc1, dspaceObject);
         }
         // Save the current time
         doc1.addField("time", Instant.now().toString());
@@ -577,7 +641,7 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
                 solrDoc.addField("page", page);
             }
 
-            solr.add(solrDoc);
+            addDocument(solrDoc, false);
         } catch (RuntimeException re) {
             throw re;
         } catch (Exception e) {
@@ -626,7 +690,7 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
                 solrDoc.addField("actor", usageWorkflowEvent.getActor().getID().toString());
             }
 
-            solr.add(solrDoc);
+            addDocument(solrDoc, false);
         } catch (Exception e) {
             //Log the exception, no need to send it through, the workflow shouldn't crash because of this !
             log.error("Error saving WORKFLOW event to Solr", e);
@@ -671,6 +735,144 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
         }
     }
 
+    /**
+     * Add the owning communities, collections and items of the given object to a usage event document, as
+     * {@link #storeParents} does. The owning objects are cached, so logging a view doesn't have to load them.
+     *
+     * @param doc1 the usage event document
+     * @param dso  the logged object
+     * @throws SQLException if database error
+     */
+    protected void addParentFields(SolrInputDocument doc1, DSpaceObject dso) throws SQLException {
+        for (Map.Entry<String, List<String>> field : getParentFields(dso).entrySet()) {
+            if (!BUNDLE_NAME_FIELD.equals(field.getKey())) {
+                for (String value : field.getValue()) {
+                    doc1.addField(field.getKey(), value);
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the fields {@link #storeParents} adds for the given object, and for bitstreams the names of their bundles,
+     * from the {@link #PARENTS_CACHE}. When the owning objects of the object, or of one of its owning objects, aren't
+     * cached, the fields are computed and the owning objects of each object on the way are cached.
+     *
+     * @param dso the logged object
+     * @return the values of the owningComm, owningColl, owningItem and bundleName fields
+     * @throws SQLException if database error
+     */
+    protected Map<String, List<String>> getParentFields(DSpaceObject dso) throws SQLException {
+        Cache cache = getCache(PARENTS_CACHE);
+        Map<String, List<String>> fields = new HashMap<>();
+        if (cache == null || !addCachedParentFields(cache, dso.getID(), fields)) {
+            fields.clear();
+            addParentFields(cache, dso, fields);
+        }
+        return fields;
+    }
+
+    /**
+     * Add the fields of the cached owning objects of an object, and of their own owning objects
+     *
+     * @return false if the owning objects of one of the objects aren't cached
+     */
+    @SuppressWarnings("unchecked")
+    private boolean addCachedParentFields(Cache cache, UUID id, Map<String, List<String>> fields) {
+        Map<String, List<String>> parents = cache.get(id, Map.class);
+        if (parents == null) {
+            return false;
+        }
+        for (Map.Entry<String, List<String>> parent : parents.entrySet()) {
+            for (String value : parent.getValue()) {
+                fields.computeIfAbsent(parent.getKey(), key -> new ArrayList<>()).add(value);
+                if (!BUNDLE_NAME_FIELD.equals(parent.getKey())
+                    && !addCachedParentFields(cache, UUID.fromString(value), fields)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Add the fields of the owning objects of an object, and of their own owning objects, caching the direct owning
+     * objects of each of them
+     */
+    private void addParentFields(Cache cache, DSpaceObject dso, Map<String, List<String>> fields)
+        throws SQLException {
+        String field;
+        List<DSpaceObject> parents = new ArrayList<>();
+        HashMap<String, List<String>> entry = new HashMap<>();
+        if (dso instanceof Community) {
+            field = "owningComm";
+            parents.addAll(((Community) dso).getParentCommunities());
+        } else if (dso instanceof Collection) {
+            field = "owningComm";
+            parents.addAll(((Collection) dso).getCommunities());
+        } else if (dso instanceof Item) {
+            field = "owningColl";
+            parents.addAll(((Item) dso).getCollections());
+        } else if (dso instanceof Bitstream) {
+            field = "owningItem";
+            ArrayList<String> bundleNames = new ArrayList<>();
+            for (Bundle bundle : ((Bitstream) dso).getBundles()) {
+                parents.addAll(bundle.getItems());
+                bundleNames.add(bundle.getName());
+            }
+            if (!bundleNames.isEmpty()) {
+                fields.computeIfAbsent(BUNDLE_NAME_FIELD, key -> new ArrayList<>()).addAll(bundleNames);
+                entry.put(BUNDLE_NAME_FIELD, bundleNames);
+            }
+        } else {
+            return;
+        }
+        ArrayList<String> parentIds = new ArrayList<>();
+        for (DSpaceObject parent : parents) {
+            parentIds.add(parent.getID().toString());
+            fields.computeIfAbsent(field, key -> new ArrayList<>()).add(parent.getID().toString());
+            addParentFields(cache, parent, fields);
+        }
+        if (!parentIds.isEmpty()) {
+            entry.put(field, parentIds);
+        }
+        if (cache != null) {
+            cache.put(dso.getID(), entry);
+        }
+    }
+
+    /**
+     * Check whether an EPerson is an administrator, whose views aren't logged. Unless the context carries special
+     * groups, the outcome only depends on the EPerson and is kept in the {@link #ADMINS_CACHE}.
+     *
+     * @param context     the context of the request
+     * @param currentUser the user viewing the object
+     * @return true if the user is an administrator
+     * @throws SQLException if database error
+     */
+    protected boolean isAdmin(Context context, EPerson currentUser) throws SQLException {
+        if (currentUser == null) {
+            // anonymous users can't be admins
+            return false;
+        }
+        if (!context.getSpecialGroupUuids().isEmpty()) {
+            return groupService.isMember(context, currentUser, context.getAdminGroup());
+        }
+        Cache cache = getCache(ADMINS_CACHE);
+        Boolean admin = cache == null ? null : cache.get(currentUser.getID(), Boolean.class);
+        if (admin == null) {
+            admin = groupService.isMember(context, currentUser, context.getAdminGroup());
+            if (cache != null) {
+                cache.put(currentUser.getID(), admin);
+            }
+        }
+        return admin;
+    }
+
+    private Cache getCache(String name) {
+        return cacheManager == null ? null : cacheManager.getCache(name);
+    }
+
     @Override
     public boolean isUseProxies() {
         return clientInfoService.isUseProxiesEnabled();
@@ -1641,12 +1843,12 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
         }
         List<String> allowedBundlesList = Arrays.asList(allowedBundles);
         try {
-            List<Bundle> actualBundles = bitstream.getBundles();
+            List<String> actualBundles = getParentFields(bitstream).getOrDefault(BUNDLE_NAME_FIELD, List.of());
             if (actualBundles.isEmpty()) {
                 return true;
             }
-            for (Bundle bundle : actualBundles) {
-                if (allowedBundlesList.contains(bundle.getName())) {
+            for (String bundleName : actualBundles) {
+                if (allowedBundlesList.contains(bundleName)) {
                     return true;
                 }
             }
@@ -50,7 +50,8 @@ public class SolrLoggerUsageEventListener extends AbstractUsageEventListener {
 
                 if (UsageEvent.Action.VIEW == ue.getAction()) {
                     if (ue.getRequest() != null) {
-                        solrLoggerService.postView(ue.getObject(), ue.getRequest(), currentUser, ue.getReferrer());
+                        solrLoggerService.postView(ue.getContext(), ue.getObject(), ue.getRequest(), currentUser,
+                                                   ue.getReferrer());
                     } else {
                         solrLoggerService.postView(ue.getObject(), ue.getIp(), ue.getUserAgent(), ue.getXforwardedfor(),
                                                    currentUser, ue.getReferrer());
@@ -0,0 +1,316 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.common.SolrException;
+import org.apache.solr.common.SolrInputDocument;
+import org.apache.solr.common.util.JavaBinCodec;
+import org.dspace.services.ConfigurationService;
+
+/**
+ * Asynchronous writer of usage event documents to the statistics core, used by {@link SolrLoggerServiceImpl} when
+ * {@code solr-statistics.async.enabled} is set.
+ * <p>
+ * Documents are added to a bounded in-memory buffer of {@code solr-statistics.async.buffer.limit} documents, so
+ * the request thread never waits for Solr. A background thread sends the buffered documents to Solr in batches of
+ * at most {@code solr-statistics.async.batch-size} documents. When the buffer is full, or when Solr refuses a batch,
+ * the documents are either dropped or, if {@code solr-statistics.async.overflow} is {@code spill}, written to files
+ * in {@code solr-statistics.async.spill.dir}. Spilled documents are sent to Solr once the buffer has been emptied.
+ * A file of spilled documents which Solr rejects as invalid (a 4xx error) is renamed with a {@code .failed} suffix
+ * and no longer sent.
+ * The buffer size and the amount of written, spilled and dropped documents are available to monitor the writer.
+ */
+public class SolrStatisticsWriter {
+
+    private static final Logger log = LogManager.getLogger(SolrStatisticsWriter.class);
+
+    private static final String SPILL_PREFIX = "statistics-";
+    private static final String SPILL_SUFFIX = ".javabin";
+    private static final String FAILED_SUFFIX = ".failed";
+
+    /**
+     * What to do with documents which can't be buffered or written
+     */
+    public enum OverflowPolicy {
+        /** Discard the documents */
+        DROP,
+        /** Write the documents to disk, to send them to Solr later */
+        SPILL
+    }
+
+    private final SolrClient solr;
+    private final BlockingQueue<SolrInputDocument> buffer;
+    private final int batchSize;
+    private final long flushInterval;
+    private final boolean commit;
+    private final OverflowPolicy overflowPolicy;
+    private final File spillDirectory;
+
+    private final AtomicLong writtenCount = new AtomicLong();
+    private final AtomicLong spilledCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    private Thread flusher;
+    private volatile boolean running = false;
+
+    /**
+     * Create a writer, configured using the {@code solr-statistics.async.*} properties. The writer only sends
+     * documents to Solr once {@link #start()} is called.
+     * @param solr                 the statistics core
+     * @param configurationService the configuration
+     */
+    public SolrStatisticsWriter(SolrClient solr, ConfigurationService configurationService) {
+        this.solr = solr;
+        this.buffer = new ArrayBlockingQueue<>(
+            Math.max(1, configurationService.getIntProperty("solr-statistics.async.buffer.limit", 10000)));
+        this.batchSize = Math.max(1, configurationService.getIntProperty("solr-statistics.async.batch-size", 500));
+        this.flushInterval =
+            Math.max(10, configurationService.getLongProperty("solr-statistics.async.flush-interval", 1000));
+        // commits are executed automatically using the solr autocommit, otherwise once per batch
+        this.commit = !configurationService.getBooleanProperty("solr-statistics.autoCommit", true);
+        this.overflowPolicy = OverflowPolicy.valueOf(StringUtils.upperCase(
+            configurationService.getProperty("solr-statistics.async.overflow", OverflowPolicy.DROP.name())));
+        this.spillDirectory = new File(configurationService.getProperty("solr-statistics.async.spill.dir",
+            configurationService.getProperty("dspace.dir") + File.separator + "statistics-spill"));
+    }
+
+    /**
+     * Add a document to the buffer. If the buffer is full, the document is spilled to disk or dropped, depending on
+     * the overflow policy.
+     * @param document the usage event document
+     */
+    public void add(SolrInputDocument document) {
+        if (!buffer.offer(document)) {
+            overflow(List.of(document));
+        }
+    }
+
+    /**
+     * Start the background thread sending the buffered documents to Solr, if it isn't running yet
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        flusher = new Thread(this::run, "solr-statistics-writer");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * Stop the background thread, and send the documents left in the buffer to Solr. Documents which can't be sent
+     * are spilled or dropped.
+     */
+    public synchronized void stop() {
+        running = false;
+        if (flusher != null) {
+            flusher.interrupt();
+            try {
+                flusher.join(flushInterval);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            flusher = null;
+        }
+        try {
+            while (!buffer.isEmpty()) {
+                flush();
+            }
+        } catch (IOException | SolrServerException | RuntimeException e) {
+            log.error("Unable to write the buffered usage events to Solr", e);
+            List<SolrInputDocument> documents = new ArrayList<>();
+            buffer.drainTo(documents);
+            overflow(documents);
+        }
+    }
+
+    /**
+     * Send a single batch of buffered documents to Solr. If the buffer is empty, a single file of spilled documents
+     * is sent instead.
+     * @return the amount of documents sent to Solr
+     * @throws IOException         if the documents could not be sent, they have been spilled or dropped
+     * @throws SolrServerException if the documents could not be sent, they have been spilled or dropped
+     */
+    public int flush() throws IOException, SolrServerException {
+        return flush(null);
+    }
+
+    private int flush(SolrInputDocument first) throws IOException, SolrServerException {
+        List<SolrInputDocument> batch = new ArrayList<>(batchSize);
+        if (first != null) {
+            batch.add(first);
+        }
+        buffer.drainTo(batch, batchSize - batch.size());
+        if (batch.isEmpty()) {
+            return replaySpilled();
+        }
+        try {
+            write(batch);
+        } catch (IOException | SolrServerException | RuntimeException e) {
+            overflow(batch);
+            throw e;
+        }
+        return batch.size();
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                flush(buffer.poll(flushInterval, TimeUnit.MILLISECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Unable to write usage events to Solr, retrying in {} ms", flushInterval, e);
+                try {
+                    Thread.sleep(flushInterval);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void write(List<SolrInputDocument> documents) throws IOException, SolrServerException {
+        solr.add(documents);
+        if (commit) {
+            solr.commit(false, false);
+        }
+        writtenCount.addAndGet(documents.size());
+    }
+
+    private void overflow(Collection<SolrInputDocument> documents) {
+        if (documents.isEmpty()) {
+            return;
+        }
+        if (overflowPolicy == OverflowPolicy.SPILL) {
+            try {
+                spill(documents);
+                spilledCount.addAndGet(documents.size());
+                return;
+            } catch (IOException e) {
+                log.error("Unable to spill usage events to {}", spillDirectory, e);
+            }
+        }
+        // don't flood the log while Solr is unavailable
+        long dropped = droppedCount.getAndAdd(documents.size());
+        if (dropped / 1000 != (dropped + documents.size()) / 1000 || dropped == 0) {
+            log.warn("Dropped {} usage events so far, the statistics buffer is full or Solr is unavailable",
+                dropped + documents.size());
+        }
+    }
+
+    private void spill(Collection<SolrInputDocument> documents) throws IOException {
+        Files.createDirectories(spillDirectory.toPath());
+        // the time in the name keeps the files in order, the temporary name hides incomplete files from replay
+        Path temp = Files.createTempFile(spillDirectory.toPath(),
+            SPILL_PREFIX + String.format("%020d", System.currentTimeMillis()) + "-", ".tmp");
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp));
+                 JavaBinCodec codec = new JavaBinCodec()) {
+                codec.marshal(new ArrayList<>(documents), out);
+            }
+            Files.move(temp, temp.resolveSibling(StringUtils.removeEnd(temp.getFileName().toString(), ".tmp")
+                + SPILL_SUFFIX), StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private int replaySpilled() throws IOException, SolrServerException {
+        File[] files = spillDirectory.listFiles((dir, name) -> name.startsWith(SPILL_PREFIX)
+            && name.endsWith(SPILL_SUFFIX));
+        if (files == null || files.length == 0) {
+            return 0;
+        }
+        Arrays.sort(files);
+        Path path = files[0].toPath();
+        List<SolrInputDocument> documents = new ArrayList<>();
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(path));
+             JavaBinCodec codec = new JavaBinCodec()) {
+            for (Object document : (List<?>) codec.unmarshal(in)) {
+                documents.add((SolrInputDocument) document);
+            }
+        }
+        try {
+            // the file is kept if Solr is unavailable
+            write(documents);
+        } catch (SolrException e) {
+            if (e.code() < 400 || e.code() >= 500) {
+                throw e;
+            }
+            // rejected for good, sending the documents again would block the replay of the next files
+            Path failed = path.resolveSibling(path.getFileName() + FAILED_SUFFIX);
+            Files.move(path, failed, StandardCopyOption.REPLACE_EXISTING);
+            log.error("Solr rejected {} spilled usage events, moved them to {}", documents.size(), failed, e);
+            return 0;
+        }
+        Files.delete(path);
+        return documents.size();
+    }
+
+    /**
+     * @return the amount of documents waiting in the buffer
+     */
+    public int getBufferSize() {
+        return buffer.size();
+    }
+
+    /**
+     * @return the maximum amount of documents in the buffer
+     */
+    public int getBufferLimit() {
+        return buffer.size() + buffer.remainingCapacity();
+    }
+
+    /**
+     * @return the amount of documents sent to Solr
+     */
+    public long getWrittenCount() {
+        return writtenCount.get();
+    }
+
+    /**
+     * @return the amount of documents spilled to disk because the buffer was full or Solr was unavailable
+     */
+    public long getSpilledCount() {
+        return spilledCount.get();
+    }
+
+    /**
+     * @return the amount of documents dropped because the buffer was full or Solr was unavailable
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+}
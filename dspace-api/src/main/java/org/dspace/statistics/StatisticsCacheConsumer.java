@@ -0,0 +1,101 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import org.dspace.content.Bitstream;
+import org.dspace.content.Bundle;
+import org.dspace.content.DSpaceObject;
+import org.dspace.core.Constants;
+import org.dspace.core.Context;
+import org.dspace.event.Consumer;
+import org.dspace.event.Event;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+/**
+ * Consumer removing stale entries from the caches used when logging usage events (see
+ * {@link SolrLoggerServiceImpl#PARENTS_CACHE} and {@link SolrLoggerServiceImpl#ADMINS_CACHE}):
+ * <ul>
+ * <li>the owning objects of collections, communities, items and bitstreams which are added to or removed from a
+ * community, collection or bundle; the objects below them find their owning objects through them, so they are kept</li>
+ * <li>the bundle names of the bitstreams of renamed bundles</li>
+ * <li>all administrator flags when group memberships change</li>
+ * </ul>
+ * Its filters should be limited to these events, e.g.
+ * {@code Community|Collection|Bundle+Add|Remove:Bundle+Modify_Metadata:Group+Add|Remove|Delete:EPerson+Delete}.
+ */
+public class StatisticsCacheConsumer implements Consumer {
+
+    private final Set<UUID> parentsToEvict = new HashSet<>();
+    private final Set<UUID> adminsToEvict = new HashSet<>();
+    private boolean clearAdmins = false;
+
+    @Override
+    public void initialize() throws Exception {
+    }
+
+    @Override
+    public void consume(Context ctx, Event event) throws Exception {
+        int subjectType = event.getSubjectType();
+        int eventType = event.getEventType();
+
+        if (subjectType == Constants.GROUP) {
+            // memberships of nested groups may make anyone an administrator
+            clearAdmins = true;
+        } else if (subjectType == Constants.EPERSON) {
+            adminsToEvict.add(event.getSubjectID());
+        } else if (eventType == Event.ADD || eventType == Event.REMOVE) {
+            if (event.getObjectID() != null) {
+                parentsToEvict.add(event.getObjectID());
+            }
+        } else if (subjectType == Constants.BUNDLE && eventType == Event.MODIFY_METADATA) {
+            // a renamed bundle changes the bundle names of its bitstreams
+            DSpaceObject bundle = event.getSubject(ctx);
+            if (bundle instanceof Bundle) {
+                for (Bitstream bitstream : ((Bundle) bundle).getBitstreams()) {
+                    parentsToEvict.add(bitstream.getID());
+                }
+            }
+        }
+    }
+
+    @Override
+    public void end(Context ctx) throws Exception {
+        CacheManager cacheManager = DSpaceServicesFactory.getInstance().getServiceManager()
+                                                         .getServiceByName("cacheManager", CacheManager.class);
+        if (cacheManager != null) {
+            evict(cacheManager.getCache(SolrLoggerServiceImpl.PARENTS_CACHE), false, parentsToEvict);
+            evict(cacheManager.getCache(SolrLoggerServiceImpl.ADMINS_CACHE), clearAdmins, adminsToEvict);
+        }
+        clearAdmins = false;
+        parentsToEvict.clear();
+        adminsToEvict.clear();
+    }
+
+    private void evict(Cache cache, boolean clear, Set<UUID> ids) {
+        if (cache == null) {
+            return;
+        }
+        if (clear) {
+            cache.clear();
+        } else {
+            for (UUID id : ids) {
+                cache.evict(id);
+            }
+        }
+    }
+
+    @Override
+    public void finish(Context ctx) throws Exception {
+    }
+}
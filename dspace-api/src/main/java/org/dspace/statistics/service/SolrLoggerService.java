@@ -21,6 +21,7 @@ import org.dspace.content.DSpaceObject;
 import org.dspace.core.Context;
 import org.dspace.eperson.EPerson;
 import org.dspace.statistics.ObjectCount;
+import org.dspace.statistics.SolrStatisticsWriter;
 import org.dspace.usage.UsageWorkflowEvent;
 
 /**
@@ -52,7 +53,10 @@ public interface SolrLoggerService {
      * @param dspaceObject the object used.
      * @param request      the current request context.
      * @param currentUser  the current session's user.
+     * @deprecated use {@link #postView(Context, DSpaceObject, HttpServletRequest, EPerson, String)} with the
+     * context of the request
      */
+    @Deprecated
     public void postView(DSpaceObject dspaceObject, HttpServletRequest request,
                          EPerson currentUser);
 
@@ -63,10 +67,26 @@ public interface SolrLoggerService {
      * @param request      the current request context.
      * @param currentUser  the current session's user.
      * @param referrer     the optional referrer.
+     * @deprecated use {@link #postView(Context, DSpaceObject, HttpServletRequest, EPerson, String)} with the
+     * context of the request
      */
+    @Deprecated
     public void postView(DSpaceObject dspaceObject, HttpServletRequest request,
                          EPerson currentUser, String referrer);
 
+    /**
+     * Store a usage event into Solr, using the context of the request to check whether the current user is an
+     * administrator, whose views aren't stored.
+     *
+     * @param context      the context of the request.
+     * @param dspaceObject the object used.
+     * @param request      the current request context.
+     * @param currentUser  the current session's user.
+     * @param referrer     the optional referrer.
+     */
+    public void postView(Context context, DSpaceObject dspaceObject, HttpServletRequest request,
+                         EPerson currentUser, String referrer);
+
     public void postView(DSpaceObject dspaceObject,
                          String ip, String userAgent, String xforwardedfor, EPerson currentUser);
 
@@ -78,6 +98,14 @@ public interface SolrLoggerService {
 
     public void postWorkflow(UsageWorkflowEvent usageWorkflowEvent) throws SQLException;
 
+    /**
+     * Get the writer sending usage events to Solr in the background, e.g. to monitor its buffer.
+     *
+     * @return the asynchronous writer, or null if usage events are written synchronously
+     *         (solr-statistics.async.enabled is not set)
+     */
+    public SolrStatisticsWriter getStatisticsWriter();
+
     /**
      * Method just used to log the parents.
      * <ul>
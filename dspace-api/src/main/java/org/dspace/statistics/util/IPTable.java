@@ -9,128 +9,236 @@ package org.dspace.statistics.util;
 
 import java.net.InetAddress;
 import java.net.UnknownHostException;
+import java.util.Arrays;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.Set;
+import java.util.StringJoiner;
 
 import org.apache.commons.lang3.StringUtils;
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
 
 /**
- * A Spare v4 IPTable implementation that uses nested HashMaps
- * to optimize IP address matching over ranges of IP addresses.
+ * A table of IPv4 and IPv6 address ranges, optimized for checking whether an address falls in any of them.
+ * <p>
+ * The ranges are kept in sorted arrays of primitive longs, in which overlapping and adjacent ranges are merged,
+ * so a lookup is a binary search. An IPv4 range takes a single long (the lowest address in the upper half, the
+ * highest in the lower half), an IPv6 range four longs. Addresses are parsed directly, without
+ * {@link InetAddress}, so looking up an IPv4 address neither resolves nor allocates anything.
  *
  * @author mdiggory at atmire.com
  */
 public class IPTable {
-    private static final Logger log = LogManager.getLogger(IPTable.class);
 
-    /* A lookup tree for IP addresses and SubnetRanges */
-    private final Set<IPRange> ipRanges = new HashSet<>();
+    private static final long[] EMPTY = new long[0];
 
-    /**
-     * Internal class representing an IP range
-     */
-    static class IPRange {
+    /** Number of longs per IPv6 range: the high and low half of the lowest and of the highest address */
+    private static final int V6_STRIDE = 4;
 
-        /* Lowest address in the range */
-        private final long ipLo;
+    /** Upper 96 bits of an IPv4-mapped IPv6 address (::ffff:0:0/96), in the low half */
+    private static final long V4_MAPPED = 0xffffL << 32;
 
-        /* Highest address in the range */
-        private final long ipHi;
+    /** Maximum number of addresses listed by toSet(), as a single IPv6 range may hold billions of them */
+    static final int TO_SET_LIMIT = 1 << 20;
 
-        IPRange(long ipLo, long ipHi) {
-            this.ipLo = ipLo;
-            this.ipHi = ipHi;
-        }
+    /* Ranges as added, sorted and merged by compact(). Only modified while synchronized on this table */
+    private long[] v4 = EMPTY;
+    private int v4Count = 0;
+    private long[] v6 = EMPTY;
+    private int v6Count = 0;
 
-        /**
-         * Get the lowest address in the range
-         * @return  the lowest address as a long integer
-         */
-        public long getIpLo() {
-            return ipLo;
-        }
+    /* Whether ranges were added since the last compact() */
+    private volatile boolean dirty = false;
 
-        /**
-         * Get the highest address in the range
-         * @return  the highest address as a long integer
-         */
-        public long getIpHi() {
-            return ipHi;
-        }
-    }
+    /* Sorted, merged ranges used for lookups. Never modified once published */
+    private volatile long[] v4Index = EMPTY;
+    private volatile long[] v6Index = EMPTY;
 
     /**
-     * Can be full v4 IP, subnet or range string.
+     * Can be full IP, subnet or range string.
      * <ul>
-     *   <li>A full address is a complete dotted-quad:  {@code "1.2.3.4".}
+     *   <li>A full address is a complete IPv4 dotted-quad, {@code "1.2.3.4"}, or IPv6 address,
+     *       {@code "2001:db8::1"}.
      *   <li>A subnet is a dotted-triplet:  {@code "1.2.3"}.  It means an entire
-     *       Class C subnet:  "1.2.3.0-1.2.3.255".
-     *   <li>A range is two dotted-quad addresses separated by hyphen:
-     *       {@code "1.2.3.4-1.2.3.14"}.  Only the final octet may be different.
+     *       Class C subnet:  "1.2.3.0-1.2.3.255". Dotted-pairs and single numbers mean Class B
+     *       and A subnets.
+     *   <li>A CIDR block is an address followed by the prefix length: {@code "172.16.0.0/12"},
+     *       {@code "2001:db8::/32"}.
+     *   <li>A range is two addresses of the same family separated by hyphen:
+     *       {@code "1.2.3.4-1.2.3.14"}.
      * </ul>
      *
-     * Any attempt at CIDR notation is ignored.
-     *
      * @param ip IP address(es)
      * @throws IPFormatException Exception Class to deal with IPFormat errors.
      */
     public void add(String ip) throws IPFormatException {
-
-        String start;
-
-        String end;
+        long[] lo = new long[2];
+        long[] hi = new long[2];
 
         String[] range = ip.split("-");
 
         if (range.length == 2) {
+            String start = range[0].trim();
+            String end = range[1].trim();
+            boolean v4Lo = parse(start, lo);
+            boolean v4Hi = parse(end, hi);
+            if (v4Lo != v4Hi || compare(lo, hi) > 0) {
+                throw new IPFormatException(ip + " - Range format should be similar to 1.2.3.0-1.2.3.255");
+            }
+            add(lo, hi, v4Lo);
+            return;
+        }
 
-            start = range[0].trim();
-            end = range[1].trim();
+        ip = ip.trim();
+        // Convert implicit IPv4 ranges to netmask format
+        //  192       -> 192.0.0.0/8
+        //  192.168   -> 192.168.0.0/16
+        //  192.168.1 -> 192.168.1.0/24
+        int periods = StringUtils.countMatches(ip, '.');
+        if (periods < 3 && !ip.contains(":") && !ip.contains("/")) {
+            ip = StringUtils.join(ip, StringUtils.repeat(".0", 4 - periods - 1), "/", (periods + 1) * 8);
+        }
 
+        if (ip.contains("/")) {
+            String[] parts = ip.split("/");
+            boolean isV4;
+            int prefix;
             try {
-                long ipLo = ipToLong(InetAddress.getByName(start));
-                long ipHi = ipToLong(InetAddress.getByName(end));
-                ipRanges.add(new IPRange(ipLo, ipHi));
-                return;
-            } catch (UnknownHostException e) {
-                throw new IPFormatException(ip + " - Range format should be similar to 1.2.3.0-1.2.3.255");
+                isV4 = parse(parts[0], lo);
+                prefix = Integer.parseInt(parts[1]);
+            } catch (IPFormatException | NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                throw new IPFormatException(ip + " - Range format should be similar to 172.16.0.0/12");
             }
+            if (parts.length != 2 || prefix < 0 || prefix > (isV4 ? 32 : 128)) {
+                throw new IPFormatException(ip + " - Range format should be similar to 172.16.0.0/12");
+            }
+            // an IPv4 address is the last 32 bits of a 128 bit address
+            long highMask = mask(prefix + (isV4 ? 96 : 0));
+            long lowMask = mask(prefix + (isV4 ? 32 : -64));
+            hi[0] = lo[0] | ~highMask;
+            hi[1] = lo[1] | ~lowMask;
+            lo[0] &= highMask;
+            lo[1] &= lowMask;
+            if (isV4) {
+                hi[0] = 0;
+                hi[1] &= 0xffffffffL;
+            }
+            add(lo, hi, isV4);
+        } else {
+            boolean isV4;
+            try {
+                isV4 = parse(ip, lo);
+            } catch (IPFormatException e) {
+                throw new IPFormatException(ip + " - IP address format should be similar to 1.2.3.14");
+            }
+            add(lo, lo, isV4);
+        }
+    }
 
+    /**
+     * @return a mask of the given number of leading one bits of a 64 bit half, counted from the start of that half
+     */
+    private static long mask(int bits) {
+        if (bits <= 0) {
+            return 0;
+        }
+        return bits >= 64 ? -1L : -1L << (64 - bits);
+    }
+
+    private synchronized void add(long[] lo, long[] hi, boolean isV4) {
+        if (!isV4 && isV4Mapped(lo) && isV4Mapped(hi)) {
+            isV4 = true;
+        }
+        if (isV4) {
+            if (v4Count == v4.length) {
+                v4 = Arrays.copyOf(v4, Math.max(16, v4Count * 2));
+            }
+            v4[v4Count++] = pack(lo[1] & 0xffffffffL, hi[1] & 0xffffffffL);
         } else {
-            // Convert implicit ranges to netmask format
-            //  192       -> 192.0.0.0/8
-            //  192.168   -> 192.168.0.0/16
-            //  192.168.1 -> 192.168.1.0/24
-            int periods = StringUtils.countMatches(ip, '.');
-            if (periods < 3) {
-                ip = StringUtils.join(ip, StringUtils.repeat(".0", 4 - periods - 1), "/", (periods + 1) * 8);
-            }
-
-            if (ip.contains("/")) {
-                String[] parts = ip.split("/");
-                try {
-                    long ipLong = ipToLong(InetAddress.getByName(parts[0]));
-                    long mask = (long) Math.pow(2, 32 - Integer.parseInt(parts[1]));
-                    long ipLo = (ipLong / mask) * mask;
-                    long ipHi = (( (ipLong / mask) + 1) * mask) - 1;
-                    ipRanges.add(new IPRange(ipLo, ipHi));
-                    return;
-                } catch (Exception e) {
-                    throw new IPFormatException(ip + " - Range format should be similar to 172.16.0.0/12");
-                }
+            if (v6Count == v6.length) {
+                v6 = Arrays.copyOf(v6, Math.max(16 * V6_STRIDE, v6Count * 2));
+            }
+            v6[v6Count++] = lo[0];
+            v6[v6Count++] = lo[1];
+            v6[v6Count++] = hi[0];
+            v6[v6Count++] = hi[1];
+        }
+        dirty = true;
+    }
+
+    /**
+     * Pack an IPv4 range into a long, which sorts by the lowest address when compared as a signed long.
+     */
+    private static long pack(long ipLo, long ipHi) {
+        return ((ipLo << 32) | ipHi) ^ Long.MIN_VALUE;
+    }
+
+    private static long unpackLo(long range) {
+        return (range ^ Long.MIN_VALUE) >>> 32;
+    }
+
+    private static long unpackHi(long range) {
+        return range & 0xffffffffL;
+    }
+
+    /**
+     * Sort and merge the ranges added since the last call, and publish them for lookups.
+     */
+    private synchronized void compact() {
+        if (!dirty) {
+            return;
+        }
+
+        long[] ranges = Arrays.copyOf(v4, v4Count);
+        Arrays.sort(ranges);
+        int merged = 0;
+        for (long range : ranges) {
+            if (merged > 0 && unpackLo(range) <= unpackHi(ranges[merged - 1]) + 1) {
+                long last = ranges[merged - 1];
+                ranges[merged - 1] = pack(unpackLo(last), Math.max(unpackHi(last), unpackHi(range)));
             } else {
-                try {
-                    long ipLo = ipToLong(InetAddress.getByName(ip));
-                    ipRanges.add(new IPRange(ipLo, ipLo));
-                    return;
-                } catch (UnknownHostException e) {
-                    throw new IPFormatException(ip + " - IP address format should be similar to 1.2.3.14");
+                ranges[merged++] = range;
+            }
+        }
+        v4 = Arrays.copyOf(ranges, merged);
+        v4Count = merged;
+
+        Integer[] order = new Integer[v6Count / V6_STRIDE];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i * V6_STRIDE;
+        }
+        Arrays.sort(order, (a, b) -> compare(v6[a], v6[a + 1], v6[b], v6[b + 1]));
+        long[] sorted = new long[v6Count];
+        merged = 0;
+        for (int i : order) {
+            if (merged > 0 && adjoins(sorted[merged - 2], sorted[merged - 1], v6[i], v6[i + 1])) {
+                if (compare(v6[i + 2], v6[i + 3], sorted[merged - 2], sorted[merged - 1]) > 0) {
+                    sorted[merged - 2] = v6[i + 2];
+                    sorted[merged - 1] = v6[i + 3];
                 }
+            } else {
+                System.arraycopy(v6, i, sorted, merged, V6_STRIDE);
+                merged += V6_STRIDE;
             }
         }
+        v6 = Arrays.copyOf(sorted, merged);
+        v6Count = merged;
+
+        // the arrays are full, so the next add() copies them instead of modifying the published ones
+        v4Index = v4;
+        v6Index = v6;
+        dirty = false;
+    }
+
+    /**
+     * @return true if the address following the highest address of one range is not below the lowest address of
+     *         the next range
+     */
+    private static boolean adjoins(long hiHigh, long hiLow, long loHigh, long loLow) {
+        if (hiHigh == -1L && hiLow == -1L) {
+            return true;
+        }
+        long nextLow = hiLow + 1;
+        long nextHigh = nextLow == 0 ? hiHigh + 1 : hiHigh;
+        return compare(loHigh, loLow, nextHigh, nextLow) <= 0;
     }
 
     /**
@@ -168,22 +276,254 @@ public class IPTable {
     /**
      * Check whether a given address is contained in this netblock.
      *
-     * @param ip the address to be tested
-     * @return true if {@code ip} is within this table's limits.  Returns false
-     *         if {@code ip} looks like an IPv6 address.
+     * @param ip the address to be tested. IPv4-mapped IPv6 addresses are looked up as IPv4 addresses.
+     * @return true if {@code ip} is within this table's limits.
      * @throws IPFormatException Exception Class to deal with IPFormat errors.
      */
     public boolean contains(String ip) throws IPFormatException {
         if (null == ip) {
             throw new IPFormatException("Address may not be null");
         }
+        if (dirty) {
+            compact();
+        }
 
+        int start = 0;
+        int end = ip.length();
+        while (start < end && Character.isWhitespace(ip.charAt(start))) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(ip.charAt(end - 1))) {
+            end--;
+        }
+
+        long v4Address = parseIPv4(ip, start, end);
+        if (v4Address >= 0) {
+            return containsV4(v4Address);
+        }
+
+        long[] address = new long[2];
+        if (!parseIPv6(ip, start, end, address)) {
+            throw new IPFormatException("ip not valid");
+        }
+        if (isV4Mapped(address)) {
+            return containsV4(address[1] & 0xffffffffL);
+        }
+        return containsV6(address[0], address[1]);
+    }
+
+    private boolean containsV4(long address) {
+        long[] ranges = v4Index;
+        // the last range starting at or below the address
+        int index = Arrays.binarySearch(ranges, pack(address, 0xffffffffL));
+        if (index < 0) {
+            index = -index - 2;
+        }
+        return index >= 0 && unpackHi(ranges[index]) >= address;
+    }
+
+    private boolean containsV6(long high, long low) {
+        long[] ranges = v6Index;
+        // the last range starting at or below the address
+        int lower = 0;
+        int upper = ranges.length / V6_STRIDE - 1;
+        int found = -1;
+        while (lower <= upper) {
+            int middle = (lower + upper) >>> 1;
+            int offset = middle * V6_STRIDE;
+            if (compare(ranges[offset], ranges[offset + 1], high, low) <= 0) {
+                found = offset;
+                lower = middle + 1;
+            } else {
+                upper = middle - 1;
+            }
+        }
+        return found >= 0 && compare(ranges[found + 2], ranges[found + 3], high, low) >= 0;
+    }
+
+    /**
+     * Parse an IPv4 or IPv6 address.
+     *
+     * @param ip      the address
+     * @param address receives the address as 128 bit number: high half, low half. An IPv4 address is in the
+     *                lowest 32 bits.
+     * @return true for an IPv4 address, false for an IPv6 address
+     * @throws IPFormatException if the string is neither
+     */
+    private static boolean parse(String ip, long[] address) throws IPFormatException {
+        String trimmed = ip.trim();
+        long v4Address = parseIPv4(trimmed, 0, trimmed.length());
+        if (v4Address >= 0) {
+            address[0] = 0;
+            address[1] = v4Address;
+            return true;
+        }
+        if (parseIPv6(trimmed, 0, trimmed.length(), address)) {
+            return false;
+        }
+        throw new IPFormatException(ip + " - IP address format should be similar to 1.2.3.14 or 2001:db8::1");
+    }
+
+    /**
+     * @return the dotted-quad IPv4 address between start and end, or -1 if it isn't one
+     */
+    private static long parseIPv4(String ip, int start, int end) {
+        long address = 0;
+        int octets = 0;
+        int i = start;
+        while (i <= end) {
+            int digits = 0;
+            int octet = 0;
+            while (i < end && ip.charAt(i) >= '0' && ip.charAt(i) <= '9' && digits < 3) {
+                octet = octet * 10 + ip.charAt(i) - '0';
+                digits++;
+                i++;
+            }
+            if (digits == 0 || octet > 255 || ++octets > 4) {
+                return -1;
+            }
+            address = (address << 8) | octet;
+            if (i == end) {
+                break;
+            }
+            if (ip.charAt(i) != '.') {
+                return -1;
+            }
+            i++;
+        }
+        return octets == 4 ? address : -1;
+    }
+
+    /**
+     * Parse the IPv6 address between start and end. Surrounding brackets, a zone index and a trailing dotted-quad
+     * IPv4 address are accepted.
+     *
+     * @param address receives the high and the low half of the address
+     * @return false if it isn't an IPv6 address
+     */
+    private static boolean parseIPv6(String ip, int start, int end, long[] address) {
+        if (end - start > 1 && ip.charAt(start) == '[' && ip.charAt(end - 1) == ']') {
+            start++;
+            end--;
+        }
+        int zone = ip.indexOf('%', start);
+        if (zone >= 0 && zone < end) {
+            end = zone;
+        }
+        if (end - start < 2) {
+            return false;
+        }
+
+        // the groups before and after "::", each as a 128 bit number
+        long headHigh = 0;
+        long headLow = 0;
+        long tailHigh = 0;
+        long tailLow = 0;
+        int headGroups = 0;
+        int tailGroups = 0;
+        boolean compressed = false;
+
+        int i = start;
+        if (ip.charAt(i) == ':') {
+            if (ip.charAt(i + 1) != ':') {
+                return false;
+            }
+            compressed = true;
+            i += 2;
+        }
+        while (i < end) {
+            int segmentEnd = i;
+            long value = 0;
+            while (segmentEnd < end && Character.digit(ip.charAt(segmentEnd), 16) >= 0 && segmentEnd - i < 4) {
+                value = (value << 4) | Character.digit(ip.charAt(segmentEnd), 16);
+                segmentEnd++;
+            }
+            int groups = 1;
+            if (segmentEnd < end && ip.charAt(segmentEnd) == '.') {
+                // an IPv4 address in the last 32 bits
+                value = parseIPv4(ip, i, end);
+                if (value < 0) {
+                    return false;
+                }
+                groups = 2;
+                segmentEnd = end;
+            } else if (segmentEnd == i) {
+                return false;
+            }
+
+            if (compressed) {
+                tailHigh = (tailHigh << (16 * groups)) | (tailLow >>> (64 - 16 * groups));
+                tailLow = (tailLow << (16 * groups)) | value;
+                tailGroups += groups;
+            } else {
+                headHigh = (headHigh << (16 * groups)) | (headLow >>> (64 - 16 * groups));
+                headLow = (headLow << (16 * groups)) | value;
+                headGroups += groups;
+            }
+            if (headGroups + tailGroups > 8) {
+                return false;
+            }
+
+            i = segmentEnd;
+            if (i == end) {
+                break;
+            }
+            if (ip.charAt(i) != ':' || ++i == end) {
+                return false;
+            }
+            if (ip.charAt(i) == ':') {
+                if (compressed) {
+                    return false;
+                }
+                compressed = true;
+                i++;
+            }
+        }
+
+        if (compressed ? headGroups + tailGroups > 7 : headGroups != 8) {
+            return false;
+        }
+        // move the head groups to the start of the address
+        int shift = 16 * (8 - headGroups);
+        if (shift >= 128) {
+            headHigh = 0;
+            headLow = 0;
+        } else if (shift >= 64) {
+            headHigh = headLow << (shift - 64);
+            headLow = 0;
+        } else if (shift > 0) {
+            headHigh = (headHigh << shift) | (headLow >>> (64 - shift));
+            headLow <<= shift;
+        }
+        address[0] = headHigh | tailHigh;
+        address[1] = headLow | tailLow;
+        return true;
+    }
+
+    private static boolean isV4Mapped(long[] address) {
+        return address[0] == 0 && (address[1] & 0xffffffff00000000L) == V4_MAPPED;
+    }
+
+    private static int compare(long[] a, long[] b) {
+        return compare(a[0], a[1], b[0], b[1]);
+    }
+
+    private static int compare(long aHigh, long aLow, long bHigh, long bLow) {
+        int result = Long.compareUnsigned(aHigh, bHigh);
+        return result != 0 ? result : Long.compareUnsigned(aLow, bLow);
+    }
+
+    private static String v6ToIp(long high, long low) {
+        byte[] bytes = new byte[16];
+        for (int i = 0; i < 8; i++) {
+            bytes[i] = (byte) (high >>> (56 - 8 * i));
+            bytes[i + 8] = (byte) (low >>> (56 - 8 * i));
+        }
         try {
-            long ipToTest = ipToLong(InetAddress.getByName(ip));
-            return ipRanges.stream()
-                    .anyMatch(ipRange -> (ipToTest >= ipRange.getIpLo() && ipToTest <= ipRange.getIpHi()));
+            return InetAddress.getByAddress(bytes).getHostAddress();
         } catch (UnknownHostException e) {
-            throw new IPFormatException("ip not valid");
+            // only thrown for byte arrays of an illegal length
+            throw new IllegalStateException(e);
         }
     }
 
@@ -191,29 +531,50 @@ public class IPTable {
      * Convert to a Set. This set contains all IPs in the range
      *
      * @return this table's content as a Set
+     * @throws IllegalStateException if the table holds more than {@link #TO_SET_LIMIT} addresses
      */
     public Set<String> toSet() {
+        compact();
         HashSet<String> set = new HashSet<>();
 
-        Iterator<IPRange> ipRangeIterator = ipRanges.iterator();
-        while (ipRangeIterator.hasNext()) {
-            IPRange ipRange = ipRangeIterator.next();
-            long ipLo = ipRange.getIpLo();
-            long ipHi = ipRange.getIpHi();
-            for (long ip = ipLo; ip <= ipHi; ip++) {
-                set.add(longToIp(ip));
+        for (long range : v4Index) {
+            for (long ip = unpackLo(range); ip <= unpackHi(range); ip++) {
+                addToSet(set, longToIp(ip));
+            }
+        }
+
+        long[] ranges = v6Index;
+        for (int i = 0; i < ranges.length; i += V6_STRIDE) {
+            long high = ranges[i];
+            long low = ranges[i + 1];
+            while (true) {
+                addToSet(set, v6ToIp(high, low));
+                if (high == ranges[i + 2] && low == ranges[i + 3]) {
+                    break;
+                }
+                low++;
+                if (low == 0) {
+                    high++;
+                }
             }
         }
 
         return set;
     }
 
+    private static void addToSet(Set<String> set, String ip) {
+        if (set.size() >= TO_SET_LIMIT) {
+            throw new IllegalStateException("IP table holds more than " + TO_SET_LIMIT + " addresses");
+        }
+        set.add(ip);
+    }
+
     /**
      * Return whether IPTable is empty (having no entries)
      * @return true if empty, false otherwise
      */
-    public boolean isEmpty() {
-        return ipRanges.isEmpty();
+    public synchronized boolean isEmpty() {
+        return v4Count == 0 && v6Count == 0;
     }
 
     /**
@@ -231,17 +592,15 @@ public class IPTable {
      */
     @Override
     public String toString() {
-        StringBuilder stringBuilder = new StringBuilder();
-        Iterator<IPRange> ipRangeIterator = ipRanges.iterator();
-        while (ipRangeIterator.hasNext()) {
-            IPRange ipRange = ipRangeIterator.next();
-            stringBuilder.append(longToIp(ipRange.getIpLo()))
-                    .append("-")
-                    .append(longToIp(ipRange.getIpHi()));
-            if (ipRangeIterator.hasNext()) {
-                stringBuilder.append(", ");
-            }
-        }
-        return stringBuilder.toString();
+        compact();
+        StringJoiner joiner = new StringJoiner(", ");
+        for (long range : v4Index) {
+            joiner.add(longToIp(unpackLo(range)) + "-" + longToIp(unpackHi(range)));
+        }
+        long[] ranges = v6Index;
+        for (int i = 0; i < ranges.length; i += V6_STRIDE) {
+            joiner.add(v6ToIp(ranges[i], ranges[i + 1]) + "-" + v6ToIp(ranges[i + 2], ranges[i + 3]));
+        }
+        return joiner.toString();
     }
 }
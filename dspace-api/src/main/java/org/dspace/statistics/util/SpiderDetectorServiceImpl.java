@@ -12,7 +12,6 @@ import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -44,11 +43,14 @@ public class SpiderDetectorServiceImpl implements SpiderDetectorService {
 
     private Boolean useCaseInsensitiveMatching;
 
-    private final List<Pattern> agents
-        = Collections.synchronizedList(new ArrayList<>());
+    /**
+     * Default number of User-Agents and host names whose verdict is cached.
+     */
+    private static final int DEFAULT_CACHE_SIZE = 1000;
+
+    private volatile SpiderPatternMatcher agents;
 
-    private final List<Pattern> domains
-        = Collections.synchronizedList(new ArrayList<>());
+    private volatile SpiderPatternMatcher domains;
 
     private final ConfigurationService configurationService;
     private final ClientInfoService clientInfoService;
@@ -56,7 +58,7 @@ public class SpiderDetectorServiceImpl implements SpiderDetectorService {
     /**
      * Sparse HashTable structure to hold IP address ranges.
      */
-    private IPTable table = null;
+    private volatile IPTable table = null;
 
     @Autowired(required = true)
     public SpiderDetectorServiceImpl(ConfigurationService configurationService, ClientInfoService clientInfoService) {
@@ -77,10 +79,8 @@ public class SpiderDetectorServiceImpl implements SpiderDetectorService {
     public boolean isSpider(@NotNull String clientIP, String proxyIPs, String hostname, String agent) {
         // See if any agent patterns match
         if (null != agent) {
-            synchronized (agents) {
-                if (agents.isEmpty()) {
-                    loadPatterns("agents", agents);
-                }
+            if (agents == null || agents.size() == 0) {
+                agents = buildMatcher("agents");
             }
 
             if (isUseCaseInsensitiveMatching()) {
@@ -88,14 +88,8 @@ public class SpiderDetectorServiceImpl implements SpiderDetectorService {
                 hostname = StringUtils.lowerCase(hostname);
             }
 
-            for (Pattern candidate : agents) {
-
-                // prevent matcher() invocation from a null Pattern object
-                if (null != candidate && candidate.matcher(agent).find()) {
-                    return true;
-                }
-
-
+            if (agents.matches(agent)) {
+                return true;
             }
         }
 
@@ -115,16 +109,11 @@ public class SpiderDetectorServiceImpl implements SpiderDetectorService {
 
         // No.  See if any DNS names match
         if (null != hostname) {
-            synchronized (domains) {
-                if (domains.isEmpty()) {
-                    loadPatterns("domains", domains);
-                }
+            if (domains == null || domains.size() == 0) {
+                domains = buildMatcher("domains");
             }
-            for (Pattern candidate : domains) {
-                // prevent matcher() invocation from a null Pattern object
-                if (null != candidate && candidate.matcher(hostname).find()) {
-                    return true;
-                }
+            if (domains.matches(hostname)) {
+                return true;
             }
         }
 
@@ -160,16 +149,29 @@ public class SpiderDetectorServiceImpl implements SpiderDetectorService {
         return patterns;
     }
 
+    /**
+     * Build a matcher for the patterns from all files in a single subdirectory of config/spiders.
+     * The number of strings whose verdict is cached by the matcher is configured by
+     * {@code usage-statistics.bots.cache-size}.
+     *
+     * @param directory simple directory name (e.g. "agents").
+     * @return the matcher for the patterns read from the files in {@code directory}.
+     */
+    private synchronized SpiderPatternMatcher buildMatcher(String directory) {
+        int cacheSize = configurationService.getIntProperty("usage-statistics.bots.cache-size", DEFAULT_CACHE_SIZE);
+        return new SpiderPatternMatcher(loadPatterns(directory), cacheSize);
+    }
+
     /**
      * Load agent name patterns from all files in a single subdirectory of config/spiders.
      *
      * @param directory   simple directory name (e.g. "agents").
      *                    "${dspace.dir}/config/spiders" will be prepended to yield the path to
      *                    the directory of pattern files.
-     * @param patternList patterns read from the files in {@code directory} will
-     *                    be added to this List.
+     * @return patterns read from the files in {@code directory}.
      */
-    private void loadPatterns(String directory, List<Pattern> patternList) {
+    private List<Pattern> loadPatterns(String directory) {
+        List<Pattern> patternList = new ArrayList<>();
         String dspaceHome = configurationService.getProperty("dspace.dir");
         File spidersDir = new File(dspaceHome, "config/spiders");
         File patternsDir = new File(spidersDir, directory);
@@ -197,6 +199,7 @@ public class SpiderDetectorServiceImpl implements SpiderDetectorService {
         } else {
             log.info("No patterns loaded from {}", patternsDir::getPath);
         }
+        return patternList;
     }
 
     @Override
@@ -229,7 +232,8 @@ public class SpiderDetectorServiceImpl implements SpiderDetectorService {
     public synchronized void loadSpiderIpAddresses() {
 
         if (table == null) {
-            table = new IPTable();
+            // only publish the table once it is complete
+            IPTable ipTable = new IPTable();
 
             String filePath = configurationService.getProperty("dspace.dir");
 
@@ -241,7 +245,7 @@ public class SpiderDetectorServiceImpl implements SpiderDetectorService {
                         if (file.isFile()) {
                             for (String ip : readPatterns(file)) {
                                 log.debug("Loading {}", ip);
-                                if (!Character.isDigit(ip.charAt(0))) {
+                                if (!Character.isDigit(ip.charAt(0)) && !ip.contains(":")) {
                                     try {
                                         ip = DnsLookup.forward(ip);
                                         log.debug("Resolved to {}", ip);
@@ -250,7 +254,7 @@ public class SpiderDetectorServiceImpl implements SpiderDetectorService {
                                         continue;
                                     }
                                 }
-                                table.add(ip);
+                                ipTable.add(ip);
                             }
                             log.info("Loaded Spider IP file: " + file);
                         }
@@ -261,6 +265,7 @@ public class SpiderDetectorServiceImpl implements SpiderDetectorService {
             } catch (IOException | IPTable.IPFormatException e) {
                 log.error("Error Loading Spiders:" + e.getMessage(), e);
             }
+            table = ipTable;
 
         }
 
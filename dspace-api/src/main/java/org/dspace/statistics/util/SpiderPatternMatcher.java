@@ -0,0 +1,365 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.regex.Pattern;
+
+/**
+ * Matches a string against a set of spider patterns (User-Agent or domain name regular expressions) in a single
+ * pass, instead of evaluating every pattern in turn.
+ * <p>
+ * For each pattern, the longest literal substring which every match must contain is extracted. All these literals
+ * are compiled into an Aho-Corasick automaton, so a single scan of the string finds the patterns which can possibly
+ * match. Only those candidates, and the patterns without a usable literal (e.g. {@code ^.?$}), are evaluated as
+ * regular expressions. The verdicts for recently seen strings are kept in a bounded LRU cache, as the same
+ * User-Agents and host names come back again and again.
+ */
+public class SpiderPatternMatcher {
+
+    /** Literals shorter than this don't filter anything, their patterns are always evaluated */
+    private static final int MIN_LITERAL_LENGTH = 2;
+
+    private final List<Pattern> patterns;
+
+    /** Patterns which have to be evaluated for every string */
+    private final int[] unfiltered;
+
+    /** Aho-Corasick automaton: transitions, failure links and the patterns whose literal ends in each state */
+    private final List<Map<Character, Integer>> transitions = new ArrayList<>();
+    private final List<Integer> failures = new ArrayList<>();
+    private final List<int[]> outputs = new ArrayList<>();
+
+    private final Map<String, Boolean> verdicts;
+
+    /**
+     * @param patterns  the spider patterns, null entries are ignored
+     * @param cacheSize the maximum number of strings whose verdict is cached, 0 disables the cache
+     */
+    public SpiderPatternMatcher(Collection<Pattern> patterns, int cacheSize) {
+        this.patterns = new ArrayList<>();
+        for (Pattern pattern : patterns) {
+            if (pattern != null) {
+                this.patterns.add(pattern);
+            }
+        }
+        this.verdicts = cacheSize > 0 ? Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > cacheSize;
+            }
+        }) : null;
+
+        newState();
+        List<Integer> withoutLiteral = new ArrayList<>();
+        List<List<Integer>> stateOutputs = new ArrayList<>();
+        stateOutputs.add(new ArrayList<>());
+        for (int i = 0; i < this.patterns.size(); i++) {
+            String literal = getRequiredLiteral(this.patterns.get(i));
+            if (literal == null || literal.length() < MIN_LITERAL_LENGTH) {
+                withoutLiteral.add(i);
+                continue;
+            }
+            int state = 0;
+            for (char c : literal.toCharArray()) {
+                Integer next = transitions.get(state).get(c);
+                if (next == null) {
+                    next = newState();
+                    stateOutputs.add(new ArrayList<>());
+                    transitions.get(state).put(c, next);
+                }
+                state = next;
+            }
+            stateOutputs.get(state).add(i);
+        }
+        unfiltered = withoutLiteral.stream().mapToInt(Integer::intValue).toArray();
+        buildFailureLinks(stateOutputs);
+    }
+
+    private int newState() {
+        transitions.add(new HashMap<>());
+        failures.add(0);
+        outputs.add(new int[0]);
+        return transitions.size() - 1;
+    }
+
+    private void buildFailureLinks(List<List<Integer>> stateOutputs) {
+        // breadth first, so the failure state of a state is complete before the state itself is visited
+        Queue<Integer> queue = new ArrayDeque<>();
+        outputs.set(0, toArray(stateOutputs.get(0)));
+        for (int child : transitions.get(0).values()) {
+            failures.set(child, 0);
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.remove();
+            List<Integer> output = new ArrayList<>(stateOutputs.get(state));
+            for (int inherited : outputs.get(failures.get(state))) {
+                output.add(inherited);
+            }
+            outputs.set(state, toArray(output));
+            for (Map.Entry<Character, Integer> transition : transitions.get(state).entrySet()) {
+                int child = transition.getValue();
+                failures.set(child, next(failures.get(state), transition.getKey()));
+                queue.add(child);
+            }
+        }
+    }
+
+    private int next(int state, char c) {
+        while (true) {
+            Integer next = transitions.get(state).get(c);
+            if (next != null) {
+                return next;
+            }
+            if (state == 0) {
+                return 0;
+            }
+            state = failures.get(state);
+        }
+    }
+
+    private static int[] toArray(List<Integer> list) {
+        return list.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Check whether any of the patterns is found in the given string, as {@link java.util.regex.Matcher#find()}
+     * does.
+     *
+     * @param text the User-Agent or host name
+     * @return true if any pattern matches
+     */
+    public boolean matches(String text) {
+        if (verdicts == null) {
+            return evaluate(text);
+        }
+        Boolean verdict = verdicts.get(text);
+        if (verdict == null) {
+            verdict = evaluate(text);
+            verdicts.put(text, verdict);
+        }
+        return verdict;
+    }
+
+    private boolean evaluate(String text) {
+        for (int i : unfiltered) {
+            if (patterns.get(i).matcher(text).find()) {
+                return true;
+            }
+        }
+        BitSet evaluated = new BitSet(patterns.size());
+        int state = 0;
+        for (int position = 0; position < text.length(); position++) {
+            state = next(state, text.charAt(position));
+            for (int i : outputs.get(state)) {
+                if (!evaluated.get(i)) {
+                    evaluated.set(i);
+                    if (patterns.get(i).matcher(text).find()) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the number of patterns
+     */
+    public int size() {
+        return patterns.size();
+    }
+
+    /**
+     * Determine the longest literal string which occurs in every match of the given pattern. The pattern is parsed
+     * conservatively: anything which isn't a plain character (classes, groups, escapes like {@code \d}) ends the
+     * current literal, and an optional character (followed by {@code ?}, {@code *} or <code>{0,n}</code>) is
+     * dropped from it. Patterns with top level alternatives, flags or quoting have no required literal.
+     *
+     * @param pattern the regular expression
+     * @return the literal, or null if none could be determined
+     */
+    static String getRequiredLiteral(Pattern pattern) {
+        if (pattern.flags() != 0) {
+            return null;
+        }
+        String regex = pattern.pattern();
+        String longest = "";
+        StringBuilder current = new StringBuilder();
+        int i = 0;
+        while (i < regex.length()) {
+            char c = regex.charAt(i);
+            // the length of the atom starting at i, and whether it is a literal character
+            int atomLength = 1;
+            boolean literal = false;
+            switch (c) {
+                case '|':
+                    // one of several alternatives has to match, none of them is required
+                    return null;
+                case '\\':
+                    if (i + 1 >= regex.length()) {
+                        return null;
+                    }
+                    char escaped = regex.charAt(i + 1);
+                    if (escaped == 'Q') {
+                        return null;
+                    }
+                    atomLength = 2;
+                    // escaped letters and digits are classes, anchors or back references
+                    literal = !Character.isLetterOrDigit(escaped);
+                    c = escaped;
+                    break;
+                case '[':
+                    atomLength = skipClass(regex, i);
+                    break;
+                case '(':
+                    if (regex.startsWith("(?", i) && !regex.startsWith("(?:", i)) {
+                        // flags and look-arounds change how the rest of the pattern is matched
+                        return null;
+                    }
+                    atomLength = skipGroup(regex, i);
+                    break;
+                case '.':
+                case '^':
+                case '$':
+                    break;
+                case '?':
+                case '*':
+                case '+':
+                case '{':
+                case ')':
+                case ']':
+                case '}':
+                    // quantifiers are handled with the atom they belong to
+                    return null;
+                default:
+                    literal = true;
+            }
+            if (atomLength < 0) {
+                return null;
+            }
+            i += atomLength;
+
+            // check for a quantifier
+            boolean optional = false;
+            boolean repeated = false;
+            if (i < regex.length()) {
+                char q = regex.charAt(i);
+                if (q == '?' || q == '*') {
+                    optional = true;
+                    i++;
+                } else if (q == '+') {
+                    repeated = true;
+                    i++;
+                } else if (q == '{') {
+                    int end = regex.indexOf('}', i);
+                    if (end < 0 || !regex.substring(i + 1, end).matches("\\d+(,\\d*)?")) {
+                        return null;
+                    }
+                    optional = regex.charAt(i + 1) == '0';
+                    repeated = true;
+                    i = end + 1;
+                }
+                // lazy and possessive quantifiers
+                if ((optional || repeated) && i < regex.length()
+                    && (regex.charAt(i) == '?' || regex.charAt(i) == '+')) {
+                    i++;
+                }
+            }
+
+            if (literal && !optional) {
+                current.append(c);
+            }
+            if (!literal || optional || repeated) {
+                if (current.length() > longest.length()) {
+                    longest = current.toString();
+                }
+                current.setLength(0);
+            }
+        }
+        if (current.length() > longest.length()) {
+            longest = current.toString();
+        }
+        return longest.isEmpty() ? null : longest;
+    }
+
+    /**
+     * @return the length of the character class starting at start, or -1 if it isn't closed
+     */
+    private static int skipClass(String regex, int start) {
+        int i = start + 1;
+        // a closing bracket right after the opening one (or after ^) is a literal
+        if (i < regex.length() && regex.charAt(i) == '^') {
+            i++;
+        }
+        if (i < regex.length() && regex.charAt(i) == ']') {
+            i++;
+        }
+        int depth = 1;
+        while (i < regex.length()) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                i += 2;
+                continue;
+            }
+            if (c == '[') {
+                depth++;
+            } else if (c == ']') {
+                depth--;
+                if (depth == 0) {
+                    return i + 1 - start;
+                }
+            }
+            i++;
+        }
+        return -1;
+    }
+
+    /**
+     * @return the length of the group starting at start, or -1 if it isn't closed
+     */
+    private static int skipGroup(String regex, int start) {
+        int depth = 0;
+        int i = start;
+        while (i < regex.length()) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                i += 2;
+                continue;
+            }
+            if (c == '[') {
+                int length = skipClass(regex, i);
+                if (length < 0) {
+                    return -1;
+                }
+                i += length;
+                continue;
+            }
+            if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+                if (depth == 0) {
+                    return i + 1 - start;
+                }
+            }
+            i++;
+        }
+        return -1;
+    }
+}
@@ -7,11 +7,14 @@
  */
 package org.dspace.storage.bitstore;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.BoundedInputStream;
 import org.dspace.content.Bitstream;
 
 /**
@@ -45,6 +48,41 @@ public interface BitStoreService {
      */
     public InputStream get(Bitstream bitstream) throws IOException;
 
+    /**
+     * Retrieve a range of the bits for bitstream, e.g. to answer an HTTP Range request.
+     * The default implementation skips the bytes before the offset of the complete stream. Stores
+     * able to seek or to request a byte range should override it.
+     *
+     * @param bitstream DSpace Bitstream object
+     * @param offset    the position of the first byte to return
+     * @param length    the maximum amount of bytes to return
+     * @return The stream of bits, starting at the given offset
+     * @throws java.io.IOException If a problem occurs while retrieving the bits, or if no
+     *                             asset with ID exists in the store
+     */
+    public default InputStream get(Bitstream bitstream, long offset, long length) throws IOException {
+        InputStream in = get(bitstream);
+        try {
+            IOUtils.skipFully(in, offset);
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+        return BoundedInputStream.builder().setInputStream(in).setMaxCount(length).get();
+    }
+
+    /**
+     * Get the file holding the bits for bitstream, if this store keeps them on a local file system. This allows
+     * callers to hand the file to the operating system, e.g. to send it without copying it through the heap.
+     *
+     * @param bitstream DSpace Bitstream object
+     * @return The file holding the bits, or null if the bits are not available as a local file
+     * @throws java.io.IOException If a problem occurs while determining the file
+     */
+    public default File getLocalFile(Bitstream bitstream) throws IOException {
+        return null;
+    }
+
     /**
      * Store a stream of bits.
      *
@@ -7,6 +7,7 @@
  */
 package org.dspace.storage.bitstore;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.sql.SQLException;
@@ -205,7 +206,8 @@ public class BitstreamStorageServiceImpl implements BitstreamStorageService, Ini
 
     @Override
     public Map<String, Object> computeChecksum(Context context, Bitstream bitstream) throws IOException {
-        return this.getStore(bitstream.getStoreNumber()).about(bitstream, List.of("checksum", "checksum_algorithm"));
+        return this.getStore(bitstream.getStoreNumber()).about(bitstream,
+            List.of("checksum", "checksum_algorithm", "checksum_from_etag"));
     }
 
     @Override
@@ -220,6 +222,20 @@ public class BitstreamStorageServiceImpl implements BitstreamStorageService, Ini
         return this.getStore(storeNumber).get(bitstream);
     }
 
+    @Override
+    public InputStream retrieve(Context context, Bitstream bitstream, long offset, long length)
+        throws SQLException, IOException {
+        Integer storeNumber = bitstream.getStoreNumber();
+        return this.getStore(storeNumber).get(bitstream, offset, length);
+    }
+
+    @Override
+    public File retrieveLocalFile(Context context, Bitstream bitstream)
+        throws SQLException, IOException {
+        Integer storeNumber = bitstream.getStoreNumber();
+        return this.getStore(storeNumber).getLocalFile(bitstream);
+    }
+
     @Override
     public void cleanup(boolean deleteDbRecords, boolean verbose) throws SQLException, IOException, AuthorizeException {
         Context context = new Context(Context.Mode.BATCH_EDIT);
@@ -12,13 +12,17 @@ import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.security.DigestInputStream;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.List;
 import java.util.Map;
 
+import org.apache.commons.io.input.BoundedInputStream;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.Logger;
 import org.dspace.content.Bitstream;
@@ -83,6 +87,48 @@ public class DSBitStoreService extends BaseBitStoreService {
         }
     }
 
+    /**
+     * Retrieve a range of the bits for the asset with ID, positioning the file channel at the offset
+     * instead of reading the bytes before it.
+     *
+     * @param bitstream The ID of the asset to retrieve
+     * @param offset    the position of the first byte to return
+     * @param length    the maximum amount of bytes to return
+     * @return The stream of bits
+     * @throws java.io.IOException If a problem occurs while retrieving the bits
+     */
+    @Override
+    public InputStream get(Bitstream bitstream, long offset, long length) throws IOException {
+        FileChannel channel = null;
+        try {
+            channel = FileChannel.open(getFile(bitstream).toPath(), StandardOpenOption.READ);
+            channel.position(offset);
+            return BoundedInputStream.builder()
+                                     .setInputStream(Channels.newInputStream(channel))
+                                     .setMaxCount(length)
+                                     .get();
+        } catch (Exception e) {
+            if (channel != null) {
+                channel.close();
+            }
+            log.error("get(" + bitstream.getInternalId() + ", " + offset + ", " + length + ")", e);
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * Return the file holding the bits for the asset with ID, if it exists.
+     *
+     * @param bitstream The ID of the asset
+     * @return The file, or null
+     * @throws java.io.IOException If a problem occurs while determining the file
+     */
+    @Override
+    public File getLocalFile(Bitstream bitstream) throws IOException {
+        File file = getFile(bitstream);
+        return file != null && file.isFile() ? file : null;
+    }
+
     /**
      * Store a stream of bits.
      *
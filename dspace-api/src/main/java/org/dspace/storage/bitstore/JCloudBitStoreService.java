@@ -7,6 +7,8 @@
  */
 package org.dspace.storage.bitstore;
 
+import static org.jclouds.blobstore.options.GetOptions.Builder.range;
+
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
@@ -331,6 +333,30 @@ public class JCloudBitStoreService extends BaseBitStoreService {
         throw new IOException("File not found: " + file);
     }
 
+    /**
+     * Retrieves a range of a bitstream as an InputStream, using a ranged request to the blob store.
+     *
+     * @param bitstream the bitstream to retrieve
+     * @param offset    the position of the first byte to return
+     * @param length    the maximum amount of bytes to return
+     * @return the InputStream of the requested range of the bitstream
+     * @throws IOException if an error occurs during retrieval
+     */
+    @Override
+    public InputStream get(final Bitstream bitstream, long offset, long length) throws IOException {
+        if (length <= 0) {
+            return InputStream.nullInputStream();
+        }
+        final File file = getFile(bitstream);
+        BlobStore blobStore = blobStoreContext.getBlobStore();
+        Blob blob = blobStore.getBlob(getContainer(), file.toString(), range(offset, offset + length - 1));
+        if (blob == null) {
+            throw new IOException("File not found: " + file);
+        }
+        refreshContextIfNeeded();
+        return blob.getPayload().openStream();
+    }
+
     /**
      * Removes a bitstream from the cloud storage.
      *
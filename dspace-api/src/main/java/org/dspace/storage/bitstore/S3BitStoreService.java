@@ -17,11 +17,13 @@ import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.function.Supplier;
+import java.util.regex.Pattern;
 
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.DefaultParser;
@@ -54,6 +56,7 @@ import software.amazon.awssdk.services.s3.S3CrtAsyncClientBuilder;
 import software.amazon.awssdk.services.s3.model.ChecksumAlgorithm;
 import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
 import software.amazon.awssdk.services.s3.model.NoSuchBucketException;
+import software.amazon.awssdk.services.s3.model.ServerSideEncryption;
 
 /**
  * Asset store using Amazon's Simple Storage Service (S3).
@@ -94,6 +97,12 @@ public class S3BitStoreService extends BaseBitStoreService {
     private long minPartSizeBytes = 8 * 1024 * 1024L;
     private ChecksumAlgorithm s3ChecksumAlgorithm = ChecksumAlgorithm.CRC32;
     private Integer maxConcurrency = null;
+    private boolean useEtagChecksum = false;
+
+    /**
+     * An ETag which is an MD5 checksum
+     */
+    private static final Pattern MD5_ETAG = Pattern.compile("[0-9a-fA-F]{32}");
 
     /**
      * container for all the assets
@@ -290,6 +299,38 @@ public class S3BitStoreService extends BaseBitStoreService {
         }
     }
 
+    /**
+     * Retrieve a range of the bits for the asset with ID, using a ranged GET so only the requested
+     * bytes are transferred from S3.
+     *
+     * @param bitstream The ID of the asset to retrieve
+     * @param offset    the position of the first byte to return
+     * @param length    the maximum amount of bytes to return
+     * @return The stream of bits
+     * @throws java.io.IOException If a problem occurs while retrieving the bits
+     */
+    @Override
+    public InputStream get(Bitstream bitstream, long offset, long length) throws IOException {
+        if (length <= 0) {
+            return InputStream.nullInputStream();
+        }
+        String key = getFullKey(bitstream.getInternalId());
+        // Strip -R from bitstream key if it's registered
+        if (isRegisteredBitstream(key)) {
+            key = key.substring(REGISTERED_FLAG.length());
+        }
+
+        final String objectKey = key;
+        final String range = "bytes=" + offset + "-" + (offset + length - 1);
+
+        try {
+            return s3AsyncClient.getObject(r -> r.bucket(bucketName).key(objectKey).range(range),
+                AsyncResponseTransformer.toBlockingInputStream()).join();
+        } catch (CompletionException e) {
+            throw new IOException(e.getCause());
+        }
+    }
+
     /**
      * Store a stream of bits.
      *
@@ -337,7 +378,9 @@ public class S3BitStoreService extends BaseBitStoreService {
     /**
      * Obtain technical metadata about an asset in the asset store.
      *
-     * The MD5 checksum is calculated locally because it is not supported by AWS.
+     * The MD5 checksum is calculated locally because it is not supported by AWS, unless useEtagChecksum is set and
+     * the ETag of the object is its MD5 checksum. The content isn't read then, which is reported by the
+     * checksum_from_etag attribute.
      *
      * @param bitstream The asset to describe
      * @param attrs     A List of desired metadata fields
@@ -364,7 +407,11 @@ public class S3BitStoreService extends BaseBitStoreService {
             putValueIfExistsKey(attrs, metadata, "modified", valueOf(response.lastModified().toEpochMilli()));
             putValueIfExistsKey(attrs, metadata, "checksum_algorithm", CSA);
 
-            if (attrs.contains("checksum")) {
+            String etagChecksum = useEtagChecksum ? getEtagChecksum(response) : null;
+            if (attrs.contains("checksum") && etagChecksum != null) {
+                metadata.put("checksum", etagChecksum);
+                putValueIfExistsKey(attrs, metadata, "checksum_from_etag", true);
+            } else if (attrs.contains("checksum")) {
                 try (InputStream in = get(bitstream);
                      DigestInputStream dis = new DigestInputStream(in, MessageDigest.getInstance(CSA))
                 ) {
@@ -389,6 +436,24 @@ public class S3BitStoreService extends BaseBitStoreService {
         }
     }
 
+    /**
+     * The ETag of an object is the MD5 checksum of its content, unless it was uploaded in parts (the ETag then ends
+     * with the number of parts) or encrypted with SSE-KMS or a customer provided key.
+     *
+     * @param response the metadata of the object
+     * @return the MD5 checksum of the object, or null if its ETag isn't one
+     */
+    protected String getEtagChecksum(HeadObjectResponse response) {
+        String etag = StringUtils.strip(response.eTag(), "\"");
+        if (etag == null || !MD5_ETAG.matcher(etag).matches()
+            || response.sseCustomerAlgorithm() != null
+            || (response.serverSideEncryption() != null
+                && response.serverSideEncryption() != ServerSideEncryption.AES256)) {
+            return null;
+        }
+        return etag.toLowerCase(Locale.ROOT);
+    }
+
     /**
      * Remove an asset from the asset store. An irreversible operation.
      *
@@ -545,6 +610,18 @@ public class S3BitStoreService extends BaseBitStoreService {
         this.maxConcurrency = maxConcurrency;
     }
 
+    public boolean isUseEtagChecksum() {
+        return useEtagChecksum;
+    }
+
+    /**
+     * @param useEtagChecksum true to report the ETag of the objects as their checksum when it is their MD5 checksum,
+     *                        instead of downloading them to compute it
+     */
+    public void setUseEtagChecksum(boolean useEtagChecksum) {
+        this.useEtagChecksum = useEtagChecksum;
+    }
+
     public String getEndpoint() {
         return endpoint;
     }
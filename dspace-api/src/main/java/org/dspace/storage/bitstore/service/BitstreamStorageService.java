@@ -7,6 +7,7 @@
  */
 package org.dspace.storage.bitstore.service;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.sql.SQLException;
@@ -126,6 +127,34 @@ public interface BitstreamStorageService {
     public InputStream retrieve(Context context, Bitstream bitstream)
         throws SQLException, IOException;
 
+    /**
+     * Retrieve a range of the bits for the bitstream with ID, reading only the requested bytes
+     * from the store where it supports doing so.
+     *
+     * @param context   The current context
+     * @param bitstream The bitstream to retrieve
+     * @param offset    The position of the first byte to return
+     * @param length    The maximum amount of bytes to return
+     * @return The stream of bits
+     * @throws IOException  If a problem occurs while retrieving the bits
+     * @throws SQLException If a problem occurs accessing the RDBMS
+     */
+    public InputStream retrieve(Context context, Bitstream bitstream, long offset, long length)
+        throws SQLException, IOException;
+
+    /**
+     * Get the local file holding the bits for the bitstream with ID, if its store keeps them on a local
+     * file system.
+     *
+     * @param context   The current context
+     * @param bitstream The bitstream to locate
+     * @return The file holding the bits, or null if the bits are not available as a local file
+     * @throws IOException  If a problem occurs while determining the file
+     * @throws SQLException If a problem occurs accessing the RDBMS
+     */
+    public File retrieveLocalFile(Context context, Bitstream bitstream)
+        throws SQLException, IOException;
+
     /**
      * Clean up the bitstream storage area. This method deletes any bitstreams
      * which are more than 1 hour old and marked deleted. The deletions cannot
@@ -0,0 +1,34 @@
+--
+-- The contents of this file are subject to the license and copyright
+-- detailed in the LICENSE and NOTICE files at the root of the source
+-- tree and available online at
+--
+-- http://www.dspace.org/license/
+--
+
+-- ===============================================================
+-- WARNING WARNING WARNING WARNING WARNING WARNING WARNING WARNING
+--
+-- DO NOT MANUALLY RUN THIS DATABASE MIGRATION. IT WILL BE EXECUTED
+-- AUTOMATICALLY (IF NEEDED) BY "FLYWAY" WHEN YOU STARTUP DSPACE.
+-- http://flywaydb.org/
+-- ===============================================================
+
+-------------------------------------------------------------
+-- Pending changes of the discovery index, used when
+-- discovery.index.async.enabled is set
+-------------------------------------------------------------
+
+CREATE SEQUENCE discovery_index_queue_seq;
+
+CREATE TABLE discovery_index_queue
+(
+    id INTEGER NOT NULL,
+    unique_id VARCHAR(255) NOT NULL,
+    action VARCHAR(16) NOT NULL,
+    queued TIMESTAMP NOT NULL,
+    attempts INTEGER NOT NULL,
+    CONSTRAINT discovery_index_queue_pkey PRIMARY KEY (id)
+);
+
+CREATE INDEX discovery_index_queue_queued_idx ON discovery_index_queue(queued);
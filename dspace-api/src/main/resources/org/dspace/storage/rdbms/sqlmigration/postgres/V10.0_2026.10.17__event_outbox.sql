@@ -0,0 +1,35 @@
+--
+-- The contents of this file are subject to the license and copyright
+-- detailed in the LICENSE and NOTICE files at the root of the source
+-- tree and available online at
+--
+-- http://www.dspace.org/license/
+--
+
+-- ===============================================================
+-- WARNING WARNING WARNING WARNING WARNING WARNING WARNING WARNING
+--
+-- DO NOT MANUALLY RUN THIS DATABASE MIGRATION. IT WILL BE EXECUTED
+-- AUTOMATICALLY (IF NEEDED) BY "FLYWAY" WHEN YOU STARTUP DSPACE.
+-- http://flywaydb.org/
+-- ===============================================================
+
+-------------------------------------------------------------
+-- Events of asynchronous consumers waiting to be delivered,
+-- used by the org.dspace.event.OutboxDispatcher
+-------------------------------------------------------------
+
+CREATE SEQUENCE event_outbox_seq;
+
+CREATE TABLE event_outbox
+(
+    id INTEGER NOT NULL,
+    consumer VARCHAR(64) NOT NULL,
+    event_data TEXT NOT NULL,
+    queued TIMESTAMP NOT NULL,
+    attempts INTEGER NOT NULL,
+    next_attempt TIMESTAMP NOT NULL,
+    CONSTRAINT event_outbox_pkey PRIMARY KEY (id)
+);
+
+CREATE INDEX event_outbox_consumer_idx ON event_outbox(consumer, id);
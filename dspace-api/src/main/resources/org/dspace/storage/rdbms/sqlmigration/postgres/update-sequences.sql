@@ -28,8 +28,10 @@ SELECT setval('cwf_in_progress_user_seq', max(in_progress_user_id)) FROM cwf_in_
 SELECT setval('cwf_pooltask_seq', max(pooltask_id)) FROM cwf_pooltask;
 SELECT setval('cwf_workflowitem_seq', max(workflowitem_id)) FROM cwf_workflowitem;
 SELECT setval('cwf_workflowitemrole_seq', max(workflowitemrole_id)) FROM cwf_workflowitemrole;
+SELECT setval('discovery_index_queue_seq', max(id)) FROM discovery_index_queue;
 SELECT setval('doi_seq', max(doi_id)) FROM doi;
 SELECT setval('entity_type_id_seq', max(id)) FROM entity_type;
+SELECT setval('event_outbox_seq', max(id)) FROM event_outbox;
 SELECT setval('fileextension_seq', max(file_extension_id)) FROM fileextension;
 SELECT setval('handle_id_seq', max(handle_id)) FROM handle;
 SELECT setval('harvested_collection_seq', max(id)) FROM harvested_collection;
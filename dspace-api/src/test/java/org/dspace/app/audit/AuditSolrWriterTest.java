@@ -0,0 +1,81 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.audit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.common.SolrInputDocument;
+import org.junit.Test;
+
+/**
+ * Unit Tests for class AuditSolrWriter
+ */
+public class AuditSolrWriterTest {
+
+    @Test
+    public void testWriteInBatches() throws Exception {
+        SolrClient solr = mock(SolrClient.class);
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch firstBatch = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            writing.countDown();
+            // hold the first batch so that the next documents are queued meanwhile
+            firstBatch.await(5, TimeUnit.SECONDS);
+            batchSizes.add(invocation.<Collection<?>>getArgument(0).size());
+            return null;
+        }).when(solr).add(anyCollection());
+
+        AuditSolrWriter writer = new AuditSolrWriter(solr, 100, 3);
+        writer.add(documents(1));
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        writer.add(documents(7));
+        firstBatch.countDown();
+        writer.shutdown();
+
+        assertEquals(8, batchSizes.stream().mapToInt(Integer::intValue).sum());
+        assertTrue(batchSizes.stream().allMatch(size -> size <= 3));
+        assertEquals(1, batchSizes.get(0).intValue());
+    }
+
+    @Test
+    public void testFlushAfterFailure() throws Exception {
+        SolrClient solr = mock(SolrClient.class);
+        when(solr.add(anyCollection())).thenThrow(new SolrServerException("audit core down"));
+
+        AuditSolrWriter writer = new AuditSolrWriter(solr, 2, 10);
+        // more documents than the queue holds, added once the writer makes room
+        writer.add(documents(5));
+        writer.flush();
+        writer.shutdown();
+    }
+
+    private List<SolrInputDocument> documents(int count) {
+        List<SolrInputDocument> documents = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            SolrInputDocument document = new SolrInputDocument();
+            document.addField("uid", String.valueOf(i));
+            documents.add(document);
+        }
+        return documents;
+    }
+}
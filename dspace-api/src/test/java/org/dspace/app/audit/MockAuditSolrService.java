@@ -8,10 +8,9 @@
 package org.dspace.app.audit;
 
 import org.dspace.solr.MockSolrServer;
-import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
 
-public class MockAuditSolrService extends AuditSolrServiceImpl implements InitializingBean, DisposableBean {
+public class MockAuditSolrService extends AuditSolrServiceImpl implements InitializingBean {
     private MockSolrServer mockSolrServer;
 
     @Override
@@ -27,6 +26,7 @@ public class MockAuditSolrService extends AuditSolrServiceImpl implements Initia
 
     @Override
     public void destroy() throws Exception {
+        super.destroy();
         mockSolrServer.destroy();
     }
 
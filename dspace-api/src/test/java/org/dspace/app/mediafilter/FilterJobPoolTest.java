@@ -0,0 +1,179 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.mediafilter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.dspace.content.Bitstream;
+import org.dspace.content.Item;
+import org.dspace.storage.bitstore.service.BitstreamStorageService;
+import org.junit.Test;
+
+/**
+ * Unit Tests for class FilterJobPool
+ */
+public class FilterJobPoolTest {
+
+    private final BitstreamStorageService bitstreamStorageService = mock(BitstreamStorageService.class);
+
+    @Test
+    public void testFilterConcurrency() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        FormatFilter formatFilter = mock(FormatFilter.class);
+        when(formatFilter.getDestinationStream(any(), any(), anyBoolean())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return new ByteArrayInputStream("filtered".getBytes(StandardCharsets.UTF_8));
+        });
+
+        FilterJobPool pool = new FilterJobPool(4, 0);
+        try {
+            FilterJob job = job(formatFilter);
+            pool.submit(job);
+            // one job of the filter at once
+            assertTrue(pool.isFull(job.getFilterName(), 1));
+            assertFalse(pool.isFull(job.getFilterName(), 2));
+            assertFalse(pool.isFull("OtherFilter", 1));
+
+            release.countDown();
+            FilterJob completed = pool.take();
+            assertEquals(job, completed);
+            assertTrue(pool.isEmpty());
+            assertFalse(pool.isFull(job.getFilterName(), 1));
+            assertNull(completed.getError());
+            assertEquals("filtered", Files.readString(completed.getResult().toPath()));
+            completed.discard();
+            assertFalse(completed.getResult().exists());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testTimeout() throws Exception {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        FormatFilter formatFilter = mock(FormatFilter.class);
+        when(formatFilter.getDestinationStream(any(), any(), anyBoolean())).thenAnswer(invocation -> {
+            try {
+                Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return new ByteArrayInputStream("too late".getBytes(StandardCharsets.UTF_8));
+        });
+
+        FilterJobPool pool = new FilterJobPool(1, 1);
+        try {
+            FilterJob job = job(formatFilter);
+            pool.submit(job);
+            FilterJob completed = pool.take();
+            assertTrue(completed.isTimedOut());
+            assertTrue(pool.isEmpty());
+            // the worker is interrupted
+            assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testStuckWorkerIsReplaced() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        FormatFilter stuckFilter = mock(FormatFilter.class);
+        when(stuckFilter.getDestinationStream(any(), any(), anyBoolean())).thenAnswer(invocation -> {
+            // like most filters, ignore interrupts
+            while (!release.await(100, TimeUnit.MILLISECONDS)) {
+                Thread.interrupted();
+            }
+            return new ByteArrayInputStream("too late".getBytes(StandardCharsets.UTF_8));
+        });
+        FormatFilter formatFilter = mock(FormatFilter.class);
+        when(formatFilter.getDestinationStream(any(), any(), anyBoolean()))
+            .thenAnswer(invocation -> new ByteArrayInputStream("filtered".getBytes(StandardCharsets.UTF_8)));
+
+        FilterJobPool pool = new FilterJobPool(1, 1);
+        try {
+            FilterJob stuck = job(stuckFilter);
+            pool.submit(stuck);
+            FilterJob queued = job(formatFilter);
+            pool.submit(queued);
+
+            assertEquals(stuck, pool.take());
+            assertTrue(stuck.isTimedOut());
+            // the queued job runs in another thread while the stuck one is still busy
+            FilterJob completed = pool.take();
+            assertEquals(queued, completed);
+            assertFalse(completed.isTimedOut());
+            assertEquals("filtered", Files.readString(completed.getResult().toPath()));
+            completed.discard();
+        } finally {
+            release.countDown();
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testAbortWhenTooManyWorkersAreStuck() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        FormatFilter stuckFilter = mock(FormatFilter.class);
+        when(stuckFilter.getDestinationStream(any(), any(), anyBoolean())).thenAnswer(invocation -> {
+            // like most filters, ignore interrupts
+            boolean released = false;
+            while (!released) {
+                try {
+                    released = release.await(100, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    // ignored
+                }
+            }
+            return new ByteArrayInputStream("too late".getBytes(StandardCharsets.UTF_8));
+        });
+
+        FilterJobPool pool = new FilterJobPool(1, 1, 1);
+        try {
+            pool.submit(job(stuckFilter));
+            pool.submit(job(stuckFilter));
+            // the first stuck worker is replaced
+            assertTrue(pool.take().isTimedOut());
+            try {
+                pool.take();
+                fail("The pool should be aborted once more workers than allowed are stuck");
+            } catch (IllegalStateException e) {
+                // expected
+            }
+        } finally {
+            release.countDown();
+            pool.shutdown();
+        }
+    }
+
+    private FilterJob job(FormatFilter formatFilter) throws Exception {
+        Item item = mock(Item.class);
+        when(item.getID()).thenReturn(UUID.randomUUID());
+        when(item.getHandle()).thenReturn("123456789/1");
+        Bitstream source = mock(Bitstream.class);
+        when(source.getID()).thenReturn(UUID.randomUUID());
+        when(bitstreamStorageService.retrieve(any(), any()))
+            .thenAnswer(invocation -> new ByteArrayInputStream("source".getBytes(StandardCharsets.UTF_8)));
+        return new FilterJob(null, bitstreamStorageService, item, source, formatFilter, "source.txt", false);
+    }
+}
@@ -7,11 +7,17 @@
  */
 package org.dspace.app.mediafilter;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 
@@ -32,6 +38,8 @@ import org.dspace.content.Item;
 import org.dspace.content.factory.ContentServiceFactory;
 import org.dspace.content.service.BitstreamService;
 import org.dspace.content.service.ItemService;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -44,6 +52,7 @@ public class MediaFilterIT extends AbstractIntegrationTestWithDatabase {
 
     private ItemService itemService = ContentServiceFactory.getInstance().getItemService();
     private BitstreamService bitstreamService = ContentServiceFactory.getInstance().getBitstreamService();
+    private ConfigurationService configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
     protected Community topComm1;
     protected Community topComm2;
     protected Community childComm1_1;
@@ -186,6 +195,52 @@ public class MediaFilterIT extends AbstractIntegrationTestWithDatabase {
         checkItemHasBeenProcessed(item1_2_2_b);
     }
 
+    @Test
+    public void mediaFilterScriptThreadsTest() throws Exception {
+        // several transactions, with a single text extraction at once
+        configurationService.setProperty("filter-media.commit-batch-size", 3);
+        configurationService.setProperty("filter-media.concurrency.TikaTextExtractionFilter", 1);
+        try {
+            runDSpaceScript("filter-media", "-t", "3");
+        } finally {
+            configurationService.setProperty("filter-media.commit-batch-size", null);
+            configurationService.setProperty("filter-media.concurrency.TikaTextExtractionFilter", null);
+        }
+        Iterator<Item> items = itemService.findAll(context);
+        while (items.hasNext()) {
+            checkItemHasBeenProcessed(items.next());
+        }
+    }
+
+    @Test
+    public void mediaFilterScriptResumeTest() throws Exception {
+        Path progressFile = Paths.get(configurationService.getProperty("dspace.dir"), "var", "filter-media.progress");
+        runDSpaceScript("filter-media", "-t", "2", "-m", "2");
+        assertTrue("The progress should be recorded", Files.exists(progressFile));
+
+        List<Bitstream> derivatives = new ArrayList<>();
+        Iterator<Item> items = itemService.findAll(context);
+        while (items.hasNext()) {
+            List<Bundle> textBundles = items.next().getBundles("TEXT");
+            if (!textBundles.isEmpty()) {
+                derivatives.addAll(textBundles.get(0).getBitstreams());
+            }
+        }
+        assertEquals(2, derivatives.size());
+
+        // forced, but only after the items already processed
+        runDSpaceScript("filter-media", "-t", "2", "-f", "-r");
+        assertFalse("The progress should be removed once all items are processed", Files.exists(progressFile));
+        items = itemService.findAll(context);
+        while (items.hasNext()) {
+            checkItemHasBeenProcessed(items.next());
+        }
+        for (Bitstream derivative : derivatives) {
+            assertFalse("The derivatives before the progress should be kept",
+                        context.reloadEntity(derivative).isDeleted());
+        }
+    }
+
     private void checkItemHasBeenNotProcessed(Item item) throws IOException, SQLException, AuthorizeException {
         List<Bundle> textBundles = item.getBundles("TEXT");
         assertTrue("The item " + item.getName() + " should NOT have the TEXT bundle", textBundles.size() == 0);
@@ -0,0 +1,62 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.authenticate;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.List;
+import java.util.Set;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.Test;
+
+/**
+ * Unit Tests for class IPRangeIndex
+ */
+public class IPRangeIndexTest {
+
+    @Test
+    public void testFind() throws IPMatcherException {
+        IPRangeIndex<String> index = new IPRangeIndex<>(
+            List.of(range("10.", "campus"), range("10.1.0.0/16", "library"), range("10.1.2.3", "desk"),
+                    range("2001:18e8:3::/48", "campus"), range("10.0.0.0/7", "wide")),
+            List.of(range("10.1.2.", "library")));
+
+        assertEquals(Set.of("campus", "wide"), index.find("10.0.0.1"));
+        assertEquals(Set.of("campus", "library", "wide"), index.find("10.1.255.255"));
+        assertEquals(Set.of("campus", "desk", "wide"), index.find("10.1.2.3"));
+        assertEquals(Set.of("campus", "wide"), index.find("10.1.2.4"));
+        assertEquals(Set.of("wide"), index.find("11.255.255.255"));
+        assertEquals(Set.of(), index.find("12.0.0.0"));
+        assertEquals(Set.of(), index.find("0.0.0.0"));
+        assertEquals(Set.of(), index.find("255.255.255.255"));
+        assertEquals(Set.of("campus"), index.find("2001:18e8:3:171:218:8bff:fe2a:56a4"));
+        assertEquals(Set.of(), index.find("2001:18e8:4::1"));
+        assertEquals(Set.of(), index.find("ffff:ffff:ffff:ffff:ffff:ffff:ffff:ffff"));
+    }
+
+    @Test
+    public void testFindNonContiguousMask() throws IPMatcherException {
+        IPRangeIndex<String> index = new IPRangeIndex<>(
+            List.of(range("10.0.0.1/255.0.0.255", "odd"), range("10.", "campus")),
+            List.of(range("10.5.0.0/255.255.0.0", "odd")));
+
+        assertEquals(Set.of("campus", "odd"), index.find("10.4.4.1"));
+        assertEquals(Set.of("campus"), index.find("10.4.4.2"));
+        assertEquals(Set.of("campus"), index.find("10.5.4.1"));
+    }
+
+    @Test(expected = IPMatcherException.class)
+    public void testFindMalformedAddress() throws IPMatcherException {
+        new IPRangeIndex<String>(List.of(), List.of()).find("10.1");
+    }
+
+    private Pair<IPMatcher, String> range(String ipSpec, String value) throws IPMatcherException {
+        return Pair.of(new IPMatcher(ipSpec), value);
+    }
+}
@@ -8,19 +8,23 @@
 
 package org.dspace.authorize;
 
+import java.io.ByteArrayInputStream;
 import java.sql.SQLException;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 
 import org.dspace.AbstractUnitTest;
 import org.dspace.authorize.factory.AuthorizeServiceFactory;
 import org.dspace.authorize.service.ResourcePolicyService;
+import org.dspace.content.Bitstream;
 import org.dspace.content.Bundle;
 import org.dspace.content.Collection;
 import org.dspace.content.Community;
 import org.dspace.content.Item;
 import org.dspace.content.WorkspaceItem;
 import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.BitstreamService;
 import org.dspace.content.service.BundleService;
 import org.dspace.content.service.CollectionService;
 import org.dspace.content.service.CommunityService;
@@ -28,6 +32,7 @@ import org.dspace.content.service.InstallItemService;
 import org.dspace.content.service.ItemService;
 import org.dspace.content.service.WorkspaceItemService;
 import org.dspace.core.Constants;
+import org.dspace.core.Context;
 import org.dspace.eperson.EPerson;
 import org.dspace.eperson.Group;
 import org.dspace.eperson.factory.EPersonServiceFactory;
@@ -50,6 +55,7 @@ public class AuthorizeServiceTest extends AbstractUnitTest {
     protected CollectionService collectionService = ContentServiceFactory.getInstance().getCollectionService();
     protected ItemService itemService = ContentServiceFactory.getInstance().getItemService();
     protected BundleService bundleService = ContentServiceFactory.getInstance().getBundleService();
+    protected BitstreamService bitstreamService = ContentServiceFactory.getInstance().getBitstreamService();
     protected WorkspaceItemService workspaceItemService = ContentServiceFactory.getInstance().getWorkspaceItemService();
     protected InstallItemService installItemService = ContentServiceFactory.getInstance().getInstallItemService();
 
@@ -142,6 +148,90 @@ public class AuthorizeServiceTest extends AbstractUnitTest {
         }
     }
 
+    @Test
+    public void testauthorizeMethodRespectChangedPolicies() throws Exception {
+        context.turnOffAuthorisationSystem();
+        EPerson eperson = ePersonService.create(context);
+        Community community = communityService.create(null, context);
+        Collection collection = collectionService.create(context, community);
+        Item dso = installItemService.installItem(context, workspaceItemService.create(context, collection, false));
+        ResourcePolicy policy = authorizeService.createResourcePolicy(context, dso, null, eperson, Constants.WRITE,
+                                                                      null);
+        context.commit();
+        context.restoreAuthSystemState();
+
+        // the policies of the item are cached when they are first used
+        Assert.assertTrue(authorizeService.authorizeActionBoolean(context, eperson, dso, Constants.WRITE, true));
+
+        // a policy which isn't valid yet doesn't give any permission
+        context.turnOffAuthorisationSystem();
+        policy.setStartDate(LocalDate.now().plusDays(1));
+        resourcePolicyService.update(context, policy);
+        context.commit();
+        context.restoreAuthSystemState();
+        Assert.assertFalse(authorizeService.authorizeActionBoolean(context, eperson, dso, Constants.WRITE, true));
+
+        context.turnOffAuthorisationSystem();
+        policy.setStartDate(LocalDate.now().minusDays(1));
+        resourcePolicyService.update(context, policy);
+        context.commit();
+        context.restoreAuthSystemState();
+        Assert.assertTrue(authorizeService.authorizeActionBoolean(context, eperson, dso, Constants.WRITE, true));
+
+        // the policies of an aborted change are never used by other contexts
+        Context aborted = new Context();
+        try {
+            aborted.turnOffAuthorisationSystem();
+            Item abortedItem = itemService.find(aborted, dso.getID());
+            resourcePolicyService.removeDsoEPersonPolicies(aborted, abortedItem, eperson);
+            Assert.assertFalse(
+                authorizeService.authorizeActionBoolean(aborted, eperson, abortedItem, Constants.WRITE, true));
+        } finally {
+            aborted.abort();
+        }
+        Assert.assertTrue(authorizeService.authorizeActionBoolean(context, eperson, dso, Constants.WRITE, true));
+
+        // removed policies don't give any permission
+        context.turnOffAuthorisationSystem();
+        resourcePolicyService.removeDsoEPersonPolicies(context, dso, eperson);
+        context.commit();
+        context.restoreAuthSystemState();
+        Assert.assertFalse(authorizeService.authorizeActionBoolean(context, eperson, dso, Constants.WRITE, true));
+    }
+
+    @Test
+    public void testauthorizeMethodRespectChangedBitstreamPolicies() throws Exception {
+        context.turnOffAuthorisationSystem();
+        EPerson eperson = ePersonService.create(context);
+        Community community = communityService.create(null, context);
+        Collection collection = collectionService.create(context, community);
+        Item item = installItemService.installItem(context, workspaceItemService.create(context, collection, false));
+        Bundle bundle = bundleService.create(context, item, "ORIGINAL");
+        Bitstream dso = bitstreamService.create(context, bundle, new ByteArrayInputStream(new byte[] {1}));
+        ResourcePolicy policy = authorizeService.createResourcePolicy(context, dso, null, eperson, Constants.WRITE,
+                                                                      null);
+        context.commit();
+        context.restoreAuthSystemState();
+
+        // the policies of the bitstream are cached with the last modification date of its item
+        Assert.assertTrue(authorizeService.authorizeActionBoolean(context, eperson, dso, Constants.WRITE, true));
+
+        // which changes with the policies of the bitstream
+        context.turnOffAuthorisationSystem();
+        policy.setStartDate(LocalDate.now().plusDays(1));
+        resourcePolicyService.update(context, policy);
+        context.commit();
+        context.restoreAuthSystemState();
+        Assert.assertFalse(authorizeService.authorizeActionBoolean(context, eperson, dso, Constants.WRITE, true));
+
+        context.turnOffAuthorisationSystem();
+        resourcePolicyService.removeAllPolicies(context, dso);
+        authorizeService.createResourcePolicy(context, dso, null, eperson, Constants.WRITE, null);
+        context.commit();
+        context.restoreAuthSystemState();
+        Assert.assertTrue(authorizeService.authorizeActionBoolean(context, eperson, dso, Constants.WRITE, true));
+    }
+
     /**
      * When a bundle is created it should inherit custom policies (deduped)
      * from the item, as otherwise bitstream bundles created via filter-media etc.
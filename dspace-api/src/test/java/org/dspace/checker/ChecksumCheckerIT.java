@@ -8,12 +8,14 @@
 package org.dspace.checker;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.sql.SQLException;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 
 import org.apache.commons.io.IOUtils;
@@ -146,6 +148,35 @@ public class ChecksumCheckerIT extends AbstractIntegrationTestWithDatabase {
         }
     }
 
+    @Test
+    public void testParallelProcessing() throws SQLException {
+        CheckerCommand checker = new CheckerCommand(context);
+        Instant checkerStartDate = Instant.now();
+        List<Bitstream> dispatched = new ArrayList<>();
+        SimpleDispatcher simpleDispatcher = new SimpleDispatcher(context, checkerStartDate, false);
+        checker.setDispatcher(() -> {
+            Bitstream bitstream = simpleDispatcher.next();
+            if (bitstream != null) {
+                dispatched.add(bitstream);
+            }
+            return bitstream;
+        });
+        checker.setProcessStartDate(checkerStartDate);
+        checker.setThreads(2);
+
+        checker.process();
+
+        // each bitstream is checked once, while the others are checked
+        assertEquals(dispatched.size(), new HashSet<>(dispatched).size());
+        assertTrue(dispatched.containsAll(bitstreams));
+        for (Bitstream bitstream: bitstreams) {
+            MostRecentChecksum checksum = checksumService.findByBitstream(context, bitstream);
+            assertTrue(checksum.getProcessStartDate().isAfter(checkerStartDate));
+            assertEquals(ChecksumResultCode.CHECKSUM_MATCH, checksum.getChecksumResult().getResultCode());
+            assertEquals(bitstream.getChecksum(), checksum.getCurrentChecksum());
+        }
+    }
+
     /**
      * Subclass of SimpleDispatcher that only allows a limited number of "next"
      * class before throwing a SQLException.
@@ -0,0 +1,114 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.content;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit Tests for class MetadataIndex
+ */
+public class MetadataIndexTest {
+
+    private final List<MetadataValue> metadata = new ArrayList<>();
+
+    private MetadataValue title;
+    private MetadataValue author1;
+    private MetadataValue author2;
+    private MetadataValue editor;
+    private MetadataValue subject;
+    private MetadataValue localSubject;
+
+    @Before
+    public void setUp() {
+        MetadataSchema dc = schema("dc");
+        MetadataSchema local = schema("local");
+        MetadataField titleField = field(1, dc, "title", null);
+        MetadataField authorField = field(2, dc, "contributor", "author");
+        MetadataField editorField = field(3, dc, "contributor", "editor");
+        MetadataField subjectField = field(4, dc, "subject", null);
+        MetadataField localSubjectField = field(5, local, "subject", null);
+
+        // values of different fields interleaved, as in a list modified since it was loaded
+        author1 = value(authorField, null);
+        title = value(titleField, "en");
+        editor = value(editorField, null);
+        author2 = value(authorField, "en");
+        subject = value(subjectField, null);
+        localSubject = value(localSubjectField, null);
+    }
+
+    @Test
+    public void testFindField() {
+        MetadataIndex index = new MetadataIndex(metadata);
+        assertEquals(List.of(author1, author2), index.find("dc", "contributor", "author", Item.ANY));
+        assertEquals(List.of(title), index.find("dc", "title", null, Item.ANY));
+        assertEquals(List.of(title), index.find("dc", "title", "", Item.ANY));
+        assertEquals(List.of(), index.find("dc", "title", "alternative", Item.ANY));
+        assertEquals(List.of(), index.find("dc", "date", null, Item.ANY));
+        assertEquals(List.of(), index.find("dcterms", "title", null, Item.ANY));
+    }
+
+    @Test
+    public void testFindLanguage() {
+        MetadataIndex index = new MetadataIndex(metadata);
+        assertEquals(List.of(author1), index.find("dc", "contributor", "author", null));
+        assertEquals(List.of(author2), index.find("dc", "contributor", "author", "en"));
+        assertEquals(List.of(title, author2), index.find("dc", Item.ANY, Item.ANY, "en"));
+    }
+
+    @Test
+    public void testFindWildcards() {
+        MetadataIndex index = new MetadataIndex(metadata);
+        assertEquals(List.of(author1, editor, author2), index.find("dc", "contributor", Item.ANY, Item.ANY));
+        assertEquals(List.of(title, subject), index.find("dc", Item.ANY, null, Item.ANY));
+        assertEquals(List.of(subject, localSubject), index.find(Item.ANY, "subject", null, Item.ANY));
+        assertEquals(metadata, index.find(Item.ANY, Item.ANY, Item.ANY, Item.ANY));
+    }
+
+    @Test
+    public void testIsIndexOf() {
+        MetadataIndex index = new MetadataIndex(metadata);
+        assertTrue(index.isIndexOf(metadata));
+        assertFalse(index.isIndexOf(new ArrayList<>(metadata)));
+        metadata.remove(subject);
+        assertFalse(index.isIndexOf(metadata));
+    }
+
+    private MetadataSchema schema(String name) {
+        MetadataSchema schema = mock(MetadataSchema.class);
+        when(schema.getName()).thenReturn(name);
+        return schema;
+    }
+
+    private MetadataField field(int id, MetadataSchema schema, String element, String qualifier) {
+        MetadataField field = mock(MetadataField.class);
+        when(field.getID()).thenReturn(id);
+        when(field.getMetadataSchema()).thenReturn(schema);
+        when(field.getElement()).thenReturn(element);
+        when(field.getQualifier()).thenReturn(qualifier);
+        return field;
+    }
+
+    private MetadataValue value(MetadataField field, String language) {
+        MetadataValue value = mock(MetadataValue.class);
+        when(value.getMetadataField()).thenReturn(field);
+        when(value.getLanguage()).thenReturn(language);
+        metadata.add(value);
+        return value;
+    }
+}
@@ -36,8 +36,11 @@ import org.dspace.content.service.ItemService;
 import org.dspace.content.service.RelationshipService;
 import org.dspace.content.service.RelationshipTypeService;
 import org.dspace.content.service.WorkspaceItemService;
+import org.dspace.services.factory.DSpaceServicesFactory;
 import org.junit.Before;
 import org.junit.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 
 public class RelationshipMetadataServiceIT extends AbstractIntegrationTestWithDatabase {
 
@@ -235,6 +238,54 @@ public class RelationshipMetadataServiceIT extends AbstractIntegrationTestWithDa
         assertThat(rightList.get(1).getAuthority(), equalTo("virtual::" + relationship.getID()));
     }
 
+    @Test
+    public void testCachedRelationshipMetadataOfChangedRelatedItem() throws Exception {
+        initPublicationAuthor();
+        Cache cache = DSpaceServicesFactory.getInstance().getServiceManager()
+                                           .getServiceByName("cacheManager", CacheManager.class)
+                                           .getCache(RelationshipMetadataServiceImpl.RELATIONSHIP_METADATA_CACHE);
+        String key = leftItem.getID() + "/true";
+
+        // the virtual metadata of items which weren't modified in this context is cached
+        Item publication = reload(leftItem);
+        assertThat(getVirtualAuthors(publication), equalTo(List.of("familyName, firstName")));
+        assertTrue(cache.get(key) != null);
+        assertThat(getVirtualAuthors(reload(leftItem)), equalTo(List.of("familyName, firstName")));
+
+        // changes of the author which are rolled back are never seen by other contexts
+        context.turnOffAuthorisationSystem();
+        Item author = reload(rightItem);
+        itemService.replaceMetadata(context, author, "person", "familyName", null, null, "rolledBack", null, -1, 0);
+        itemService.update(context, author);
+        assertThat(getVirtualAuthors(reload(leftItem)), equalTo(List.of("rolledBack, firstName")));
+        context.rollback();
+        context.restoreAuthSystemState();
+        assertThat(getVirtualAuthors(reload(leftItem)), equalTo(List.of("familyName, firstName")));
+
+        // the cached virtual metadata of the publication is no longer used once the author changed
+        context.turnOffAuthorisationSystem();
+        author = reload(rightItem);
+        itemService.replaceMetadata(context, author, "person", "familyName", null, null, "otherName", null, -1, 0);
+        itemService.update(context, author);
+        context.commit();
+        context.restoreAuthSystemState();
+        assertTrue(cache.get(key) != null);
+
+        assertThat(getVirtualAuthors(reload(leftItem)), equalTo(List.of("otherName, firstName")));
+    }
+
+    private Item reload(Item item) throws SQLException {
+        context.uncacheEntity(item);
+        return context.reloadEntity(item);
+    }
+
+    private List<String> getVirtualAuthors(Item item) {
+        return relationshipMetadataService.getRelationshipMetadata(item, true).stream()
+                                          .filter(value -> "author".equals(value.getMetadataField().getQualifier()))
+                                          .map(MetadataValue::getValue)
+                                          .collect(Collectors.toList());
+    }
+
     @Test
     public void testDeleteAuthorRelationshipCopyToLeftItem() throws Exception {
         initPublicationAuthor();
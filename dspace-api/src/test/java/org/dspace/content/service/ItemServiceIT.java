@@ -20,7 +20,10 @@ import static org.junit.Assert.fail;
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -63,6 +66,8 @@ import org.dspace.core.Constants;
 import org.dspace.eperson.Group;
 import org.dspace.eperson.factory.EPersonServiceFactory;
 import org.dspace.eperson.service.GroupService;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
 import org.dspace.versioning.Version;
 import org.dspace.versioning.factory.VersionServiceFactory;
 import org.dspace.versioning.service.VersioningService;
@@ -88,6 +93,8 @@ public class ItemServiceIT extends AbstractIntegrationTestWithDatabase {
     protected VersioningService versioningService = VersionServiceFactory.getInstance().getVersionService();
     protected AuthorizeService authorizeService = AuthorizeServiceFactory.getInstance().getAuthorizeService();
     protected GroupService groupService = EPersonServiceFactory.getInstance().getGroupService();
+    protected ConfigurationService configurationService = DSpaceServicesFactory.getInstance()
+                                                                               .getConfigurationService();
 
     Community community;
     Collection collection1;
@@ -1025,4 +1032,56 @@ public class ItemServiceIT extends AbstractIntegrationTestWithDatabase {
         context.turnOffAuthorisationSystem();
     }
 
+    @Test
+    public void testFindAllInChunks() throws Exception {
+        configurationService.setProperty("db.iterator.batch-size", 2);
+        try {
+            context.turnOffAuthorisationSystem();
+            Collection collection2 = CollectionBuilder.createCollection(context, community).build();
+            List<UUID> inCollection1 = new ArrayList<>(List.of(item.getID()));
+            List<UUID> archived = new ArrayList<>(List.of(item.getID()));
+            for (int i = 0; i < 4; i++) {
+                Item created = ItemBuilder.createItem(context, collection1).withTitle("Item " + i).build();
+                inCollection1.add(created.getID());
+                archived.add(created.getID());
+            }
+            archived.add(ItemBuilder.createItem(context, collection2).withTitle("Other").build().getID());
+            // not archived, so never found
+            workspaceItemService.create(context, collection1, false);
+            context.commit();
+            context.restoreAuthSystemState();
+
+            List<UUID> found = new ArrayList<>();
+            Iterator<Item> items = itemService.findAll(context);
+            while (items.hasNext()) {
+                found.add(items.next().getID());
+                // the iterator survives commits
+                context.commit();
+            }
+            assertThat(found, hasSize(archived.size()));
+            assertEquals(new HashSet<>(archived), new HashSet<>(found));
+
+            found.clear();
+            items = itemService.findByCollection(context, collection1);
+            while (items.hasNext()) {
+                Item next = items.next();
+                assertEquals(collection1.getID(), next.getOwningCollection().getID());
+                found.add(next.getID());
+            }
+            assertThat(found, hasSize(inCollection1.size()));
+            assertEquals(new HashSet<>(inCollection1), new HashSet<>(found));
+
+            // opting in to load the metadata values with the items
+            found.clear();
+            items = itemService.findAllRegularItems(context, true);
+            while (items.hasNext()) {
+                found.add(items.next().getID());
+            }
+            assertThat(found, hasSize(archived.size()));
+            assertEquals(new HashSet<>(archived), new HashSet<>(found));
+        } finally {
+            configurationService.setProperty("db.iterator.batch-size", null);
+        }
+    }
+
 }
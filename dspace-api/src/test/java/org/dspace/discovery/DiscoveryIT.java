@@ -15,13 +15,19 @@ import static org.hamcrest.Matchers.not;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 import java.io.IOException;
 import java.sql.SQLException;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 import jakarta.servlet.http.HttpServletRequest;
@@ -29,6 +35,7 @@ import org.apache.solr.client.solrj.SolrQuery;
 import org.apache.solr.client.solrj.SolrServerException;
 import org.apache.solr.client.solrj.response.QueryResponse;
 import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.SolrInputDocument;
 import org.dspace.AbstractIntegrationTestWithDatabase;
 import org.dspace.app.launcher.ScriptLauncher;
 import org.dspace.app.scripts.handler.impl.TestDSpaceRunnableHandler;
@@ -56,6 +63,7 @@ import org.dspace.discovery.configuration.DiscoveryConfiguration;
 import org.dspace.discovery.configuration.DiscoverySortFieldConfiguration;
 import org.dspace.discovery.indexobject.IndexableClaimedTask;
 import org.dspace.discovery.indexobject.IndexableCollection;
+import org.dspace.discovery.indexobject.IndexableCommunity;
 import org.dspace.discovery.indexobject.IndexableItem;
 import org.dspace.discovery.indexobject.IndexablePoolTask;
 import org.dspace.discovery.indexobject.IndexableWorkflowItem;
@@ -317,6 +325,124 @@ public class DiscoveryIT extends AbstractIntegrationTestWithDatabase {
 
     }
 
+    @Test
+    public void parallelIndexRebuildTest() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Community community = CommunityBuilder.createCommunity(context)
+                                              .withName("Parent Community")
+                                              .build();
+        Collection col = CollectionBuilder.createCollection(context, community)
+                                          .withName("Collection")
+                                          .build();
+        for (int i = 0; i < 5; i++) {
+            ItemBuilder.createItem(context, col)
+                       .withTitle("Publication " + i)
+                       .build();
+        }
+        WorkspaceItemBuilder.createWorkspaceItem(context, col)
+                            .withTitle("Workspace item")
+                            .build();
+        context.restoreAuthSystemState();
+
+        indexer.deleteIndex();
+        indexer.commit();
+        assertSearchQuery(IndexableItem.TYPE, 0);
+
+        // rebuild using two workers, everything should be back in the index
+        performIndexDiscoveryScript("-b", "-p", "2");
+        assertSearchQuery(IndexableItem.TYPE, 5);
+        assertSearchQuery(IndexableWorkspaceItem.TYPE, 1);
+        assertSearchQuery(IndexableCollection.TYPE, 1);
+    }
+
+    @Test
+    public void parallelIndexOptionsTest() throws Exception {
+        // only the entire index rebuild runs in parallel
+        assertTrue(runIndexDiscoveryScript("-p", "2").getException() instanceof IllegalArgumentException);
+        assertTrue(runIndexDiscoveryScript("-b", "-p", "2", "-t", IndexableItem.TYPE).getException()
+                       instanceof IllegalArgumentException);
+    }
+
+    @Test
+    public void asyncIndexingQueueTest() throws Exception {
+        AsyncIndexingQueue asyncIndexingQueue = DSpaceServicesFactory.getInstance().getServiceManager()
+            .getServiceByName(AsyncIndexingQueue.class.getName(), AsyncIndexingQueue.class);
+        configurationService.setProperty("discovery.index.async.enabled", true);
+        try {
+            context.turnOffAuthorisationSystem();
+            Community community = CommunityBuilder.createCommunity(context)
+                                                  .withName("Parent Community")
+                                                  .build();
+            Collection col = CollectionBuilder.createCollection(context, community)
+                                              .withName("Collection")
+                                              .build();
+            Item item = ItemBuilder.createItem(context, col)
+                                   .withTitle("Queued publication")
+                                   .build();
+            context.restoreAuthSystemState();
+            context.commit();
+
+            // nothing was written to the index yet, the changes wait in the queue
+            assertSearchQuery(IndexableItem.TYPE, 0);
+            assertTrue(asyncIndexingQueue.getQueueSize(context) > 0);
+
+            while (asyncIndexingQueue.process(context, Instant.now().plusSeconds(1)) > 0) {
+                context.commit();
+            }
+            indexer.commit();
+            assertSearchQuery(IndexableItem.TYPE, 1);
+            assertSearchQuery(IndexableCollection.TYPE, 1);
+            assertEquals(0, asyncIndexingQueue.getQueueSize(context));
+
+            deleteItem(item);
+            assertSearchQuery(IndexableItem.TYPE, 1);
+            while (asyncIndexingQueue.process(context, Instant.now().plusSeconds(1)) > 0) {
+                context.commit();
+            }
+            indexer.commit();
+            assertSearchQuery(IndexableItem.TYPE, 0);
+
+            // the change of an object which can't be indexed is kept with its failed attempts
+            configurationService.setProperty("discovery.index.async.max-attempts", 2);
+            IndexableObject broken = mock(IndexableObject.class);
+            when(broken.getUniqueIndexID()).thenReturn(IndexableItem.TYPE + "-not-a-uuid");
+            asyncIndexingQueue.queue(context, List.of(broken), List.of(), List.of());
+            context.commit();
+            for (int attempt = 0; attempt < 2; attempt++) {
+                assertEquals(0, asyncIndexingQueue.process(context, Instant.now().plusSeconds(1)));
+                context.commit();
+                assertEquals(1, asyncIndexingQueue.getQueueSize(context));
+            }
+            // once the attempts ran out it is no longer processed with the later changes of the object
+            asyncIndexingQueue.queue(context, List.of(), List.of(), List.of(broken.getUniqueIndexID()));
+            context.commit();
+            assertEquals(1, asyncIndexingQueue.process(context, Instant.now().plusSeconds(1)));
+            context.commit();
+            assertEquals(1, asyncIndexingQueue.getQueueSize(context));
+            // otherwise it is, and merged with them
+            configurationService.setProperty("discovery.index.async.max-attempts", 3);
+            asyncIndexingQueue.queue(context, List.of(), List.of(), List.of(broken.getUniqueIndexID()));
+            context.commit();
+            assertEquals(2, asyncIndexingQueue.process(context, Instant.now().plusSeconds(1)));
+            context.commit();
+            assertEquals(0, asyncIndexingQueue.getQueueSize(context));
+
+            // the changes given up on are purged after the retention
+            configurationService.setProperty("discovery.index.async.max-attempts", 1);
+            asyncIndexingQueue.queue(context, List.of(broken), List.of(), List.of());
+            context.commit();
+            assertEquals(0, asyncIndexingQueue.process(context, Instant.now().plusSeconds(1)));
+            context.commit();
+            assertEquals(0, asyncIndexingQueue.purgeFailed(context, Instant.now().minusSeconds(60)));
+            assertEquals(1, asyncIndexingQueue.purgeFailed(context, Instant.now().plusSeconds(1)));
+            context.commit();
+            assertEquals(0, asyncIndexingQueue.getQueueSize(context));
+        } finally {
+            configurationService.setProperty("discovery.index.async.enabled", false);
+            configurationService.setProperty("discovery.index.async.max-attempts", null);
+        }
+    }
+
     @Test
     public void solrRecordFromMessyItemTest() throws Exception {
         configurationService.setProperty("authority.controlled.dc.subject", "true");
@@ -905,6 +1031,142 @@ public class DiscoveryIT extends AbstractIntegrationTestWithDatabase {
         }
     }
 
+    @Test
+    public void updateIndexFindsMissingStaleAndOrphanedItemsTest() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Community community = CommunityBuilder.createCommunity(context).build();
+        Collection collection = CollectionBuilder.createCollection(context, community).build();
+        Item missing = ItemBuilder.createItem(context, collection).withTitle("Missing item").build();
+        Item stale = ItemBuilder.createItem(context, collection).withTitle("Stale item").build();
+        Item upToDate = ItemBuilder.createItem(context, collection).withTitle("Up to date item").build();
+        context.restoreAuthSystemState();
+
+        // remove the document of one item, make another one look outdated and add a document of no item
+        String orphanId = IndexableItem.TYPE + "-" + UUID.randomUUID();
+        SolrInputDocument orphan = new SolrInputDocument();
+        orphan.addField(SearchUtils.RESOURCE_UNIQUE_ID, orphanId);
+        orphan.addField(SearchUtils.RESOURCE_TYPE_FIELD, IndexableItem.TYPE);
+        orphan.addField(SearchUtils.RESOURCE_ID_FIELD, orphanId.substring(IndexableItem.TYPE.length() + 1));
+        SolrInputDocument outdated = new SolrInputDocument();
+        outdated.addField(SearchUtils.RESOURCE_UNIQUE_ID, new IndexableItem(stale).getUniqueIndexID());
+        outdated.addField(SearchUtils.RESOURCE_TYPE_FIELD, IndexableItem.TYPE);
+        outdated.addField(SearchUtils.RESOURCE_ID_FIELD, stale.getID().toString());
+        outdated.addField(SearchUtils.LAST_INDEXED_FIELD, Date.from(Instant.EPOCH));
+        solrSearchCore.getSolr().deleteById(new IndexableItem(missing).getUniqueIndexID());
+        solrSearchCore.getSolr().add(List.of(orphan, outdated));
+        solrSearchCore.getSolr().commit();
+
+        indexer.updateIndex(context, false);
+        indexer.commit();
+
+        QueryResponse response = solrSearchCore.getSolr().query(new SolrQuery("*:*")
+            .addFilterQuery(SearchUtils.RESOURCE_TYPE_FIELD + ":" + IndexableItem.TYPE).setRows(10));
+        List<String> ids = response.getResults().stream()
+            .map(doc -> (String) doc.getFirstValue(SearchUtils.RESOURCE_UNIQUE_ID))
+            .collect(Collectors.toList());
+        assertEquals(3, ids.size());
+        assertThat(ids, hasItems(new IndexableItem(missing).getUniqueIndexID(),
+            new IndexableItem(stale).getUniqueIndexID(), new IndexableItem(upToDate).getUniqueIndexID()));
+        for (SolrDocument doc : response.getResults()) {
+            Date lastIndexed = (Date) doc.getFirstValue(SearchUtils.LAST_INDEXED_FIELD);
+            assertTrue("Outdated document should be reindexed", lastIndexed.after(Date.from(Instant.EPOCH)));
+        }
+    }
+
+    @Test
+    public void updateIndexWithoutDiffTest() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Community community = CommunityBuilder.createCommunity(context).build();
+        Collection collection = CollectionBuilder.createCollection(context, community).build();
+        Item missing = ItemBuilder.createItem(context, collection).withTitle("Missing item").build();
+        context.restoreAuthSystemState();
+        solrSearchCore.getSolr().deleteById(new IndexableItem(missing).getUniqueIndexID());
+        solrSearchCore.getSolr().commit();
+        assertEquals(0, countDocuments(IndexableItem.TYPE));
+
+        configurationService.setProperty("discovery.index.update.by-diff", false);
+        try {
+            indexer.updateIndex(context, false);
+            indexer.commit();
+        } finally {
+            configurationService.setProperty("discovery.index.update.by-diff", null);
+        }
+        assertEquals(1, countDocuments(IndexableItem.TYPE));
+    }
+
+    @Test
+    public void cleanIndexRemovesOrphanedDocumentsTest() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Community community = CommunityBuilder.createCommunity(context).build();
+        Collection collection = CollectionBuilder.createCollection(context, community).build();
+        ItemBuilder.createItem(context, collection).withTitle("Existing item").build();
+        ItemBuilder.createItem(context, collection).withTitle("Another existing item").build();
+        context.restoreAuthSystemState();
+
+        List<SolrInputDocument> orphans = new ArrayList<>();
+        // the last type has no index factory, e.g. of a removed plugin
+        for (String type : List.of(IndexableItem.TYPE, IndexableCollection.TYPE, "RemovedType")) {
+            String id = UUID.randomUUID().toString();
+            SolrInputDocument orphan = new SolrInputDocument();
+            orphan.addField(SearchUtils.RESOURCE_UNIQUE_ID, type + "-" + id);
+            orphan.addField(SearchUtils.RESOURCE_TYPE_FIELD, type);
+            orphan.addField(SearchUtils.RESOURCE_ID_FIELD, id);
+            orphans.add(orphan);
+        }
+        solrSearchCore.getSolr().add(orphans);
+        solrSearchCore.getSolr().commit();
+
+        assertEquals(3, indexer.cleanIndex(true));
+        assertEquals(3, countDocuments(IndexableItem.TYPE));
+        assertEquals(2, countDocuments(IndexableCollection.TYPE));
+        assertEquals(1, countDocuments("RemovedType"));
+
+        assertEquals(3, indexer.cleanIndex(false));
+        assertEquals(2, countDocuments(IndexableItem.TYPE));
+        assertEquals(1, countDocuments(IndexableCollection.TYPE));
+        assertEquals(1, countDocuments(IndexableCommunity.TYPE));
+        assertEquals(0, countDocuments("RemovedType"));
+    }
+
+    @Test
+    public void searchLoadsHitsInSolrOrderTest() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Community community = CommunityBuilder.createCommunity(context).withName("Community").build();
+        Collection collection = CollectionBuilder.createCollection(context, community).withName("Collection").build();
+        for (int i = 0; i < 5; i++) {
+            ItemBuilder.createItem(context, collection).withTitle("item " + i).build();
+        }
+        context.restoreAuthSystemState();
+
+        DiscoverQuery discoverQuery = new DiscoverQuery();
+        discoverQuery.setQuery("*:*");
+        discoverQuery.setMaxResults(10);
+        discoverQuery.addFilterQueries(SearchUtils.RESOURCE_TYPE_FIELD + ":(" + IndexableItem.TYPE + " OR "
+                                           + IndexableCollection.TYPE + " OR " + IndexableCommunity.TYPE + ")");
+        discoverQuery.setSortField(SearchUtils.RESOURCE_UNIQUE_ID, DiscoverQuery.SORT_ORDER.desc);
+        DiscoverResult discoverResult = searchService.search(context, discoverQuery);
+
+        List<String> uniqueIds = discoverResult.getIndexableObjects().stream()
+                                               .map(IndexableObject::getUniqueIndexID)
+                                               .collect(Collectors.toList());
+        assertEquals(7, uniqueIds.size());
+        List<String> sortedUniqueIds = new ArrayList<>(uniqueIds);
+        sortedUniqueIds.sort(Comparator.reverseOrder());
+        assertEquals(sortedUniqueIds, uniqueIds);
+
+        List<DiscoverResult.Hit> hits = discoverResult.getHits();
+        assertEquals(uniqueIds, hits.stream().map(hit -> hit.getIndexableObject().getUniqueIndexID())
+                                    .collect(Collectors.toList()));
+        assertEquals(collection, hits.stream().map(DiscoverResult.Hit::getIndexableObject)
+                                     .filter(IndexableCollection.class::isInstance)
+                                     .findFirst().get().getIndexedObject());
+    }
+
+    private long countDocuments(String resourceType) throws SolrServerException, IOException {
+        SolrQuery query = new SolrQuery("*:*").addFilterQuery(SearchUtils.RESOURCE_TYPE_FIELD + ":" + resourceType);
+        return solrSearchCore.getSolr().query(query.setRows(0)).getResults().getNumFound();
+    }
+
     private void assertSearchQuery(String resourceType, int size) throws SearchServiceException {
         assertSearchQuery(resourceType, size, size, 0, -1);
     }
@@ -1008,6 +1270,20 @@ public class DiscoveryIT extends AbstractIntegrationTestWithDatabase {
                 .handleScript(args, ScriptLauncher.getConfig(kernelImpl), testDSpaceRunnableHandler, kernelImpl);
     }
 
+    private void performIndexDiscoveryScript(String... options) throws Exception {
+        runIndexDiscoveryScript(options);
+    }
+
+    private TestDSpaceRunnableHandler runIndexDiscoveryScript(String... options) throws Exception {
+        String[] args = new String[options.length + 1];
+        args[0] = "index-discovery";
+        System.arraycopy(options, 0, args, 1, options.length);
+        TestDSpaceRunnableHandler testDSpaceRunnableHandler = new TestDSpaceRunnableHandler();
+        ScriptLauncher
+                .handleScript(args, ScriptLauncher.getConfig(kernelImpl), testDSpaceRunnableHandler, kernelImpl);
+        return testDSpaceRunnableHandler;
+    }
+
     private void abort(XmlWorkflowItem workflowItem)
             throws SQLException, AuthorizeException, IOException, SearchServiceException {
         final EPerson previousUser = context.getCurrentUser();
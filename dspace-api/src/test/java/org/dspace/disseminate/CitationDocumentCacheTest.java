@@ -0,0 +1,143 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.disseminate;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Set;
+import java.util.UUID;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.tuple.Pair;
+import org.dspace.services.ConfigurationService;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class CitationDocumentCacheTest {
+
+    @Rule
+    public final TemporaryFolder cacheDir = new TemporaryFolder();
+
+    @Mock
+    ConfigurationService configurationService;
+
+    CitationDocumentCache sut;
+
+    @Before
+    public void setUp() throws Exception {
+        when(configurationService.getProperty(eq("citation-page.cache.dir"), anyString()))
+            .thenReturn(cacheDir.getRoot().getAbsolutePath());
+        when(configurationService.getLongProperty(eq("citation-page.cache.max-size"), anyLong()))
+            .thenReturn(1000L);
+
+        sut = new CitationDocumentCache();
+        sut.configurationService = configurationService;
+    }
+
+    @Test
+    public void cachedDocumentCanBeRetrieved() throws Exception {
+        String key = CitationDocumentCache.getKey(UUID.randomUUID(), UUID.randomUUID(), "hash");
+        assertThat(sut.get(key), nullValue());
+
+        read(sut.put(key, generate("cited document")));
+
+        assertThat(read(sut.get(key)), equalTo("cited document"));
+    }
+
+    @Test
+    public void documentsOfModifiedObjectsAreEvicted() throws Exception {
+        UUID itemId = UUID.randomUUID();
+        UUID bitstreamId = UUID.randomUUID();
+        UUID otherBitstreamId = UUID.randomUUID();
+        String key = CitationDocumentCache.getKey(itemId, bitstreamId, "hash");
+        String otherKey = CitationDocumentCache.getKey(UUID.randomUUID(), otherBitstreamId, "hash");
+        read(sut.put(key, generate("document")));
+        read(sut.put(otherKey, generate("other document")));
+
+        sut.evict(Set.of(bitstreamId));
+        assertThat(sut.get(key), nullValue());
+        assertThat(read(sut.get(otherKey)), equalTo("other document"));
+
+        read(sut.put(key, generate("document")));
+        sut.evict(Set.of(itemId));
+        assertThat(sut.get(key), nullValue());
+        assertThat(sut.get(otherKey), notNullValue());
+    }
+
+    @Test
+    public void leastRecentlyUsedDocumentsAreEvicted() throws Exception {
+        String first = CitationDocumentCache.getKey(UUID.randomUUID(), UUID.randomUUID(), "hash");
+        String second = CitationDocumentCache.getKey(UUID.randomUUID(), UUID.randomUUID(), "hash");
+        String third = CitationDocumentCache.getKey(UUID.randomUUID(), UUID.randomUUID(), "hash");
+        read(sut.put(first, generate("a".repeat(400))));
+        read(sut.put(second, generate("b".repeat(400))));
+        // Make sure the first document is the least recently used one
+        new File(cacheDir.getRoot(), first + ".pdf").setLastModified(System.currentTimeMillis() - 60000);
+
+        read(sut.put(third, generate("c".repeat(400))));
+
+        assertThat(sut.get(first), nullValue());
+        assertThat(sut.get(second), notNullValue());
+        assertThat(sut.get(third), notNullValue());
+    }
+
+    @Test
+    public void sizeIsOnlyCheckedWhenTheCacheMayBeFull() throws Exception {
+        String first = CitationDocumentCache.getKey(UUID.randomUUID(), UUID.randomUUID(), "hash");
+        String second = CitationDocumentCache.getKey(UUID.randomUUID(), UUID.randomUUID(), "hash");
+        String third = CitationDocumentCache.getKey(UUID.randomUUID(), UUID.randomUUID(), "hash");
+        read(sut.put(first, generate("a".repeat(400))));
+        // added behind the back of the cache, so only seen when the directory is listed again
+        File unknown = new File(cacheDir.getRoot(), CitationDocumentCache.getKey(UUID.randomUUID(),
+            UUID.randomUUID(), "hash") + ".pdf");
+        Files.writeString(unknown.toPath(), "u".repeat(700));
+        unknown.setLastModified(System.currentTimeMillis() - 60000);
+
+        read(sut.put(second, generate("b".repeat(100))));
+        assertThat(unknown.exists(), equalTo(true));
+
+        // evicted until a tenth of the maximum size is free
+        read(sut.put(third, generate("c".repeat(600))));
+        assertThat(unknown.exists(), equalTo(false));
+        assertThat(sut.get(first), nullValue());
+        assertThat(sut.get(second), notNullValue());
+        assertThat(sut.get(third), notNullValue());
+    }
+
+    private File generate(String content) throws IOException {
+        File file = sut.createTempFile();
+        Files.writeString(file.toPath(), content);
+        return file;
+    }
+
+    private String read(Pair<InputStream, Long> document) throws IOException {
+        try (InputStream in = document.getLeft()) {
+            String content = IOUtils.toString(in, UTF_8);
+            assertThat(document.getRight(), equalTo((long) content.length()));
+            return content;
+        }
+    }
+}
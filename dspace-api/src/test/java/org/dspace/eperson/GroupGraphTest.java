@@ -0,0 +1,53 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.eperson;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.Test;
+
+/**
+ * Unit Tests for class GroupGraph
+ */
+public class GroupGraphTest {
+
+    private final UUID top = UUID.randomUUID();
+    private final UUID left = UUID.randomUUID();
+    private final UUID right = UUID.randomUUID();
+    private final UUID bottom = UUID.randomUUID();
+    private final UUID other = UUID.randomUUID();
+
+    // top contains left and right, which both contain bottom
+    private final GroupGraph graph = new GroupGraph(List.of(
+        Pair.of(top, left), Pair.of(top, right), Pair.of(left, bottom), Pair.of(right, bottom)));
+
+    @Test
+    public void testGetClosure() {
+        assertEquals(Set.of(Pair.of(top, left), Pair.of(top, right), Pair.of(top, bottom),
+                            Pair.of(left, bottom), Pair.of(right, bottom)), graph.getClosure());
+    }
+
+    @Test
+    public void testGetClosureOfGroups() {
+        assertEquals(Set.of(Pair.of(top, left), Pair.of(top, right), Pair.of(top, bottom)),
+                     graph.getClosure(List.of(top)));
+        assertEquals(Set.of(Pair.of(left, bottom)), graph.getClosure(List.of(left, bottom, other)));
+    }
+
+    @Test
+    public void testGetAncestors() {
+        assertEquals(Set.of(top, left, right), graph.getAncestors(List.of(bottom)));
+        assertEquals(Set.of(top), graph.getAncestors(List.of(left, right, top)));
+        assertEquals(Set.of(), graph.getAncestors(List.of(top, other)));
+    }
+}
@@ -0,0 +1,267 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.event;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.content.Community;
+import org.dspace.core.Constants;
+import org.dspace.core.Context;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+
+/**
+ * Integration Tests for the EventOutbox storing and delivering the events of asynchronous consumers
+ */
+public class EventOutboxIT extends AbstractIntegrationTestWithDatabase {
+
+    private static final String CONSUMER = "outboxtest";
+
+    private final EventOutbox eventOutbox = DSpaceServicesFactory.getInstance().getServiceManager()
+        .getServiceByName(EventOutbox.class.getName(), EventOutbox.class);
+    private final ConfigurationService configurationService = DSpaceServicesFactory.getInstance()
+        .getConfigurationService();
+
+    private Community community;
+    private Community otherCommunity;
+
+    @Before
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        context.turnOffAuthorisationSystem();
+        community = CommunityBuilder.createCommunity(context).build();
+        otherCommunity = CommunityBuilder.createCommunity(context).build();
+        context.restoreAuthSystemState();
+        RecordingConsumer.delivered.clear();
+        RecordingConsumer.failing = null;
+    }
+
+    @After
+    @Override
+    public void destroy() throws Exception {
+        eventOutbox.stop();
+        configurationService.setProperty("event.outbox.max-attempts", null);
+        for (String property : configurationService.getPropertyKeys("event.consumer." + CONSUMER)) {
+            configurationService.setProperty(property, null);
+        }
+        super.destroy();
+    }
+
+    @Test
+    public void testDeliverInOrder() throws Exception {
+        String consumerName = CONSUMER + "order";
+        eventOutbox.queue(context, consumerName,
+                          new Event(Event.MODIFY, Constants.COMMUNITY, community.getID(), null));
+        eventOutbox.queue(context, consumerName,
+                          new Event(Event.MODIFY, Constants.COMMUNITY, otherCommunity.getID(), null));
+        // keep the background workers away from the test consumer
+        eventOutbox.stop();
+        context.commit();
+        assertEquals(2, eventOutbox.getPendingCount(context, consumerName));
+
+        Consumer consumer = mock(Consumer.class);
+        List<OutboxEvent> entries = eventOutbox.findDeliverable(context, consumerName);
+        eventOutbox.deliver(context, consumer, entries);
+        context.commit();
+
+        InOrder inOrder = inOrder(consumer);
+        inOrder.verify(consumer).consume(any(Context.class),
+                                         argThat(event -> community.getID().equals(event.getSubjectID())));
+        inOrder.verify(consumer).consume(any(Context.class),
+                                         argThat(event -> otherCommunity.getID().equals(event.getSubjectID())));
+        inOrder.verify(consumer).end(any(Context.class));
+        assertEquals(0, eventOutbox.getPendingCount(context, consumerName));
+    }
+
+    @Test
+    public void testRetryFailedDelivery() throws Exception {
+        String consumerName = CONSUMER + "retry";
+        eventOutbox.queue(context, consumerName,
+                          new Event(Event.MODIFY, Constants.COMMUNITY, community.getID(), null));
+        eventOutbox.stop();
+        context.commit();
+
+        Consumer failingConsumer = mock(Consumer.class);
+        doThrow(new IllegalStateException("consumer failure")).when(failingConsumer).end(any(Context.class));
+
+        // retried right away
+        configurationService.setProperty("event.outbox.retry-delay", 0);
+        try {
+            deliverFailing(consumerName, failingConsumer);
+        } finally {
+            configurationService.setProperty("event.outbox.retry-delay", null);
+        }
+        List<OutboxEvent> entries = eventOutbox.findDeliverable(context, consumerName);
+        assertEquals(1, entries.size());
+        assertEquals(1, entries.get(0).getAttempts());
+
+        // retried later, the event is kept meanwhile
+        deliverFailing(consumerName, failingConsumer);
+        assertTrue(eventOutbox.findDeliverable(context, consumerName).isEmpty());
+        assertEquals(1, eventOutbox.getPendingCount(context, consumerName));
+        verify(failingConsumer, times(2)).consume(any(Context.class),
+            argThat(event -> community.getID().equals(event.getSubjectID())));
+    }
+
+    @Test
+    public void testPurgeFailedEvents() throws Exception {
+        String consumerName = CONSUMER + "purge";
+        eventOutbox.queue(context, consumerName,
+                          new Event(Event.MODIFY, Constants.COMMUNITY, community.getID(), null));
+        eventOutbox.stop();
+        context.commit();
+
+        Consumer failingConsumer = mock(Consumer.class);
+        doThrow(new IllegalStateException("consumer failure")).when(failingConsumer).end(any(Context.class));
+        configurationService.setProperty("event.outbox.max-attempts", 1);
+        deliverFailing(consumerName, failingConsumer);
+        assertEquals(0, eventOutbox.getPendingCount(context, consumerName));
+
+        // kept until the retention has passed
+        assertEquals(0, eventOutbox.purgeFailed(context, consumerName, Instant.now().minus(1, ChronoUnit.DAYS)));
+        assertEquals(0, eventOutbox.purgeFailed(context, CONSUMER + "other", Instant.now().plusSeconds(1)));
+        assertEquals(1, eventOutbox.purgeFailed(context, consumerName, Instant.now().plusSeconds(1)));
+        context.commit();
+        assertEquals(0, eventOutbox.purgeFailed(context, consumerName, Instant.now().plusSeconds(1)));
+    }
+
+    @Test
+    public void testDispatchToAsyncConsumer() throws Exception {
+        String consumerName = CONSUMER + "dispatch";
+        configureRecordingConsumer(consumerName);
+        OutboxDispatcher dispatcher = new OutboxDispatcher(CONSUMER);
+        dispatcher.addConsumerProfile(ConsumerProfile.makeConsumerProfile(consumerName));
+
+        context.addEvent(new Event(Event.MODIFY, Constants.COMMUNITY, community.getID(), null,
+                                   DetailType.DSO_SUMMARY));
+        // details which can't be serialized
+        context.addEvent(new Event(Event.MODIFY, Constants.COMMUNITY, otherCommunity.getID(), new Object(),
+                                   DetailType.DSO_SUMMARY));
+        dispatcher.dispatch(context);
+        eventOutbox.stop();
+        context.commit();
+
+        // only the event which can't be serialized was delivered synchronously
+        assertEquals(List.of(otherCommunity.getID()), RecordingConsumer.delivered);
+        assertEquals(1, eventOutbox.getPendingCount(context, consumerName));
+
+        runWorker(consumerName);
+        assertEquals(List.of(otherCommunity.getID(), community.getID()), RecordingConsumer.delivered);
+        assertEquals(0, eventOutbox.getPendingCount(context, consumerName));
+    }
+
+    @Test
+    public void testRetryFailedBatchOneAtATime() throws Exception {
+        String consumerName = CONSUMER + "onebyone";
+        configureRecordingConsumer(consumerName);
+        context.turnOffAuthorisationSystem();
+        Community lastCommunity = CommunityBuilder.createCommunity(context).build();
+        context.restoreAuthSystemState();
+        for (Community queued : List.of(community, otherCommunity, lastCommunity)) {
+            eventOutbox.queue(context, consumerName,
+                              new Event(Event.MODIFY, Constants.COMMUNITY, queued.getID(), null));
+        }
+        eventOutbox.stop();
+        context.commit();
+
+        // a single failed attempt gives up on the event
+        configurationService.setProperty("event.outbox.max-attempts", 1);
+        RecordingConsumer.failing = otherCommunity.getID();
+        runWorker(consumerName);
+        // the event before the failing one was delivered, the one after it is still pending without failed attempt
+        assertEquals(List.of(community.getID()), RecordingConsumer.delivered);
+        assertEquals(1, eventOutbox.getPendingCount(context, consumerName));
+
+        runWorker(consumerName);
+        assertEquals(List.of(community.getID(), lastCommunity.getID()), RecordingConsumer.delivered);
+        assertEquals(0, eventOutbox.getPendingCount(context, consumerName));
+    }
+
+    private void configureRecordingConsumer(String consumerName) {
+        configurationService.setProperty("event.consumer." + consumerName + ".class",
+                                         RecordingConsumer.class.getName());
+        configurationService.setProperty("event.consumer." + consumerName + ".filters", "Community+Modify");
+        configurationService.setProperty("event.consumer." + consumerName + ".async", true);
+    }
+
+    /**
+     * Deliver the pending events of a consumer like the background workers, in a thread (and so a database session)
+     * of its own
+     */
+    private void runWorker(String consumerName) throws InterruptedException {
+        Thread thread = new Thread(eventOutbox.new Worker(consumerName));
+        thread.start();
+        thread.join();
+    }
+
+    private void deliverFailing(String consumerName, Consumer failingConsumer) throws Exception {
+        List<OutboxEvent> entries = eventOutbox.findDeliverable(context, consumerName);
+        try {
+            eventOutbox.deliver(context, failingConsumer, entries);
+            fail("The consumer failure should be thrown");
+        } catch (IllegalStateException e) {
+            context.rollback();
+            eventOutbox.recordFailure(entries, e);
+        }
+    }
+
+    /**
+     * Consumer recording the subjects of the events of the batches it ended, and failing on the events of a subject
+     */
+    public static class RecordingConsumer implements Consumer {
+        static final List<UUID> delivered = Collections.synchronizedList(new ArrayList<>());
+        static volatile UUID failing;
+
+        private final List<UUID> batch = new ArrayList<>();
+
+        @Override
+        public void initialize() {
+        }
+
+        @Override
+        public void consume(Context ctx, Event event) {
+            if (event.getSubjectID().equals(failing)) {
+                throw new IllegalStateException("consumer failure");
+            }
+            batch.add(event.getSubjectID());
+        }
+
+        @Override
+        public void end(Context ctx) {
+            delivered.addAll(batch);
+            batch.clear();
+        }
+
+        @Override
+        public void finish(Context ctx) {
+        }
+    }
+}
@@ -362,4 +362,47 @@ public class SolrLoggerServiceImplIT
         QueryResponse originalResponse = solrStatisticsCore.getSolr().query(originalQuery);
         assertEquals("ORIGINAL bundle SHOULD be logged", 1, originalResponse.getResults().getNumFound());
     }
+
+    @Test
+    public void testPostViewLogsOwningCollectionOfMovedItem() throws Exception {
+        MockSolrLoggerServiceImpl solrLoggerService = DSpaceServicesFactory.getInstance()
+                .getServiceManager()
+                .getServiceByName("solrLoggerService", MockSolrLoggerServiceImpl.class);
+        SolrClient solr = solrLoggerService.solr;
+
+        context.turnOffAuthorisationSystem();
+        Community community = CommunityBuilder
+                .createCommunity(context)
+                .withName("Test Community").build();
+        Collection source = CollectionBuilder
+                .createCollection(context, community)
+                .withName("Source Collection").build();
+        Collection target = CollectionBuilder
+                .createCollection(context, community)
+                .withName("Target Collection").build();
+        Item item = ItemBuilder
+                .createItem(context, source)
+                .withTitle("Test Item for Logging").build();
+        Bitstream bitstream = BitstreamBuilder
+                .createBitstream(context, item, new ByteArrayInputStream("content".getBytes()), "ORIGINAL")
+                .withName("original.txt")
+                .build();
+        context.commit();
+
+        solrLoggerService.postView(context, bitstream, null, eperson, null);
+
+        // the owning objects of the bitstream are cached until the item moves
+        ContentServiceFactory.getInstance().getItemService().move(context, item, source, target);
+        context.commit();
+        context.restoreAuthSystemState();
+
+        solrLoggerService.postView(context, bitstream, null, eperson, null);
+        solr.commit();
+
+        QueryResponse response = solr.query(new SolrQuery("id:" + bitstream.getID())
+                .addSort(F_TIME, SolrQuery.ORDER.asc));
+        assertEquals(2, response.getResults().getNumFound());
+        assertEquals(source.getID().toString(), response.getResults().get(0).getFieldValue("owningColl"));
+        assertEquals(target.getID().toString(), response.getResults().get(1).getFieldValue("owningColl"));
+    }
 }
@@ -0,0 +1,191 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayWithSize;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.common.SolrException;
+import org.apache.solr.common.SolrInputDocument;
+import org.dspace.services.ConfigurationService;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+/**
+ * Unit tests for {@link SolrStatisticsWriter}.
+ */
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class SolrStatisticsWriterTest {
+
+    @Rule
+    public final TemporaryFolder spillDir = new TemporaryFolder();
+
+    @Mock
+    private SolrClient solr;
+
+    @Mock
+    private ConfigurationService configurationService;
+
+    @Before
+    public void setUp() {
+        when(configurationService.getIntProperty(anyString(), anyInt())).thenAnswer(i -> i.getArgument(1));
+        when(configurationService.getLongProperty(anyString(), anyLong())).thenAnswer(i -> i.getArgument(1));
+        when(configurationService.getBooleanProperty(anyString(), anyBoolean())).thenAnswer(i -> i.getArgument(1));
+        when(configurationService.getProperty(anyString(), anyString())).thenAnswer(i -> i.getArgument(1));
+        when(configurationService.getProperty(eq("solr-statistics.async.spill.dir"), anyString()))
+            .thenReturn(spillDir.getRoot().getAbsolutePath());
+        when(configurationService.getIntProperty(eq("solr-statistics.async.buffer.limit"), anyInt())).thenReturn(2);
+    }
+
+    @Test
+    public void testBufferedDocumentsAreWrittenInBatches() throws Exception {
+        when(configurationService.getIntProperty(eq("solr-statistics.async.batch-size"), anyInt())).thenReturn(2);
+        when(configurationService.getIntProperty(eq("solr-statistics.async.buffer.limit"), anyInt())).thenReturn(3);
+        SolrStatisticsWriter writer = new SolrStatisticsWriter(solr, configurationService);
+
+        writer.add(document("1"));
+        writer.add(document("2"));
+        writer.add(document("3"));
+        assertThat(writer.getBufferSize(), equalTo(3));
+
+        assertThat(writer.flush(), equalTo(2));
+        assertThat(writer.flush(), equalTo(1));
+        assertThat(writer.flush(), equalTo(0));
+
+        assertThat(writtenIds(2), contains(List.of("1", "2"), List.of("3")));
+        assertThat(writer.getWrittenCount(), equalTo(3L));
+        assertThat(writer.getBufferSize(), equalTo(0));
+        verify(solr, never()).commit(anyBoolean(), anyBoolean());
+    }
+
+    @Test
+    public void testBatchesAreCommittedWithoutAutoCommit() throws Exception {
+        when(configurationService.getBooleanProperty(eq("solr-statistics.autoCommit"), anyBoolean()))
+            .thenReturn(false);
+        SolrStatisticsWriter writer = new SolrStatisticsWriter(solr, configurationService);
+
+        writer.add(document("1"));
+        writer.add(document("2"));
+        writer.flush();
+
+        verify(solr).commit(false, false);
+    }
+
+    @Test
+    public void testDocumentsAreDroppedWhenBufferIsFull() throws Exception {
+        SolrStatisticsWriter writer = new SolrStatisticsWriter(solr, configurationService);
+
+        writer.add(document("1"));
+        writer.add(document("2"));
+        writer.add(document("3"));
+
+        assertThat(writer.getBufferSize(), equalTo(2));
+        assertThat(writer.getDroppedCount(), equalTo(1L));
+        assertThat(writer.getSpilledCount(), equalTo(0L));
+        assertThat(spillDir.getRoot().listFiles(), arrayWithSize(0));
+    }
+
+    @Test
+    public void testDocumentsAreSpilledWhenBufferIsFull() throws Exception {
+        when(configurationService.getProperty(eq("solr-statistics.async.overflow"), anyString())).thenReturn("spill");
+        SolrStatisticsWriter writer = new SolrStatisticsWriter(solr, configurationService);
+
+        writer.add(document("1"));
+        writer.add(document("2"));
+        writer.add(document("3"));
+
+        assertThat(writer.getDroppedCount(), equalTo(0L));
+        assertThat(writer.getSpilledCount(), equalTo(1L));
+        assertThat(spillDir.getRoot().listFiles(), arrayWithSize(1));
+
+        // the spilled document is written once the buffer is empty
+        assertThat(writer.flush(), equalTo(2));
+        assertThat(writer.flush(), equalTo(1));
+        assertThat(writtenIds(2), contains(List.of("1", "2"), List.of("3")));
+        assertThat(spillDir.getRoot().listFiles(), arrayWithSize(0));
+    }
+
+    @Test
+    public void testRefusedDocumentsAreSpilled() throws Exception {
+        when(configurationService.getProperty(eq("solr-statistics.async.overflow"), anyString())).thenReturn("spill");
+        SolrStatisticsWriter writer = new SolrStatisticsWriter(solr, configurationService);
+        doThrow(new IOException("Solr is down")).when(solr).add(any(Collection.class));
+
+        writer.add(document("1"));
+        assertThrows(IOException.class, writer::flush);
+
+        assertThat(writer.getSpilledCount(), equalTo(1L));
+        assertThat(writer.getWrittenCount(), equalTo(0L));
+        // the spilled documents are kept until Solr accepts them
+        assertThrows(IOException.class, writer::flush);
+        assertThat(spillDir.getRoot().listFiles(), arrayWithSize(1));
+    }
+
+    @Test
+    public void testRejectedSpilledDocumentsAreMovedAside() throws Exception {
+        when(configurationService.getProperty(eq("solr-statistics.async.overflow"), anyString())).thenReturn("spill");
+        SolrStatisticsWriter writer = new SolrStatisticsWriter(solr, configurationService);
+        doThrow(new SolrException(SolrException.ErrorCode.BAD_REQUEST, "unknown field"))
+            .when(solr).add(any(Collection.class));
+
+        writer.add(document("1"));
+        assertThrows(SolrException.class, writer::flush);
+        assertThat(writer.getSpilledCount(), equalTo(1L));
+
+        // the rejected documents are not sent again
+        assertThat(writer.flush(), equalTo(0));
+        assertThat(writer.flush(), equalTo(0));
+        verify(solr, times(2)).add(any(Collection.class));
+        File[] files = spillDir.getRoot().listFiles();
+        assertThat(files, arrayWithSize(1));
+        assertThat(files[0].getName(), endsWith(".javabin.failed"));
+    }
+
+    private SolrInputDocument document(String id) {
+        SolrInputDocument document = new SolrInputDocument();
+        document.addField("id", id);
+        return document;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<Object>> writtenIds(int batches) throws Exception {
+        ArgumentCaptor<Collection<SolrInputDocument>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(solr, times(batches)).add(captor.capture());
+        return captor.getAllValues().stream()
+                     .map(batch -> batch.stream().map(d -> d.getFieldValue("id")).collect(Collectors.toList()))
+                     .collect(Collectors.toList());
+    }
+}
@@ -163,6 +163,65 @@ public class IPTableTest {
         assertFalse("Range should not contain value above upper limit", instance.contains("192.168.2.0"));
     }
 
+    @Test
+    public void testOverlappingRangesContains() throws Exception {
+        IPTable instance = new IPTable();
+        instance.add("10.0.0.0/24");
+        instance.add("10.0.0.128-10.0.1.10");
+        instance.add("10.0.1.11");
+        instance.add("10.0.5.0-10.0.5.9");
+
+        assertTrue(instance.contains("10.0.0.0"));
+        assertTrue(instance.contains("10.0.1.5"));
+        assertTrue("Adjacent address should be merged", instance.contains("10.0.1.11"));
+        assertFalse(instance.contains("10.0.1.12"));
+        assertTrue(instance.contains("10.0.5.9"));
+        assertFalse(instance.contains("10.0.5.10"));
+        assertFalse(instance.contains("9.255.255.255"));
+        assertEquals("10.0.0.0-10.0.1.11, 10.0.5.0-10.0.5.9", instance.toString());
+    }
+
+    @Test
+    public void testIPv6Contains() throws Exception {
+        IPTable instance = new IPTable();
+        instance.add("2001:db8::/32");
+        instance.add("fe80::1");
+        instance.add("2001:db9::10 - 2001:db9::20");
+
+        assertTrue(instance.contains("2001:db8::"));
+        assertTrue(instance.contains("2001:DB8:ffff:ffff:ffff:ffff:ffff:ffff"));
+        assertTrue(instance.contains("[2001:db8:0:0:1:0:0:1]"));
+        assertFalse(instance.contains("2001:db7:ffff:ffff:ffff:ffff:ffff:ffff"));
+        assertTrue(instance.contains("fe80::1%eth0"));
+        assertFalse(instance.contains("fe80::2"));
+        assertTrue(instance.contains("2001:db9::15"));
+        assertFalse(instance.contains("2001:db9::21"));
+        assertFalse("IPv4 address should not match IPv6 ranges", instance.contains("32.1.13.184"));
+    }
+
+    @Test
+    public void testIPv4MappedContains() throws Exception {
+        IPTable instance = new IPTable();
+        instance.add("192.168.1");
+
+        assertTrue(instance.contains("::ffff:192.168.1.20"));
+        assertTrue(instance.contains("::ffff:c0a8:0114"));
+        assertFalse(instance.contains("::192.168.1.20"));
+    }
+
+    @Test(expected = IPFormatException.class)
+    public void testAddBadPrefix() throws Exception {
+        IPTable instance = new IPTable();
+        instance.add("192.168.0.0/33");
+    }
+
+    @Test(expected = IPFormatException.class)
+    public void testContainsBadIPv6Format() throws Exception {
+        IPTable instance = new IPTable();
+        instance.add("2001:db8::/32");
+        instance.contains("2001:db8:::1");
+    }
+
     /**
      * Test of isEmpty method, of class IPTable.
      * @throws java.lang.Exception passed through.
@@ -198,4 +257,11 @@ public class IPTableTest {
     @Test
     public void testToSet() {
     }
+
+    @Test(expected = IllegalStateException.class)
+    public void testToSetOfHugeRange() throws IPFormatException {
+        IPTable instance = new IPTable();
+        instance.add("2001:db8::/64");
+        instance.toSet();
+    }
 }
@@ -0,0 +1,116 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link SpiderPatternMatcher}.
+ */
+public class SpiderPatternMatcherTest {
+
+    private static final List<String> PATTERNS = List.of(
+        "bot",
+        "^check_http",
+        "(\\s|\\+)?crawler",
+        "[^a]fish",
+        "^.?$",
+        "^Java/\\d{1,2}\\.\\d",
+        "web(zip|copier)",
+        "libwww-perl",
+        "A+B?CD",
+        "Scrapy/[0-9]+",
+        "ia_archive(r|rbot)"
+    );
+
+    private static final List<String> AGENTS = List.of(
+        "Mozilla/5.0 (compatible; Googlebot/2.1; +http://www.google.com/bot.html)",
+        "Mozilla/5.0 (X11; Linux x86_64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0 Safari/537.36",
+        "check_http/v2.3.3 (monitoring-plugins 2.3.3)",
+        "my check_http",
+        "SomeCrawler+crawler",
+        "catfish",
+        "afish",
+        "",
+        "x",
+        "xy",
+        "Java/17.0.2",
+        "Java/a",
+        "webcopier",
+        "webmirror",
+        "libwww-perl/6.67",
+        "AACD",
+        "ABCD",
+        "ACD",
+        "BCD",
+        "Scrapy/2.11",
+        "Scrapy/",
+        "ia_archiver"
+    );
+
+    @Test
+    public void testMatchesLikeEveryPattern() {
+        List<Pattern> patterns = PATTERNS.stream().map(Pattern::compile).collect(Collectors.toList());
+        SpiderPatternMatcher matcher = new SpiderPatternMatcher(patterns, 0);
+
+        for (String agent : AGENTS) {
+            boolean expected = patterns.stream().anyMatch(p -> p.matcher(agent).find());
+            assertEquals(agent, expected, matcher.matches(agent));
+        }
+    }
+
+    @Test
+    public void testCachedVerdicts() {
+        SpiderPatternMatcher matcher = new SpiderPatternMatcher(List.of(Pattern.compile("bot")), 1);
+
+        assertTrue(matcher.matches("Googlebot"));
+        assertTrue(matcher.matches("Googlebot"));
+        assertFalse(matcher.matches("Firefox"));
+        assertTrue(matcher.matches("Googlebot"));
+    }
+
+    @Test
+    public void testNullPatternsAreIgnored() {
+        SpiderPatternMatcher matcher = new SpiderPatternMatcher(Arrays.asList(null, Pattern.compile("bot")), 10);
+
+        assertEquals(1, matcher.size());
+        assertTrue(matcher.matches("Googlebot"));
+    }
+
+    @Test
+    public void testRequiredLiteral() {
+        assertEquals("bot", literal("bot"));
+        assertEquals("check_http", literal("^check_http$"));
+        assertEquals("crawler", literal("(\\s|\\+)?crawler"));
+        assertEquals("fish", literal("[^a]fish"));
+        assertEquals("Java/", literal("^Java/\\d{1,2}\\.\\d"));
+        assertEquals("CD", literal("A+B?CD"));
+        assertEquals("ia_archive", literal("ia_archive(r|rbot)"));
+        assertEquals("a.b", literal("a\\.b"));
+        assertNull(literal("^.?$"));
+        assertNull(literal("foo|bar"));
+        assertNull(literal("(?i)bot"));
+        assertNull(literal("\\Qbot\\E"));
+        assertEquals("bc", literal("a{0,3}bc"));
+        assertNull(SpiderPatternMatcher.getRequiredLiteral(Pattern.compile("bot", Pattern.CASE_INSENSITIVE)));
+    }
+
+    private String literal(String regex) {
+        return SpiderPatternMatcher.getRequiredLiteral(Pattern.compile(regex));
+    }
+}
@@ -185,6 +185,29 @@ public class BitstreamStorageServiceImplIT extends AbstractIntegrationTestWithDa
         assertThat(bitstreamService.countByStoreNumber(context, DEST_STORE).intValue(), equalTo(3));
     }
 
+    /**
+     * Test retrieving a range of a bitstream from the assetstore
+     *
+     * @throws Exception if an exception occurs.
+     */
+    @Test
+    public void testRetrieveRange() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Bitstream bitstream = createBitstream("0123456789");
+        context.restoreAuthSystemState();
+
+        try (InputStream in = bitstreamStorageService.retrieve(context, bitstream, 3, 4)) {
+            assertThat(IOUtils.toString(in, UTF_8), equalTo("3456"));
+        }
+        // A range exceeding the end of the bitstream returns the remaining bytes
+        try (InputStream in = bitstreamStorageService.retrieve(context, bitstream, 8, 10)) {
+            assertThat(IOUtils.toString(in, UTF_8), equalTo("89"));
+        }
+        try (InputStream in = bitstreamStorageService.retrieve(context, bitstream, 0, 10)) {
+            assertThat(IOUtils.toString(in, UTF_8), equalTo("0123456789"));
+        }
+    }
+
     private void createBitstreams(Context context, int numBitstreams)
         throws SQLException {
         context.turnOffAuthorisationSystem();
@@ -29,9 +29,11 @@ import org.jclouds.blobstore.BlobStoreContext;
 import org.jclouds.blobstore.domain.Blob;
 import org.jclouds.blobstore.domain.BlobBuilder;
 import org.jclouds.blobstore.domain.BlobBuilder.PayloadBlobBuilder;
+import org.jclouds.blobstore.options.GetOptions;
 import org.jclouds.io.Payload;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatchers;
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -72,6 +74,22 @@ public class JCloudBitStoreServiceTest extends AbstractUnitTest {
         assertThat(this.jCloudBitStoreService.get(bitstream), Matchers.equalTo(inputStream));
     }
 
+    @Test
+    public void getBitstreamRangeTest() throws Exception {
+        Blob blob = Mockito.mock(Blob.class);
+        Payload payload = Mockito.mock(Payload.class);
+        InputStream inputStream = Mockito.mock(InputStream.class);
+        when(blob.getPayload()).thenReturn(payload);
+        when(payload.openStream()).thenReturn(inputStream);
+        when(blobStoreContext.getBlobStore()).thenReturn(blobStore);
+        when(blobStore.getBlob(any(), any(), any(GetOptions.class))).thenReturn(blob);
+        assertThat(this.jCloudBitStoreService.get(bitstream, 10, 20), Matchers.equalTo(inputStream));
+
+        ArgumentCaptor<GetOptions> options = ArgumentCaptor.forClass(GetOptions.class);
+        verify(blobStore).getBlob(any(), any(), options.capture());
+        assertThat(options.getValue().getRanges(), Matchers.contains("10-29"));
+    }
+
     @Test
     public void removeBitstreamTest() throws Exception {
         String bitStreamId = "BitStreamId";
@@ -270,6 +270,21 @@ public class S3BitStoreServiceIT extends AbstractIntegrationTestWithDatabase {
         assertThat(about, hasEntry("checksum_algorithm", CSA));
         assertThat(about.size(), is(4));
 
+        // the content is read, unless the checksum is taken from the ETag
+        about = s3BitStoreService.about(bitstream, List.of("checksum", "checksum_from_etag"));
+        assertThat(about, hasEntry("checksum", expectedChecksum));
+        assertThat(about.size(), is(1));
+
+        s3BitStoreService.setUseEtagChecksum(true);
+        try {
+            about = s3BitStoreService.about(bitstream, List.of("checksum", "checksum_from_etag"));
+            assertThat(about, hasEntry("checksum", expectedChecksum));
+            assertThat(about, hasEntry("checksum_from_etag", true));
+            assertThat(about.size(), is(2));
+        } finally {
+            s3BitStoreService.setUseEtagChecksum(false);
+        }
+
     }
 
     @Test
@@ -24,10 +24,17 @@ import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
 import javax.xml.stream.XMLStreamException;
 
 import com.lyncode.xoai.dataprovider.exceptions.ConfigurationException;
@@ -43,6 +50,7 @@ import org.apache.logging.log4j.Logger;
 import org.apache.solr.client.solrj.SolrClient;
 import org.apache.solr.client.solrj.SolrQuery;
 import org.apache.solr.client.solrj.SolrQuery.ORDER;
+import org.apache.solr.client.solrj.SolrRequest;
 import org.apache.solr.client.solrj.SolrServerException;
 import org.apache.solr.client.solrj.response.QueryResponse;
 import org.apache.solr.common.SolrDocument;
@@ -72,6 +80,7 @@ import org.dspace.xoai.services.api.cache.XOAICacheService;
 import org.dspace.xoai.services.api.cache.XOAIItemCacheService;
 import org.dspace.xoai.services.api.cache.XOAILastCompilationCacheService;
 import org.dspace.xoai.services.api.solr.SolrServerResolver;
+import org.dspace.xoai.services.impl.resources.PreRenderedFormats;
 import org.dspace.xoai.solr.DSpaceSolrSearch;
 import org.dspace.xoai.solr.exceptions.DSpaceSolrException;
 import org.dspace.xoai.solr.exceptions.DSpaceSolrIndexerException;
@@ -85,10 +94,15 @@ import org.springframework.context.annotation.AnnotationConfigApplicationContext
 public class XOAI {
     private static Logger log = LogManager.getLogger(XOAI.class);
 
+    // number of items whose previous state is looked up at once
+    private static final int CHUNK_SIZE = 100;
+
     // needed because the solr query only returns 10 rows by default
     private final Context context;
     private final boolean verbose;
     private boolean clean;
+    // whether the index is known to be empty, so there is no need to look up the previous state of items
+    private boolean emptyIndex;
 
     @Autowired
     private SolrServerResolver solrServerResolver;
@@ -107,7 +121,7 @@ public class XOAI {
 
     private List<XOAIExtensionItemCompilePlugin> extensionPlugins;
 
-    private List<String> getFileFormats(Item item) {
+    private List<String> getFileFormats(Context context, Item item) {
         List<String> formats = new ArrayList<>();
         try {
             for (Bundle b : itemService.getBundles(item, "ORIGINAL")) {
@@ -156,6 +170,7 @@ public class XOAI {
 
             if (clean) {
                 clearIndex();
+                emptyIndex = true;
                 System.out.println("Using full import.");
                 result = this.indexAll();
             } else {
@@ -164,6 +179,7 @@ public class XOAI {
 
                 SolrDocumentList results = DSpaceSolrSearch.query(solrServerResolver.getServer(), solrParams);
                 if (results.getNumFound() == 0) {
+                    emptyIndex = true;
                     System.out.println("There are no indexed documents, using full import.");
                     result = this.indexAll();
                 } else {
@@ -190,9 +206,9 @@ public class XOAI {
          */
         try {
             Iterator<Item> discoverableChangedItems = itemService
-                    .findInArchiveOrWithdrawnDiscoverableModifiedSince(context, last);
+                    .findInArchiveOrWithdrawnDiscoverableModifiedSince(context, last, true);
             Iterator<Item> nonDiscoverableChangedItems = itemService
-                    .findInArchiveOrWithdrawnNonDiscoverableModifiedSince(context, last);
+                    .findInArchiveOrWithdrawnNonDiscoverableModifiedSince(context, last, true);
             Iterator<Item> possiblyChangedItems = getItemsWithPossibleChangesBefore(last);
             return this.index(discoverableChangedItems) + this.index(nonDiscoverableChangedItems)
                     + this.index(possiblyChangedItems);
@@ -263,9 +279,9 @@ public class XOAI {
             // will be flagged withdrawn
             // (in order to notify external OAI harvesters of their new status)
             Iterator<Item> discoverableItems = itemService.findInArchiveOrWithdrawnDiscoverableModifiedSince(context,
-                    null);
+                    null, true);
             Iterator<Item> nonDiscoverableItems = itemService
-                    .findInArchiveOrWithdrawnNonDiscoverableModifiedSince(context, null);
+                    .findInArchiveOrWithdrawnNonDiscoverableModifiedSince(context, null, true);
             return this.index(discoverableItems) + this.index(nonDiscoverableItems);
         } catch (SQLException ex) {
             throw new DSpaceSolrIndexerException(ex.getMessage(), ex);
@@ -273,70 +289,62 @@ public class XOAI {
     }
 
     /**
-     * Check if an item is already indexed. Using this, it is possible to check if
-     * withdrawn or nondiscoverable items have to be indexed at all.
+     * Look up which items are already indexed, and whether they are flagged visible in the index, with a single
+     * query. Using this, it is possible to check if withdrawn or nondiscoverable items have to be indexed at all.
      *
-     * @param item Item that should be checked for its presence in the index.
-     * @return has it been indexed?
+     * @param items Items that should be checked for their presence in the index.
+     * @return the item.public flag of the indexed items, by item id
      */
-    private boolean checkIfIndexed(Item item) throws IOException {
-        SolrQuery params = new SolrQuery("item.id:" + item.getID().toString()).addField("item.id");
-        try {
-            SolrDocumentList documents = DSpaceSolrSearch.query(solrServerResolver.getServer(), params);
-            return documents.getNumFound() == 1;
-        } catch (DSpaceSolrException | SolrServerException e) {
-            return false;
+    private Map<String, Boolean> getIndexedVisibility(List<Item> items) throws IOException {
+        Map<String, Boolean> visibility = new HashMap<>();
+        if (emptyIndex || items.isEmpty()) {
+            return visibility;
         }
-    }
-
-    /**
-     * Check if an item is flagged visible in the index.
-     *
-     * @param item Item that should be checked for its presence in the index.
-     * @return has it been indexed?
-     */
-    private boolean checkIfVisibleInOAI(Item item) throws IOException {
-        SolrQuery params = new SolrQuery("item.id:" + item.getID().toString()).addField("item.public");
+        String ids = items.stream().map(item -> item.getID().toString()).collect(Collectors.joining(","));
+        SolrQuery params = new SolrQuery("{!terms f=item.id}" + ids).setFields("item.id", "item.public")
+                .setRows(items.size());
         try {
-            SolrDocumentList documents = DSpaceSolrSearch.query(solrServerResolver.getServer(), params);
-            if (documents.getNumFound() == 1) {
-                return (boolean) documents.get(0).getFieldValue("item.public");
-            } else {
-                return false;
+            QueryResponse response = solrServerResolver.getServer().query(params, SolrRequest.METHOD.POST);
+            for (SolrDocument document : response.getResults()) {
+                visibility.put((String) document.getFieldValue("item.id"),
+                        (Boolean) document.getFieldValue("item.public"));
             }
-        } catch (DSpaceSolrException | SolrServerException e) {
-            return false;
+        } catch (SolrServerException e) {
+            log.error("Unable to look up the indexed items, considering them not indexed", e);
         }
+        return visibility;
     }
 
     private int index(Iterator<Item> iterator) throws DSpaceSolrIndexerException {
+        int threads = Math.max(1, configurationService.getIntProperty("oai.import.threads", 1));
+        ExecutorService executor = threads > 1 ? Executors.newFixedThreadPool(threads) : null;
         try {
             int i = 0;
             int batchSize = configurationService.getIntProperty("oai.import.batch.size", 1000);
+            int commitWithin = configurationService.getIntProperty("oai.import.commit-within", 10000);
             SolrClient server = solrServerResolver.getServer();
             ArrayList<SolrInputDocument> list = new ArrayList<>();
+            List<Item> chunk = new ArrayList<>(CHUNK_SIZE);
             while (iterator.hasNext()) {
-                try {
+                chunk.clear();
+                while (iterator.hasNext() && chunk.size() < CHUNK_SIZE) {
                     Item item = iterator.next();
                     if (item.getHandle() == null) {
                         log.warn("Skipped item without handle: " + item.getID());
+                        context.uncacheEntity(item);
                     } else {
-                        list.add(this.index(item));
+                        chunk.add(item);
+                    }
+                    i++;
+                    if (i % 1000 == 0) {
+                        System.out.println(i + " items imported so far...");
                     }
-                    // Uncache the item to keep memory consumption low
-                    context.uncacheEntity(item);
-
-                } catch (SQLException | IOException | XMLStreamException | WritingXmlException ex) {
-                    log.error(ex.getMessage(), ex);
-                }
-                i++;
-                if (i % 1000 == 0 && batchSize != 1000) {
-                    System.out.println(i + " items imported so far...");
                 }
-                if (i % batchSize == 0) {
-                    System.out.println(i + " items imported so far...");
-                    server.add(list);
-                    server.commit();
+                list.addAll(executor == null ? index(chunk) : index(chunk, executor, threads));
+
+                if (list.size() >= batchSize) {
+                    // let Solr decide when to commit, instead of a hard commit for every batch
+                    server.add(list, commitWithin);
                     list.clear();
                     try {
                         context.uncacheEntities();
@@ -354,11 +362,95 @@ public class XOAI {
                 list.clear();
             }
             return i;
-        } catch (SolrServerException | IOException ex) {
+        } catch (SolrServerException | IOException | SQLException ex) {
             throw new DSpaceSolrIndexerException(ex.getMessage(), ex);
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
         }
     }
 
+    /**
+     * Compile the documents of a chunk of items in the current thread.
+     *
+     * @param items the items
+     * @return the documents of the items which could be compiled
+     */
+    private List<SolrInputDocument> index(List<Item> items) throws IOException, SQLException {
+        Map<String, Boolean> visibility = getIndexedVisibility(items);
+        List<SolrInputDocument> documents = new ArrayList<>(items.size());
+        for (Item item : items) {
+            try {
+                documents.add(this.index(context, item, visibility.get(item.getID().toString())));
+            } catch (SQLException | IOException | XMLStreamException | WritingXmlException ex) {
+                log.error(ex.getMessage(), ex);
+            }
+            // Uncache the item to keep memory consumption low
+            context.uncacheEntity(item);
+        }
+        return documents;
+    }
+
+    /**
+     * Compile the documents of a chunk of items using multiple threads. Each thread loads its share of the items in
+     * its own context, as a context can't be shared between threads.
+     *
+     * @param items    the items
+     * @param executor the executor running the threads
+     * @param threads  the number of threads
+     * @return the documents of the items which could be compiled, in the order of the items
+     */
+    private List<SolrInputDocument> index(List<Item> items, ExecutorService executor, int threads)
+            throws IOException, SQLException, DSpaceSolrIndexerException {
+        Map<String, Boolean> visibility = getIndexedVisibility(items);
+        List<UUID> ids = new ArrayList<>(items.size());
+        for (Item item : items) {
+            ids.add(item.getID());
+            context.uncacheEntity(item);
+        }
+
+        List<Future<List<SolrInputDocument>>> futures = new ArrayList<>(threads);
+        int share = (ids.size() + threads - 1) / threads;
+        for (int start = 0; start < ids.size(); start += share) {
+            List<UUID> threadIds = ids.subList(start, Math.min(start + share, ids.size()));
+            futures.add(executor.submit(() -> {
+                List<SolrInputDocument> documents = new ArrayList<>(threadIds.size());
+                Context threadContext = new Context(Context.Mode.READ_ONLY);
+                try {
+                    for (UUID id : threadIds) {
+                        Item item = itemService.find(threadContext, id);
+                        if (item == null) {
+                            continue;
+                        }
+                        try {
+                            documents.add(this.index(threadContext, item, visibility.get(id.toString())));
+                        } catch (SQLException | IOException | XMLStreamException | WritingXmlException ex) {
+                            log.error(ex.getMessage(), ex);
+                        }
+                        threadContext.uncacheEntity(item);
+                    }
+                } finally {
+                    threadContext.abort();
+                }
+                return documents;
+            }));
+        }
+
+        List<SolrInputDocument> documents = new ArrayList<>(items.size());
+        try {
+            for (Future<List<SolrInputDocument>> future : futures) {
+                documents.addAll(future.get());
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new DSpaceSolrIndexerException(ex.getMessage(), ex);
+        } catch (ExecutionException ex) {
+            throw new DSpaceSolrIndexerException(ex.getCause().getMessage(), ex.getCause());
+        }
+        return documents;
+    }
+
     /**
      * Method to get the most recent date on which the item changed concerning the
      * OAI deleted status (policy start and end dates for all anonymous READ
@@ -368,7 +460,7 @@ public class XOAI {
      * @return date
      * @throws SQLException
      */
-    private Instant getMostRecentModificationDate(Item item) throws SQLException {
+    private Instant getMostRecentModificationDate(Context context, Item item) throws SQLException {
         List<Instant> dates = new LinkedList<>();
         List<ResourcePolicy> policies = authorizeService.getPoliciesActionFilter(context, item, Constants.READ);
         for (ResourcePolicy policy : policies) {
@@ -394,7 +486,7 @@ public class XOAI {
         return lastChange;
     }
 
-    private SolrInputDocument index(Item item)
+    private SolrInputDocument index(Context context, Item item, Boolean indexedPublic)
             throws SQLException, IOException, XMLStreamException, WritingXmlException {
         SolrInputDocument doc = new SolrInputDocument();
         doc.addField("item.id", item.getID().toString());
@@ -402,9 +494,9 @@ public class XOAI {
         String handle = item.getHandle();
         doc.addField("item.handle", handle);
 
-        boolean isEmbargoed = !this.isPublic(item);
-        boolean isCurrentlyVisible = this.checkIfVisibleInOAI(item);
-        boolean isIndexed = this.checkIfIndexed(item);
+        boolean isEmbargoed = !this.isPublic(context, item);
+        boolean isCurrentlyVisible = Boolean.TRUE.equals(indexedPublic);
+        boolean isIndexed = indexedPublic != null;
 
         /*
          * If the item is not under embargo, it should be visible. If it is, make it
@@ -425,7 +517,7 @@ public class XOAI {
         // if the visibility of the item will change in the future due to an
         // embargo, mark it as such.
 
-        doc.addField("item.willChangeStatus", willChangeStatus(item));
+        doc.addField("item.willChangeStatus", willChangeStatus(context, item));
 
         /*
          * Mark an item as deleted not only if it is withdrawn, but also if it is made
@@ -446,7 +538,7 @@ public class XOAI {
          * date and take the most recent of those which have already passed.
          */
         doc.addField("item.lastmodified",
-                SolrUtils.getDateFormatter().format(this.getMostRecentModificationDate(item)));
+                SolrUtils.getDateFormatter().format(this.getMostRecentModificationDate(context, item)));
 
         if (item.getSubmitter() != null) {
             doc.addField("item.submitter", item.getSubmitter().getEmail());
@@ -483,7 +575,7 @@ public class XOAI {
             }
         }
 
-        for (String f : getFileFormats(item)) {
+        for (String f : getFileFormats(context, item)) {
             doc.addField("metadata.dc.format.mimetype", f);
         }
 
@@ -504,7 +596,11 @@ public class XOAI {
         metadata.write(xmlContext);
         xmlContext.getWriter().flush();
         xmlContext.getWriter().close();
-        doc.addField("item.compile", out.toString());
+        String compiled = out.toString();
+        doc.addField("item.compile", compiled);
+        for (Map.Entry<String, String> rendering : PreRenderedFormats.render(compiled).entrySet()) {
+            doc.addField(PreRenderedFormats.FIELD_PREFIX + rendering.getKey(), rendering.getValue());
+        }
 
         if (verbose) {
             println(String.format("Item %s with handle %s indexed", item.getID().toString(), handle));
@@ -513,7 +609,7 @@ public class XOAI {
         return doc;
     }
 
-    private boolean willChangeStatus(Item item) throws SQLException {
+    private boolean willChangeStatus(Context context, Item item) throws SQLException {
         List<ResourcePolicy> policies = authorizeService.getPoliciesActionFilter(context, item, Constants.READ);
         for (ResourcePolicy policy : policies) {
             if ((policy.getGroup() != null) && (policy.getGroup().getName().equals("Anonymous"))) {
@@ -529,7 +625,7 @@ public class XOAI {
         return false;
     }
 
-    private boolean isPublic(Item item) {
+    private boolean isPublic(Context context, Item item) {
         boolean pub = false;
         try {
             // Check if READ access allowed on this Item
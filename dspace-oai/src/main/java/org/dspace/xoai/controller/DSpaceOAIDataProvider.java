@@ -38,7 +38,9 @@ import org.dspace.xoai.services.api.context.ContextServiceException;
 import org.dspace.xoai.services.api.xoai.IdentifyResolver;
 import org.dspace.xoai.services.api.xoai.ItemRepositoryResolver;
 import org.dspace.xoai.services.api.xoai.SetRepositoryResolver;
+import org.dspace.xoai.services.impl.resources.PreRenderedFormats;
 import org.dspace.xoai.services.impl.xoai.DSpaceResumptionTokenFormatter;
+import org.dspace.xoai.services.impl.xoai.ResumptionCursor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Controller;
@@ -108,6 +110,8 @@ public class DSpaceOAIDataProvider {
 
             OutputStream out = response.getOutputStream();
             OAIRequestParameters parameters = new OAIRequestParameters(buildParametersMap(request));
+            // only the rendering of the requested format is read with the items
+            PreRenderedFormats.setRequestedPrefix(request.getParameter("metadataPrefix"));
 
             response.setContentType("text/xml");
             response.setCharacterEncoding("UTF-8");
@@ -157,6 +161,8 @@ public class DSpaceOAIDataProvider {
             response.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR,
                                "Unexpected error while writing the output. For more information visit the log files.");
         } finally {
+            ResumptionCursor.clear();
+            PreRenderedFormats.clear();
             closeContext(context);
         }
 
@@ -10,13 +10,16 @@ package org.dspace.xoai.data;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import com.lyncode.xoai.dataprovider.core.ItemMetadata;
 import com.lyncode.xoai.dataprovider.core.ReferenceSet;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.solr.common.SolrDocument;
+import org.dspace.xoai.services.impl.resources.PreRenderedFormats;
 
 /**
  * @author Lyncode Development Team (dspace at lyncode dot com)
@@ -56,6 +59,15 @@ public class DSpaceSolrItem extends DSpaceItem {
         }
 
         deleted = (Boolean) doc.getFieldValue("item.deleted");
+
+        Map<String, String> renderings = new HashMap<>();
+        for (String field : doc.getFieldNames()) {
+            if (field.startsWith(PreRenderedFormats.FIELD_PREFIX)) {
+                renderings.put(field.substring(PreRenderedFormats.FIELD_PREFIX.length()),
+                               (String) doc.getFirstValue(field));
+            }
+        }
+        PreRenderedFormats.register(unparsedMD, renderings);
     }
 
     @Override
@@ -41,6 +41,12 @@ public class DSpaceResourceResolver implements ResourceResolver {
 
     @Override
     public Templates getTemplates(String path) throws IOException, TransformerConfigurationException {
+        Templates templates = newTemplates(path);
+        String prefix = PreRenderedFormats.getPrefix(path);
+        return prefix == null ? templates : new PreRenderedTemplates(templates, prefix);
+    }
+
+    Templates newTemplates(String path) throws IOException, TransformerConfigurationException {
         // construct a Source that reads from an InputStream
         Source mySrc = new StreamSource(getResource(path));
         // specify a system ID (the path to the XSLT-file on the filesystem)
@@ -0,0 +1,222 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.xoai.services.impl.resources;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.Templates;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.stream.StreamResult;
+import javax.xml.transform.stream.StreamSource;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+/**
+ * Metadata formats which are rendered when items are indexed ({@code oai.prerender.formats}), so they don't have to
+ * be transformed on each request.
+ * <p>
+ * The renderings are stored with the item in the OAI core. When an item is read from the core, its renderings are
+ * registered for the current request thread, keyed by the compiled metadata. The XSLT templates of the pre-rendered
+ * formats (see {@link DSpaceResourceResolver#getTemplates(String)}) then look up the rendering of the metadata they
+ * are asked to transform, and only transform it when there is none, e.g. when the context transforms the metadata
+ * first, or when the item was indexed before the format was pre-rendered.
+ */
+public class PreRenderedFormats {
+    private static final Logger log = LogManager.getLogger(PreRenderedFormats.class);
+
+    /**
+     * Prefix of the OAI core fields storing the renderings, followed by the metadata prefix of the format.
+     */
+    public static final String FIELD_PREFIX = "item.format.";
+
+    private static final ThreadLocal<Map<String, Map<String, String>>> renderings =
+        ThreadLocal.withInitial(HashMap::new);
+
+    private static final ThreadLocal<String> requestedPrefix = new ThreadLocal<>();
+
+    private static volatile Map<String, String> formats;
+    private static volatile Map<String, Templates> templates;
+
+    private PreRenderedFormats() { }
+
+    /**
+     * @return the paths of the XSLTs of the pre-rendered formats, relative to {@code oai.config.dir}, by metadata
+     *         prefix
+     */
+    public static Map<String, String> getFormats() {
+        if (formats == null) {
+            synchronized (PreRenderedFormats.class) {
+                if (formats == null) {
+                    formats = loadFormats();
+                }
+            }
+        }
+        return formats;
+    }
+
+    /**
+     * @param xsltPath the path of an XSLT, relative to {@code oai.config.dir}
+     * @return the metadata prefix of the pre-rendered format using this XSLT, or null if there is none
+     */
+    public static String getPrefix(String xsltPath) {
+        for (Map.Entry<String, String> format : getFormats().entrySet()) {
+            if (format.getValue().equals(xsltPath)) {
+                return format.getKey();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Render the compiled metadata of an item in all pre-rendered formats.
+     *
+     * @param compiled the compiled metadata
+     * @return the renderings by metadata prefix, without the formats which failed to render
+     */
+    public static Map<String, String> render(String compiled) {
+        Map<String, String> result = new LinkedHashMap<>();
+        for (Map.Entry<String, Templates> format : getTemplates().entrySet()) {
+            try {
+                StringWriter output = new StringWriter();
+                format.getValue().newTransformer()
+                      .transform(new StreamSource(new StringReader(compiled)), new StreamResult(output));
+                result.put(format.getKey(), output.toString());
+            } catch (TransformerException e) {
+                log.warn("Unable to pre-render {}: {}", format.getKey(), e.getMessage());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Register the renderings of an item read for the current request.
+     *
+     * @param compiled        the compiled metadata of the item
+     * @param prefixRendering the renderings by metadata prefix
+     */
+    public static void register(String compiled, Map<String, String> prefixRendering) {
+        if (compiled != null && !prefixRendering.isEmpty()) {
+            renderings.get().put(compiled, prefixRendering);
+        }
+    }
+
+    /**
+     * @param compiled the compiled metadata of an item
+     * @param prefix   the metadata prefix of a format
+     * @return the rendering registered for the current request, or null if there is none
+     */
+    public static String lookup(String compiled, String prefix) {
+        Map<String, String> prefixRendering = renderings.get().get(compiled);
+        return prefixRendering == null ? null : prefixRendering.get(prefix);
+    }
+
+    /**
+     * @return whether renderings were registered for the current request
+     */
+    public static boolean hasRenderings() {
+        return !renderings.get().isEmpty();
+    }
+
+    /**
+     * Record the metadata prefix requested by the current request, from its parameters or its resumption token.
+     *
+     * @param prefix the metadata prefix, or null if the request has none
+     */
+    public static void setRequestedPrefix(String prefix) {
+        if (prefix != null) {
+            requestedPrefix.set(prefix);
+        }
+    }
+
+    /**
+     * @return the metadata prefix requested by the current request if it is pre-rendered, otherwise null
+     */
+    public static String getRequestedPrefix() {
+        String prefix = requestedPrefix.get();
+        return prefix != null && getFormats().containsKey(prefix) ? prefix : null;
+    }
+
+    /**
+     * Forget the renderings registered for the current request, and the metadata prefix it requested.
+     */
+    public static void clear() {
+        renderings.remove();
+        requestedPrefix.remove();
+    }
+
+    private static Map<String, Templates> getTemplates() {
+        if (templates == null) {
+            synchronized (PreRenderedFormats.class) {
+                if (templates == null) {
+                    DSpaceResourceResolver resolver = new DSpaceResourceResolver();
+                    Map<String, Templates> compiledTemplates = new LinkedHashMap<>();
+                    for (Map.Entry<String, String> format : getFormats().entrySet()) {
+                        try {
+                            compiledTemplates.put(format.getKey(), resolver.newTemplates(format.getValue()));
+                        } catch (IOException | TransformerException e) {
+                            log.error("Unable to load the XSLT of {}, it won't be pre-rendered", format.getKey(), e);
+                        }
+                    }
+                    templates = compiledTemplates;
+                }
+            }
+        }
+        return templates;
+    }
+
+    private static Map<String, String> loadFormats() {
+        ConfigurationService configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
+        String[] prefixes = configurationService.getArrayProperty("oai.prerender.formats");
+        if (prefixes.length == 0) {
+            return Collections.emptyMap();
+        }
+
+        // the XSLTs of the formats are configured in xoai.xml
+        Map<String, String> xsltByPrefix = new HashMap<>();
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            File xoaiConfig = new File(configurationService.getProperty("oai.config.dir"), "xoai.xml");
+            NodeList nodes = factory.newDocumentBuilder().parse(xoaiConfig).getElementsByTagName("Format");
+            for (int i = 0; i < nodes.getLength(); i++) {
+                Element format = (Element) nodes.item(i);
+                NodeList prefix = format.getElementsByTagName("Prefix");
+                NodeList xslt = format.getElementsByTagName("XSLT");
+                if (prefix.getLength() > 0 && xslt.getLength() > 0) {
+                    xsltByPrefix.put(prefix.item(0).getTextContent().trim(), xslt.item(0).getTextContent().trim());
+                }
+            }
+        } catch (Exception e) {
+            log.error("Unable to read the metadata formats, no format will be pre-rendered", e);
+            return Collections.emptyMap();
+        }
+
+        Map<String, String> result = new LinkedHashMap<>();
+        for (String prefix : prefixes) {
+            if (xsltByPrefix.containsKey(prefix)) {
+                result.put(prefix, xsltByPrefix.get(prefix));
+            } else {
+                log.warn("Unknown metadata format {} in oai.prerender.formats", prefix);
+            }
+        }
+        return Collections.unmodifiableMap(result);
+    }
+}
@@ -0,0 +1,173 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.xoai.services.impl.resources;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Properties;
+import javax.xml.transform.ErrorListener;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Result;
+import javax.xml.transform.Source;
+import javax.xml.transform.Templates;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerConfigurationException;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.URIResolver;
+import javax.xml.transform.stream.StreamResult;
+import javax.xml.transform.stream.StreamSource;
+
+import org.apache.commons.io.IOUtils;
+
+/**
+ * XSLT templates of a pre-rendered format, which write the rendering registered for the metadata they are asked to
+ * transform instead of transforming it (see {@link PreRenderedFormats}).
+ */
+public class PreRenderedTemplates implements Templates {
+    private static final String XML_DECLARATION_END = "?>";
+
+    private final Templates templates;
+    private final String prefix;
+
+    /**
+     * @param templates the templates of the XSLT of the format
+     * @param prefix    the metadata prefix of the format
+     */
+    public PreRenderedTemplates(Templates templates, String prefix) {
+        this.templates = templates;
+        this.prefix = prefix;
+    }
+
+    @Override
+    public Transformer newTransformer() throws TransformerConfigurationException {
+        return new PreRenderedTransformer(templates.newTransformer());
+    }
+
+    @Override
+    public Properties getOutputProperties() {
+        return templates.getOutputProperties();
+    }
+
+    private class PreRenderedTransformer extends Transformer {
+        private final Transformer transformer;
+
+        private PreRenderedTransformer(Transformer transformer) {
+            this.transformer = transformer;
+        }
+
+        @Override
+        public void transform(Source xmlSource, Result outputTarget) throws TransformerException {
+            if (PreRenderedFormats.hasRenderings() && xmlSource instanceof StreamSource
+                && outputTarget instanceof StreamResult
+                && (((StreamResult) outputTarget).getWriter() != null
+                    || ((StreamResult) outputTarget).getOutputStream() != null)) {
+                StreamSource source = (StreamSource) xmlSource;
+                try {
+                    String compiled;
+                    if (source.getReader() != null) {
+                        compiled = IOUtils.toString(source.getReader());
+                        xmlSource = new StreamSource(new StringReader(compiled), source.getSystemId());
+                    } else if (source.getInputStream() != null) {
+                        byte[] bytes = IOUtils.toByteArray(source.getInputStream());
+                        compiled = new String(bytes, StandardCharsets.UTF_8);
+                        xmlSource = new StreamSource(new ByteArrayInputStream(bytes), source.getSystemId());
+                    } else {
+                        compiled = null;
+                    }
+
+                    String rendering = compiled == null ? null : PreRenderedFormats.lookup(compiled, prefix);
+                    if (rendering != null) {
+                        write(rendering, (StreamResult) outputTarget);
+                        return;
+                    }
+                } catch (IOException e) {
+                    throw new TransformerException(e);
+                }
+            }
+            transformer.transform(xmlSource, outputTarget);
+        }
+
+        private void write(String rendering, StreamResult result) throws IOException {
+            if ("yes".equals(transformer.getOutputProperty(OutputKeys.OMIT_XML_DECLARATION))
+                && rendering.startsWith("<?xml")) {
+                rendering = rendering.substring(rendering.indexOf(XML_DECLARATION_END)
+                                                    + XML_DECLARATION_END.length());
+            }
+            Writer writer = result.getWriter();
+            if (writer != null) {
+                writer.write(rendering);
+                writer.flush();
+            } else {
+                String encoding = transformer.getOutputProperty(OutputKeys.ENCODING);
+                OutputStream out = result.getOutputStream();
+                out.write(rendering.getBytes(encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding)));
+                out.flush();
+            }
+        }
+
+        @Override
+        public void setParameter(String name, Object value) {
+            transformer.setParameter(name, value);
+        }
+
+        @Override
+        public Object getParameter(String name) {
+            return transformer.getParameter(name);
+        }
+
+        @Override
+        public void clearParameters() {
+            transformer.clearParameters();
+        }
+
+        @Override
+        public void setURIResolver(URIResolver resolver) {
+            transformer.setURIResolver(resolver);
+        }
+
+        @Override
+        public URIResolver getURIResolver() {
+            return transformer.getURIResolver();
+        }
+
+        @Override
+        public void setOutputProperties(Properties oformat) {
+            transformer.setOutputProperties(oformat);
+        }
+
+        @Override
+        public Properties getOutputProperties() {
+            return transformer.getOutputProperties();
+        }
+
+        @Override
+        public void setOutputProperty(String name, String value) throws IllegalArgumentException {
+            transformer.setOutputProperty(name, value);
+        }
+
+        @Override
+        public String getOutputProperty(String name) throws IllegalArgumentException {
+            return transformer.getOutputProperty(name);
+        }
+
+        @Override
+        public void setErrorListener(ErrorListener listener) throws IllegalArgumentException {
+            transformer.setErrorListener(listener);
+        }
+
+        @Override
+        public ErrorListener getErrorListener() {
+            return transformer.getErrorListener();
+        }
+    }
+}
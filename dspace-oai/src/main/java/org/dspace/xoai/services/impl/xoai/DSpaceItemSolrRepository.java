@@ -26,12 +26,15 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.solr.client.solrj.SolrClient;
 import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.client.solrj.response.QueryResponse;
 import org.apache.solr.common.SolrDocument;
 import org.apache.solr.common.SolrDocumentList;
+import org.apache.solr.common.params.CursorMarkParams;
 import org.dspace.xoai.data.DSpaceSolrItem;
 import org.dspace.xoai.services.api.CollectionsService;
 import org.dspace.xoai.services.api.HandleResolver;
 import org.dspace.xoai.services.api.solr.SolrQueryResolver;
+import org.dspace.xoai.services.impl.resources.PreRenderedFormats;
 import org.dspace.xoai.solr.DSpaceSolrSearch;
 import org.dspace.xoai.solr.exceptions.DSpaceSolrException;
 import org.dspace.xoai.solr.exceptions.SolrSearchEmptyException;
@@ -41,6 +44,13 @@ import org.dspace.xoai.solr.exceptions.SolrSearchEmptyException;
  */
 public class DSpaceItemSolrRepository extends DSpaceItemRepository {
     private static final Logger log = LogManager.getLogger(DSpaceItemSolrRepository.class);
+
+    /**
+     * Fields read by {@link DSpaceSolrItem}, besides the pre-rendered formats. The compiled metadata is needed by
+     * the filters of the contexts and formats, even when only the headers are listed.
+     */
+    private static final String[] ITEM_FIELDS = {"item.handle", "item.lastmodified", "item.communities",
+        "item.collections", "item.deleted", "item.compile"};
     private final SolrClient server;
     private final SolrQueryResolver solrQueryResolver;
 
@@ -59,7 +69,7 @@ public class DSpaceItemSolrRepository extends DSpaceItemRepository {
         String[] parts = identifier.split(Pattern.quote(":"));
         if (parts.length == 3) {
             try {
-                SolrQuery params = new SolrQuery("item.handle:" + parts[2]);
+                SolrQuery params = setFields(new SolrQuery("item.handle:" + parts[2]), true);
                 return new DSpaceSolrItem(DSpaceSolrSearch.querySingle(server, params));
             } catch (SolrSearchEmptyException | IOException ex) {
                 throw new IdDoesNotExistException(ex);
@@ -72,7 +82,7 @@ public class DSpaceItemSolrRepository extends DSpaceItemRepository {
     public ListItemIdentifiersResult getItemIdentifiers(
         List<ScopedFilter> filters, int offset, int length) {
         try {
-            QueryResult queryResult = retrieveItems(filters, offset, length);
+            QueryResult queryResult = retrieveItems(filters, offset, length, false);
             // transform results list from a list of Items to a list of ItemIdentifiers
             List<ItemIdentifier> identifierList =
                 newArrayList(transform(queryResult.getResults(), new Function<Item, ItemIdentifier>() {
@@ -92,7 +102,7 @@ public class DSpaceItemSolrRepository extends DSpaceItemRepository {
     public ListItemsResults getItems(List<ScopedFilter> filters, int offset,
                                      int length) {
         try {
-            QueryResult queryResult = retrieveItems(filters, offset, length);
+            QueryResult queryResult = retrieveItems(filters, offset, length, true);
             return new ListItemsResults(queryResult.hasMore(), queryResult.getResults(), queryResult.getTotal());
         } catch (DSpaceSolrException | IOException ex) {
             log.error(ex.getMessage(), ex);
@@ -100,13 +110,24 @@ public class DSpaceItemSolrRepository extends DSpaceItemRepository {
         }
     }
 
-    private QueryResult retrieveItems(List<ScopedFilter> filters, int offset, int length)
+    private QueryResult retrieveItems(List<ScopedFilter> filters, int offset, int length, boolean withRendering)
             throws DSpaceSolrException, IOException {
         List<Item> list = new ArrayList<>();
-        SolrQuery params = new SolrQuery(solrQueryResolver.buildQuery(filters))
-            .setRows(length)
-            .setStart(offset);
-        SolrDocumentList solrDocuments = DSpaceSolrSearch.query(server, params);
+        SolrQuery params = setFields(new SolrQuery(solrQueryResolver.buildQuery(filters)), withRendering)
+            .setRows(length);
+        String cursorMark = offset == 0 ? CursorMarkParams.CURSOR_MARK_START : ResumptionCursor.take(offset);
+        SolrDocumentList solrDocuments;
+        if (cursorMark == null) {
+            // resumption token without cursorMark, e.g. issued before they were used
+            params.setStart(offset);
+            solrDocuments = DSpaceSolrSearch.query(server, params);
+        } else {
+            QueryResponse response = DSpaceSolrSearch.queryWithCursor(server, params, cursorMark);
+            solrDocuments = response.getResults();
+            if (solrDocuments.getNumFound() > offset + length) {
+                ResumptionCursor.set(offset + length, response.getNextCursorMark());
+            }
+        }
         for (SolrDocument doc : solrDocuments) {
             list.add(new DSpaceSolrItem(doc));
         }
@@ -114,6 +135,23 @@ public class DSpaceItemSolrRepository extends DSpaceItemRepository {
                                (int) solrDocuments.getNumFound());
     }
 
+    /**
+     * Only retrieve the fields read by {@link DSpaceSolrItem}, and the pre-rendered format requested if any, rather
+     * than the renderings of all formats
+     *
+     * @param params        the query
+     * @param withRendering whether the records of the items are rendered, rather than only their headers
+     * @return the query
+     */
+    private static SolrQuery setFields(SolrQuery params, boolean withRendering) {
+        params.setFields(ITEM_FIELDS);
+        String prefix = PreRenderedFormats.getRequestedPrefix();
+        if (withRendering && prefix != null) {
+            params.addField(PreRenderedFormats.FIELD_PREFIX + prefix);
+        }
+        return params;
+    }
+
     private class QueryResult {
         private List<Item> results;
         private boolean hasMore;
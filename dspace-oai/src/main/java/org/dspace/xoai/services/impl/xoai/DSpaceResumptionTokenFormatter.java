@@ -12,6 +12,7 @@ import com.lyncode.xoai.dataprovider.exceptions.BadResumptionToken;
 import com.lyncode.xoai.dataprovider.services.api.ResumptionTokenFormatter;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.dspace.xoai.services.impl.resources.PreRenderedFormats;
 import org.dspace.xoai.util.DateUtils;
 
 
@@ -28,13 +29,19 @@ public class DSpaceResumptionTokenFormatter implements ResumptionTokenFormatter
         if (resumptionToken == null) {
             return new ResumptionToken();
         }
+        ResumptionCursor.clear();
         String[] res = resumptionToken.split("/", -1);
-        if (res.length != 5) {
+        // tokens without a cursorMark are still accepted, their page is retrieved by offset
+        if (res.length != 5 && res.length != 6) {
             throw new BadResumptionToken();
         } else {
             try {
                 int offset = Integer.parseInt(res[4]);
+                if (res.length == 6 && !res[5].equals("")) {
+                    ResumptionCursor.set(offset, decodeCursorMark(res[5]));
+                }
                 String prefix = (res[0].equals("")) ? null : res[0];
+                PreRenderedFormats.setRequestedPrefix(prefix);
                 String set = (res[3].equals("")) ? null : res[3];
                 java.util.Date from = (res[1].equals("")) ? null : java.util.Date.from(DateUtils.parse(res[1]));
                 java.util.Date until = res[2].equals("") ? null : java.util.Date.from(DateUtils.parse(res[2]));
@@ -67,7 +74,23 @@ public class DSpaceResumptionTokenFormatter implements ResumptionTokenFormatter
         }
         result += "/";
         result += resumptionToken.getOffset();
+        String cursorMark = ResumptionCursor.take(resumptionToken.getOffset());
+        if (cursorMark != null) {
+            result += "/" + encodeCursorMark(cursorMark);
+        }
         return result;
     }
 
+    /**
+     * Solr cursorMarks are Base64 encoded, make them safe to use in a token (which is split on slashes) and in
+     * a URL.
+     */
+    private static String encodeCursorMark(String cursorMark) {
+        return cursorMark.replace('+', '-').replace('/', '_').replace('=', '.');
+    }
+
+    private static String decodeCursorMark(String cursorMark) {
+        return cursorMark.replace('-', '+').replace('_', '/').replace('.', '=');
+    }
+
 }
@@ -0,0 +1,61 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.xoai.services.impl.xoai;
+
+/**
+ * Solr cursorMark of the page of a harvest starting at a given offset.
+ * <p>
+ * XOAI only passes offsets between the resumption tokens and the item repository, so the cursorMark is handed
+ * over through the request thread: {@link DSpaceResumptionTokenFormatter} stores the cursorMark it parsed from a
+ * token for {@link DSpaceItemSolrRepository}, which stores the cursorMark of the next page for the formatter to put
+ * in the next token. Each value is only taken once, for the offset it was stored for, and should be cleared at the
+ * end of each request.
+ */
+public final class ResumptionCursor {
+    private static final ThreadLocal<ResumptionCursor> current = new ThreadLocal<>();
+
+    private final int offset;
+    private final String cursorMark;
+
+    private ResumptionCursor(int offset, String cursorMark) {
+        this.offset = offset;
+        this.cursorMark = cursorMark;
+    }
+
+    /**
+     * Store the cursorMark of the page starting at the given offset.
+     *
+     * @param offset     the offset of the page
+     * @param cursorMark the Solr cursorMark of the page
+     */
+    public static void set(int offset, String cursorMark) {
+        current.set(new ResumptionCursor(offset, cursorMark));
+    }
+
+    /**
+     * Take the cursorMark stored for the page starting at the given offset.
+     *
+     * @param offset the offset of the page
+     * @return the cursorMark, or null if none was stored for this offset
+     */
+    public static String take(int offset) {
+        ResumptionCursor cursor = current.get();
+        if (cursor == null || cursor.offset != offset) {
+            return null;
+        }
+        current.remove();
+        return cursor.cursorMark;
+    }
+
+    /**
+     * Forget the cursorMark stored by the current thread, if any.
+     */
+    public static void clear() {
+        current.remove();
+    }
+}
@@ -17,6 +17,7 @@ import org.apache.solr.client.solrj.SolrServerException;
 import org.apache.solr.client.solrj.response.QueryResponse;
 import org.apache.solr.common.SolrDocument;
 import org.apache.solr.common.SolrDocumentList;
+import org.apache.solr.common.params.CursorMarkParams;
 import org.dspace.xoai.solr.exceptions.DSpaceSolrException;
 import org.dspace.xoai.solr.exceptions.SolrSearchEmptyException;
 
@@ -41,6 +42,29 @@ public class DSpaceSolrSearch {
         }
     }
 
+    /**
+     * Query one page of the results using a cursor, so the cost of a page doesn't depend on how deep it is.
+     *
+     * @param server     the OAI core
+     * @param solrParams the query, without sort and start
+     * @param cursorMark the cursorMark of the page, {@link CursorMarkParams#CURSOR_MARK_START} for the first one
+     * @return the response, holding the results and the cursorMark of the next page
+     * @throws DSpaceSolrException if the query failed
+     * @throws IOException         passed through
+     */
+    public static QueryResponse queryWithCursor(SolrClient server, SolrQuery solrParams, String cursorMark)
+        throws DSpaceSolrException, IOException {
+        try {
+            // a cursor needs the unique key as tie breaker
+            solrParams.addSort("item.id", ORDER.asc);
+            solrParams.addSort("item.handle", ORDER.asc);
+            solrParams.set(CursorMarkParams.CURSOR_MARK_PARAM, cursorMark);
+            return server.query(solrParams);
+        } catch (SolrServerException ex) {
+            throw new DSpaceSolrException(ex.getMessage(), ex);
+        }
+    }
+
     public static SolrDocument querySingle(SolrClient server, SolrQuery solrParams)
         throws SolrSearchEmptyException, IOException {
         try {
@@ -0,0 +1,84 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.xoai.tests.unit.services.impl.resources;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Templates;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.stream.StreamResult;
+import javax.xml.transform.stream.StreamSource;
+
+import org.dspace.xoai.services.impl.resources.PreRenderedFormats;
+import org.dspace.xoai.services.impl.resources.PreRenderedTemplates;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PreRenderedTemplatesTest {
+    private static final String XSLT = "<xsl:stylesheet version=\"1.0\" "
+        + "xmlns:xsl=\"http://www.w3.org/1999/XSL/Transform\"><xsl:output omit-xml-declaration=\"yes\"/>"
+        + "<xsl:template match=\"/\"><title><xsl:value-of select=\"/item\"/></title></xsl:template>"
+        + "</xsl:stylesheet>";
+    private static final String COMPILED = "<item>live</item>";
+
+    private PreRenderedTemplates templates;
+
+    @Before
+    public void setUp() throws Exception {
+        Templates xslt = TransformerFactory.newInstance().newTemplates(new StreamSource(new StringReader(XSLT)));
+        templates = new PreRenderedTemplates(xslt, "oai_dc");
+    }
+
+    @After
+    public void tearDown() {
+        PreRenderedFormats.clear();
+    }
+
+    @Test
+    public void testRegisteredRendering() throws Exception {
+        PreRenderedFormats.register(COMPILED, Map.of("oai_dc", "<?xml version=\"1.0\"?><title>pre</title>"));
+        assertEquals("<title>pre</title>", transform(COMPILED));
+    }
+
+    @Test
+    public void testOtherMetadataIsTransformed() throws Exception {
+        PreRenderedFormats.register(COMPILED, Map.of("oai_dc", "<title>pre</title>"));
+        assertEquals("<title>other</title>", transform("<item>other</item>"));
+    }
+
+    @Test
+    public void testOtherFormatIsTransformed() throws Exception {
+        PreRenderedFormats.register(COMPILED, Map.of("dim", "<title>pre</title>"));
+        assertEquals("<title>live</title>", transform(COMPILED));
+    }
+
+    @Test
+    public void testWithoutRenderings() throws Exception {
+        StringWriter output = new StringWriter();
+        templates.newTransformer().transform(new StreamSource(new StringReader(COMPILED)), new StreamResult(output));
+        assertEquals("<title>live</title>", output.toString());
+    }
+
+    private String transform(String compiled) throws Exception {
+        Transformer transformer = templates.newTransformer();
+        transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        transformer.transform(new StreamSource(new ByteArrayInputStream(compiled.getBytes(StandardCharsets.UTF_8))),
+                              new StreamResult(output));
+        return output.toString(StandardCharsets.UTF_8);
+    }
+}
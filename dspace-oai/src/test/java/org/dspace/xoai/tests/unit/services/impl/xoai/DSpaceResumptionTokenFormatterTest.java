@@ -0,0 +1,64 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.xoai.tests.unit.services.impl.xoai;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import com.lyncode.xoai.dataprovider.core.ResumptionToken;
+import com.lyncode.xoai.dataprovider.exceptions.BadResumptionToken;
+import org.dspace.xoai.services.impl.xoai.DSpaceResumptionTokenFormatter;
+import org.dspace.xoai.services.impl.xoai.ResumptionCursor;
+import org.junit.After;
+import org.junit.Test;
+
+public class DSpaceResumptionTokenFormatterTest {
+    private static final String CURSOR_MARK = "AoJ8+/aW0=";
+
+    private final DSpaceResumptionTokenFormatter formatter = new DSpaceResumptionTokenFormatter();
+
+    @After
+    public void tearDown() {
+        ResumptionCursor.clear();
+    }
+
+    @Test
+    public void testFormatWithCursorMark() throws BadResumptionToken {
+        ResumptionCursor.set(100, CURSOR_MARK);
+        String token = formatter.format(new ResumptionToken(100, "oai_dc", "col_123_4", null, null));
+        assertEquals("oai_dc///col_123_4/100/AoJ8-_aW0.", token);
+
+        ResumptionToken parsed = formatter.parse(token);
+        assertEquals(100, parsed.getOffset());
+        assertEquals("oai_dc", parsed.getMetadataPrefix());
+        assertEquals("col_123_4", parsed.getSet());
+        assertNull("The cursorMark belongs to the page at offset 100", ResumptionCursor.take(50));
+        assertEquals(CURSOR_MARK, ResumptionCursor.take(100));
+        assertNull("The cursorMark should only be taken once", ResumptionCursor.take(100));
+    }
+
+    @Test
+    public void testFormatWithoutCursorMark() {
+        ResumptionCursor.set(50, CURSOR_MARK);
+        String token = formatter.format(new ResumptionToken(100, "oai_dc", null, null, null));
+        assertEquals("oai_dc////100", token);
+    }
+
+    @Test
+    public void testParseOffsetToken() throws BadResumptionToken {
+        ResumptionCursor.set(100, CURSOR_MARK);
+        ResumptionToken parsed = formatter.parse("oai_dc////100");
+        assertEquals(100, parsed.getOffset());
+        assertNull("A token without cursorMark should be retrieved by offset", ResumptionCursor.take(100));
+    }
+
+    @Test(expected = BadResumptionToken.class)
+    public void testParseBadToken() throws BadResumptionToken {
+        formatter.parse("oai_dc/100");
+    }
+}
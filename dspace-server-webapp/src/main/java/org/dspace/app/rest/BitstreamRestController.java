@@ -11,6 +11,7 @@ import static org.dspace.app.rest.utils.ContextUtil.obtainContext;
 import static org.dspace.app.rest.utils.RegexUtils.REGEX_REQUESTMAPPING_IDENTIFIER_AS_UUID;
 import static org.springframework.web.bind.annotation.RequestMethod.PUT;
 
+import java.io.File;
 import java.io.IOException;
 import java.sql.SQLException;
 import java.util.List;
@@ -19,6 +20,7 @@ import java.util.UUID;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.ws.rs.core.Response;
+import org.apache.catalina.Globals;
 import org.apache.catalina.connector.ClientAbortException;
 import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -46,6 +48,8 @@ import org.dspace.usage.UsageEvent;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.rest.webmvc.ResourceNotFoundException;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PostAuthorize;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -195,6 +199,26 @@ public class BitstreamRestController {
                                 context.getSpecialGroupUuids(), citationEnabledForBitstream);
             }
 
+            // Serve a single range straight from the assetstore, so it doesn't have to read up to the range first.
+            // Multiple ranges, unsatisfiable ranges and cover pages are handled by Spring using the full content.
+            HttpRange range = citationEnabledForBitstream ? null : getRequestedRange(request, filesize);
+            long start = 0;
+            long length = filesize;
+            if (range != null) {
+                start = range.getRangeStart(filesize);
+                length = range.getRangeEnd(filesize) - start + 1;
+                bitstreamResource.withRange(start, length);
+            }
+
+            // Files in a local assetstore are handed to the servlet container if it can send them without
+            // copying them through the heap. Cover pages and token authorized downloads always use the stream.
+            File localFile = null;
+            if (!authorizedByAccessToken && !citationEnabledForBitstream && isSendfileSupported(request)) {
+                localFile = bitstreamService.retrieveLocalFile(context, bit);
+            }
+            String checksum = localFile != null ? bit.getChecksum() : bitstreamResource.getChecksum();
+            long contentLength = localFile != null ? length : bitstreamResource.contentLength();
+
             // We have all the data we need, close the connection to the database so that it doesn't stay open during
             // download/streaming
             context.complete();
@@ -203,12 +227,16 @@ public class BitstreamRestController {
             HttpHeadersInitializer httpHeadersInitializer = new HttpHeadersInitializer()
                     .withBufferSize(BUFFER_SIZE)
                     .withFileName(name)
-                    .withChecksum(bitstreamResource.getChecksum())
-                    .withLength(bitstreamResource.contentLength())
+                    .withChecksum(checksum)
+                    .withLength(contentLength)
                     .withMimetype(mimetype)
                     .with(request)
                     .with(response);
 
+            if (bitstreamResource.isRange()) {
+                httpHeadersInitializer.withRange(start, start + contentLength - 1, filesize);
+            }
+
             // Set last modified in headers
             if (lastModified != null) {
                 httpHeadersInitializer.withLastModified(lastModified);
@@ -234,7 +262,15 @@ public class BitstreamRestController {
                     return ResponseEntity.ok().headers(httpHeaders).build();
                 }
 
-                return ResponseEntity.ok().headers(httpHeaders).body(bitstreamResource);
+                HttpStatus status = httpHeadersInitializer.isRange() ? HttpStatus.PARTIAL_CONTENT : HttpStatus.OK;
+                if (localFile != null) {
+                    // The container sends the file once the (empty) response body has been written
+                    request.setAttribute(Globals.SENDFILE_FILENAME_ATTR, localFile.getAbsolutePath());
+                    request.setAttribute(Globals.SENDFILE_FILE_START_ATTR, start);
+                    request.setAttribute(Globals.SENDFILE_FILE_END_ATTR, start + contentLength);
+                    return ResponseEntity.status(status).headers(httpHeaders).build();
+                }
+                return ResponseEntity.status(status).headers(httpHeaders).body(bitstreamResource);
             }
 
         } catch (ClientAbortException ex) {
@@ -264,6 +300,41 @@ public class BitstreamRestController {
         return name;
     }
 
+    /**
+     * Get the single byte range requested in the Range header of a GET request, if it can be served from the
+     * assetstore directly.
+     * @param request  HTTP request
+     * @param filesize the size of the bitstream
+     * @return the requested range, or null if the full content should be used
+     */
+    private HttpRange getRequestedRange(HttpServletRequest request, long filesize) {
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (StringUtils.isBlank(rangeHeader) || !RequestMethod.GET.name().equals(request.getMethod())) {
+            return null;
+        }
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+            if (ranges.size() != 1) {
+                return null;
+            }
+            // Throws an IllegalArgumentException if the range can't be satisfied
+            ranges.get(0).getRangeStart(filesize);
+            return ranges.get(0);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Check whether bitstreams may be sent by the servlet container straight from the file system
+     * @param request HTTP request
+     * @return true if sendfile is enabled and supported by the container for this request
+     */
+    private boolean isSendfileSupported(HttpServletRequest request) {
+        return configurationService.getBooleanProperty("webui.content_sendfile", true)
+            && Boolean.TRUE.equals(request.getAttribute(Globals.SENDFILE_SUPPORTED_ATTR));
+    }
+
     /**
      * Check for a success or other non-error response message
      * @param response HTTP resposnse
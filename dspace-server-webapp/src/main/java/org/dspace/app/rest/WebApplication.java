@@ -25,6 +25,7 @@ import org.dspace.app.rest.utils.DSpaceAPIRequestLoggingFilter;
 import org.dspace.app.sitemap.GenerateSitemaps;
 import org.dspace.app.solrdatabaseresync.SolrDatabaseResyncCli;
 import org.dspace.app.util.DSpaceContextListener;
+import org.dspace.discovery.AsyncIndexingQueue;
 import org.dspace.google.GoogleAsyncEventListener;
 import org.dspace.utils.servlet.DSpaceWebappServletFilter;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -62,6 +63,9 @@ public class WebApplication {
     @Autowired
     private GoogleAsyncEventListener googleAsyncEventListener;
 
+    @Autowired
+    private AsyncIndexingQueue asyncIndexingQueue;
+
     @Scheduled(cron = "${sitemap.cron:-}")
     public void generateSitemap() throws IOException, SQLException {
         GenerateSitemaps.generateSitemapsScheduled();
@@ -93,6 +97,11 @@ public class WebApplication {
         googleAsyncEventListener.sendCollectedEvents();
     }
 
+    @Scheduled(cron = "${discovery.index.async.cron:-}")
+    public void processDiscoveryIndexQueue() {
+        asyncIndexingQueue.processQueue();
+    }
+
     /**
      * Register the "DSpaceContextListener" so that it is loaded
      * for this Application.
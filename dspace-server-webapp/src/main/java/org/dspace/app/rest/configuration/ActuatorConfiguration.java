@@ -16,6 +16,7 @@ import org.dspace.app.rest.DiscoverableEndpointsService;
 import org.dspace.app.rest.health.GeoIpHealthIndicator;
 import org.dspace.app.rest.health.SEOHealthIndicator;
 import org.dspace.app.rest.health.SolrHealthIndicator;
+import org.dspace.app.rest.health.SolrStatisticsWriterHealthIndicator;
 import org.dspace.authority.AuthoritySolrServiceImpl;
 import org.dspace.discovery.SolrSearchCore;
 import org.dspace.statistics.SolrStatisticsCore;
@@ -67,6 +68,13 @@ public class ActuatorConfiguration {
         return new SolrHealthIndicator(solrStatisticsCore.getSolr());
     }
 
+    @Bean
+    @ConditionalOnEnabledHealthIndicator("solrStatisticsWriter")
+    @ConditionalOnProperty("solr-statistics.async.enabled")
+    public SolrStatisticsWriterHealthIndicator solrStatisticsWriterHealthIndicator() {
+        return new SolrStatisticsWriterHealthIndicator();
+    }
+
     @Bean
     @ConditionalOnEnabledHealthIndicator("solrAuthority")
     @ConditionalOnProperty("solr.authority.server")
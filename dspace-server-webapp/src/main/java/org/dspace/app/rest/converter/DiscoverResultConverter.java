@@ -75,16 +75,15 @@ public class DiscoverResultConverter {
 
     private void addSearchResults(final DiscoverResult searchResult, final SearchResultsRest resultsRest,
                                   final Projection projection) {
-        for (IndexableObject dspaceObject : CollectionUtils.emptyIfNull(searchResult.getIndexableObjects())) {
+        for (DiscoverResult.Hit hit : searchResult.getHits()) {
             SearchResultEntryRest resultEntry = new SearchResultEntryRest();
             resultEntry.setProjection(projection);
 
             //Convert the DSpace Object to its REST model
-            resultEntry.setIndexableObject(convertDSpaceObject(dspaceObject, projection));
+            resultEntry.setIndexableObject(convertDSpaceObject(hit.getIndexableObject(), projection));
 
             //Add hit highlighting for this DSO if present
-            DiscoverResult.IndexableObjectHighlightResult highlightedResults = searchResult
-                .getHighlightedResults(dspaceObject);
+            DiscoverResult.IndexableObjectHighlightResult highlightedResults = hit.getHighlightResult();
             if (highlightedResults != null && MapUtils.isNotEmpty(highlightedResults.getHighlightResults())) {
                 for (Map.Entry<String, List<String>> metadataHighlight : highlightedResults.getHighlightResults()
                                                                                            .entrySet()) {
@@ -0,0 +1,52 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest.health;
+
+import static org.dspace.app.rest.configuration.ActuatorConfiguration.UP_WITH_ISSUES_STATUS;
+
+import org.dspace.statistics.SolrStatisticsWriter;
+import org.dspace.statistics.service.SolrLoggerService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health.Builder;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+/**
+ * Implementation of {@link HealthIndicator} that reports the state of the
+ * asynchronous writer of usage events: the number of buffered events and the
+ * number of events written, spilled to disk or dropped since startup.
+ */
+public class SolrStatisticsWriterHealthIndicator extends AbstractHealthIndicator {
+
+    @Autowired
+    private SolrLoggerService solrLoggerService;
+
+    @Override
+    protected void doHealthCheck(Builder builder) throws Exception {
+
+        SolrStatisticsWriter writer = solrLoggerService.getStatisticsWriter();
+        if (writer == null) {
+            builder.unknown();
+            return;
+        }
+
+        if (writer.getDroppedCount() > 0 || writer.getBufferSize() >= writer.getBufferLimit()) {
+            builder.status(UP_WITH_ISSUES_STATUS);
+        } else {
+            builder.up();
+        }
+
+        builder.withDetail("bufferSize", writer.getBufferSize())
+               .withDetail("bufferLimit", writer.getBufferLimit())
+               .withDetail("written", writer.getWrittenCount())
+               .withDetail("spilled", writer.getSpilledCount())
+               .withDetail("dropped", writer.getDroppedCount());
+
+    }
+
+}
@@ -7,14 +7,12 @@
  */
 package org.dspace.app.rest.utils;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.sql.SQLException;
 import java.util.Set;
 import java.util.UUID;
 
-import org.apache.commons.io.IOUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.dspace.authorize.AuthorizeException;
@@ -54,6 +52,9 @@ public class BitstreamResource extends AbstractResource {
 
     protected BitstreamDocument document;
 
+    protected long rangeOffset = 0;
+    protected long rangeLength = -1;
+
     public BitstreamResource(String name, UUID uuid, UUID currentUserUUID, Set<UUID> currentSpecialGroups,
                              boolean shouldGenerateCoverPage) {
         this.name = name;
@@ -64,22 +65,47 @@ public class BitstreamResource extends AbstractResource {
     }
 
     /**
-     * Get Potential cover page by array, this method should only be called when a coverpage should be generated
+     * Restrict this resource to a single range of the bitstream, so only the requested bytes are read from the
+     * assetstore. This must be called before the content is fetched, and is ignored when a cover page is
+     * generated.
+     *
+     * @param offset the position of the first byte to serve
+     * @param length the amount of bytes to serve
+     * @return this resource
+     */
+    public BitstreamResource withRange(long offset, long length) {
+        this.rangeOffset = offset;
+        this.rangeLength = length;
+        return this;
+    }
+
+    /**
+     * @return true if this resource only serves a range of the bitstream
+     */
+    public boolean isRange() {
+        return rangeLength >= 0 && !shouldGenerateCoverPage;
+    }
+
+    /**
+     * Get Potential cover page document, this method should only be called when a coverpage should be generated.
+     * The document is streamed from the cover page cache instead of being held in memory.
      * In case of failure the original file will be returned
      *
      * @param context   the DSpace context
      * @param bitstream the pdf for which we want to generate a coverpage
-     * @return a byte array containing the cover page
+     * @return the document containing the cover page
      */
-    byte[] getCoverpageByteArray(Context context, Bitstream bitstream)
+    BitstreamDocument getCoverpageDocument(Context context, Bitstream bitstream)
             throws IOException, SQLException, AuthorizeException {
         try {
-            var citedDocument = citationDocumentService.makeCitedDocument(context, bitstream);
-            return citedDocument.getLeft();
+            var citedDocument = citationDocumentService.retrieveCitedDocument(context, bitstream);
+            return new BitstreamDocument(etag(bitstream), citedDocument.getRight(), citedDocument.getLeft());
         } catch (Exception e) {
             LOG.warn("Could not generate cover page. Will fallback to original document", e);
             // Return the original bitstream without the cover page
-            return IOUtils.toByteArray(bitstreamService.retrieve(context, bitstream));
+            return new BitstreamDocument(etag(bitstream),
+                    bitstream.getSizeBytes(),
+                    bitstreamService.retrieve(context, bitstream));
         }
     }
 
@@ -120,17 +146,7 @@ public class BitstreamResource extends AbstractResource {
 
         try (Context context = initializeContext()) {
             Bitstream bitstream = bitstreamService.find(context, uuid);
-            if (shouldGenerateCoverPage) {
-                var coverPage = getCoverpageByteArray(context, bitstream);
-
-                this.document = new BitstreamDocument(etag(bitstream),
-                        coverPage.length,
-                        new ByteArrayInputStream(coverPage));
-            } else {
-                this.document = new BitstreamDocument(bitstream.getChecksum(),
-                        bitstream.getSizeBytes(),
-                        bitstreamService.retrieve(context, bitstream));
-            }
+            this.document = buildDocument(context, bitstream);
         } catch (SQLException | AuthorizeException | IOException e) {
             throw new RuntimeException(e);
         }
@@ -138,6 +154,29 @@ public class BitstreamResource extends AbstractResource {
         LOG.debug("fetched document {} {}", shouldGenerateCoverPage, document);
     }
 
+    /**
+     * Retrieve the (requested range of the) content of the bitstream, or generate its cover page
+     *
+     * @param context   the DSpace context
+     * @param bitstream the bitstream to serve
+     * @return the document to serve
+     */
+    BitstreamDocument buildDocument(Context context, Bitstream bitstream)
+            throws IOException, SQLException, AuthorizeException {
+        if (shouldGenerateCoverPage) {
+            return getCoverpageDocument(context, bitstream);
+        } else if (isRange()) {
+            long length = Math.max(0, Math.min(rangeLength, bitstream.getSizeBytes() - rangeOffset));
+            return new BitstreamDocument(bitstream.getChecksum(),
+                    length,
+                    bitstreamService.retrieve(context, bitstream, rangeOffset, length));
+        } else {
+            return new BitstreamDocument(bitstream.getChecksum(),
+                    bitstream.getSizeBytes(),
+                    bitstreamService.retrieve(context, bitstream));
+        }
+    }
+
     String etag(Bitstream bitstream) {
 
          /* Ideally we would calculate the md5 checksum based on the document with coverpage.
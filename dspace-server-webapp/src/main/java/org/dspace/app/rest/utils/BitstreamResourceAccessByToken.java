@@ -7,7 +7,6 @@
  */
 package org.dspace.app.rest.utils;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.sql.SQLException;
 import java.util.Set;
@@ -84,17 +83,7 @@ public class BitstreamResourceAccessByToken extends BitstreamResource {
             } catch (AuthorizeException e) {
                 throw new AuthorizeException("Authorization to bitstream " + uuid + " by access token FAILED");
             }
-            if (shouldGenerateCoverPage) {
-                var coverPage = getCoverpageByteArray(fileRetrievalContext, bitstream);
-
-                this.document = new BitstreamDocument(etag(bitstream),
-                        coverPage.length,
-                        new ByteArrayInputStream(coverPage));
-            } else {
-                this.document = new BitstreamDocument(bitstream.getChecksum(),
-                        bitstream.getSizeBytes(),
-                        bitstreamService.retrieve(fileRetrievalContext, bitstream));
-            }
+            this.document = buildDocument(fileRetrievalContext, bitstream);
         } catch (SQLException | AuthorizeException | IOException e) {
             throw new RuntimeException(e);
         }
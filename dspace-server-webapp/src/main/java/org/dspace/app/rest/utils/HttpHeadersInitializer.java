@@ -74,6 +74,9 @@ public class HttpHeadersInitializer {
     private long length;
     private String fileName;
     private String checksum;
+    private long rangeStart = -1;
+    private long rangeEnd = -1;
+    private long totalLength = -1;
 
     public HttpHeadersInitializer() {
         //Convert to BufferedInputStream so we can re-read the stream
@@ -120,6 +123,29 @@ public class HttpHeadersInitializer {
         }
         return this;
     }
+
+    /**
+     * Mark the response as partial content, containing only the given range of the Bitstream/File. The length
+     * set using {@link #withLength(long)} is the length of the range.
+     * @param start       the position of the first byte of the range
+     * @param end         the position of the last byte of the range
+     * @param totalLength the length of the complete Bitstream/File
+     * @return this initializer
+     */
+    public HttpHeadersInitializer withRange(long start, long end, long totalLength) {
+        this.rangeStart = start;
+        this.rangeEnd = end;
+        this.totalLength = totalLength;
+        return this;
+    }
+
+    /**
+     * @return true if the response only contains a range of the Bitstream/File
+     */
+    public boolean isRange() {
+        return rangeStart >= 0;
+    }
+
     public HttpHeadersInitializer withDisposition(String contentDisposition) {
         this.disposition = contentDisposition;
         return this;
@@ -150,6 +176,10 @@ public class HttpHeadersInitializer {
         if (Objects.nonNull((Long.valueOf(this.length)))) {
             httpHeaders.put(HttpHeaders.CONTENT_LENGTH, Collections.singletonList(String.valueOf(this.length)));
         }
+        if (isRange()) {
+            httpHeaders.put(HttpHeaders.CONTENT_RANGE, Collections.singletonList(
+                BYTES + " " + rangeStart + "-" + rangeEnd + "/" + totalLength));
+        }
         httpHeaders.put(LAST_MODIFIED, Collections.singletonList(FastHttpDateFormat.formatDate(lastModified)));
         httpHeaders.put(EXPIRES, Collections.singletonList(FastHttpDateFormat.formatDate(
             Instant.now().toEpochMilli() + DEFAULT_EXPIRE_TIME)));
@@ -21,6 +21,7 @@ import static org.dspace.core.Constants.DEFAULT_BITSTREAM_READ;
 import static org.dspace.core.Constants.READ;
 import static org.dspace.core.Constants.WRITE;
 import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.greaterThan;
@@ -41,6 +42,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.io.ByteArrayInputStream;
@@ -57,6 +59,7 @@ import java.util.UUID;
 import java.util.concurrent.atomic.AtomicReference;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.catalina.Globals;
 import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.CharEncoding;
@@ -348,6 +351,60 @@ public class BitstreamRestControllerIT extends AbstractControllerIntegrationTest
             checkNumberOfStatsRecords(bitstream, 0);
     }
 
+    @Test
+    public void retrieveBitstreamUsingSendfile() throws Exception {
+        context.turnOffAuthorisationSystem();
+
+        parentCommunity = CommunityBuilder.createCommunity(context)
+                                          .withName("Parent Community")
+                                          .build();
+
+        Collection col1 = CollectionBuilder.createCollection(context, parentCommunity).withName("Collection 1").build();
+
+        String bitstreamContent = "0123456789";
+
+        try (InputStream is = IOUtils.toInputStream(bitstreamContent, CharEncoding.UTF_8)) {
+
+            Item publicItem1 = ItemBuilder.createItem(context, col1)
+                                          .withTitle("Public item 1")
+                                          .withIssueDate("2017-10-17")
+                                          .build();
+
+            bitstream = BitstreamBuilder
+                .createBitstream(context, publicItem1, is)
+                .withName("Test bitstream")
+                .withMimeType("text/plain")
+                .build();
+        }
+        context.restoreAuthSystemState();
+
+        //When the container supports sendfile, the file of the local assetstore is handed to it
+        getClient().perform(get("/api/core/bitstreams/" + bitstream.getID() + "/content")
+                                .requestAttr(Globals.SENDFILE_SUPPORTED_ATTR, true))
+                   .andExpect(status().isOk())
+                   .andExpect(header().longValue("Content-Length", 10))
+                   .andExpect(request().attribute(Globals.SENDFILE_FILENAME_ATTR, notNullValue()))
+                   .andExpect(request().attribute(Globals.SENDFILE_FILE_START_ATTR, 0L))
+                   .andExpect(request().attribute(Globals.SENDFILE_FILE_END_ATTR, 10L))
+                   .andExpect(content().bytes(new byte[] {}));
+
+        //A range is sent from the file as well
+        getClient().perform(get("/api/core/bitstreams/" + bitstream.getID() + "/content")
+                                .requestAttr(Globals.SENDFILE_SUPPORTED_ATTR, true)
+                                .header("Range", "bytes=1-3"))
+                   .andExpect(status().is(206))
+                   .andExpect(header().longValue("Content-Length", 3))
+                   .andExpect(header().string("Content-Range", "bytes 1-3/10"))
+                   .andExpect(request().attribute(Globals.SENDFILE_FILE_START_ATTR, 1L))
+                   .andExpect(request().attribute(Globals.SENDFILE_FILE_END_ATTR, 4L));
+
+        //Without sendfile support the content is streamed
+        getClient().perform(get("/api/core/bitstreams/" + bitstream.getID() + "/content"))
+                   .andExpect(status().isOk())
+                   .andExpect(request().attribute(Globals.SENDFILE_FILENAME_ATTR, nullValue()))
+                   .andExpect(content().bytes(bitstreamContent.getBytes()));
+    }
+
     @Test
     public void testBitstreamName() throws Exception {
 